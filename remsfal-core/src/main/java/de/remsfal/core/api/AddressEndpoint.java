@@ -3,13 +3,22 @@ package de.remsfal.core.api;
 import de.remsfal.core.json.AddressJson;
 import de.remsfal.core.json.CountryListJson;
 import de.remsfal.core.validation.Zip;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
@@ -41,4 +50,21 @@ public interface AddressEndpoint {
     List<AddressJson> getPossibleCities(@Parameter(description = "A zip code to map the city")
         @QueryParam("zip") @NotNull @Zip String zipCode);
 
+    @GET
+    @Path("/autocomplete")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Suggest postal codes and cities.",
+        description = "A query of digits only is matched against the beginning of zip codes,"
+            + " any other query against the beginning of city names. The response may be cached.")
+    @APIResponse(responseCode = "200", description = "A list of suggested zip codes with their cities",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON,
+            schema = @Schema(type = SchemaType.ARRAY, implementation = AddressJson.class)))
+    @APIResponse(responseCode = "400", description = "Query parameter missing or too short")
+    @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
+    Response autocomplete(
+        @Parameter(description = "The beginning of a zip code or city name (min. 2 characters)")
+        @QueryParam("q") @NotBlank @Size(min = 2, max = 255) String query,
+        @Parameter(description = "Maximum number of suggestions to return")
+        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit);
+
 }
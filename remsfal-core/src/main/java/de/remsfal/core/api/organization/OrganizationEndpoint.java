@@ -60,7 +60,7 @@ public interface OrganizationEndpoint {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(description = "Search organizations by name (min. 3 characters)")
     @APIResponse(responseCode = "200", description = "Matching organizations were successfully returned")
-    @APIResponse(responseCode = "400", description = "Name parameter too short (min. 3 characters)")
+    @APIResponse(responseCode = "400", description = "Name parameter too short (min. 3 characters) or cursor invalid")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
     OrganizationListJson searchOrganizations(
         @Parameter(description = "Name search query (min. 3 characters)")
@@ -68,6 +68,27 @@ public interface OrganizationEndpoint {
         @Parameter(description = "Offset of the first organization to return")
         @QueryParam("offset") @DefaultValue("0") @NotNull @PositiveOrZero Integer offset,
         @Parameter(description = "Maximum number of organizations to return")
+        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit,
+        @Parameter(description = "Opaque cursor of a previous page to continue after; replaces the offset")
+        @QueryParam("after") String after,
+        @Parameter(description = "Whether a page fetched with a cursor contains the total number of organizations")
+        @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal
+    );
+
+    @GET
+    @Path("/search/ranked")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(description = "Search organizations by name (min. 3 characters), most similar names first."
+        + " The response contains a nextCursor as long as further organizations may follow.")
+    @APIResponse(responseCode = "200", description = "Matching organizations were successfully returned")
+    @APIResponse(responseCode = "400", description = "Name parameter too short or cursor invalid")
+    @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
+    OrganizationListJson searchOrganizationsRanked(
+        @Parameter(description = "Name search query (min. 3 characters)")
+        @QueryParam("name") @NotBlank @Size(min = 3, max = 255) String name,
+        @Parameter(description = "Opaque cursor returned by a previous call to fetch the next page")
+        @QueryParam("cursor") String cursor,
+        @Parameter(description = "Maximum number of organizations to return")
         @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit
     );
 
@@ -76,12 +97,17 @@ public interface OrganizationEndpoint {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(description = "Retrieve all organizations acting as contractors in projects accessible to the user")
     @APIResponse(responseCode = "200", description = "List of contractor organizations was successfully returned")
+    @APIResponse(responseCode = "400", description = "The cursor is invalid")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
     OrganizationListJson getContractors(
         @Parameter(description = "Offset of the first organization to return")
         @QueryParam("offset") @DefaultValue("0") @NotNull @PositiveOrZero Integer offset,
         @Parameter(description = "Maximum number of organizations to return")
-        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit
+        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit,
+        @Parameter(description = "Opaque cursor of a previous page to continue after; replaces the offset")
+        @QueryParam("after") String after,
+        @Parameter(description = "Whether a page fetched with a cursor contains the total number of organizations")
+        @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal
     );
 
     @GET
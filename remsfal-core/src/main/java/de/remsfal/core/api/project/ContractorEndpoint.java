@@ -9,6 +9,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import jakarta.validation.groups.ConvertGroup;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -43,15 +44,22 @@ public interface ContractorEndpoint {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Retrieve information for all contractors of a project.")
     @APIResponse(responseCode = "200", description = "A list of contractors was successfully returned")
+    @APIResponse(responseCode = "400", description = "Name too short, or cursor invalid or combined with a name")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
     @APIResponse(responseCode = "404", description = "The project does not exist")
     ContractorListJson getContractors(
         @Parameter(description = "ID of the project", required = true)
         @PathParam("projectId") @NotNull UUID projectId,
+        @Parameter(description = "Company name search query (min. 3 characters), most similar names first")
+        @QueryParam("name") @Size(min = 3, max = 255) String name,
         @Parameter(description = "Offset of the first contractor to return")
         @QueryParam("offset") @DefaultValue("0") @NotNull @PositiveOrZero Integer offset,
         @Parameter(description = "Maximum number of contractors to return")
-        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit
+        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit,
+        @Parameter(description = "Opaque cursor of a previous page to continue after; replaces the offset")
+        @QueryParam("after") String after,
+        @Parameter(description = "Whether a page fetched with a cursor contains the total number of contractors")
+        @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal
     );
 
     @POST
@@ -47,12 +47,17 @@ public interface ProjectEndpoint {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Retrieve information for all projects")
     @APIResponse(responseCode = "200", description = "A list of projects was successfully returned")
+    @APIResponse(responseCode = "400", description = "The cursor is invalid")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
     ProjectListJson getProjects(
         @Parameter(description = "Offset of the first project to return")
         @QueryParam("offset") @DefaultValue("0") @NotNull @PositiveOrZero Integer offset,
         @Parameter(description = "Maximum number of projects to return")
-        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit
+        @QueryParam("limit") @DefaultValue("10") @NotNull @Positive @Max(100) Integer limit,
+        @Parameter(description = "Opaque cursor of a previous page to continue after; replaces the offset")
+        @QueryParam("after") String after,
+        @Parameter(description = "Whether a page fetched with a cursor contains the total number of projects")
+        @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal
     );
 
     @POST
@@ -37,10 +37,18 @@ public interface PropertyEndpoint {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Retrieve information for all properties")
-    @APIResponse(responseCode = "200", description = "A list of all existing properties with its"
-        + "rentable units as tree was successfully returned")
+    @APIResponse(
+        responseCode = "200",
+        description = "A list of all existing properties with its rentable units as tree was successfully returned",
+        headers = @Header(name = "ETag", description = "Version of the tree for conditional requests"),
+        content = @Content(
+        mediaType = MediaType.APPLICATION_JSON,
+        schema    = @Schema(implementation = PropertyListJson.class)
+        )
+    )
+    @APIResponse(responseCode = "304", description = "The tree did not change since the version in If-None-Match")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
-    PropertyListJson getProperties(
+    Response getProperties(
         @Parameter(description = "ID of the project", required = true)
         @PathParam("projectId") @NotNull UUID projectId
     );
@@ -38,6 +38,8 @@ public interface RentalAgreementEndpoint {
 
     String SERVICE = "rental-agreements";
 
+    String RENT_ROLL_CSV = "text/csv";
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Retrieve information of all rental agreements")
@@ -51,6 +53,39 @@ public interface RentalAgreementEndpoint {
         @Parameter(description = "ID of the rental unit to filter by; only evaluated when rentalUnitType is set")
         @QueryParam("rentalUnitId") UUID rentalUnitId);
 
+    @GET
+    @Path("/rent-roll")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the expected income of the project by month and rental unit, building "
+        + "and property")
+    @APIResponse(responseCode = "200", description = "The rent roll is streamed, amounts are given in the "
+        + "currency of the rents")
+    @APIResponse(responseCode = "400", description = "Invalid or too long period")
+    @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
+    Response getRentRoll(
+        @Parameter(description = "ID of the project", required = true)
+        @PathParam("projectId") @NotNull UUID projectId,
+        @Parameter(description = "First day of the period (yyyy-MM-dd)", required = true)
+        @QueryParam("from") @NotNull String from,
+        @Parameter(description = "Last day of the period (yyyy-MM-dd)", required = true)
+        @QueryParam("to") @NotNull String to);
+
+    @GET
+    @Path("/rent-roll")
+    @Produces(RENT_ROLL_CSV)
+    @Operation(summary = "Download the expected income of the project by month as CSV file")
+    @APIResponse(responseCode = "200", description = "The rent roll is streamed with one line per rental unit, "
+        + "building and property")
+    @APIResponse(responseCode = "400", description = "Invalid or too long period")
+    @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
+    Response getRentRollCsv(
+        @Parameter(description = "ID of the project", required = true)
+        @PathParam("projectId") @NotNull UUID projectId,
+        @Parameter(description = "First day of the period (yyyy-MM-dd)", required = true)
+        @QueryParam("from") @NotNull String from,
+        @Parameter(description = "Last day of the period (yyyy-MM-dd)", required = true)
+        @QueryParam("to") @NotNull String to);
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Create a new tenancy")
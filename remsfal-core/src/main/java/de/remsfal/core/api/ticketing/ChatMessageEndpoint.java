@@ -2,15 +2,20 @@ package de.remsfal.core.api.ticketing;
 
 import de.remsfal.core.json.ticketing.ChatMessageJson;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -57,16 +62,22 @@ public interface ChatMessageEndpoint {
     @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM })
     @Operation(summary = "Get a chat message in a chat session")
     @APIResponse(responseCode = "200", description = "Chat message retrieved")
+    @APIResponse(responseCode = "206", description = "Requested byte ranges of the file downloaded successfully")
+    @APIResponse(responseCode = "304", description = "File was not modified since the provided entity tag or date")
     @APIResponse(responseCode = "400", description = "Invalid input")
     @APIResponse(responseCode = "404", description = "Project, task, chat session, or chat message not found")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
+    @APIResponse(responseCode = "416", description = "None of the requested byte ranges is satisfiable")
     Response getChatMessage(
         @Parameter(description = "ID of the task", required = true)
         @PathParam("issueId") @NotNull UUID issueId,
         @Parameter(description = "ID of the chat session", required = true)
         @PathParam("sessionId") @NotNull UUID sessionId,
         @Parameter(description = "The chat message ID", required = true)
-        @PathParam("messageId") @NotNull UUID messageId) throws Exception;
+        @PathParam("messageId") @NotNull UUID messageId,
+        @Parameter(description = "Variant of the file, either original or thumb for a thumbnail of an image or PDF")
+        @QueryParam("variant") @DefaultValue("original") @Pattern(regexp = "original|thumb") String variant)
+        throws Exception;
 
     @PUT
     @Path("/{messageId}")
@@ -107,7 +118,9 @@ public interface ChatMessageEndpoint {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    @Operation(summary = "Get chat logs in a chat session")
+    @Operation(summary = "Get chat logs in a chat session",
+        description = "Returns the messages of the chat session in chronological order, one page at a time."
+        + " The response contains a next_cursor as long as further messages may follow.")
     @APIResponse(responseCode = "200", description = "Chat messages retrieved")
     @APIResponse(responseCode = "400", description = "Invalid input")
     @APIResponse(responseCode = "404", description = "Project, task, or chat session not found")
@@ -116,7 +129,11 @@ public interface ChatMessageEndpoint {
         @Parameter(description = "ID of the task", required = true)
         @PathParam("issueId") @NotNull UUID issueId,
         @Parameter(description = "ID of the chat session", required = true)
-        @PathParam("sessionId") @NotNull UUID sessionId);
+        @PathParam("sessionId") @NotNull UUID sessionId,
+        @Parameter(description = "Opaque cursor returned by a previous call to fetch the next page")
+        @QueryParam("cursor") String cursor,
+        @Parameter(description = "Maximum number of messages to return")
+        @QueryParam("limit") @DefaultValue("100") @NotNull @Positive @Max(1000) Integer limit);
 
     @POST
     @Path("/upload")
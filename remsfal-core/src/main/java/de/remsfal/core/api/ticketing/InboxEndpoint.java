@@ -1,7 +1,13 @@
 package de.remsfal.core.api.ticketing;
 
+import de.remsfal.core.json.ticketing.InboxCountersJson;
 import de.remsfal.core.json.ticketing.InboxMessageJson;
+import de.remsfal.core.json.ticketing.InboxMessageListJson;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.Path;
@@ -13,7 +19,7 @@ import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
-import java.util.List;
+import java.util.UUID;
 
 @Path(InboxEndpoint.CONTEXT + "/" + InboxEndpoint.VERSION + "/" + InboxEndpoint.SERVICE)
 public interface InboxEndpoint {
@@ -24,16 +30,29 @@ public interface InboxEndpoint {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    @Operation(summary = "Retrieve inbox messages for the authenticated user")
+    @Operation(summary = "Retrieve inbox messages for the authenticated user",
+        description = "Returns the messages of the inbox newest first, one page at a time."
+        + " The response contains a nextCursor as long as further messages may follow.")
     @APIResponse(
         responseCode = "200",
-        description = "List of inbox messages belonging to the authenticated user"
+        description = "Page of inbox messages belonging to the authenticated user"
     )
-    List<InboxMessageJson> getInboxMessages(
+    InboxMessageListJson getInboxMessages(
         @Parameter(description = "Filter by read status (true = read, false = unread)")
-        @QueryParam("read") Boolean read
+        @QueryParam("read") Boolean read,
+        @Parameter(description = "Opaque cursor returned by a previous call to fetch the next page")
+        @QueryParam("cursor") UUID cursor,
+        @Parameter(description = "Maximum number of messages to return")
+        @QueryParam("limit") @DefaultValue("50") @NotNull @Positive @Max(500) Integer limit
     );
 
+    @GET
+    @Path("/counters")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Retrieve the number of all and of the unread inbox messages of the authenticated user")
+    @APIResponse(responseCode = "200", description = "Inbox counters of the authenticated user")
+    InboxCountersJson getInboxCounters();
+
     @PATCH
     @Path("/{messageId}/status")
     @Produces(MediaType.APPLICATION_JSON)
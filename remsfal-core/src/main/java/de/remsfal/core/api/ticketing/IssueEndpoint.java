@@ -32,6 +32,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
 import de.remsfal.core.json.ticketing.IssueJson;
 import de.remsfal.core.json.ticketing.IssueListJson;
+import de.remsfal.core.json.ticketing.IssueLookupConsistencyJson;
 import de.remsfal.core.model.RentalUnitModel.UnitType;
 import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
 import de.remsfal.core.model.ticketing.IssueModel.IssueType;
@@ -82,6 +83,34 @@ public interface IssueEndpoint {
         @Parameter(description = "Maximum number of issues to return")
         @QueryParam("limit") @DefaultValue("50") @NotNull @Positive @Max(500) Integer limit);
 
+    @GET
+    @Path("/lookup-consistency")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Check the issue lookup table of a single project.",
+        description = "Compares all issues of the project with their entries in the lookup table that is used"
+        + " to resolve issues by id, without changing any entry."
+        + " This method is intended solely for use by a property manager.")
+    @APIResponse(responseCode = "200", description = "Consistency check completed successfully")
+    @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
+    @APIResponse(responseCode = "403", description = "User does not have permission to manage this project")
+    IssueLookupConsistencyJson checkLookupConsistency(
+        @Parameter(description = "ID of the project to check", required = true)
+        @QueryParam("projectId") @NotNull UUID projectId);
+
+    @POST
+    @Path("/lookup-consistency")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Repair the issue lookup table of a single project.",
+        description = "Compares all issues of the project with their entries in the lookup table that is used"
+        + " to resolve issues by id, and rewrites missing or wrong entries."
+        + " This method is intended solely for use by a property manager.")
+    @APIResponse(responseCode = "200", description = "Consistency check and repair completed successfully")
+    @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
+    @APIResponse(responseCode = "403", description = "User does not have permission to manage this project")
+    IssueLookupConsistencyJson repairLookupConsistency(
+        @Parameter(description = "ID of the project to repair", required = true)
+        @QueryParam("projectId") @NotNull UUID projectId);
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
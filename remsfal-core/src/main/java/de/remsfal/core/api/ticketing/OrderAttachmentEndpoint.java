@@ -1,13 +1,16 @@
 package de.remsfal.core.api.ticketing;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -37,16 +40,21 @@ public interface OrderAttachmentEndpoint {
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     @Operation(summary = "Download an order attachment")
     @APIResponse(responseCode = "200", description = "Attachment downloaded successfully")
+    @APIResponse(responseCode = "206", description = "Requested byte ranges of the file downloaded successfully")
+    @APIResponse(responseCode = "304", description = "File was not modified since the provided entity tag or date")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
     @APIResponse(responseCode = "403", description = "User does not have permission to access this attachment")
     @APIResponse(responseCode = "404", description = "Attachment not found")
+    @APIResponse(responseCode = "416", description = "None of the requested byte ranges is satisfiable")
     Response downloadAttachment(
         @Parameter(description = "ID of the quotation request, quotation, or order placement", required = true)
         @PathParam("processId") UUID processId,
         @Parameter(description = "ID of the attachment", required = true)
         @PathParam("attachmentId") @NotNull UUID attachmentId,
         @Parameter(description = "Filename of the attachment", required = true)
-        @PathParam("filename") @NotNull String filename);
+        @PathParam("filename") @NotNull String filename,
+        @Parameter(description = "Variant of the file, either original or thumb for a thumbnail of an image or PDF")
+        @QueryParam("variant") @DefaultValue("original") @Pattern(regexp = "original|thumb") String variant);
 
     @DELETE
     @Path("/{attachmentId}")
@@ -2,6 +2,7 @@ package de.remsfal.core.api.ticketing.tenant;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
@@ -117,16 +118,21 @@ public interface TenantIssueEndpoint {
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     @Operation(summary = "Download an issue attachment")
     @APIResponse(responseCode = "200", description = "Attachment downloaded successfully")
+    @APIResponse(responseCode = "206", description = "Requested byte ranges of the file downloaded successfully")
+    @APIResponse(responseCode = "304", description = "File was not modified since the provided entity tag or date")
     @APIResponse(responseCode = "401", description = "No user authentication provided via session cookie")
     @APIResponse(responseCode = "403", description = "User does not have permission to access this attachment")
     @APIResponse(responseCode = "404", description = "Attachment not found")
+    @APIResponse(responseCode = "416", description = "None of the requested byte ranges is satisfiable")
     Response downloadAttachment(
         @Parameter(description = "ID of the issue", required = true)
         @PathParam("issueId") @NotNull UUID issueId,
         @Parameter(description = "ID of the attachment", required = true)
         @PathParam("attachmentId") @NotNull UUID attachmentId,
         @Parameter(description = "Filename of the attachment", required = true)
-        @PathParam("filename") @NotNull String filename);
+        @PathParam("filename") @NotNull String filename,
+        @Parameter(description = "Variant of the file, either original or thumb for a thumbnail of an image or PDF")
+        @QueryParam("variant") @DefaultValue("original") @Pattern(regexp = "original|thumb") String variant);
 
     @Path("/{issueId}/" + TimelineEndpoint.SERVICE)
     TimelineEndpoint getTenantTimelineResource();
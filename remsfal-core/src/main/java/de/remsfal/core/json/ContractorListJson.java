@@ -2,6 +2,8 @@ package de.remsfal.core.json;
 
 import java.util.List;
 
+import jakarta.annotation.Nullable;
+
 import de.remsfal.core.ImmutableStyle;
 import de.remsfal.core.model.ContractorModel;
 
@@ -19,22 +21,39 @@ import com.fasterxml.jackson.databind.annotation.JsonNaming;
 @JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
 public abstract class ContractorListJson {
 
-    @Schema(description = "Index of the first element", readOnly = true)
+    @Schema(description = "Index of the first element; absent/null for pages fetched with a cursor", readOnly = true)
+    @Nullable
     public abstract Integer getOffset();
 
-    @Schema(description = "Total number of available contractors", readOnly = true)
+    @Schema(description = "Total number of available contractors; absent/null for pages fetched with a cursor"
+        + " unless requested", readOnly = true)
+    @Nullable
     public abstract Long getTotal();
 
+    @Schema(description = "Opaque cursor to fetch the next page with; absent/null if there is no further page",
+        readOnly = true)
+    @Nullable
+    public abstract String getNextCursor();
+
     public abstract List<ContractorJson> getContractors();
 
     public static ContractorListJson valueOf(
         final List<? extends ContractorModel> models,
         final Integer offset,
         final Long total) {
+        return valueOf(models, offset, total, null);
+    }
+
+    public static ContractorListJson valueOf(
+        final List<? extends ContractorModel> models,
+        final Integer offset,
+        final Long total,
+        final String nextCursor) {
 
         return ImmutableContractorListJson.builder()
             .offset(offset)
             .total(total)
+            .nextCursor(nextCursor)
             .contractors(models.stream().map(ContractorJson::valueOf).toList())
             .build();
     }
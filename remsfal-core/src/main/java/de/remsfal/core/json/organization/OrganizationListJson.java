@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import de.remsfal.core.ImmutableStyle;
 import de.remsfal.core.model.OrganizationModel;
+import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.immutables.value.Value;
@@ -21,10 +22,20 @@ public abstract class OrganizationListJson {
     @NotNull
     public abstract List<OrganizationJson> getOrganizations();
 
+    @Schema(description = "Index of the first element; absent/null for pages fetched with a cursor", readOnly = true)
+    @Nullable
     public abstract Integer getOffset();
 
+    @Schema(description = "Total number of matching organizations; absent/null for pages fetched with a cursor"
+        + " unless requested", readOnly = true)
+    @Nullable
     public abstract Long getTotal();
 
+    @Schema(description = "Opaque cursor to fetch the next page with; absent/null if there is no further page",
+        readOnly = true)
+    @Nullable
+    public abstract String getNextCursor();
+
     public static OrganizationListJson valueOf(List<? extends OrganizationModel> organizations, Integer offset,
         Long total) {
         ImmutableOrganizationListJson.Builder builder = ImmutableOrganizationListJson.builder();
@@ -45,4 +56,20 @@ public abstract class OrganizationListJson {
 
         return builder.offset(0).total((long) organizations.size()).build();
     }
+
+    public static OrganizationListJson valueOf(final List<? extends OrganizationModel> organizations,
+        final Long total, final String nextCursor) {
+        return valueOf(organizations, null, total, nextCursor);
+    }
+
+    public static OrganizationListJson valueOf(final List<? extends OrganizationModel> organizations,
+        final Integer offset, final Long total, final String nextCursor) {
+        ImmutableOrganizationListJson.Builder builder = ImmutableOrganizationListJson.builder();
+
+        for (OrganizationModel organization : organizations) {
+            builder.addOrganizations(OrganizationJson.valueOf(organization));
+        }
+
+        return builder.offset(offset).total(total).nextCursor(nextCursor).build();
+    }
 }
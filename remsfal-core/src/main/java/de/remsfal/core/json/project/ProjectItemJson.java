@@ -48,4 +48,12 @@ public abstract class ProjectItemJson {
         return builder.build();
     }
 
+    public static ProjectItemJson valueOf(final UUID id, final String title, final MemberRole memberRole) {
+        return ImmutableProjectItemJson.builder()
+            .id(id)
+            .name(title)
+            .memberRole(memberRole)
+            .build();
+    }
+
 }
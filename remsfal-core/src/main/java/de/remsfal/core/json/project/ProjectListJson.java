@@ -2,6 +2,8 @@ package de.remsfal.core.json.project;
 
 import java.util.List;
 
+import jakarta.annotation.Nullable;
+
 import de.remsfal.core.model.UserModel;
 import de.remsfal.core.model.project.ProjectModel;
 
@@ -24,17 +26,25 @@ import de.remsfal.core.ImmutableStyle;
 @JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
 public abstract class ProjectListJson {
 
-    @Schema(description = "Index of the first element in projects list of total available entries, starting at 1",
-        readOnly = true, required = true, examples = "1")
+    @Schema(description = "Index of the first element in projects list of total available entries, starting at 1;"
+        + " absent/null for pages fetched with a cursor", readOnly = true, examples = "1")
+    @Nullable
     public abstract Integer getFirst();
 
     @Schema(description = "Number of elements in projects list", minimum = "1", maximum = "100",
         readOnly = true, defaultValue = "10", required = true)
     public abstract Integer getSize();
 
-    @Schema(description = "Total number of available projects", readOnly = true, required = true)
+    @Schema(description = "Total number of available projects; absent/null for pages fetched with a cursor"
+        + " unless requested", readOnly = true)
+    @Nullable
     public abstract Long getTotal();
 
+    @Schema(description = "Opaque cursor to fetch the next page with; absent/null if there is no further page",
+        readOnly = true)
+    @Nullable
+    public abstract String getNextCursor();
+
     public abstract List<ProjectItemJson> getProjects();
 
     public static ProjectListJson valueOf(final List<ProjectModel> projects,
@@ -50,4 +60,19 @@ public abstract class ProjectListJson {
             .total(total)
             .build();
     }
+
+    public static ProjectListJson valueOf(final List<ProjectItemJson> projects, final int first, final long total) {
+        return valueOf(projects, first, total, null);
+    }
+
+    public static ProjectListJson valueOf(final List<ProjectItemJson> projects, final Integer first,
+        final Long total, final String nextCursor) {
+        return ImmutableProjectListJson.builder()
+            .projects(projects)
+            .size(projects.size())
+            .first(first)
+            .total(total)
+            .nextCursor(nextCursor)
+            .build();
+    }
 }
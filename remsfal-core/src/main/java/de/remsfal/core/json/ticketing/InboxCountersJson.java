@@ -0,0 +1,28 @@
+package de.remsfal.core.json.ticketing;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.immutables.value.Value.Immutable;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import de.remsfal.core.ImmutableStyle;
+
+/**
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@Immutable
+@ImmutableStyle
+@Schema(description = "Number of all and of the unread messages in the inbox of a user")
+@JsonDeserialize(as = ImmutableInboxCountersJson.class)
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public abstract class InboxCountersJson {
+
+    @Schema(description = "Number of all messages in the inbox", readOnly = true)
+    public abstract long getTotal();
+
+    @Schema(description = "Number of unread messages in the inbox", readOnly = true)
+    public abstract long getUnread();
+
+}
@@ -0,0 +1,46 @@
+package de.remsfal.core.json.ticketing;
+
+import java.util.List;
+
+import de.remsfal.core.ImmutableStyle;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.immutables.value.Value.Immutable;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@Immutable
+@ImmutableStyle
+@Schema(description = "A cursor-paginated list of inbox messages, newest first")
+@JsonDeserialize(as = ImmutableInboxMessageListJson.class)
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public abstract class InboxMessageListJson {
+    // Validation is not required, because it is read-only.
+
+    @Schema(description = "Opaque cursor to fetch the next page with; absent/null if there is no further page",
+        readOnly = true)
+    @Nullable
+    public abstract String getNextCursor();
+
+    @Schema(description = "Number of elements in this page", minimum = "0", maximum = "500",
+        readOnly = true, required = true)
+    public abstract Integer getSize();
+
+    public abstract List<InboxMessageJson> getMessages();
+
+    public static InboxMessageListJson valueOf(final List<InboxMessageJson> messages, final String nextCursor) {
+        return ImmutableInboxMessageListJson.builder()
+            .size(messages.size())
+            .nextCursor(nextCursor)
+            .messages(messages)
+            .build();
+    }
+
+}
@@ -0,0 +1,39 @@
+package de.remsfal.core.json.ticketing;
+
+import java.util.UUID;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.immutables.value.Value.Immutable;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import de.remsfal.core.ImmutableStyle;
+
+/**
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@Immutable
+@ImmutableStyle
+@Schema(description = "Result of a consistency check of the issue lookup table of a project")
+@JsonDeserialize(as = ImmutableIssueLookupConsistencyJson.class)
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public abstract class IssueLookupConsistencyJson {
+
+    @Schema(description = "ID of the checked project")
+    public abstract UUID getProjectId();
+
+    @Schema(description = "Number of issues checked")
+    public abstract long getChecked();
+
+    @Schema(description = "Number of issues without a lookup entry")
+    public abstract long getMissing();
+
+    @Schema(description = "Number of issues whose lookup entry points to another project")
+    public abstract long getMismatched();
+
+    @Schema(description = "Number of lookup entries that have been repaired")
+    public abstract long getRepaired();
+
+}
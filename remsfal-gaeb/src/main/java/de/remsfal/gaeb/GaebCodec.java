@@ -0,0 +1,229 @@
+package de.remsfal.gaeb;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.JAXBIntrospector;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlSchema;
+
+/**
+ * Reads and writes the documents of one GAEB DA XML exchange phase, e.g. X83 or X84.
+ *
+ * Creating a {@link JAXBContext} over the generated GAEB classes takes seconds, so there is only one
+ * context per phase. It is created on first use and shared by all threads. Marshallers and unmarshallers
+ * are not thread-safe but cheap to reuse, so they are kept in a small pool instead of being created per
+ * document. Large bills of quantities can be processed in constant memory with {@link #openItemReader}.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class GaebCodec {
+
+    /** Local name of the root element of every GAEB DA XML document. */
+    public static final String ROOT_ELEMENT = "GAEB";
+
+    /** Local name of a bill of quantities item. */
+    public static final String ITEM_ELEMENT = "Item";
+
+    private static final int MAX_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final Map<Class<?>, GaebCodec> CODECS = new ConcurrentHashMap<>();
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final Class<?> rootType;
+    private final QName rootName;
+    private final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+    private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledMarshallers = new AtomicInteger();
+    private final AtomicInteger pooledUnmarshallers = new AtomicInteger();
+
+    private volatile JAXBContext context;
+
+    private GaebCodec(final Class<?> rootType) {
+        this.rootType = rootType;
+        final XmlSchema schema = rootType.getPackage().getAnnotation(XmlSchema.class);
+        this.rootName = new QName(schema != null ? schema.namespace() : "", ROOT_ELEMENT);
+    }
+
+    /**
+     * Returns the codec of the exchange phase the given root type was generated for.
+     *
+     * @param rootType the generated {@code TgGAEB} class of the phase, e.g. {@code de.remsfal.gaeb.da83.TgGAEB}
+     * @return the shared codec of the phase
+     */
+    public static GaebCodec of(final Class<?> rootType) {
+        return CODECS.computeIfAbsent(rootType, GaebCodec::new);
+    }
+
+    /**
+     * @return the namespace of the exchange phase
+     */
+    public String getNamespace() {
+        return rootName.getNamespaceURI();
+    }
+
+    /**
+     * Reads a complete document into memory.
+     *
+     * @param input the document
+     * @param <T>   the generated {@code TgGAEB} class of the phase
+     * @return the root of the document
+     */
+    public <T> T read(final InputStream input) {
+        final Unmarshaller unmarshaller = borrowUnmarshaller();
+        try {
+            final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                @SuppressWarnings("unchecked")
+                final T root = (T) JAXBIntrospector.getValue(unmarshaller.unmarshal(reader, rootType));
+                return root;
+            } finally {
+                reader.close();
+            }
+        } catch (JAXBException | XMLStreamException e) {
+            throw new GaebException("Unable to read GAEB document", e);
+        } finally {
+            releaseUnmarshaller(unmarshaller);
+        }
+    }
+
+    /**
+     * Writes a complete document as UTF-8.
+     *
+     * @param root   the root of the document, an instance of the generated {@code TgGAEB} class of the phase
+     * @param output the target, not closed by this method
+     */
+    public void write(final Object root, final OutputStream output) {
+        final Marshaller marshaller = borrowMarshaller();
+        try {
+            marshaller.marshal(toRootElement(root), output);
+        } catch (JAXBException e) {
+            throw new GaebException("Unable to write GAEB document", e);
+        } finally {
+            releaseMarshaller(marshaller);
+        }
+    }
+
+    /**
+     * Opens a reader that unmarshals one bill of quantities item after the other, so that only a
+     * single item is held in memory at a time.
+     *
+     * @param input    the document, closed together with the reader
+     * @param itemType the generated {@code TgItem} class of the phase
+     * @param <T>      the item type
+     * @return the item reader
+     */
+    public <T> GaebItemReader<T> openItemReader(final InputStream input, final Class<T> itemType) {
+        return openReader(input, ITEM_ELEMENT, itemType);
+    }
+
+    /**
+     * Opens a reader that unmarshals every element with the given local name in document order.
+     *
+     * @param input     the document, closed together with the reader
+     * @param localName the local name of the elements to read
+     * @param type      the generated class the elements are bound to
+     * @param <T>       the element type
+     * @return the element reader
+     */
+    public <T> GaebItemReader<T> openReader(final InputStream input, final String localName, final Class<T> type) {
+        try {
+            return new GaebItemReader<>(this, INPUT_FACTORY.createXMLStreamReader(input), input,
+                new QName(getNamespace(), localName), type);
+        } catch (XMLStreamException e) {
+            throw new GaebException("Unable to open GAEB document", e);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object toRootElement(final Object root) {
+        if (root instanceof JAXBElement) {
+            return root;
+        }
+        return new JAXBElement(rootName, rootType, root);
+    }
+
+    JAXBContext getContext() throws JAXBException {
+        JAXBContext result = context;
+        if (result == null) {
+            synchronized (this) {
+                result = context;
+                if (result == null) {
+                    result = JAXBContext.newInstance(rootType.getPackageName(), rootType.getClassLoader());
+                    context = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    Unmarshaller borrowUnmarshaller() {
+        final Unmarshaller pooled = unmarshallers.poll();
+        if (pooled != null) {
+            pooledUnmarshallers.decrementAndGet();
+            return pooled;
+        }
+        try {
+            return getContext().createUnmarshaller();
+        } catch (JAXBException e) {
+            throw new GaebException("Unable to create GAEB unmarshaller", e);
+        }
+    }
+
+    void releaseUnmarshaller(final Unmarshaller unmarshaller) {
+        if (pooledUnmarshallers.incrementAndGet() <= MAX_POOL_SIZE) {
+            unmarshallers.offer(unmarshaller);
+        } else {
+            pooledUnmarshallers.decrementAndGet();
+        }
+    }
+
+    private Marshaller borrowMarshaller() {
+        final Marshaller pooled = marshallers.poll();
+        if (pooled != null) {
+            pooledMarshallers.decrementAndGet();
+            return pooled;
+        }
+        try {
+            final Marshaller marshaller = getContext().createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+            return marshaller;
+        } catch (JAXBException e) {
+            throw new GaebException("Unable to create GAEB marshaller", e);
+        }
+    }
+
+    private void releaseMarshaller(final Marshaller marshaller) {
+        if (pooledMarshallers.incrementAndGet() <= MAX_POOL_SIZE) {
+            marshallers.offer(marshaller);
+        } else {
+            pooledMarshallers.decrementAndGet();
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        // GAEB documents never need a DTD, refusing them rules out XML external entity attacks
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+}
@@ -0,0 +1,16 @@
+package de.remsfal.gaeb;
+
+/**
+ * Thrown if a GAEB DA XML document cannot be read or written.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public class GaebException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public GaebException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,107 @@
+package de.remsfal.gaeb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Pulls the elements with a given name out of a GAEB DA XML document one at a time. The document is
+ * walked with StAX and only the matching elements are unmarshalled, so the memory needed does not grow
+ * with the size of the document. Obtained from {@link GaebCodec#openItemReader}.
+ *
+ * @param <T> the generated class the elements are bound to
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class GaebItemReader<T> implements Iterator<T>, AutoCloseable {
+
+    private final GaebCodec codec;
+    private final XMLStreamReader reader;
+    private final InputStream input;
+    private final QName name;
+    private final Class<T> type;
+
+    private Unmarshaller unmarshaller;
+
+    GaebItemReader(final GaebCodec codec, final XMLStreamReader reader, final InputStream input,
+        final QName name, final Class<T> type) {
+        this.codec = codec;
+        this.reader = reader;
+        this.input = input;
+        this.name = name;
+        this.type = type;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            // after an element was unmarshalled the reader already points to the event following it
+            while (!isAtElement()) {
+                if (!reader.hasNext()) {
+                    return false;
+                }
+                reader.next();
+            }
+            return true;
+        } catch (XMLStreamException e) {
+            throw new GaebException("Unable to read GAEB document", e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            if (unmarshaller == null) {
+                unmarshaller = codec.borrowUnmarshaller();
+            }
+            return unmarshaller.unmarshal(reader, type).getValue();
+        } catch (JAXBException e) {
+            throw new GaebException("Unable to read GAEB " + name.getLocalPart(), e);
+        }
+    }
+
+    /**
+     * @return the remaining elements as a sequential stream that closes this reader when it is closed
+     */
+    public Stream<T> stream() {
+        final Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this,
+            Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (unmarshaller != null) {
+            codec.releaseUnmarshaller(unmarshaller);
+            unmarshaller = null;
+        }
+        try {
+            reader.close();
+            input.close();
+        } catch (XMLStreamException | IOException e) {
+            throw new GaebException("Unable to close GAEB document", e);
+        }
+    }
+
+    private boolean isAtElement() {
+        return reader.getEventType() == XMLStreamConstants.START_ELEMENT
+            && name.getLocalPart().equals(reader.getLocalName())
+            && name.getNamespaceURI().equals(reader.getNamespaceURI() != null ? reader.getNamespaceURI() : "");
+    }
+
+}
@@ -6,7 +6,7 @@ import de.remsfal.gaeb.XmlMapper;
 import de.remsfal.gaeb.da94.ObjectFactory;
 import de.remsfal.gaeb.da94.TgGAEB;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class XmlMapperTest {
 
@@ -18,8 +18,8 @@ class XmlMapperTest {
         doc.getPrjInfo().setNamePrj("Sample Project");
         
         XmlMapper mapper = new XmlMapper();
-        mapper.print(doc);
+        String xml = mapper.toXml(doc);
 
-        assertNotNull(doc);
+        assertTrue(xml.contains("Sample Project"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package de.remsfal.gaeb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.remsfal.gaeb.da83.TgGAEB;
+import de.remsfal.gaeb.da83.TgItem;
+
+class GaebCodecTest {
+
+    private static final GaebCodec X83 = GaebCodec.of(TgGAEB.class);
+    private static final GaebCodec X84 = GaebCodec.of(de.remsfal.gaeb.da84.TgGAEB.class);
+
+    private static InputStream sample(final String name) {
+        return GaebCodecTest.class.getResourceAsStream("/gaeb/" + name);
+    }
+
+    @Test
+    void of_SUCCESS_codecIsSharedPerPhase() {
+        assertSame(X83, GaebCodec.of(TgGAEB.class));
+        assertEquals("http://www.gaeb.de/GAEB_DA_XML/DA83/3.3", X83.getNamespace());
+        assertEquals("http://www.gaeb.de/GAEB_DA_XML/DA84/3.3", X84.getNamespace());
+    }
+
+    @Test
+    void read_SUCCESS_x83RoundTrip() throws IOException {
+        final TgGAEB document;
+        try (InputStream input = sample("sample.X83")) {
+            document = X83.read(input);
+        }
+        assertEquals("Sanierung Wohnanlage", document.getPrjInfo().getNamePrj());
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        X83.write(document, output);
+        final TgGAEB copy = X83.read(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(document.getPrjInfo().getNamePrj(), copy.getPrjInfo().getNamePrj());
+
+        try (GaebItemReader<TgItem> original = X83.openItemReader(sample("sample.X83"), TgItem.class);
+            GaebItemReader<TgItem> written = X83.openItemReader(
+                new ByteArrayInputStream(output.toByteArray()), TgItem.class)) {
+            final List<TgItem> expected = original.stream().toList();
+            final List<TgItem> actual = written.stream().toList();
+            assertEquals(3, expected.size());
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getRNoPart(), actual.get(i).getRNoPart());
+                assertEquals(expected.get(i).getQty(), actual.get(i).getQty());
+                assertEquals(expected.get(i).getQU(), actual.get(i).getQU());
+            }
+        }
+    }
+
+    @Test
+    void openItemReader_SUCCESS_x84ItemsInDocumentOrder() {
+        try (GaebItemReader<de.remsfal.gaeb.da84.TgItem> reader =
+            X84.openItemReader(sample("sample.X84"), de.remsfal.gaeb.da84.TgItem.class)) {
+            final List<de.remsfal.gaeb.da84.TgItem> items = reader.stream().toList();
+            assertEquals(List.of("0010", "0020", "0030"),
+                items.stream().map(de.remsfal.gaeb.da84.TgItem::getRNoPart).toList());
+            assertEquals(new BigDecimal("5631.60"), items.stream()
+                .map(de.remsfal.gaeb.da84.TgItem::getIT)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void openItemReader_SUCCESS_largeDocumentStreamed(@TempDir final Path directory) throws IOException {
+        final int count = 50_000;
+        final Path file = directory.resolve("large.X83");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<GAEB xmlns=\"http://www.gaeb.de/GAEB_DA_XML/DA83/3.3\"><Award><DP>83</DP><BoQ ID=\"B\">"
+                + "<BoQBody><BoQCtgy ID=\"C\" RNoPart=\"01\"><BoQBody><Itemlist>\n");
+            for (int i = 0; i < count; i++) {
+                writer.write("<Item ID=\"I" + i + "\" RNoPart=\"" + i + "\"><Qty>1.000</Qty><QU>St</QU></Item>\n");
+            }
+            writer.write("</Itemlist></BoQBody></BoQCtgy></BoQBody></BoQ></Award></GAEB>\n");
+        }
+
+        try (GaebItemReader<TgItem> reader = X83.openItemReader(Files.newInputStream(file), TgItem.class);
+            Stream<TgItem> items = reader.stream()) {
+            assertEquals(BigDecimal.valueOf(count).setScale(3), items
+                .map(TgItem::getQty)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+    }
+
+    @Test
+    void read_SUCCESS_concurrentReadsShareTheContext() {
+        final List<String> names = IntStream.range(0, 64).parallel()
+            .mapToObj(i -> {
+                try (InputStream input = sample("sample.X83")) {
+                    return X83.<TgGAEB>read(input).getPrjInfo().getNamePrj();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .distinct()
+            .toList();
+        assertEquals(List.of("Sanierung Wohnanlage"), names);
+    }
+
+    @Test
+    void read_FAILED_externalEntitiesAreRejected() {
+        final String xml = "<?xml version=\"1.0\"?><!DOCTYPE GAEB [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+            + "<GAEB xmlns=\"http://www.gaeb.de/GAEB_DA_XML/DA83/3.3\"><PrjInfo><NamePrj>&xxe;</NamePrj>"
+            + "</PrjInfo></GAEB>";
+        assertThrows(GaebException.class,
+            () -> X83.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.remsfal.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH result files written with {@code -rf json}, e.g. of the base branch and of a
+ * pull request, and fails if a benchmark got slower by more than the given threshold.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar de.remsfal.benchmarks.BenchmarkComparison baseline.json current.json [10]
+ * </pre>
+ *
+ * A benchmark only counts as regressed if the difference also exceeds the combined error of both
+ * runs, so that noise on a shared machine does not fail the comparison.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private final Map<String, Result> baseline;
+    private final Map<String, Result> current;
+    private final double thresholdPercent;
+
+    record Result(String key, String mode, double score, double error, String unit) {
+
+        boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    /**
+     * Outcome of comparing one benchmark that is part of both runs.
+     *
+     * @param changePercent positive if the benchmark got faster, negative if it got slower
+     */
+    record Comparison(Result baseline, Result current, double changePercent, boolean regression) {
+    }
+
+    BenchmarkComparison(final Map<String, Result> baseline, final Map<String, Result> current,
+        final double thresholdPercent) {
+        this.baseline = baseline;
+        this.current = current;
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        final BenchmarkComparison comparison = new BenchmarkComparison(
+            read(new File(args[0])), read(new File(args[1])), threshold);
+        final List<Comparison> results = comparison.compare();
+        comparison.print(results, System.out);
+        if (results.stream().anyMatch(Comparison::regression)) {
+            System.exit(1);
+        }
+    }
+
+    static Map<String, Result> read(final File file) throws IOException {
+        final Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            final StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            final Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                final Map.Entry<String, JsonNode> param = params.next();
+                key.append(key.indexOf(":") < 0 ? ":" : ",")
+                    .append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            final JsonNode metric = run.path("primaryMetric");
+            final double error = metric.path("scoreError").asDouble(0.0);
+            results.put(key.toString(), new Result(key.toString(), run.path("mode").asText(),
+                metric.path("score").asDouble(), Double.isNaN(error) ? 0.0 : error,
+                metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    List<Comparison> compare() {
+        final List<Comparison> comparisons = new ArrayList<>();
+        for (Result before : baseline.values()) {
+            final Result after = current.get(before.key());
+            if (after == null || !before.mode().equals(after.mode()) || before.score() == 0.0) {
+                continue;
+            }
+            final double delta = before.isHigherBetter()
+                ? after.score() - before.score()
+                : before.score() - after.score();
+            final double changePercent = delta / before.score() * 100.0;
+            final boolean regression = changePercent < -thresholdPercent
+                && Math.abs(after.score() - before.score()) > before.error() + after.error();
+            comparisons.add(new Comparison(before, after, changePercent, regression));
+        }
+        return comparisons;
+    }
+
+    void print(final List<Comparison> comparisons, final PrintStream out) {
+        out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Comparison comparison : comparisons) {
+            out.printf("%-80s %14.3f %14.3f %+8.1f%% %s%s%n", comparison.baseline().key(),
+                comparison.baseline().score(), comparison.current().score(), comparison.changePercent(),
+                comparison.current().unit(), comparison.regression() ? "  REGRESSION" : "");
+        }
+        for (String key : current.keySet()) {
+            if (!baseline.containsKey(key)) {
+                out.printf("%-80s %14s %14.3f %9s %s%n", key, "-", current.get(key).score(), "new",
+                    current.get(key).unit());
+            }
+        }
+        final long regressions = comparisons.stream().filter(Comparison::regression).count();
+        out.printf("%d of %d benchmarks regressed by more than %.1f%%%n", regressions, comparisons.size(),
+            thresholdPercent);
+    }
+
+}
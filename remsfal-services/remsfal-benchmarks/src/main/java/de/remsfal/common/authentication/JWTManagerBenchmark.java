@@ -0,0 +1,104 @@
+package de.remsfal.common.authentication;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.remsfal.core.json.ImmutableUserJson;
+import de.remsfal.core.model.UserModel;
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.auth.principal.ParseException;
+
+/**
+ * Issuing an access token with {@link JWTManager} and verifying its signature the way the services
+ * do for every request. The number of project roles in the token is varied, because it determines
+ * the size of the token.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTManagerBenchmark {
+
+    static final String ISSUER = "REMSFAL";
+
+    @Param({ "1", "50" })
+    int projects;
+
+    private JWTManager manager;
+    private JWTParser parser;
+    private KeyPair keyPair;
+    private UserModel user;
+    private Map<String, String> projectRoles;
+    private Map<String, String> organizationRoles;
+    private Map<String, String> tenancyProjects;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchAlgorithmException {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        manager = new JWTManager();
+        manager.issuer = ISSUER;
+        manager.keyId = "benchmark-key";
+        manager.setPrivateKey(keyPair.getPrivate());
+        manager.setPublicKey(keyPair.getPublic());
+        parser = new DefaultJWTParser();
+
+        user = ImmutableUserJson.builder()
+            .id(UUID.randomUUID())
+            .email("max@example.com")
+            .name("Max Mustermann")
+            .active(true)
+            .build();
+        projectRoles = createRoles(projects, "MANAGER");
+        organizationRoles = createRoles(2, "OWNER");
+        tenancyProjects = new HashMap<>();
+        tenancyProjects.put(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        token = createAccessToken();
+    }
+
+    static Map<String, String> createRoles(final int count, final String role) {
+        final Map<String, String> roles = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            roles.put(UUID.randomUUID().toString(), role);
+        }
+        return roles;
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return manager.createAccessToken(user, projectRoles, organizationRoles, tenancyProjects, 300);
+    }
+
+    @Benchmark
+    public JsonWebToken verifyAccessToken() throws ParseException {
+        return parser.verify(token, keyPair.getPublic());
+    }
+
+}
@@ -0,0 +1,122 @@
+package de.remsfal.common.authentication;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.remsfal.core.json.ImmutableUserJson;
+import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+
+/**
+ * Reading the claims of a verified access token through {@link RemsfalPrincipal}. A request that
+ * checks the role of its user in a project performs one {@link #getProjectRole} and reads the user
+ * id, the typical resource method a few more claims.
+ *
+ * Every {@code authorizeRequest} invocation uses a new principal, as every request does. With the
+ * shared {@link ClaimsIndexCache} the claims are parsed once per token, without it once per request.
+ * Run with {@code -prof gc} to see the allocation per request.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RemsfalPrincipalBenchmark {
+
+    @Param({ "1", "50", "1000" })
+    int projects;
+
+    private JsonWebToken jwt;
+    private ClaimsIndexCache cache;
+    private RemsfalPrincipal principal;
+    private UUID projectId;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final KeyPair keyPair = generator.generateKeyPair();
+        final JWTManager manager = new JWTManager();
+        manager.issuer = JWTManagerBenchmark.ISSUER;
+        manager.keyId = "benchmark-key";
+        manager.setPrivateKey(keyPair.getPrivate());
+
+        final Map<String, String> projectRoles = JWTManagerBenchmark.createRoles(projects, "MANAGER");
+        final List<String> projectIds = new ArrayList<>(projectRoles.keySet());
+        projectId = UUID.fromString(projectIds.get(projectIds.size() - 1));
+        final String token = manager.createAccessToken(ImmutableUserJson.builder()
+                .id(UUID.randomUUID())
+                .email("max@example.com")
+                .name("Max Mustermann")
+                .active(true)
+                .build(),
+            projectRoles, JWTManagerBenchmark.createRoles(2, "OWNER"),
+            JWTManagerBenchmark.createRoles(1, UUID.randomUUID().toString()), 3600);
+
+        jwt = new DefaultJWTParser().verify(token, keyPair.getPublic());
+        cache = new ClaimsIndexCache();
+        cache.maxSize = 1024;
+        cache.init();
+        principal = newPrincipal(cache);
+    }
+
+    private RemsfalPrincipal newPrincipal(final ClaimsIndexCache claimsIndexCache) {
+        final RemsfalPrincipal requestPrincipal = new RemsfalPrincipal();
+        requestPrincipal.jwt = jwt;
+        requestPrincipal.claimsIndexCache = claimsIndexCache;
+        return requestPrincipal;
+    }
+
+    @Benchmark
+    public MemberRole getProjectRole() {
+        return principal.getProjectRole(projectId);
+    }
+
+    @Benchmark
+    public Map<UUID, MemberRole> getProjectRoles() {
+        return principal.getProjectRoles();
+    }
+
+    @Benchmark
+    public void authorizeRequest(final Blackhole blackhole) {
+        authorize(newPrincipal(cache), blackhole);
+    }
+
+    @Benchmark
+    public void authorizeRequestUncached(final Blackhole blackhole) {
+        authorize(newPrincipal(null), blackhole);
+    }
+
+    private void authorize(final RemsfalPrincipal requestPrincipal, final Blackhole blackhole) {
+        blackhole.consume(requestPrincipal.getId());
+        blackhole.consume(requestPrincipal.getEmail());
+        blackhole.consume(requestPrincipal.getProjectRole(projectId));
+        blackhole.consume(requestPrincipal.getProjectRole(projectId));
+        blackhole.consume(requestPrincipal.getOrganizationRoles());
+        blackhole.consume(requestPrincipal.getTenancyProjects());
+    }
+
+}
@@ -0,0 +1,78 @@
+package de.remsfal.common.util;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generation of time-ordered ids with {@link UUIDv7} with 1, 8 and 64 threads, single and in blocks
+ * of 100, next to the random {@link UUID#randomUUID() version 4} ids as a baseline. All threads share
+ * the clock state of the generator, so the contended runs show the cost of the compare-and-set.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UUIDv7Benchmark {
+
+    @Benchmark
+    public UUID randomUUIDv7() {
+        return UUIDv7.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID randomUUIDv7Threads8() {
+        return UUIDv7.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UUID randomUUIDv7Threads64() {
+        return UUIDv7.randomUUID();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<UUID> randomUUIDv7Block() {
+        return UUIDv7.randomUUIDs(100);
+    }
+
+    @Benchmark
+    @Threads(64)
+    @OperationsPerInvocation(100)
+    public List<UUID> randomUUIDv7BlockThreads64() {
+        return UUIDv7.randomUUIDs(100);
+    }
+
+    @Benchmark
+    public UUID randomUUIDv4() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID randomUUIDv4Threads8() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UUID randomUUIDv4Threads64() {
+        return UUID.randomUUID();
+    }
+
+}
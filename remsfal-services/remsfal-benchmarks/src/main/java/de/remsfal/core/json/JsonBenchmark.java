@@ -0,0 +1,214 @@
+package de.remsfal.core.json;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import de.remsfal.common.configuration.JacksonConfig;
+import de.remsfal.core.json.project.ImmutableRentJson;
+import de.remsfal.core.json.project.ImmutableRentalAgreementJson;
+import de.remsfal.core.json.project.ImmutableRentalAgreementKeysJson;
+import de.remsfal.core.json.project.ImmutableRentalUnitNodeDataJson;
+import de.remsfal.core.json.project.ImmutableRentalUnitTreeNodeJson;
+import de.remsfal.core.json.project.ImmutableTenantJson;
+import de.remsfal.core.json.project.RentJson;
+import de.remsfal.core.json.project.RentalAgreementJson;
+import de.remsfal.core.json.project.RentalUnitTreeNodeJson;
+import de.remsfal.core.json.ticketing.ImmutableIssueAttachmentJson;
+import de.remsfal.core.json.ticketing.ImmutableIssueJson;
+import de.remsfal.core.json.ticketing.IssueJson;
+import de.remsfal.core.model.RentalUnitModel.UnitType;
+import de.remsfal.core.model.project.RentModel.BillingCycle;
+import de.remsfal.core.model.ticketing.IssueModel.IssuePriority;
+import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
+import de.remsfal.core.model.ticketing.IssueModel.IssueType;
+
+/**
+ * (De)serialization of the JSON types on the hottest REST paths through an object mapper that is
+ * configured like the one of the services.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private static final int BUILDINGS = 10;
+    private static final int UNITS_PER_BUILDING = 20;
+
+    private ObjectMapper mapper;
+    private IssueJson issue;
+    private String issueJson;
+    private RentalAgreementJson agreement;
+    private String agreementJson;
+    private List<RentalUnitTreeNodeJson> tree;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // the same settings Quarkus applies by default, plus the customizer of the services
+        mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        new JacksonConfig().customize(mapper);
+
+        issue = createIssue();
+        issueJson = mapper.writeValueAsString(issue);
+        agreement = createAgreement();
+        agreementJson = mapper.writeValueAsString(agreement);
+        tree = createTree();
+    }
+
+    @Benchmark
+    public String serializeIssue() throws IOException {
+        return mapper.writeValueAsString(issue);
+    }
+
+    @Benchmark
+    public IssueJson deserializeIssue() throws IOException {
+        return mapper.readValue(issueJson, IssueJson.class);
+    }
+
+    @Benchmark
+    public String serializeRentalAgreement() throws IOException {
+        return mapper.writeValueAsString(agreement);
+    }
+
+    @Benchmark
+    public RentalAgreementJson deserializeRentalAgreement() throws IOException {
+        return mapper.readValue(agreementJson, RentalAgreementJson.class);
+    }
+
+    @Benchmark
+    public String serializePropertyTree() throws IOException {
+        return mapper.writeValueAsString(tree);
+    }
+
+    private static IssueJson createIssue() {
+        final UUID issueId = UUID.randomUUID();
+        return ImmutableIssueJson.builder()
+            .id(issueId)
+            .projectId(UUID.randomUUID())
+            .modifiedAt(Instant.now())
+            .title("Heating in the second floor does not work")
+            .type(IssueType.DEFECT)
+            .status(IssueStatus.OPEN)
+            .priority(IssuePriority.HIGH)
+            .reporterId(UUID.randomUUID())
+            .reportedBy("Max Mustermann")
+            .agreementId(UUID.randomUUID())
+            .visibleToTenants(Boolean.TRUE)
+            .rentalUnitId(UUID.randomUUID())
+            .rentalUnitType(UnitType.APARTMENT)
+            .assigneeId(UUID.randomUUID())
+            .location("Second floor, left")
+            .description("The radiators in the living room and the kitchen stay cold since Monday.")
+            .parentIssue(UUID.randomUUID())
+            .childrenIssues(Set.of(UUID.randomUUID(), UUID.randomUUID()))
+            .relatedTo(Set.of(UUID.randomUUID()))
+            .blockedBy(Set.of(UUID.randomUUID()))
+            .attachments(List.of(ImmutableIssueAttachmentJson.builder()
+                .issueId(issueId)
+                .attachmentId(UUID.randomUUID())
+                .fileName("radiator.jpg")
+                .contentType("image/jpeg")
+                .objectName(issueId + "/radiator.jpg")
+                .uploaderId(UUID.randomUUID())
+                .uploadedBy("Max Mustermann")
+                .createdAt(Instant.now())
+                .build()))
+            .build();
+    }
+
+    private static RentalAgreementJson createAgreement() {
+        final LocalDate start = LocalDate.of(2020, 1, 1);
+        final List<RentJson> rents = new ArrayList<>();
+        for (int year = 0; year < 5; year++) {
+            rents.add(ImmutableRentJson.builder()
+                .rentalUnitId(UUID.randomUUID())
+                .billingCycle(BillingCycle.MONTHLY)
+                .firstPaymentDate(start.plusYears(year))
+                .lastPaymentDate(start.plusYears(year + 1L).minusDays(1))
+                .basicRent(850f + year * 25f)
+                .operatingCostsPrepayment(180f)
+                .heatingCostsPrepayment(95f)
+                .build());
+        }
+        return ImmutableRentalAgreementJson.builder()
+            .id(UUID.randomUUID())
+            .addTenants(ImmutableTenantJson.builder()
+                .id(UUID.randomUUID())
+                .firstName("Erika")
+                .lastName("Mustermann")
+                .email("erika@example.com")
+                .mobilePhoneNumber("+491701234567")
+                .dateOfBirth(LocalDate.of(1985, 5, 17))
+                .placeOfBirth("Berlin")
+                .build())
+            .startOfRental(start)
+            .addKeys(ImmutableRentalAgreementKeysJson.builder()
+                .amountOfKeys(3)
+                .issuedAt(start)
+                .keyDescription("Front door and mailbox")
+                .build())
+            .apartmentRents(rents)
+            .storageRents(rents.subList(0, 2))
+            .build();
+    }
+
+    private static List<RentalUnitTreeNodeJson> createTree() {
+        final List<RentalUnitTreeNodeJson> buildings = new ArrayList<>();
+        for (int b = 0; b < BUILDINGS; b++) {
+            final List<RentalUnitTreeNodeJson> units = new ArrayList<>();
+            for (int u = 0; u < UNITS_PER_BUILDING; u++) {
+                units.add(node(UnitType.APARTMENT, "Apartment " + b + "." + u, List.of()));
+            }
+            buildings.add(node(UnitType.BUILDING, "Building " + b, units));
+        }
+        return List.of(node(UnitType.PROPERTY, "Property", buildings));
+    }
+
+    private static RentalUnitTreeNodeJson node(final UnitType type, final String title,
+        final List<RentalUnitTreeNodeJson> children) {
+        final UUID id = UUID.randomUUID();
+        return ImmutableRentalUnitTreeNodeJson.builder()
+            .key(id)
+            .data(ImmutableRentalUnitNodeDataJson.builder()
+                .id(id)
+                .type(type)
+                .title(title)
+                .location("Musterstraße 1")
+                .space(72.5f)
+                .build())
+            .children(children)
+            .build();
+    }
+
+}
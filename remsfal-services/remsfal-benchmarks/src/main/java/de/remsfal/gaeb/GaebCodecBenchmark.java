@@ -0,0 +1,98 @@
+package de.remsfal.gaeb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.stream.StreamSource;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.remsfal.gaeb.da83.TgGAEB;
+import de.remsfal.gaeb.da83.TgItem;
+
+/**
+ * Reading an X83 bill of quantities with {@link GaebCodec}, as a whole and item by item, next to
+ * creating a new {@link JAXBContext} per document as it was done before the codec existed.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GaebCodecBenchmark {
+
+    @Param({ "100", "10000" })
+    int items;
+
+    private GaebCodec codec;
+    private byte[] document;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<GAEB xmlns=\"http://www.gaeb.de/GAEB_DA_XML/DA83/3.3\">")
+            .append("<PrjInfo><NamePrj>Benchmark</NamePrj></PrjInfo><Award><DP>83</DP><BoQ ID=\"B\">")
+            .append("<BoQBody><BoQCtgy ID=\"C\" RNoPart=\"01\"><BoQBody><Itemlist>\n");
+        for (int i = 0; i < items; i++) {
+            xml.append("<Item ID=\"I").append(i).append("\" RNoPart=\"").append(i)
+                .append("\"><Qty>1.000</Qty><QU>St</QU></Item>\n");
+        }
+        xml.append("</Itemlist></BoQBody></BoQCtgy></BoQBody></BoQ></Award></GAEB>\n");
+        document = xml.toString().getBytes(StandardCharsets.UTF_8);
+        codec = GaebCodec.of(TgGAEB.class);
+        // the shared context is created once per phase, not per document
+        codec.read(new ByteArrayInputStream(document));
+    }
+
+    @Benchmark
+    public TgGAEB readDocument() {
+        return codec.read(new ByteArrayInputStream(document));
+    }
+
+    @Benchmark
+    public BigDecimal streamItems() {
+        try (GaebItemReader<TgItem> reader =
+            codec.openItemReader(new ByteArrayInputStream(document), TgItem.class)) {
+            return reader.stream()
+                .map(TgItem::getQty)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeDocument() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(document.length);
+        codec.write(codec.read(new ByteArrayInputStream(document)), output);
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public TgGAEB readWithNewContext() throws JAXBException {
+        final JAXBContext context = JAXBContext.newInstance(TgGAEB.class.getPackageName(),
+            TgGAEB.class.getClassLoader());
+        return context.createUnmarshaller()
+            .unmarshal(new StreamSource(new ByteArrayInputStream(document)), TgGAEB.class)
+            .getValue();
+    }
+
+}
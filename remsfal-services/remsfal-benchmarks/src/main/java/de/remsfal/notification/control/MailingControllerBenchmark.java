@@ -0,0 +1,143 @@
+package de.remsfal.notification.control;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.remsfal.core.json.ImmutableUserJson;
+import de.remsfal.core.json.UserJson;
+import de.remsfal.core.json.eventing.ImmutableIssueEventJson;
+import de.remsfal.core.json.eventing.ImmutableProjectEventJson;
+import de.remsfal.core.json.eventing.IssueEventJson;
+import de.remsfal.core.json.eventing.IssueEventJson.IssueEventType;
+import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
+import de.remsfal.core.model.ticketing.IssueModel.IssueType;
+import io.quarkus.mailer.Mail;
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.TemplateLocator.TemplateLocation;
+import io.quarkus.qute.Variant;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Rendering of the notification emails by {@link MailingController}, including the lookup of the
+ * message bundle. The Qute engine is built like the one of the notification service, but without
+ * Quarkus, and the mailer only hands the rendered mail to a consumer.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailingControllerBenchmark {
+
+    private MailingController controller;
+    private IssueEventJson event;
+    private UserJson recipient;
+    private Mail sent;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Engine engine = Engine.builder()
+            .addDefaults()
+            .addValueResolver(new ReflectionValueResolver())
+            .removeStandaloneLines(true)
+            .addLocator(MailingControllerBenchmark::locate)
+            .build();
+
+        controller = new MailingController();
+        controller.logger = Logger.getLogger(MailingController.class);
+        controller.from = "noreply@remsfal.de";
+        controller.frontendBaseUrl = "https://remsfal.de";
+        controller.mailer = mails -> {
+            sent = mails[0];
+            return Uni.createFrom().voidItem();
+        };
+        controller.welcome = engine.getTemplate("welcome.html");
+        controller.issueCreated = engine.getTemplate("issue-created.html");
+        controller.issueAssigned = engine.getTemplate("issue-assigned.html");
+
+        recipient = ImmutableUserJson.builder()
+            .id(UUID.randomUUID())
+            .email("max@example.com")
+            .name("Max Mustermann")
+            .build();
+        final UUID projectId = UUID.randomUUID();
+        event = ImmutableIssueEventJson.builder()
+            .issueEventType(IssueEventType.ISSUE_CREATED)
+            .issueId(UUID.randomUUID())
+            .projectId(projectId)
+            .project(ImmutableProjectEventJson.builder().id(projectId).title("Wohnanlage Musterstraße").build())
+            .title("Heating in the second floor does not work")
+            .issueType(IssueType.DEFECT)
+            .status(IssueStatus.OPEN)
+            .user(recipient)
+            .assignee(recipient)
+            .build();
+    }
+
+    private static Optional<TemplateLocation> locate(final String id) {
+        final String path = "templates/" + (id.endsWith(".html") ? id : id + ".html");
+        final URL url = MailingControllerBenchmark.class.getClassLoader().getResource(path);
+        if (url == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new TemplateLocation() {
+            @Override
+            public Reader read() {
+                try {
+                    return new InputStreamReader(url.openStream(), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public Optional<Variant> getVariant() {
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Benchmark
+    public Mail renderWelcomeEmail() {
+        controller.sendWelcomeEmail(recipient, "https://remsfal.de", Locale.GERMAN).await().indefinitely();
+        return sent;
+    }
+
+    @Benchmark
+    public Mail renderIssueCreatedEmail() {
+        controller.sendIssueCreatedEmail(event, recipient).await().indefinitely();
+        return sent;
+    }
+
+    @Benchmark
+    public Mail renderIssueAssignedEmail() {
+        controller.sendIssueAssignedEmail(event, recipient).await().indefinitely();
+        return sent;
+    }
+
+}
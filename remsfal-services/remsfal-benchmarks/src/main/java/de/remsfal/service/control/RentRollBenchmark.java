@@ -0,0 +1,89 @@
+package de.remsfal.service.control;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.remsfal.core.model.RentalUnitModel.UnitType;
+import de.remsfal.core.model.project.RentModel.BillingCycle;
+import de.remsfal.service.entity.dao.RentalAgreementRepository.RentRollRow;
+
+/**
+ * Expansion of the rents of 50,000 agreements into the monthly amounts of a {@link RentRoll}, as the rows
+ * arrive from the database cursor. Every other rent is paid weekly.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentRollBenchmark {
+
+    private static final int AGREEMENTS = 50_000;
+    private static final int UNITS = 5_000;
+    private static final int BUILDINGS = 100;
+    private static final int PROPERTIES = 10;
+
+    @Param({ "12", "120" })
+    int months;
+
+    private LocalDate from;
+    private LocalDate to;
+    private List<RentRollRow> rows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        from = LocalDate.of(2024, 1, 1);
+        to = from.plusMonths(months).minusDays(1);
+        final UUID[] properties = new UUID[PROPERTIES];
+        for (int i = 0; i < PROPERTIES; i++) {
+            properties[i] = UUID.randomUUID();
+        }
+        final UUID[] buildings = new UUID[BUILDINGS];
+        for (int i = 0; i < BUILDINGS; i++) {
+            buildings[i] = UUID.randomUUID();
+        }
+        final UUID[] units = new UUID[UNITS];
+        for (int i = 0; i < UNITS; i++) {
+            units[i] = UUID.randomUUID();
+        }
+        rows = new ArrayList<>(AGREEMENTS);
+        for (int i = 0; i < AGREEMENTS; i++) {
+            final int unit = i % UNITS;
+            final int building = unit % BUILDINGS;
+            final LocalDate firstPayment = LocalDate.of(2014 + i / UNITS, 1 + i % 12, 1 + i % 28);
+            rows.add(new RentRollRow(UnitType.APARTMENT, units[unit], "Apartment " + unit, buildings[building],
+                "Building " + building, properties[building % PROPERTIES], "Property " + building % PROPERTIES,
+                (int) firstPayment.toEpochDay(), null, i % 2 == 0 ? BillingCycle.WEEKLY : BillingCycle.MONTHLY,
+                10_000L + i % 90_000));
+        }
+    }
+
+    @Benchmark
+    public RentRoll expand() {
+        final RentRoll rentRoll = new RentRoll(from, to);
+        for (RentRollRow row : rows) {
+            rentRoll.add(row);
+        }
+        return rentRoll;
+    }
+
+}
@@ -0,0 +1,72 @@
+package de.remsfal.service.entity.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.remsfal.service.entity.cache.PostalCodeIndex.PostalCode;
+
+/**
+ * Lookups in the {@link PostalCodeIndex} behind the address autocompletion, and the cost of loading
+ * the index at startup.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostalCodeIndexBenchmark {
+
+    private static final int LIMIT = 10;
+
+    private byte[] csv;
+    private PostalCodeIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        try (InputStream resource = PostalCodeIndex.class.getClassLoader()
+            .getResourceAsStream(PostalCodeIndex.RESOURCE)) {
+            csv = resource.readAllBytes();
+        }
+        index = PostalCodeIndex.load(new ByteArrayInputStream(csv));
+    }
+
+    @Benchmark
+    public List<PostalCode> findByZip() {
+        return index.findByZip("10318");
+    }
+
+    @Benchmark
+    public List<PostalCode> findByZipPrefix() {
+        return index.findByZipPrefix("103", LIMIT);
+    }
+
+    @Benchmark
+    public List<PostalCode> findByCityPrefix() {
+        return index.findByCityPrefix("Bad Sa", LIMIT);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PostalCodeIndex load() throws IOException {
+        return PostalCodeIndex.load(new ByteArrayInputStream(csv));
+    }
+
+}
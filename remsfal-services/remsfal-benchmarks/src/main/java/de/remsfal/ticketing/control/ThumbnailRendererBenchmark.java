@@ -0,0 +1,100 @@
+package de.remsfal.ticketing.control;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendering throughput of {@link ThumbnailRenderer} for JPEG and PNG photos of a phone camera and of a
+ * screenshot and for PDF documents with such a photo on their first page, with one thread and with the
+ * two threads of the default preview pool.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThumbnailRendererBenchmark {
+
+    private static final int SIZE = 256;
+
+    @Param({ "jpg", "png", "pdf" })
+    public String format;
+
+    @Param({ "4032x3024", "1920x1080" })
+    public String resolution;
+
+    private byte[] image;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final String[] dimensions = resolution.split("x");
+        final int width = Integer.parseInt(dimensions[0]);
+        final int height = Integer.parseInt(dimensions[1]);
+        final BufferedImage source = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = source.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if ("pdf".equals(format)) {
+            writePdf(source, bytes);
+        } else {
+            ImageIO.write(source, format, bytes);
+        }
+        image = bytes.toByteArray();
+    }
+
+    private static void writePdf(final BufferedImage photo, final ByteArrayOutputStream bytes) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            final PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.drawImage(JPEGFactory.createFromImage(document, photo), 0, 0,
+                    PDRectangle.A4.getWidth(), PDRectangle.A4.getHeight());
+            }
+            document.save(bytes);
+        }
+    }
+
+    @Benchmark
+    public byte[] render() throws IOException {
+        return ThumbnailRenderer.render(new ByteArrayInputStream(image), SIZE);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public byte[] renderThreads2() throws IOException {
+        return ThumbnailRenderer.render(new ByteArrayInputStream(image), SIZE);
+    }
+
+}
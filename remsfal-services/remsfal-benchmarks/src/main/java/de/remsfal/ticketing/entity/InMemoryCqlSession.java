@@ -0,0 +1,235 @@
+package de.remsfal.ticketing.entity;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Stand-in for a {@link CqlSession} that keeps Cassandra out of the measurement but still charges the
+ * work a coordinator does per request: the statement text of an unprepared statement is encoded and
+ * tokenized on every execution, a prepared statement is tokenized once and later executions only send
+ * its id. The bound values are encoded on both paths. Every execution returns an empty result.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class InMemoryCqlSession implements InvocationHandler {
+
+    private final Map<UUID, List<String>> prepared = new ConcurrentHashMap<>();
+
+    private final CqlSession session;
+    private final ResultSet emptyResult;
+
+    private long receivedBytes;
+    private long parsedTokens;
+
+    private InMemoryCqlSession() {
+        this.session = proxy(CqlSession.class, this);
+        this.emptyResult = proxy(ResultSet.class, InMemoryCqlSession::emptyResult);
+    }
+
+    /**
+     * @return a new session without any prepared statements
+     */
+    public static CqlSession create() {
+        return new InMemoryCqlSession().session;
+    }
+
+    /**
+     * Creates a registry that prepares its statements on the given session.
+     *
+     * @param session the session to prepare and execute the statements on
+     * @param maxSize the maximum number of cached statements
+     * @return the initialized registry
+     */
+    public static PreparedStatementRegistry registry(final CqlSession session, final int maxSize) {
+        final PreparedStatementRegistry registry = new PreparedStatementRegistry();
+        registry.cqlSession = session;
+        registry.meterRegistry = new SimpleMeterRegistry();
+        registry.maxSize = maxSize;
+        registry.init();
+        return registry;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final String name = method.getName();
+        if ("prepare".equals(name) && args.length == 1 && args[0] instanceof String cql) {
+            return prepare(cql);
+        }
+        if ("execute".equals(name) && args.length >= 1 && args[0] instanceof SimpleStatement statement) {
+            return execute(statement);
+        }
+        if ("execute".equals(name) && args.length >= 1 && args[0] instanceof BoundStatement statement) {
+            return execute(statement);
+        }
+        return invokeOther(proxy, method, args);
+    }
+
+    private PreparedStatement prepare(final String cql) {
+        final UUID id = UUID.randomUUID();
+        final List<String> tokens = tokenize(cql);
+        parsedTokens += tokens.size();
+        prepared.put(id, tokens);
+        return proxy(PreparedStatement.class, new Prepared(id, cql));
+    }
+
+    private ResultSet execute(final SimpleStatement statement) {
+        final ByteBuffer text = StandardCharsets.UTF_8.encode(statement.getQuery());
+        receivedBytes += text.remaining();
+        parsedTokens += tokenize(StandardCharsets.UTF_8.decode(text).toString()).size();
+        receivedBytes += encode(statement.getPositionalValues().toArray()).remaining();
+        return emptyResult;
+    }
+
+    private ResultSet execute(final BoundStatement statement) {
+        final Bound bound = (Bound) Proxy.getInvocationHandler(statement);
+        if (prepared.get(bound.prepared().id()) == null) {
+            throw new IllegalStateException("Unprepared statement: " + bound.prepared().cql());
+        }
+        receivedBytes += 16 + encode(bound.values()).remaining();
+        return emptyResult;
+    }
+
+    /**
+     * Splits a statement into identifiers, literals and symbols, like the lexer of a coordinator.
+     */
+    static List<String> tokenize(final String cql) {
+        final List<String> tokens = new ArrayList<>();
+        int start = -1;
+        boolean quoted = false;
+        for (int i = 0; i < cql.length(); i++) {
+            final char c = cql.charAt(i);
+            if (quoted) {
+                if (c == '\'') {
+                    tokens.add(cql.substring(start, i + 1));
+                    quoted = false;
+                    start = -1;
+                }
+            } else if (c == '\'') {
+                start = i;
+                quoted = true;
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-') {
+                if (start < 0) {
+                    start = i;
+                }
+            } else {
+                if (start >= 0) {
+                    tokens.add(cql.substring(start, i).toLowerCase());
+                    start = -1;
+                }
+                if (!Character.isWhitespace(c)) {
+                    tokens.add(String.valueOf(c));
+                }
+            }
+        }
+        if (start >= 0) {
+            tokens.add(cql.substring(start).toLowerCase());
+        }
+        return tokens;
+    }
+
+    private static ByteBuffer encode(final Object[] values) {
+        int size = 0;
+        final byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = encode(values[i]);
+            size += 4 + encoded[i].length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] value : encoded) {
+            buffer.putInt(value.length).put(value);
+        }
+        return buffer.flip();
+    }
+
+    private static byte[] encode(final Object value) {
+        if (value instanceof UUID uuid) {
+            return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+        } else if (value instanceof Integer number) {
+            return ByteBuffer.allocate(4).putInt(number).array();
+        } else if (value instanceof Boolean flag) {
+            return new byte[] { (byte) (flag ? 1 : 0) };
+        }
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Object emptyResult(final Object proxy, final Method method, final Object[] args)
+        throws Throwable {
+        return switch (method.getName()) {
+            case "iterator" -> Collections.emptyIterator();
+            case "one" -> null;
+            case "all" -> List.of();
+            case "isFullyFetched", "wasApplied" -> true;
+            case "getAvailableWithoutFetching" -> 0;
+            default -> invokeOther(proxy, method, args);
+        };
+    }
+
+    private static Object invokeOther(final Object proxy, final Method method, final Object[] args)
+        throws Throwable {
+        if (method.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        return switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> proxy.getClass().getInterfaces()[0].getSimpleName();
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InMemoryCqlSession.class.getClassLoader(),
+            new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * A statement prepared on this session.
+     */
+    private record Prepared(UUID id, String cql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "bind" -> proxy(BoundStatement.class, new Bound(this, (Object[]) args[0]));
+                case "getQuery" -> cql;
+                case "getId" -> ByteBuffer.wrap(id.toString().getBytes(StandardCharsets.US_ASCII));
+                default -> invokeOther(proxy, method, args);
+            };
+        }
+    }
+
+    /**
+     * Values bound to a prepared statement, encoded on execution.
+     */
+    private record Bound(Prepared prepared, Object[] values) implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if ("getPreparedStatement".equals(method.getName())) {
+                return proxy(PreparedStatement.class, prepared);
+            }
+            return invokeOther(proxy, method, args);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package de.remsfal.ticketing.entity.dao;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.remsfal.core.model.RentalUnitModel.UnitType;
+import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
+import de.remsfal.core.model.ticketing.IssueModel.IssueType;
+import de.remsfal.ticketing.entity.dao.IssueRepository.IssueQuery;
+import de.remsfal.ticketing.entity.filter.IssueFilter;
+
+/**
+ * Construction of the CQL statement text and bind values for an {@link IssueFilter}, which runs
+ * once per partition for every issue list request.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IssueQueryBenchmark {
+
+    private IssueFilter projectFilter;
+    private IssueFilter fullFilter;
+    private UUID cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final UUID projectId = UUID.randomUUID();
+        projectFilter = new IssueFilter(projectId, null, null, null, null, null, null, null);
+        fullFilter = new IssueFilter(projectId, UUID.randomUUID(), UUID.randomUUID(), UnitType.APARTMENT,
+            UUID.randomUUID(), List.of(IssueType.DEFECT, IssueType.MAINTENANCE, IssueType.TASK),
+            List.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS), Boolean.TRUE);
+        cursor = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public IssueQuery buildProjectQuery() {
+        return IssueRepository.buildQuery(projectFilter, null, 50);
+    }
+
+    @Benchmark
+    public IssueQuery buildFullQuery() {
+        return IssueRepository.buildQuery(fullFilter, cursor, 50);
+    }
+
+}
@@ -0,0 +1,108 @@
+package de.remsfal.ticketing.entity.dao;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+
+import de.remsfal.core.model.RentalUnitModel.UnitType;
+import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
+import de.remsfal.core.model.ticketing.IssueModel.IssueType;
+import de.remsfal.ticketing.entity.InMemoryCqlSession;
+import de.remsfal.ticketing.entity.PreparedStatementRegistry;
+import de.remsfal.ticketing.entity.dao.IssueRepository.IssueQuery;
+import de.remsfal.ticketing.entity.filter.IssueFilter;
+
+/**
+ * Execution of issue list queries with their values rendered into the statement text, as the
+ * {@code QueryBuilder} literals did before, against execution through the
+ * {@link PreparedStatementRegistry}. Both paths run on an {@link InMemoryCqlSession}, which tokenizes
+ * the text of every unprepared statement and only the text of each prepared statement once.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IssueQueryExecutionBenchmark {
+
+    private CqlSession session;
+    private PreparedStatementRegistry registry;
+    private IssueFilter projectFilter;
+    private IssueFilter fullFilter;
+    private UUID cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        session = InMemoryCqlSession.create();
+        registry = InMemoryCqlSession.registry(session, 512);
+        final UUID projectId = UUID.randomUUID();
+        projectFilter = new IssueFilter(projectId, null, null, null, null, null, null, null);
+        fullFilter = new IssueFilter(projectId, UUID.randomUUID(), UUID.randomUUID(), UnitType.APARTMENT,
+            UUID.randomUUID(), List.of(IssueType.DEFECT, IssueType.MAINTENANCE, IssueType.TASK),
+            List.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS), Boolean.TRUE);
+        cursor = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public ResultSet executeProjectQueryLiteral() {
+        return session.execute(literal(IssueRepository.buildQuery(projectFilter, null, 50)));
+    }
+
+    @Benchmark
+    public ResultSet executeProjectQueryPrepared() {
+        final IssueQuery query = IssueRepository.buildQuery(projectFilter, null, 50);
+        return registry.execute(query.cql(), query.params());
+    }
+
+    @Benchmark
+    public ResultSet executeFullQueryLiteral() {
+        return session.execute(literal(IssueRepository.buildQuery(fullFilter, cursor, 50)));
+    }
+
+    @Benchmark
+    public ResultSet executeFullQueryPrepared() {
+        final IssueQuery query = IssueRepository.buildQuery(fullFilter, cursor, 50);
+        return registry.execute(query.cql(), query.params());
+    }
+
+    /**
+     * Renders the values into the statement text in place of the bind markers.
+     */
+    private static SimpleStatement literal(final IssueQuery query) {
+        final String cql = query.cql();
+        final StringBuilder literal = new StringBuilder(cql.length() + 32 * query.params().length);
+        int param = 0;
+        for (int i = 0; i < cql.length(); i++) {
+            final char c = cql.charAt(i);
+            if (c != '?') {
+                literal.append(c);
+            } else if (query.params()[param] instanceof String value) {
+                literal.append('\'').append(value.replace("'", "''")).append('\'');
+                param++;
+            } else {
+                literal.append(query.params()[param++]);
+            }
+        }
+        return SimpleStatement.newInstance(literal.toString());
+    }
+
+}
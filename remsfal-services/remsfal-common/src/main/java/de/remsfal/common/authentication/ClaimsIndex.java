@@ -0,0 +1,174 @@
+package de.remsfal.common.authentication;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+import de.remsfal.core.model.OrganizationEmployeeModel.EmployeeRole;
+import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
+
+/**
+ * The role and tenancy claims of one access token, parsed once into sorted arrays. Lookups are
+ * binary searches over the ids, roles are stored as their ordinals. Instances are immutable and
+ * shared between all requests that carry the same token.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+final class ClaimsIndex {
+
+    static final ClaimsIndex EMPTY = new ClaimsIndex(Map.of(), Map.of(), Map.of());
+
+    private static final MemberRole[] MEMBER_ROLES = MemberRole.values();
+    private static final EmployeeRole[] EMPLOYEE_ROLES = EmployeeRole.values();
+
+    private final ClaimMap<MemberRole> projectRoles;
+    private final ClaimMap<EmployeeRole> organizationRoles;
+    private final ClaimMap<UUID> tenancyProjects;
+
+    ClaimsIndex(final Map<String, String> projectRoles, final Map<String, String> organizationRoles,
+        final Map<String, String> tenancyProjects) {
+        this.projectRoles = new RoleMap<>(projectRoles, MemberRole::valueOf, MEMBER_ROLES);
+        this.organizationRoles = new RoleMap<>(organizationRoles, EmployeeRole::valueOf, EMPLOYEE_ROLES);
+        this.tenancyProjects = new ProjectMap(tenancyProjects);
+    }
+
+    Map<UUID, MemberRole> getProjectRoles() {
+        return projectRoles;
+    }
+
+    Map<UUID, EmployeeRole> getOrganizationRoles() {
+        return organizationRoles;
+    }
+
+    Map<UUID, UUID> getTenancyProjects() {
+        return tenancyProjects;
+    }
+
+    /**
+     * Read-only map over ids sorted by {@link UUID#compareTo(UUID)}.
+     */
+    private abstract static class ClaimMap<V> extends AbstractMap<UUID, V> {
+
+        final UUID[] keys;
+
+        ClaimMap(final int size) {
+            this.keys = new UUID[size];
+        }
+
+        abstract V valueAt(int index);
+
+        private int indexOf(final Object key) {
+            return key instanceof UUID id ? Arrays.binarySearch(keys, id) : -1;
+        }
+
+        @Override
+        public V get(final Object key) {
+            final int index = indexOf(key);
+            return index >= 0 ? valueAt(index) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return keys.length == 0;
+        }
+
+        @Override
+        public Set<Entry<UUID, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<UUID, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        public Entry<UUID, V> next() {
+                            if (next >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final int index = next++;
+                            return new SimpleImmutableEntry<>(keys[index], valueAt(index));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+
+    private static final class RoleMap<E extends Enum<E>> extends ClaimMap<E> {
+
+        private final byte[] ordinals;
+        private final E[] constants;
+
+        RoleMap(final Map<String, String> claim, final Function<String, E> parser, final E[] constants) {
+            super(claim.size());
+            this.ordinals = new byte[claim.size()];
+            this.constants = constants;
+            final TreeMap<UUID, E> sorted = new TreeMap<>();
+            for (Map.Entry<String, String> entry : claim.entrySet()) {
+                sorted.put(UUID.fromString(entry.getKey()), parser.apply(entry.getValue().trim()));
+            }
+            int index = 0;
+            for (Map.Entry<UUID, E> entry : sorted.entrySet()) {
+                keys[index] = entry.getKey();
+                ordinals[index++] = (byte) entry.getValue().ordinal();
+            }
+        }
+
+        @Override
+        E valueAt(final int index) {
+            return constants[ordinals[index]];
+        }
+    }
+
+    private static final class ProjectMap extends ClaimMap<UUID> {
+
+        private final UUID[] projects;
+
+        ProjectMap(final Map<String, String> claim) {
+            super(claim.size());
+            this.projects = new UUID[claim.size()];
+            final TreeMap<UUID, UUID> sorted = new TreeMap<>();
+            for (Map.Entry<String, String> entry : claim.entrySet()) {
+                sorted.put(UUID.fromString(entry.getKey()), UUID.fromString(entry.getValue()));
+            }
+            int index = 0;
+            for (Map.Entry<UUID, UUID> entry : sorted.entrySet()) {
+                keys[index] = entry.getKey();
+                projects[index++] = entry.getValue();
+            }
+        }
+
+        @Override
+        UUID valueAt(final int index) {
+            return projects[index];
+        }
+    }
+
+}
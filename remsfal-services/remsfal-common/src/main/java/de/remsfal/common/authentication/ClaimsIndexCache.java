@@ -0,0 +1,74 @@
+package de.remsfal.common.authentication;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Least recently used cache of the parsed claims per token id. An access token is sent with many
+ * requests during its lifetime, so its claims are parsed only once. The number of tokens is bounded
+ * by {@code de.remsfal.auth.claims-cache.max-size}; expired tokens are rejected before their claims
+ * are read and simply age out of the cache.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class ClaimsIndexCache {
+
+    @ConfigProperty(name = "de.remsfal.auth.claims-cache.max-size", defaultValue = "1024")
+    int maxSize;
+
+    private Map<String, ClaimsIndex> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, ClaimsIndex> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param tokenId the {@code jti} claim of the token, tokens without an id are not cached
+     * @param parser  parses the claims if the token is not cached yet, called without holding the lock
+     * @return the parsed claims of the token
+     */
+    ClaimsIndex get(final String tokenId, final Supplier<ClaimsIndex> parser) {
+        if (tokenId == null) {
+            return parser.get();
+        }
+        synchronized (entries) {
+            final ClaimsIndex cached = entries.get(tokenId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final ClaimsIndex parsed = parser.get();
+        synchronized (entries) {
+            final ClaimsIndex cached = entries.putIfAbsent(tokenId, parsed);
+            return cached != null ? cached : parsed;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+}
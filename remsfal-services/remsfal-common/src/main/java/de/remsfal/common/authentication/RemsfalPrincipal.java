@@ -5,7 +5,6 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
@@ -22,6 +21,11 @@ public class RemsfalPrincipal implements Principal, UserModel {
     @Inject
     JsonWebToken jwt;
 
+    @Inject
+    ClaimsIndexCache claimsIndexCache;
+
+    private ClaimsIndex claims;
+
     @Override
     public UUID getId() {
         return jwt != null && jwt.getSubject() != null ? UUID.fromString(jwt.getSubject()) : null;
@@ -62,24 +66,32 @@ public class RemsfalPrincipal implements Principal, UserModel {
     }
 
     public Map<UUID, MemberRole> getProjectRoles() {
-        return getClaimMap("project_roles").entrySet().stream()
-            .collect(Collectors.toMap(
-                e -> UUID.fromString(e.getKey()),
-                e -> MemberRole.valueOf(e.getValue().trim())));
+        return getClaims().getProjectRoles();
     }
 
     public Map<UUID, EmployeeRole> getOrganizationRoles() {
-        return getClaimMap("organization_roles").entrySet().stream()
-            .collect(Collectors.toMap(
-                e -> UUID.fromString(e.getKey()),
-                e -> EmployeeRole.valueOf(e.getValue().trim())));
+        return getClaims().getOrganizationRoles();
     }
 
     public Map<UUID, UUID> getTenancyProjects() {
-        return getClaimMap("tenancy_projects").entrySet().stream()
-            .collect(Collectors.toMap(
-                e -> UUID.fromString(e.getKey()),
-                e -> UUID.fromString(e.getValue())));
+        return getClaims().getTenancyProjects();
+    }
+
+    private ClaimsIndex getClaims() {
+        if (claims == null) {
+            if (jwt == null) {
+                return ClaimsIndex.EMPTY;
+            }
+            claims = claimsIndexCache != null
+                ? claimsIndexCache.get(jwt.getTokenID(), this::parseClaims)
+                : parseClaims();
+        }
+        return claims;
+    }
+
+    private ClaimsIndex parseClaims() {
+        return new ClaimsIndex(getClaimMap("project_roles"), getClaimMap("organization_roles"),
+            getClaimMap("tenancy_projects"));
     }
 
     public Map<String, String> getClaimMap(String claimName) {
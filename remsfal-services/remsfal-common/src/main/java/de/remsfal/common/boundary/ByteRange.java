@@ -0,0 +1,123 @@
+package de.remsfal.common.boundary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Satisfiable byte range of a representation as requested by an HTTP {@code Range} header (RFC 9110, 14.1.2).
+ *
+ * @param offset the position of the first byte
+ * @param length the number of bytes
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public record ByteRange(long offset, long length) {
+
+    public static final String UNIT = "bytes";
+
+    /**
+     * Upper bound of ranges per request, protects the storage from requests fanning out into
+     * a huge number of tiny reads.
+     */
+    public static final int MAX_RANGES = 16;
+
+    private static final String PREFIX = UNIT + "=";
+
+    /**
+     * @return the position of the last byte
+     */
+    public long last() {
+        return offset + length - 1;
+    }
+
+    /**
+     * @param size the size of the complete representation
+     * @return the value of the {@code Content-Range} header of this range
+     */
+    public String toContentRange(final long size) {
+        return UNIT + " " + offset + "-" + last() + "/" + size;
+    }
+
+    /**
+     * @param size the size of the complete representation
+     * @return the value of the {@code Content-Range} header of a {@code 416} response
+     */
+    public static String toUnsatisfiedContentRange(final long size) {
+        return UNIT + " */" + size;
+    }
+
+    /**
+     * Parses a {@code Range} header. Overlapping and adjacent ranges are coalesced and returned in
+     * ascending order.
+     *
+     * @param header the value of the {@code Range} header, may be {@code null}
+     * @param size   the size of the complete representation
+     * @return the satisfiable ranges, an empty list if none of the ranges is satisfiable or
+     *         {@code null} if the header is missing, malformed or requests too many ranges and
+     *         therefore has to be ignored
+     */
+    public static List<ByteRange> parse(final String header, final long size) {
+        if (header == null || !header.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return null;
+        }
+        final String[] specs = header.substring(PREFIX.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+        final List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            final String trimmed = spec.trim();
+            final int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                final String first = trimmed.substring(0, dash);
+                final String last = trimmed.substring(dash + 1);
+                if (first.isEmpty()) {
+                    // suffix range, the last n bytes
+                    final long suffix = Long.parseLong(last);
+                    if (suffix < 0) {
+                        return null;
+                    } else if (suffix > 0 && size > 0) {
+                        final long length = Math.min(suffix, size);
+                        ranges.add(new ByteRange(size - length, length));
+                    }
+                    continue;
+                }
+                final long start = Long.parseLong(first);
+                final long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    return null;
+                } else if (start < size) {
+                    ranges.add(new ByteRange(start, Math.min(end, size - 1) - start + 1));
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return coalesce(ranges);
+    }
+
+    private static List<ByteRange> coalesce(final List<ByteRange> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+        ranges.sort(Comparator.comparingLong(ByteRange::offset));
+        final List<ByteRange> coalesced = new ArrayList<>(ranges.size());
+        ByteRange current = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            final ByteRange next = ranges.get(i);
+            if (next.offset() <= current.last() + 1) {
+                final long last = Math.max(current.last(), next.last());
+                current = new ByteRange(current.offset(), last - current.offset() + 1);
+            } else {
+                coalesced.add(current);
+                current = next;
+            }
+        }
+        coalesced.add(current);
+        return coalesced;
+    }
+
+}
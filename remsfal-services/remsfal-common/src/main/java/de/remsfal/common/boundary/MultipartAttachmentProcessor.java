@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.function.Function;
 
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.HttpHeaders;
 
 import org.jboss.resteasy.plugins.providers.multipart.InputPart;
 
@@ -23,20 +24,48 @@ public final class MultipartAttachmentProcessor {
     public static <J> List<J> processAttachmentParts(final List<InputPart> fileParts,
         final Function<FileUploadData, J> processor) {
         final List<J> attachments = new ArrayList<>();
+        for (final FileUploadData fileData : readAttachmentParts(fileParts)) {
+            attachments.add(processor.apply(fileData));
+        }
+        return attachments;
+    }
+
+    /**
+     * Reads the file parts of a multipart request without consuming their content, so that the parts
+     * can be processed concurrently. The declared {@code Content-Length} of a part is passed on if present.
+     *
+     * @param fileParts the file parts, may be null
+     * @return one upload per part in the order of the parts
+     * @throws BadRequestException if a part cannot be read
+     */
+    public static List<FileUploadData> readAttachmentParts(final List<InputPart> fileParts) {
+        final List<FileUploadData> files = new ArrayList<>();
         if (fileParts == null) {
-            return attachments;
+            return files;
         }
         for (final InputPart inputPart : fileParts) {
             try {
                 final InputStream inputStream = inputPart.getBody(InputStream.class, null);
-                final FileUploadData fileData = new FileUploadData(
-                    inputStream, inputPart.getFileName(), inputPart.getMediaType());
-                attachments.add(processor.apply(fileData));
+                files.add(new FileUploadData(inputStream, inputPart.getFileName(), inputPart.getMediaType(),
+                    declaredSize(inputPart)));
             } catch (IOException e) {
                 throw new BadRequestException("Failed to read file data", e);
             }
         }
-        return attachments;
+        return files;
+    }
+
+    private static long declaredSize(final InputPart inputPart) {
+        final String contentLength = inputPart.getHeaders() != null
+            ? inputPart.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH) : null;
+        if (contentLength == null) {
+            return FileUploadData.UNKNOWN_SIZE;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return FileUploadData.UNKNOWN_SIZE;
+        }
     }
 
 }
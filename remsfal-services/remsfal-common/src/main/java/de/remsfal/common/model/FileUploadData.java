@@ -11,11 +11,22 @@ import java.io.InputStream;
  */
 public class FileUploadData {
 
+    public static final long UNKNOWN_SIZE = -1;
+
     private final InputStream inputStream;
     private final String fileName;
     private final MediaType mediaType;
+    private final long size;
 
     public FileUploadData(final InputStream inputStream, final String fileName, final MediaType mediaType) {
+        this(inputStream, fileName, mediaType, UNKNOWN_SIZE);
+    }
+
+    /**
+     * @param size the declared length of the content in bytes, or {@link #UNKNOWN_SIZE}
+     */
+    public FileUploadData(final InputStream inputStream, final String fileName, final MediaType mediaType,
+        final long size) {
         if (inputStream == null) {
             throw new IllegalArgumentException("Input stream cannot be null");
         }
@@ -28,6 +39,7 @@ public class FileUploadData {
         this.inputStream = inputStream;
         this.fileName = fileName;
         this.mediaType = mediaType;
+        this.size = size < 0 ? UNKNOWN_SIZE : size;
     }
 
     public InputStream getInputStream() {
@@ -41,4 +53,11 @@ public class FileUploadData {
     public MediaType getMediaType() {
         return mediaType;
     }
+
+    /**
+     * @return the declared length of the content in bytes, or {@link #UNKNOWN_SIZE} if it was not declared
+     */
+    public long getSize() {
+        return size;
+    }
 }
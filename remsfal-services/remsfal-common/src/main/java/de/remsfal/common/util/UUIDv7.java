@@ -1,7 +1,12 @@
 package de.remsfal.common.util;
 
 import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for generating UUID version 7 (UUIDv7) as defined in
@@ -21,18 +26,28 @@ import java.util.UUID;
  * ├─────────────────────────────────────────────────────────────────┤
  * │                  unix_ts_ms (48 bits)                           │
  * ├────────┬────────────────────────────────────────────────────────┤
- * │ 0 1 1 1│          rand_a (12 bits)                              │
+ * │ 0 1 1 1│          sub_ms (12 bits)                              │
  * ├───┬─────────────────────────────────────────────────────────────┤
  * │1 0│                rand_b (62 bits)                             │
  * └─────────────────────────────────────────────────────────────────┘
  *
  *  unix_ts_ms : 48-bit big-endian unsigned Unix epoch in milliseconds
  *  ver        :  4-bit version field set to 0b0111 (= 7)
- *  rand_a     : 12-bit pseudo-random data
+ *  sub_ms     : 12-bit fraction of the millisecond, used as a counter within the millisecond
  *  var        :  2-bit variant field set to 0b10 (RFC 4122 / RFC 9562)
  *  rand_b     : 62-bit pseudo-random data
  * </pre>
  *
+ * <h2>Monotonicity</h2>
+ * <p>The timestamp and the sub-millisecond fraction (RFC 9562 section 6.2, method 3) form one 60-bit
+ * value that is shared by all threads. Every UUID takes the current clock value or, if that is not
+ * greater, the last value plus one, claimed with a compare-and-set instead of a lock. UUIDs of this
+ * JVM are therefore strictly increasing, also within the same millisecond and if the system clock is
+ * set back; in both cases the embedded timestamp runs ahead of the clock until it catches up.</p>
+ *
+ * <p>The random bits come from a {@link SplittableRandom} per thread that is seeded from
+ * {@link SecureRandom}. The ids are unique and hard to guess, but not suitable as secrets.</p>
+ *
  * <h2>Why UUIDv7 instead of UUIDv4?</h2>
  * <p>Standard {@link UUID#randomUUID()} (UUIDv4) is purely random and carries no
  * temporal information. In Cassandra, where rows within a partition are physically
@@ -52,6 +67,9 @@ import java.util.UUID;
  * UUID newer = UUIDv7.randomUUID();
  * assert older.compareTo(newer) < 0; // older < newer
  *
+ * // Reserve a block of consecutive ids at once
+ * List<UUID> ids = UUIDv7.randomUUIDs(100);
+ *
  * // Extract the embedded creation timestamp
  * long createdAtMs = UUIDv7.extractTimestamp(id);
  * Instant createdAt = Instant.ofEpochMilli(createdAtMs);
@@ -69,7 +87,16 @@ import java.util.UUID;
  */
 public final class UUIDv7 {
 
-    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final long SUB_MS_BITS = 12;
+    private static final long SUB_MS_MASK = (1L << SUB_MS_BITS) - 1;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final SecureRandom SEED = new SecureRandom();
+    private static final ThreadLocal<SplittableRandom> RANDOM =
+        ThreadLocal.withInitial(() -> new SplittableRandom(SEED.nextLong()));
+
+    /** The last issued {@code [48-bit unix_ts_ms][12-bit sub_ms]} value. */
+    private static final AtomicLong LAST = new AtomicLong();
 
     private UUIDv7() {
         // Utility class — not instantiable
@@ -79,25 +106,68 @@ public final class UUIDv7 {
      * Generates a new time-ordered UUID (version 7).
      *
      * <p>The 48 most significant bits are filled with the current Unix epoch in
-     * milliseconds, ensuring that every UUID generated later is lexicographically
-     * greater than any UUID generated earlier (within the resolution of
-     * {@link System#currentTimeMillis()}).
-     * The remaining bits are filled with cryptographically strong random data.</p>
+     * milliseconds and the following 12 bits with the fraction of the millisecond, ensuring
+     * that every UUID generated later is greater than any UUID generated earlier.
+     * The remaining bits are filled with random data.</p>
      *
      * @return a new UUIDv7 instance
      */
     public static UUID randomUUID() {
-        long timestamp = System.currentTimeMillis();
+        return toUUID(reserve(Instant.now(), 1), RANDOM.get());
+    }
+
+    /**
+     * Generates {@code count} consecutive time-ordered UUIDs with a single update of the shared
+     * clock state, e.g. for the rows of a batch insert.
+     *
+     * @param count the number of UUIDs to generate
+     * @return the UUIDs in ascending order
+     */
+    public static List<UUID> randomUUIDs(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        final List<UUID> uuids = new ArrayList<>(count);
+        if (count == 0) {
+            return uuids;
+        }
+        final long first = reserve(Instant.now(), count);
+        final SplittableRandom random = RANDOM.get();
+        for (int i = 0; i < count; i++) {
+            uuids.add(toUUID(first + i, random));
+        }
+        return uuids;
+    }
+
+    /**
+     * Claims {@code count} consecutive timestamp values that are greater than all values claimed
+     * before, starting at the clock value of {@code now} if possible.
+     *
+     * @return the first of the claimed values
+     */
+    static long reserve(final Instant now, final int count) {
+        final long nanoOfMilli = now.getNano() % NANOS_PER_MILLI;
+        final long clock = (now.toEpochMilli() << SUB_MS_BITS)
+            | ((nanoOfMilli << SUB_MS_BITS) / NANOS_PER_MILLI);
+        long last;
+        long first;
+        do {
+            last = LAST.get();
+            first = Math.max(clock, last + 1);
+        } while (!LAST.compareAndSet(last, first + count - 1));
+        return first;
+    }
 
+    private static UUID toUUID(final long timestamp, final SplittableRandom random) {
         // Most significant 64 bits:
-        // [48-bit unix_ts_ms][4-bit version = 0111][12-bit rand_a]
-        long msb = (timestamp << 16)
+        // [48-bit unix_ts_ms][4-bit version = 0111][12-bit sub_ms]
+        final long msb = ((timestamp >>> SUB_MS_BITS) << 16)
             | 0x7000L
-            | (RANDOM.nextLong() & 0x0FFFL);
+            | (timestamp & SUB_MS_MASK);
 
         // Least significant 64 bits:
         // [2-bit variant = 10][62-bit rand_b]
-        long lsb = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL)
+        final long lsb = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL)
             | 0x8000_0000_0000_0000L;
 
         return new UUID(msb, lsb);
@@ -1,19 +1,35 @@
 package de.remsfal.common.authentication;
 
 import org.eclipse.microprofile.jwt.JsonWebToken;
+import de.remsfal.core.model.OrganizationEmployeeModel.EmployeeRole;
+import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
 import de.remsfal.test.AbstractTest;
 import de.remsfal.test.TestData;
 import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 
 @QuarkusTest
 class RemsfalPrincipalTest extends AbstractTest {
 
+    @Inject
+    ClaimsIndexCache claimsIndexCache;
+
+    @BeforeEach
+    void clearCache() {
+        claimsIndexCache.clear();
+    }
+
     private static void injectJwt(RemsfalPrincipal principal, JsonWebToken jwt) throws Exception {
         Field field = RemsfalPrincipal.class.getDeclaredField("jwt");
         field.setAccessible(true);
@@ -63,4 +79,61 @@ class RemsfalPrincipalTest extends AbstractTest {
         assertNull(principal.isActive());
     }
 
+    @Test
+    void testLookupRoles_fromClaimMaps() throws Exception {
+        final UUID organizationId = UUID.randomUUID();
+        final UUID tenancyId = UUID.randomUUID();
+        final RemsfalPrincipal principal = new RemsfalPrincipal();
+        final JsonWebToken jwt = mockRoleClaims(null, organizationId, tenancyId);
+        injectJwt(principal, jwt);
+
+        assertEquals(MemberRole.MANAGER, principal.getProjectRole(TestData.PROJECT_ID_1));
+        assertEquals(MemberRole.STAFF, principal.getProjectRole(TestData.PROJECT_ID_2));
+        assertNull(principal.getProjectRole(UUID.randomUUID()));
+        assertNull(principal.getProjectRole(null));
+        assertEquals(Map.of(TestData.PROJECT_ID_1, MemberRole.MANAGER, TestData.PROJECT_ID_2, MemberRole.STAFF),
+            principal.getProjectRoles());
+        assertEquals(EmployeeRole.OWNER, principal.getOrganizationRole(organizationId));
+        assertEquals(TestData.PROJECT_ID_1, principal.getTenancyProject(tenancyId));
+        assertTrue(principal.getTenancyProjects().containsKey(tenancyId));
+        assertThrows(UnsupportedOperationException.class,
+            () -> principal.getProjectRoles().put(UUID.randomUUID(), MemberRole.LESSOR));
+    }
+
+    @Test
+    void testParseClaimsOnce_perTokenId() throws Exception {
+        final JsonWebToken jwt = mockRoleClaims("token-1", UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < 3; i++) {
+            final RemsfalPrincipal principal = new RemsfalPrincipal();
+            principal.claimsIndexCache = claimsIndexCache;
+            injectJwt(principal, jwt);
+            assertEquals(MemberRole.MANAGER, principal.getProjectRole(TestData.PROJECT_ID_1));
+            assertEquals(2, principal.getProjectRoles().size());
+        }
+
+        verify(jwt, times(1)).getClaim("project_roles");
+        assertEquals(1, claimsIndexCache.size());
+    }
+
+    @Test
+    void testReturnEmptyRoles_whenJwtNotInjected() {
+        final RemsfalPrincipal principal = new RemsfalPrincipal();
+        assertTrue(principal.getProjectRoles().isEmpty());
+        assertTrue(principal.getOrganizationRoles().isEmpty());
+        assertNull(principal.getTenancyProject(UUID.randomUUID()));
+    }
+
+    private static JsonWebToken mockRoleClaims(final String tokenId, final UUID organizationId,
+        final UUID tenancyId) {
+        final JsonWebToken jwt = Mockito.mock(JsonWebToken.class);
+        when(jwt.getTokenID()).thenReturn(tokenId);
+        when(jwt.getClaim("project_roles")).thenReturn(Map.of(
+            TestData.PROJECT_ID_1.toString(), "MANAGER",
+            TestData.PROJECT_ID_2.toString(), " STAFF "));
+        when(jwt.getClaim("organization_roles")).thenReturn(Map.of(organizationId.toString(), "OWNER"));
+        when(jwt.getClaim("tenancy_projects")).thenReturn(Map.of(tenancyId.toString(),
+            TestData.PROJECT_ID_1.toString()));
+        return jwt;
+    }
+
 }
@@ -0,0 +1,49 @@
+package de.remsfal.common.boundary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ByteRangeTest {
+
+    @Test
+    void parse_SUCCESS_singleRanges() {
+        assertEquals(List.of(new ByteRange(0, 500)), ByteRange.parse("bytes=0-499", 1000));
+        assertEquals(List.of(new ByteRange(500, 500)), ByteRange.parse("bytes=500-", 1000));
+        assertEquals(List.of(new ByteRange(900, 100)), ByteRange.parse("bytes=-100", 1000));
+        assertEquals(List.of(new ByteRange(0, 1000)), ByteRange.parse("bytes=-5000", 1000));
+        assertEquals(List.of(new ByteRange(900, 100)), ByteRange.parse("bytes=900-5000", 1000));
+        assertEquals("bytes 900-999/1000", new ByteRange(900, 100).toContentRange(1000));
+    }
+
+    @Test
+    void parse_SUCCESS_multipleRangesCoalesced() {
+        assertEquals(List.of(new ByteRange(0, 100), new ByteRange(900, 100)),
+            ByteRange.parse("bytes=-100, 0-99", 1000));
+        assertEquals(List.of(new ByteRange(0, 300)),
+            ByteRange.parse("bytes=0-99,100-199,150-299", 1000));
+    }
+
+    @Test
+    void parse_SUCCESS_unsatisfiable() {
+        assertTrue(ByteRange.parse("bytes=1000-", 1000).isEmpty());
+        assertTrue(ByteRange.parse("bytes=-0", 1000).isEmpty());
+        assertTrue(ByteRange.parse("bytes=0-", 0).isEmpty());
+        assertEquals("bytes */1000", ByteRange.toUnsatisfiedContentRange(1000));
+    }
+
+    @Test
+    void parse_FAILED_ignored() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-1", 1000));
+        assertNull(ByteRange.parse("bytes=5-1", 1000));
+        assertNull(ByteRange.parse("bytes=abc", 1000));
+        assertNull(ByteRange.parse("bytes=0-1,2-3,4-5,6-7,8-9,10-11,12-13,14-15,16-17,"
+            + "18-19,20-21,22-23,24-25,26-27,28-29,30-31,32-33", 1000));
+    }
+
+}
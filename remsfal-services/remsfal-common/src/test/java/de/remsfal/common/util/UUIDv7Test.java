@@ -0,0 +1,104 @@
+package de.remsfal.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+class UUIDv7Test {
+
+    @Test
+    void randomUUID_SUCCESS_versionVariantAndTimestamp() {
+        final long before = System.currentTimeMillis();
+        final UUID uuid = UUIDv7.randomUUID();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        // the timestamp may only run ahead of the clock if ids were generated faster than the clock
+        assertTrue(UUIDv7.extractTimestamp(uuid) >= before);
+    }
+
+    @Test
+    void randomUUIDs_SUCCESS_consecutiveBlock() {
+        final List<UUID> uuids = UUIDv7.randomUUIDs(5000);
+
+        assertEquals(5000, uuids.size());
+        for (int i = 1; i < uuids.size(); i++) {
+            assertTrue(uuids.get(i - 1).compareTo(uuids.get(i)) < 0);
+            assertEquals(7, uuids.get(i).version());
+        }
+        assertTrue(uuids.get(uuids.size() - 1).compareTo(UUIDv7.randomUUID()) < 0);
+        assertTrue(UUIDv7.randomUUIDs(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> UUIDv7.randomUUIDs(-1));
+    }
+
+    @Test
+    void reserve_SUCCESS_monotonicWhenClockRegresses() {
+        final Instant now = Instant.now();
+        final long first = UUIDv7.reserve(now, 1);
+        final long afterRegression = UUIDv7.reserve(now.minusSeconds(30), 1);
+        final long sameInstant = UUIDv7.reserve(now, 3);
+
+        assertEquals(first + 1, afterRegression);
+        assertEquals(afterRegression + 1, sameInstant);
+        assertEquals(sameInstant + 3, UUIDv7.reserve(now, 1));
+        assertTrue(UUIDv7.extractTimestamp(UUIDv7.randomUUID()) >= now.toEpochMilli());
+    }
+
+    /**
+     * Generates ids from a random number of threads with a random mix of single and bulk calls and
+     * checks that the ids of every thread are strictly increasing and that no id repeats.
+     */
+    @RepeatedTest(20)
+    void randomUUID_SUCCESS_strictlyMonotonicPerThread() throws Exception {
+        final Random random = new Random();
+        final int threads = 1 + random.nextInt(16);
+        final int perThread = 1000 + random.nextInt(4000);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Callable<List<UUID>>> tasks = IntStream.range(0, threads)
+                .mapToObj(t -> (Callable<List<UUID>>) () -> generate(perThread, new Random(random.nextLong())))
+                .toList();
+            final Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : executor.invokeAll(tasks)) {
+                final List<UUID> uuids = future.get();
+                for (int i = 1; i < uuids.size(); i++) {
+                    assertTrue(uuids.get(i - 1).compareTo(uuids.get(i)) < 0,
+                        "Ids of one thread must be strictly increasing");
+                }
+                all.addAll(uuids);
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<UUID> generate(final int count, final Random random) {
+        final List<UUID> uuids = new ArrayList<>(count);
+        while (uuids.size() < count) {
+            if (random.nextInt(10) == 0) {
+                uuids.addAll(UUIDv7.randomUUIDs(Math.min(1 + random.nextInt(64), count - uuids.size())));
+            } else {
+                uuids.add(UUIDv7.randomUUID());
+            }
+        }
+        return uuids;
+    }
+
+}
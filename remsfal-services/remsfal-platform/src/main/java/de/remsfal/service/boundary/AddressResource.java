@@ -5,9 +5,14 @@ import de.remsfal.core.json.AddressJson;
 import de.remsfal.core.json.CountryListJson;
 import de.remsfal.core.json.ImmutableAddressJson;
 import de.remsfal.service.control.AddressController;
+import de.remsfal.service.entity.cache.PostalCodeIndex.PostalCode;
 import io.quarkus.security.Authenticated;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,6 +22,9 @@ import java.util.stream.Collectors;
 @Authenticated
 public class AddressResource implements AddressEndpoint {
 
+    /** The postal codes are bundled with the service, so suggestions only change with a new release. */
+    static final Duration SUGGESTION_MAX_AGE = Duration.ofDays(1);
+
     @Inject
     AddressController controller;
 
@@ -29,13 +37,31 @@ public class AddressResource implements AddressEndpoint {
     public List<AddressJson> getPossibleCities(final String zipCode) {
         return controller.getPossibleCities(zipCode)
             .stream()
-            .map(address -> ImmutableAddressJson.builder()
-                .city(address.getCity())
-                .province(address.getProvince())
-                .zip(address.getZip())
-                .countryCode(address.getCountry().getCountry())
-                .build())
+            .map(AddressResource::toJson)
             .collect(Collectors.toList());
     }
 
+    @Override
+    public Response autocomplete(final String query, final Integer limit) {
+        final List<AddressJson> suggestions = controller.autocomplete(query, limit)
+            .stream()
+            .map(AddressResource::toJson)
+            .toList();
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setMaxAge((int) SUGGESTION_MAX_AGE.toSeconds());
+        return Response.ok(suggestions, MediaType.APPLICATION_JSON)
+            .cacheControl(cacheControl)
+            .build();
+    }
+
+    private static AddressJson toJson(final PostalCode postalCode) {
+        return ImmutableAddressJson.builder()
+            .city(postalCode.city())
+            .province(postalCode.province())
+            .zip(postalCode.zip())
+            .countryCode(postalCode.country().getCountry())
+            .build();
+    }
+
 }
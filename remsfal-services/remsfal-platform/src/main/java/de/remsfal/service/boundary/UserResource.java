@@ -51,7 +51,7 @@ public class UserResource implements UserEndpoint {
 
     private Set<UserContext> getUserContexts(final UserModel user) {
         final Set<UserContext> userContexts = new HashSet<>();
-        if (!projectController.getProjects(user, 0, 1).isEmpty()) {
+        if (projectController.countProjects(user) > 0) {
             userContexts.add(UserContext.MANAGER);
         }
         if (!contractorController.getOrganizations(user).isEmpty()) {
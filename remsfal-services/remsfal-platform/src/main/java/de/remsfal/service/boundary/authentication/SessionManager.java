@@ -10,8 +10,9 @@ import org.eclipse.microprofile.jwt.JsonWebToken;
 import de.remsfal.common.authentication.JWTManager;
 import de.remsfal.common.authentication.UnauthorizedException;
 import de.remsfal.core.model.UserAuthenticationModel;
-import de.remsfal.core.model.UserModel;
 import de.remsfal.service.control.AuthorizationController;
+import de.remsfal.service.control.AuthorizationSnapshotController;
+import de.remsfal.service.entity.cache.AuthorizationSnapshot;
 import io.smallrye.jwt.auth.principal.JWTParser;
 import io.smallrye.jwt.auth.principal.ParseException;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -55,6 +56,9 @@ public class SessionManager {
     @Inject
     AuthorizationController controller;
 
+    @Inject
+    AuthorizationSnapshotController snapshotController;
+
     /**
      * Generates a new access token for the given user authentication entity.
      *
@@ -67,6 +71,8 @@ public class SessionManager {
 
     /**
      * Generates a signed, short-lived access token and wraps it into the access cookie.
+     * The claims are taken from the user's authorization snapshot, which is only reloaded
+     * from the database after a membership change.
      *
      * @param userId User ID to generate the access token for (subject claim)
      * @param email  User email to generate the access token for (email claim)
@@ -77,14 +83,10 @@ public class SessionManager {
             throw new UnauthorizedException("User id and email are required");
         }
 
-        UserModel user = controller.getAuthenticatedUser(userId);
-
-        Map<String, String> projectRoles = controller.getProjectAuthorization(userId);
-        Map<String, String> organizationRoles = controller.getOrganizationAuthorization(userId);
-        Map<String, String> tenancyProjects = controller.getTenancyAuthorization(userId);
+        AuthorizationSnapshot snapshot = snapshotController.getSnapshot(userId);
 
-        String jwt = jwtManager.createAccessToken(user, projectRoles, organizationRoles, tenancyProjects,
-            accessTokenTimeout.getSeconds());
+        String jwt = jwtManager.createAccessToken(snapshot, snapshot.getProjectRoles(),
+            snapshot.getOrganizationRoles(), snapshot.getTenancyProjects(), accessTokenTimeout.getSeconds());
         return buildCookie(ACCESS_COOKIE_NAME, jwt, (int) accessTokenTimeout.getSeconds(), false,
             accessTokenCookiePath);
     }
@@ -5,6 +5,9 @@ import de.remsfal.core.json.organization.OrganizationEmployeeListJson;
 import de.remsfal.core.json.organization.OrganizationJson;
 import de.remsfal.core.json.organization.OrganizationListJson;
 import de.remsfal.core.model.OrganizationModel;
+import de.remsfal.service.entity.dao.KeysetPage;
+import de.remsfal.service.entity.dao.OrganizationRepository.OrganizationSearchPage;
+import de.remsfal.service.entity.dto.OrganizationEntity;
 import io.quarkus.security.Authenticated;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -13,6 +16,7 @@ import jakarta.ws.rs.container.ResourceContext;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -29,19 +33,37 @@ public class OrganizationResource extends OrganizationSubResource implements Org
 
     @Override
     public OrganizationListJson searchOrganizations(final String name, final Integer offset,
+        final Integer limit, final String after, final boolean includeTotal) {
+        if (after != null) {
+            final KeysetPage<OrganizationEntity> page = controller.searchOrganizationsAfter(name, after, limit);
+            return OrganizationListJson.valueOf(page.items(),
+                includeTotal ? controller.countSearchOrganizations(name) : null, page.nextCursor());
+        }
+        final List<OrganizationEntity> organizations = controller.searchOrganizations(name, offset, limit);
+        return OrganizationListJson.valueOf(organizations, offset, controller.countSearchOrganizations(name),
+            KeysetPage.of(organizations, limit, OrganizationEntity::getName, OrganizationEntity::getId).nextCursor());
+    }
+
+    @Override
+    public OrganizationListJson searchOrganizationsRanked(final String name, final String cursor,
         final Integer limit) {
-        return OrganizationListJson.valueOf(
-            controller.searchOrganizations(name, offset, limit),
-            offset,
-            controller.countSearchOrganizations(name));
+        final OrganizationSearchPage page = controller.searchOrganizationsRanked(name, cursor, limit);
+        return OrganizationListJson.valueOf(page.organizations(), page.total(), page.nextCursor());
     }
 
     @Override
-    public OrganizationListJson getContractors(final Integer offset, final Integer limit) {
-        return OrganizationListJson.valueOf(
-            controller.getContractorOrganizations(principal, offset, limit),
-            offset,
-            controller.countContractorOrganizations(principal));
+    public OrganizationListJson getContractors(final Integer offset, final Integer limit, final String after,
+        final boolean includeTotal) {
+        if (after != null) {
+            final KeysetPage<OrganizationEntity> page =
+                controller.getContractorOrganizationsAfter(principal, after, limit);
+            return OrganizationListJson.valueOf(page.items(),
+                includeTotal ? controller.countContractorOrganizations(principal) : null, page.nextCursor());
+        }
+        final List<OrganizationEntity> organizations =
+            controller.getContractorOrganizations(principal, offset, limit);
+        return OrganizationListJson.valueOf(organizations, offset, controller.countContractorOrganizations(principal),
+            KeysetPage.of(organizations, limit, OrganizationEntity::getName, OrganizationEntity::getId).nextCursor());
     }
 
     @Override
@@ -5,8 +5,12 @@ import de.remsfal.core.json.ContractorJson;
 import de.remsfal.core.json.ContractorListJson;
 import de.remsfal.core.model.ContractorModel;
 import de.remsfal.service.control.ContractorController;
+import de.remsfal.service.entity.dao.ContractorRepository.ContractorSearchPage;
+import de.remsfal.service.entity.dao.KeysetPage;
+import de.remsfal.service.entity.dto.ContractorEntity;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -24,10 +28,22 @@ public class ContractorResource extends AbstractProjectResource implements Contr
     ContractorController controller;
 
     @Override
-    public ContractorListJson getContractors(final UUID projectId, final Integer offset, final Integer limit) {
+    public ContractorListJson getContractors(final UUID projectId, final String name, final Integer offset,
+        final Integer limit, final String after, final boolean includeTotal) {
         checkProjectReadPermissions(projectId);
-        List<? extends ContractorModel> contractors = controller.getContractors(projectId, offset, limit);
-        return ContractorListJson.valueOf(contractors, offset, controller.countContractors(principal, projectId));
+        if (name != null && after != null) {
+            throw new BadRequestException("A name search is paged by offset only");
+        } else if (name != null) {
+            final ContractorSearchPage page = controller.searchContractors(projectId, name, offset, limit);
+            return ContractorListJson.valueOf(page.contractors(), offset, page.total());
+        } else if (after != null) {
+            final KeysetPage<ContractorEntity> page = controller.getContractorsAfter(projectId, after, limit);
+            return ContractorListJson.valueOf(page.items(), null,
+                includeTotal ? controller.countContractors(principal, projectId) : null, page.nextCursor());
+        }
+        List<ContractorEntity> contractors = controller.getContractors(projectId, offset, limit);
+        return ContractorListJson.valueOf(contractors, offset, controller.countContractors(principal, projectId),
+            KeysetPage.of(contractors, limit, ContractorEntity::getCompanyName, ContractorEntity::getId).nextCursor());
     }
 
     @Override
@@ -10,10 +10,14 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
 import de.remsfal.core.api.project.ProjectEndpoint;
+import de.remsfal.core.json.project.ProjectItemJson;
 import de.remsfal.core.json.project.ProjectJson;
 import de.remsfal.core.json.project.ProjectListJson;
 import de.remsfal.core.model.project.ProjectModel;
 import de.remsfal.service.control.ProjectController;
+import de.remsfal.service.entity.dao.KeysetPage;
+import de.remsfal.service.entity.dao.ProjectRepository.ProjectItem;
+import de.remsfal.service.entity.dao.ProjectRepository.ProjectItemPage;
 
 import io.micrometer.core.annotation.Timed;
 
@@ -61,9 +65,22 @@ public class ProjectResource extends AbstractProjectResource implements ProjectE
 
     @Override
     @Timed("get_projects_list_timer")
-    public ProjectListJson getProjects(final Integer offset, final Integer limit) {
-        List<ProjectModel> projects = controller.getProjects(principal, offset, limit);
-        return ProjectListJson.valueOf(projects, offset, controller.countProjects(principal), principal);
+    public ProjectListJson getProjects(final Integer offset, final Integer limit, final String after,
+        final boolean includeTotal) {
+        if (after != null) {
+            final KeysetPage<ProjectItem> page = controller.getProjectItemsAfter(principal, after, limit);
+            return ProjectListJson.valueOf(toJson(page.items()), null,
+                includeTotal ? controller.countProjects(principal) : null, page.nextCursor());
+        }
+        final ProjectItemPage page = controller.getProjectItems(principal, offset, limit);
+        return ProjectListJson.valueOf(toJson(page.items()), offset, page.total(),
+            KeysetPage.of(page.items(), limit, ProjectItem::title, ProjectItem::id).nextCursor());
+    }
+
+    private static List<ProjectItemJson> toJson(final List<ProjectItem> items) {
+        return items.stream()
+            .map(item -> ProjectItemJson.valueOf(item.id(), item.title(), item.role()))
+            .toList();
     }
 
     @Override
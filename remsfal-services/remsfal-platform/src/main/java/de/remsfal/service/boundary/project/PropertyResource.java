@@ -4,16 +4,19 @@ import de.remsfal.core.api.project.PropertyEndpoint;
 import de.remsfal.core.json.project.ImmutablePropertyListJson;
 import de.remsfal.core.json.project.PropertyJson;
 import de.remsfal.core.json.project.PropertyListJson;
-import de.remsfal.core.json.project.RentalUnitTreeNodeJson;
 import de.remsfal.core.model.project.PropertyModel;
 import de.remsfal.service.control.PropertyController;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -22,6 +25,9 @@ import java.util.UUID;
 @RequestScoped
 public class PropertyResource extends AbstractProjectResource implements PropertyEndpoint {
 
+    @Context
+    Request request;
+
     @Inject
     PropertyController controller;
 
@@ -32,13 +38,21 @@ public class PropertyResource extends AbstractProjectResource implements Propert
     Instance<BuildingResource> buildingResource;
 
     @Override
-    public PropertyListJson getProperties(final UUID projectId) {
+    public Response getProperties(final UUID projectId) {
         checkProjectReadPermissions(projectId);
-        List<RentalUnitTreeNodeJson> treeNodes = controller.getPropertyTree(projectId);
+        final PropertyTreeCache.Tree tree = controller.getTaggedPropertyTree(projectId);
+        final EntityTag tag = new EntityTag(tree.tag());
+        final ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
 
-        return ImmutablePropertyListJson
+        final PropertyListJson json = ImmutablePropertyListJson
             .builder()
-            .addAllProperties(treeNodes)
+            .addAllProperties(tree.nodes())
+            .build();
+        return Response.ok(json, MediaType.APPLICATION_JSON)
+            .tag(tag)
             .build();
     }
 
@@ -1,13 +1,29 @@
 package de.remsfal.service.boundary.project;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import de.remsfal.core.api.project.RentalAgreementEndpoint;
 import de.remsfal.core.json.RentalUnitJson;
@@ -19,6 +35,8 @@ import de.remsfal.core.model.RentalUnitModel.UnitType;
 import de.remsfal.core.model.project.RentalAgreementModel;
 import de.remsfal.core.model.project.TenantModel;
 import de.remsfal.service.control.PropertyController;
+import de.remsfal.service.control.RentRoll;
+import de.remsfal.service.control.RentRoll.Line;
 import de.remsfal.service.control.RentalAgreementController;
 
 @RequestScoped
@@ -30,6 +48,9 @@ public class RentalAgreementResource extends AbstractProjectResource implements
     @Inject
     PropertyController propertyController;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     @Override
     public RentalAgreementListJson getRentalAgreements(final UUID projectId, final UnitType rentalUnitType,
             final UUID rentalUnitId) {
@@ -41,6 +62,122 @@ public class RentalAgreementResource extends AbstractProjectResource implements
         return RentalAgreementListJson.valueOf(agreements, rentalUnitsMap);
     }
 
+    @Override
+    public Response getRentRoll(final UUID projectId, final String from, final String to) {
+        checkProjectReadPermissions(projectId);
+        final RentRoll rentRoll = rentalAgreementController.getRentRoll(projectId, parseDate(from), parseDate(to));
+        return Response.ok((StreamingOutput) output -> writeRentRollJson(output, rentRoll))
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+    }
+
+    @Override
+    public Response getRentRollCsv(final UUID projectId, final String from, final String to) {
+        checkProjectReadPermissions(projectId);
+        final RentRoll rentRoll = rentalAgreementController.getRentRoll(projectId, parseDate(from), parseDate(to));
+        return Response.ok((StreamingOutput) output -> writeRentRollCsv(output, rentRoll))
+            .type(RENT_ROLL_CSV)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"rent-roll.csv\"")
+            .build();
+    }
+
+    private static LocalDate parseDate(final String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date: " + date);
+        }
+    }
+
+    private void writeRentRollJson(final OutputStream output, final RentRoll rentRoll) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("months");
+            for (YearMonth month : rentRoll.getMonths()) {
+                generator.writeString(month.toString());
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("totals");
+            writeAmounts(generator, rentRoll.getTotals());
+            writeLines(generator, "properties", rentRoll.getProperties());
+            writeLines(generator, "buildings", rentRoll.getBuildings());
+            writeLines(generator, "units", rentRoll.getUnits());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeLines(final JsonGenerator generator, final String field, final List<Line> lines)
+            throws IOException {
+        generator.writeArrayFieldStart(field);
+        for (Line line : lines) {
+            generator.writeStartObject();
+            generator.writeStringField("id", line.id().toString());
+            generator.writeStringField("type", line.type().name());
+            if (line.parentId() != null) {
+                generator.writeStringField("parentId", line.parentId().toString());
+            }
+            generator.writeStringField("title", line.title());
+            generator.writeFieldName("amounts");
+            writeAmounts(generator, line.amounts());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeAmounts(final JsonGenerator generator, final long[] amounts) throws IOException {
+        generator.writeStartArray();
+        for (long amount : amounts) {
+            generator.writeNumber(BigDecimal.valueOf(amount, 2));
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeRentRollCsv(final OutputStream output, final RentRoll rentRoll) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("level,type,id,parent_id,title");
+        for (YearMonth month : rentRoll.getMonths()) {
+            writer.write(',');
+            writer.write(month.toString());
+        }
+        writer.write("\r\n");
+        for (Line line : rentRoll.getProperties()) {
+            writeCsvLine(writer, "property", line);
+        }
+        for (Line line : rentRoll.getBuildings()) {
+            writeCsvLine(writer, "building", line);
+        }
+        for (Line line : rentRoll.getUnits()) {
+            writeCsvLine(writer, "unit", line);
+        }
+        writer.write("total,,,,");
+        writeCsvAmounts(writer, rentRoll.getTotals());
+        writer.flush();
+    }
+
+    private static void writeCsvLine(final Writer writer, final String level, final Line line) throws IOException {
+        writer.write(level);
+        writer.write(',');
+        writer.write(line.type().name());
+        writer.write(',');
+        writer.write(line.id().toString());
+        writer.write(',');
+        if (line.parentId() != null) {
+            writer.write(line.parentId().toString());
+        }
+        writer.write(",\"");
+        writer.write(line.title() != null ? line.title().replace("\"", "\"\"") : "");
+        writer.write('"');
+        writeCsvAmounts(writer, line.amounts());
+    }
+
+    private static void writeCsvAmounts(final Writer writer, final long[] amounts) throws IOException {
+        for (long amount : amounts) {
+            writer.write(',');
+            writer.write(BigDecimal.valueOf(amount, 2).toPlainString());
+        }
+        writer.write("\r\n");
+    }
+
     @Override
     public RentalAgreementJson getRentalAgreement(final UUID projectId, final UUID agreementId) {
         checkProjectReadPermissions(projectId);
@@ -1,9 +1,9 @@
 package de.remsfal.service.control;
 
 import de.remsfal.core.model.AddressModel;
-import de.remsfal.service.entity.dao.AddressRepository;
+import de.remsfal.service.entity.cache.PostalCodeIndex;
+import de.remsfal.service.entity.cache.PostalCodeIndex.PostalCode;
 import de.remsfal.service.entity.dto.AddressEntity;
-import de.remsfal.service.entity.dto.AddressValidationEntity;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -19,14 +19,27 @@ import java.util.Locale;
 public class AddressController {
     
     @Inject
-    AddressRepository repository;
+    PostalCodeIndex postalCodeIndex;
     
     public List<Locale> getSupportedCountries() {
         return List.of(Locale.GERMANY);
     }
 
-    public List<AddressValidationEntity> getPossibleCities(final String zipCode) {
-        return repository.findAddressByZip(zipCode);
+    public List<PostalCode> getPossibleCities(final String zipCode) {
+        return postalCodeIndex.findByZip(zipCode);
+    }
+
+    /**
+     * @param query the beginning of a zip code if it consists of digits only, otherwise of a city name
+     * @param limit the maximum number of results
+     * @return the matching postal codes with their cities
+     */
+    public List<PostalCode> autocomplete(final String query, final int limit) {
+        final String prefix = query.strip();
+        if (!prefix.isEmpty() && prefix.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return postalCodeIndex.findByZipPrefix(prefix, limit);
+        }
+        return postalCodeIndex.findByCityPrefix(prefix, limit);
     }
 
     @Transactional(TxType.MANDATORY)
@@ -1,6 +1,7 @@
 package de.remsfal.service.control;
 
 import de.remsfal.core.model.project.ApartmentModel;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.service.entity.dao.ApartmentRepository;
 import de.remsfal.service.entity.dto.ApartmentEntity;
 
@@ -24,11 +25,15 @@ public class ApartmentController {
     @Inject
     ApartmentRepository apartmentRepository;
 
+    @Inject
+    PropertyTreeCache propertyTreeCache;
+
     @Transactional
     public ApartmentModel createApartment(final UUID projectId, final UUID buildingId,
         final ApartmentModel apartment) {
         logger.infov("Creating an apartment (projectId={0}, buildingId={1}, apartment={2})",
             projectId, buildingId, apartment);
+        propertyTreeCache.invalidate(projectId);
         final ApartmentEntity entity = updateApartment(apartment, new ApartmentEntity());
         entity.generateId();
         entity.setProjectId(projectId);
@@ -50,6 +55,7 @@ public class ApartmentController {
         final ApartmentModel apartment) {
         logger.infov("Update an apartment (projectId={0}, apartmentId={1}, apartment={2})",
             projectId, apartmentId, apartment);
+        propertyTreeCache.invalidate(projectId);
         final ApartmentEntity entity = apartmentRepository.findByIds(projectId, apartmentId)
             .orElseThrow(() -> new NotFoundException("Apartment does not exist"));
         return apartmentRepository.merge(updateApartment(apartment, entity));
@@ -80,6 +86,7 @@ public class ApartmentController {
     @Transactional
     public boolean deleteApartment(final UUID projectId, final UUID apartmentId) {
         logger.infov("Delete an apartment (projectId={0}, apartmentId={1})", projectId, apartmentId);
+        propertyTreeCache.invalidate(projectId);
         return apartmentRepository.removeApartmentByIds(projectId, apartmentId) > 0;
     }
 
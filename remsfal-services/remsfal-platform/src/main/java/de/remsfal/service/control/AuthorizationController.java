@@ -6,7 +6,6 @@ import jakarta.enterprise.event.ObservesAsync;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,9 +24,6 @@ import de.remsfal.service.entity.dao.UserAuthenticationRepository;
 import de.remsfal.service.entity.dao.UserRepository;
 import de.remsfal.core.model.OrganizationEmployeeModel.EmployeeRole;
 import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
-import de.remsfal.service.entity.dto.OrganizationEmployeeEntity;
-import de.remsfal.service.entity.dto.ProjectMembershipEntity;
-import de.remsfal.service.entity.dto.ProjectOrganizationEntity;
 import de.remsfal.service.entity.dto.RentalAgreementEntity;
 import de.remsfal.service.entity.dto.UserAuthenticationEntity;
 import de.remsfal.service.entity.dto.UserEntity;
@@ -59,9 +55,6 @@ public class AuthorizationController {
     @Inject
     de.remsfal.service.entity.dao.OrganizationRepository organizationRepository;
 
-    @Inject
-    de.remsfal.service.entity.dao.ProjectOrganizationRepository projectOrganizationRepository;
-
     @Inject
     private Event<AuthenticationEvent> authenticatedUser;
 
@@ -136,43 +129,7 @@ public class AuthorizationController {
     }
 
     public Map<String, String> getProjectAuthorization(final UUID userId) {
-        Map<UUID, MemberRole> projectRoles = new HashMap<>();
-
-        // 1. Add direct project memberships
-        List<ProjectMembershipEntity> directMemberships = projectRepository.findMembershipByUserId(userId, 0,
-            Integer.MAX_VALUE);
-        for (ProjectMembershipEntity membership : directMemberships) {
-            projectRoles.put(membership.getProject().getId(), membership.getRole());
-        }
-
-        // 2. Add indirect memberships through organizations
-        List<ProjectOrganizationEntity> orgProjects = projectOrganizationRepository.findByUserId(userId);
-        List<OrganizationEmployeeEntity> userOrgs = organizationRepository.findOrganizationEmployeesByUserId(userId);
-
-        // Create a map of organization ID to employee role for quick lookup
-        Map<UUID, EmployeeRole> orgRoles = userOrgs.stream()
-            .collect(Collectors.toMap(
-                e -> e.getOrganization().getId(),
-                OrganizationEmployeeEntity::getRole
-            ));
-
-        for (ProjectOrganizationEntity orgProject : orgProjects) {
-            UUID projectId = orgProject.getProject().getId();
-            MemberRole orgRoleInProject = orgProject.getRole();
-            EmployeeRole userRoleInOrg = orgRoles.get(orgProject.getOrganization().getId());
-
-            if (userRoleInOrg != null) {
-                MemberRole derivedRole = calculateProjectRole(userRoleInOrg, orgRoleInProject);
-
-                // Keep the highest role (lowest leadership value) for this project
-                projectRoles.merge(projectId, derivedRole,
-                    (existing, derived) -> existing.getLeadershipLevel() <= derived.getLeadershipLevel()
-                        ? existing : derived);
-            }
-        }
-
-        // Convert to String map
-        return projectRoles.entrySet().stream()
+        return projectRepository.findEffectiveRolesByUserId(userId).entrySet().stream()
             .collect(Collectors.toMap(
                 e -> e.getKey().toString(),
                 e -> e.getValue().name()
@@ -0,0 +1,102 @@
+package de.remsfal.service.control;
+
+import java.util.UUID;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import org.jboss.logging.Logger;
+
+import de.remsfal.core.model.UserModel;
+import de.remsfal.service.control.event.AuthorizationChangedEvent;
+import de.remsfal.service.entity.cache.AuthorizationSnapshot;
+import de.remsfal.service.entity.cache.AuthorizationSnapshotCache;
+import io.quarkus.arc.Arc;
+
+/**
+ * Provides the authorization snapshots access tokens are built from and keeps the
+ * {@link AuthorizationSnapshotCache} consistent with membership changes.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class AuthorizationSnapshotController {
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    AuthorizationController authorizationController;
+
+    @Inject
+    AuthorizationSnapshotCache cache;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    PendingAuthorizationChanges pendingChanges;
+
+    /**
+     * Returns the authorization snapshot of the given user, loading it from the database only
+     * if the cached snapshot is missing or stale.
+     *
+     * @param userId the authenticated user
+     * @return the current authorization snapshot
+     */
+    public AuthorizationSnapshot getSnapshot(final UUID userId) {
+        return cache.get(userId).orElseGet(() -> loadSnapshot(userId));
+    }
+
+    private AuthorizationSnapshot loadSnapshot(final UUID userId) {
+        final AuthorizationSnapshotCache.Version version = cache.begin(userId);
+        final UserModel user = authorizationController.getAuthenticatedUser(userId);
+        final AuthorizationSnapshot snapshot = new AuthorizationSnapshot(user,
+            authorizationController.getProjectAuthorization(userId),
+            authorizationController.getOrganizationAuthorization(userId),
+            authorizationController.getTenancyAuthorization(userId));
+        cache.put(userId, version, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Marks the affected snapshots as pending while the change is in progress and invalidates them
+     * once the surrounding transaction completed, regardless of whether it committed or rolled back.
+     * Without a transaction the change is written after the event was fired, so the snapshots are
+     * invalidated once the current request ended. Outside of a request the change has to be fired
+     * after it was written.
+     */
+    void onAuthorizationChanged(@Observes final AuthorizationChangedEvent event) {
+        logger.debugv("Authorization changed (users={0})", event.isAllUsers() ? "all" : event.getUserIds());
+        cache.markPending(event.getUserIds());
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+            if (Arc.container().requestContext().isActive()) {
+                pendingChanges.add(event);
+            } else {
+                cache.invalidate(event.getUserIds());
+            }
+            return;
+        }
+        try {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // nothing to do before the change is written
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    cache.invalidate(event.getUserIds());
+                }
+            });
+        } catch (IllegalStateException e) {
+            // transaction is already completing, the change is visible once this call returns
+            cache.invalidate(event.getUserIds());
+        }
+    }
+
+}
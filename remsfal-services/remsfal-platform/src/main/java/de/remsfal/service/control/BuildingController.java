@@ -1,6 +1,7 @@
 package de.remsfal.service.control;
 
 import de.remsfal.core.model.project.BuildingModel;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.service.entity.dao.BuildingRepository;
 import de.remsfal.service.entity.dto.BuildingEntity;
 
@@ -23,6 +24,9 @@ public class BuildingController {
     @Inject
     BuildingRepository buildingRepository;
 
+    @Inject
+    PropertyTreeCache propertyTreeCache;
+
     @Inject
     AddressController addressController;
 
@@ -30,6 +34,7 @@ public class BuildingController {
     public BuildingModel createBuilding(final UUID projectId, final UUID propertyId, final BuildingModel building) {
         logger.infov("Creating a building (projectId={0}, propertyId={1}, building={2})",
             projectId, propertyId, building);
+        propertyTreeCache.invalidate(projectId);
         final BuildingEntity entity = updateBuilding(building, new BuildingEntity());
         entity.generateId();
         entity.setProjectId(projectId);
@@ -56,6 +61,7 @@ public class BuildingController {
     public BuildingModel updateBuilding(final UUID projectId, final UUID buildingId, final BuildingModel building) {
         logger.infov("Update a building (projectId={0}, buildingId={1}, building={2})",
             projectId, buildingId, building);
+        propertyTreeCache.invalidate(projectId);
         final BuildingEntity entity = buildingRepository.findByIdOptional(buildingId)
             .orElseThrow(() -> new NotFoundException("Building not exist"));
         return buildingRepository.merge(updateBuilding(building, entity));
@@ -102,6 +108,7 @@ public class BuildingController {
     public void deleteBuilding(final UUID projectId, final UUID buildingId) {
         logger.infov("Delete a building (projectId={0}, buildingId={1})",
             projectId, buildingId);
+        propertyTreeCache.invalidate(projectId);
         buildingRepository.deleteById(buildingId);
     }
 
@@ -1,6 +1,7 @@
 package de.remsfal.service.control;
 
 import de.remsfal.core.model.project.CommercialModel;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.service.entity.dao.CommercialRepository;
 import de.remsfal.service.entity.dto.CommercialEntity;
 
@@ -24,11 +25,15 @@ public class CommercialController {
     @Inject
     CommercialRepository commercialRepository;
 
+    @Inject
+    PropertyTreeCache propertyTreeCache;
+
     @Transactional
     public CommercialModel createCommercial(final UUID projectId, final UUID buildingId,
         final CommercialModel commercial) {
         logger.infov("Creating a commercial (projectId={0}, buildingId={1}, commercial={2})",
             projectId, buildingId, commercial);
+        propertyTreeCache.invalidate(projectId);
         CommercialEntity entity = updateCommercial(commercial, new CommercialEntity());
         entity.generateId();
         entity.setProjectId(projectId);
@@ -49,6 +54,7 @@ public class CommercialController {
     public CommercialModel updateCommercial(final UUID projectId, final UUID commercialId,
         final CommercialModel commercial) {
         logger.infov("Updating a commercial (projectId={0}, commercialId={1})", projectId, commercialId);
+        propertyTreeCache.invalidate(projectId);
         CommercialEntity entity = commercialRepository.findCommercialById(projectId, commercialId)
             .orElseThrow(() -> new NotFoundException("Commercial not exist"));
         return commercialRepository.merge(updateCommercial(commercial, entity));
@@ -94,6 +100,7 @@ public class CommercialController {
     public boolean deleteCommercial(final UUID projectId, final UUID commercialId) {
         logger.infov("Delete a commercial (projectId={0}, commercialId={1})",
             projectId, commercialId);
+        propertyTreeCache.invalidate(projectId);
         return commercialRepository.deleteCommercialById(projectId, commercialId) > 0;
     }
 
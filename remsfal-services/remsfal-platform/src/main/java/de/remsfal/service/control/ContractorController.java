@@ -3,6 +3,8 @@ package de.remsfal.service.control;
 import de.remsfal.core.model.ContractorModel;
 import de.remsfal.core.model.UserModel;
 import de.remsfal.service.entity.dao.ContractorRepository;
+import de.remsfal.service.entity.dao.ContractorRepository.ContractorSearchPage;
+import de.remsfal.service.entity.dao.KeysetPage;
 import de.remsfal.service.entity.dao.OrganizationRepository;
 import de.remsfal.service.entity.dao.ProjectRepository;
 import de.remsfal.service.entity.dto.ContractorEntity;
@@ -11,6 +13,7 @@ import de.remsfal.service.entity.dto.ProjectEntity;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import org.jboss.logging.Logger;
 
@@ -57,6 +60,39 @@ public class ContractorController {
         return contractorRepository.findByProjectId(projectId, offset, limit);
     }
 
+    /**
+     * Get the contractors of a project that follow a cursor.
+     *
+     * @param projectId the project ID
+     * @param after the cursor of the previous page
+     * @param limit the limit
+     * @return the page of contractors
+     */
+    public KeysetPage<ContractorEntity> getContractorsAfter(final UUID projectId, final String after,
+        final Integer limit) {
+        logger.infov("Retrieving contractors for project (id = {0}) after a cursor", projectId);
+        try {
+            return contractorRepository.findByProjectIdAfter(projectId, after, limit);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Search the contractors of a project by company name, most similar names first.
+     *
+     * @param projectId the project ID
+     * @param query the search term (min. 3 characters)
+     * @param offset the offset
+     * @param limit the limit
+     * @return the page of matching contractors with the total of all matches
+     */
+    public ContractorSearchPage searchContractors(final UUID projectId, final String query,
+        final Integer offset, final Integer limit) {
+        logger.infov("Searching contractors of project (id = {0}, query = {1})", projectId, query);
+        return contractorRepository.searchByCompanyName(projectId, query, offset, limit);
+    }
+
     /**
      * Count contractors for a project.
      *
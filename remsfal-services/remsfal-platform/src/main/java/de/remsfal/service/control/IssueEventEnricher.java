@@ -1,10 +1,17 @@
 package de.remsfal.service.control;
 
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
-import org.eclipse.microprofile.reactive.messaging.Outgoing;
+import org.eclipse.microprofile.reactive.messaging.OnOverflow;
 import org.jboss.logging.Logger;
 
 import de.remsfal.core.json.ImmutableUserJson;
@@ -13,15 +20,22 @@ import de.remsfal.core.json.eventing.IssueEventJson;
 import de.remsfal.core.json.eventing.ProjectEventJson;
 import de.remsfal.core.json.eventing.ImmutableIssueEventJson;
 import de.remsfal.core.json.eventing.ImmutableProjectEventJson;
+import de.remsfal.service.entity.cache.DisplayNameCache;
 import de.remsfal.service.entity.dao.UserRepository;
+import de.remsfal.service.entity.dao.UserRepository.UserName;
 import de.remsfal.service.entity.dao.ProjectRepository;
-import de.remsfal.service.entity.dto.UserEntity;
-import de.remsfal.service.entity.dto.ProjectEntity;
 import io.smallrye.common.annotation.Blocking;
 import jakarta.transaction.Transactional;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+/**
+ * Adds project titles, user names and a link to the basic issue events of the ticketing service.
+ *
+ * Events are consumed in batches. The titles and names of a batch are taken from the
+ * {@link DisplayNameCache} and the missing ones are loaded with one query for all projects and one
+ * for all users of the batch. A batch is only acknowledged after all of its enriched events were sent.
+ */
 @ApplicationScoped
 public class IssueEventEnricher {
 
@@ -38,18 +52,49 @@ public class IssueEventEnricher {
     @Inject
     ProjectRepository projectRepository;
 
+    @Inject
+    DisplayNameCache displayNameCache;
+
+    @Inject
+    @Channel(IssueEventJson.TOPIC_ENRICHED)
+    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 1024)
+    Emitter<IssueEventJson> enrichedEmitter;
+
     @Blocking
     @Incoming(IssueEventJson.TOPIC_BASIC)
-    @Outgoing(IssueEventJson.TOPIC_ENRICHED)
+    public void consume(final List<IssueEventJson> events) {
+        final CompletableFuture<?>[] sent = enrich(events).stream()
+            .map(event -> enrichedEmitter.send(event).toCompletableFuture())
+            .toArray(CompletableFuture[]::new);
+        // returning acknowledges the whole batch, so wait until every enriched event was written
+        CompletableFuture.allOf(sent).join();
+    }
+
     @Transactional
     public IssueEventJson enrich(final IssueEventJson event) {
-        UserJson enrichedAssignee = enrichAssignee(event.getAssignee());
-        ProjectEventJson project = enrichProject(event);
-        IssueEventJson enrichedEvent = ImmutableIssueEventJson.builder()
+        return enrich(List.of(event)).get(0);
+    }
+
+    @Transactional
+    public List<IssueEventJson> enrich(final List<IssueEventJson> events) {
+        final long generation = displayNameCache.getGeneration();
+        final Map<UUID, String> projectTitles = findProjectTitles(events, generation);
+        final Map<UUID, UserName> userNames = findUserNames(events, generation);
+        final List<IssueEventJson> enrichedEvents = events.stream()
+            .map(event -> enrich(event, projectTitles, userNames))
+            .toList();
+        logger.infov("Enriched issue events (count={0}, projects={1}, users={2})",
+            events.size(), projectTitles.size(), userNames.size());
+        return enrichedEvents;
+    }
+
+    private IssueEventJson enrich(final IssueEventJson event, final Map<UUID, String> projectTitles,
+        final Map<UUID, UserName> userNames) {
+        return ImmutableIssueEventJson.builder()
             .issueEventType(event.getIssueEventType())
             .issueId(event.getIssueId())
             .projectId(event.getProjectId())
-            .project(project)
+            .project(enrichProject(event, projectTitles))
             .title(event.getTitle())
             .link(buildIssueLink(event))
             .issueType(event.getIssueType())
@@ -64,49 +109,76 @@ public class IssueEventEnricher {
             .relatedTo(event.getRelatedTo())
             .duplicateOf(event.getDuplicateOf())
             .user(event.getUser())
-            .assignee(enrichedAssignee)
+            .assignee(enrichAssignee(event.getAssignee(), userNames))
             .mentionedUser(event.getMentionedUser())
             .build();
-        logger.infov("Enriched issue event (issueId={0}, projectId={1})", event.getIssueId(), event.getProjectId());
-        return enrichedEvent;
     }
 
-    private ProjectEventJson enrichProject(final IssueEventJson event) {
-        if (event == null) {
-            return null;
+    private Map<UUID, String> findProjectTitles(final List<IssueEventJson> events, final long generation) {
+        final Set<UUID> projectIds = new HashSet<>();
+        for (IssueEventJson event : events) {
+            if (!hasProjectTitle(event) && event.getProjectId() != null) {
+                projectIds.add(event.getProjectId());
+            }
         }
-        if (event.getProject() != null && event.getProject().getTitle() != null) {
-            return event.getProject();
+        final Map<UUID, String> titles = displayNameCache.getProjectTitles(projectIds);
+        projectIds.removeAll(titles.keySet());
+        if (!projectIds.isEmpty()) {
+            final Map<UUID, String> loaded = projectRepository.findTitlesByIds(projectIds);
+            displayNameCache.putProjectTitles(generation, loaded);
+            titles.putAll(loaded);
         }
-        if (event.getProjectId() == null) {
-            return event.getProject();
+        return titles;
+    }
+
+    private Map<UUID, UserName> findUserNames(final List<IssueEventJson> events, final long generation) {
+        final Set<UUID> userIds = new HashSet<>();
+        for (IssueEventJson event : events) {
+            if (event.getAssignee() != null && event.getAssignee().getId() != null) {
+                userIds.add(event.getAssignee().getId());
+            }
+        }
+        final Map<UUID, UserName> names = displayNameCache.getUserNames(userIds);
+        userIds.removeAll(names.keySet());
+        if (!userIds.isEmpty()) {
+            final List<UserName> loaded = userRepository.findNamesByIds(userIds);
+            displayNameCache.putUserNames(generation, loaded);
+            loaded.forEach(name -> names.put(name.id(), name));
         }
-        return projectRepository.findByIdOptional(event.getProjectId())
-            .map(this::toProjectEventJson)
-            .orElse(event.getProject());
+        return names;
     }
 
-    private ProjectEventJson toProjectEventJson(final ProjectEntity project) {
+    private static boolean hasProjectTitle(final IssueEventJson event) {
+        return event.getProject() != null && event.getProject().getTitle() != null;
+    }
+
+    private ProjectEventJson enrichProject(final IssueEventJson event, final Map<UUID, String> projectTitles) {
+        if (hasProjectTitle(event) || event.getProjectId() == null) {
+            return event.getProject();
+        }
+        final String title = projectTitles.get(event.getProjectId());
+        if (title == null) {
+            return event.getProject();
+        }
         return ImmutableProjectEventJson.builder()
-            .id(project.getId())
-            .title(project.getTitle())
+            .id(event.getProjectId())
+            .title(title)
             .build();
     }
 
-    private UserJson enrichAssignee(final UserJson assignee) {
+    private UserJson enrichAssignee(final UserJson assignee, final Map<UUID, UserName> userNames) {
         if (assignee == null || assignee.getId() == null) {
             return assignee;
         }
-        Optional<UserEntity> entity = userRepository.findByIdOptional(assignee.getId());
-        if (entity.isEmpty()) {
+        final UserName user = userNames.get(assignee.getId());
+        if (user == null) {
             return assignee;
         }
-        UserEntity user = entity.get();
         return ImmutableUserJson.builder()
-            .id(user.getId())
-            .email(user.getEmail())
-            .firstName(user.getFirstName())
-            .lastName(user.getLastName())
+            .id(user.id())
+            .email(user.email())
+            .firstName(user.firstName())
+            .lastName(user.lastName())
             .build();
     }
 
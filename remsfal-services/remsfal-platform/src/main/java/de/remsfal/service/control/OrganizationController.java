@@ -5,14 +5,18 @@ import de.remsfal.core.model.OrganizationEmployeeModel.EmployeeRole;
 import de.remsfal.core.model.OrganizationModel;
 import de.remsfal.core.model.UserModel;
 
+import de.remsfal.service.control.event.AuthorizationChangedEvent;
 import de.remsfal.service.entity.dao.ContractorRepository;
+import de.remsfal.service.entity.dao.KeysetPage;
 import de.remsfal.service.entity.dao.OrganizationRepository;
+import de.remsfal.service.entity.dao.OrganizationRepository.OrganizationSearchPage;
 import de.remsfal.service.entity.dto.OrganizationEmployeeEntity;
 import de.remsfal.service.entity.dto.OrganizationEntity;
 import de.remsfal.service.entity.dto.UserEntity;
 
 
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
@@ -42,6 +46,9 @@ public class OrganizationController {
     @Inject
     UserController userController;
 
+    @Inject
+    Event<AuthorizationChangedEvent> authorizationChanged;
+
     /**
      * Retrieve an organization by id
      *
@@ -105,6 +112,7 @@ public class OrganizationController {
         }
 
         organizationRepository.persistAndFlush(organizationEntity);
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(userEntity.getId()));
 
         contractorRepository.linkOrganizationByEmail(user.getEmail(), organizationEntity);
 
@@ -125,6 +133,42 @@ public class OrganizationController {
         return organizationRepository.searchByName(query, offset, limit);
     }
 
+    /**
+     * Search organizations by name (case-insensitive, partial match) that follow a cursor.
+     *
+     * @param query the search term (min. 3 characters)
+     * @param after the cursor of the previous page
+     * @param limit maximum number of results
+     * @return the page of matching organizations
+     */
+    public KeysetPage<OrganizationEntity> searchOrganizationsAfter(final String query, final String after,
+        final int limit) {
+        logger.infov("Searching organizations by name after a cursor (query={0})", query);
+        try {
+            return organizationRepository.searchByNameAfter(query, after, limit);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Search organizations by name, most similar names first.
+     *
+     * @param query  the search term (min. 3 characters)
+     * @param cursor opaque cursor of a previous page, or null for the first page
+     * @param limit  maximum number of results
+     * @return the page of matching organizations with the total of all matches
+     */
+    public OrganizationSearchPage searchOrganizationsRanked(final String query, final String cursor,
+        final int limit) {
+        logger.infov("Searching organizations by similarity (query={0})", query);
+        try {
+            return organizationRepository.searchRankedByName(query, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
     /**
      * Count organizations matching a name search.
      *
@@ -149,6 +193,25 @@ public class OrganizationController {
         return organizationRepository.findContractorOrganizationsByUser(user.getId(), offset, limit);
     }
 
+    /**
+     * Retrieve distinct organizations that are contractors in projects accessible to the user and follow
+     * a cursor.
+     *
+     * @param user  the authenticated user
+     * @param after the cursor of the previous page
+     * @param limit pagination limit
+     * @return the page of contractor organizations
+     */
+    public KeysetPage<OrganizationEntity> getContractorOrganizationsAfter(final UserModel user,
+        final String after, final int limit) {
+        logger.infov("Retrieving contractor organizations for user {0} after a cursor", user.getId());
+        try {
+            return organizationRepository.findContractorOrganizationsByUserAfter(user.getId(), after, limit);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
     /**
      * Count distinct organizations that are contractors in projects accessible to the user.
      *
@@ -221,6 +284,7 @@ public class OrganizationController {
 
         OrganizationEntity organization = organizationRepository.findByIdOptional(id)
             .orElseThrow(() -> new NotFoundException("Organization not found"));
+        authorizationChanged.fire(AuthorizationChangedEvent.forAllUsers());
         return organizationRepository.deleteById(organization.getId());
     }
 
@@ -270,6 +334,7 @@ public class OrganizationController {
         UserEntity userEntity = userController.findOrCreateUser(employee);
         organization.addEmployee(userEntity, employee.getEmployeeRole());
         organizationRepository.mergeAndFlush(organization);
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(userEntity.getId()));
         return organizationRepository
             .findOrganizationEmployeeByOrganizationIdAndUserId(organizationId, userEntity.getId())
             .orElseThrow(() -> new NotFoundException("Organization not exist or user is not an employee"));
@@ -283,12 +348,14 @@ public class OrganizationController {
             .orElseThrow(() -> new NotFoundException("Organization not exist or user is not an employee"));
 
         entity.setRole(role);
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(employeeId));
 
         return organizationRepository.merge(entity);
     }
 
     @Transactional
     public void removeEmployee(final UUID organizationId, final UUID employeeId) {
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(employeeId));
         organizationRepository.deleteOrganizationEmployeesByOrganizationIdAndUserId(organizationId, employeeId);
     }
 
@@ -0,0 +1,37 @@
+package de.remsfal.service.control;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import de.remsfal.service.control.event.AuthorizationChangedEvent;
+import de.remsfal.service.entity.cache.AuthorizationSnapshotCache;
+
+/**
+ * Authorization changes of the current request that were fired outside of a transaction. Their
+ * snapshots stay pending until the request ended, i.e. until the change has been written.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@RequestScoped
+class PendingAuthorizationChanges {
+
+    @Inject
+    AuthorizationSnapshotCache cache;
+
+    private final List<AuthorizationChangedEvent> changes = new ArrayList<>();
+
+    void add(final AuthorizationChangedEvent event) {
+        changes.add(event);
+    }
+
+    @PreDestroy
+    void invalidate() {
+        changes.forEach(event -> cache.invalidate(event.getUserIds()));
+        changes.clear();
+    }
+
+}
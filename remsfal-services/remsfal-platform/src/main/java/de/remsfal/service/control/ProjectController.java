@@ -1,11 +1,14 @@
 package de.remsfal.service.control;
 
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.NotFoundException;
 
+import de.remsfal.service.control.event.AuthorizationChangedEvent;
 import de.remsfal.service.control.exception.AlreadyExistsException;
 
 import io.opentelemetry.instrumentation.annotations.WithSpan;
@@ -16,9 +19,13 @@ import de.remsfal.core.model.project.ProjectMemberModel;
 import de.remsfal.core.model.project.ProjectModel;
 import de.remsfal.core.model.project.OrganizationMemberModel;
 import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
+import de.remsfal.service.entity.cache.DisplayNameCache;
+import de.remsfal.service.entity.dao.KeysetPage;
 import de.remsfal.service.entity.dao.OrganizationRepository;
 import de.remsfal.service.entity.dao.ProjectOrganizationRepository;
 import de.remsfal.service.entity.dao.ProjectRepository;
+import de.remsfal.service.entity.dao.ProjectRepository.ProjectItem;
+import de.remsfal.service.entity.dao.ProjectRepository.ProjectItemPage;
 import de.remsfal.service.entity.dto.OrganizationEmployeeEntity;
 import de.remsfal.service.entity.dto.OrganizationEntity;
 import de.remsfal.service.entity.dto.ProjectEntity;
@@ -64,6 +71,12 @@ public class ProjectController {
     @Inject
     AuthorizationController authorizationController;
 
+    @Inject
+    Event<AuthorizationChangedEvent> authorizationChanged;
+
+    @Inject
+    DisplayNameCache displayNameCache;
+
     @WithSpan("ProjectController.getProjects")
     public List<ProjectModel> getProjects(final UserModel user, final Integer offset, final Integer limit) {
         List<ProjectMembershipEntity> memberships = projectRepository.findMembershipByUserId(user.getId(),
@@ -75,6 +88,39 @@ public class ProjectController {
         return projects;
     }
 
+    /**
+     * Lists the projects of a user with the role of the user only. Unlike {@link #getProjects}, no project
+     * entity and thus none of the members of a project is loaded.
+     *
+     * @param user   the user
+     * @param offset the index of the first project
+     * @param limit  the maximum number of projects
+     * @return the page of project items with the total number of projects
+     */
+    @WithSpan("ProjectController.getProjectItems")
+    public ProjectItemPage getProjectItems(final UserModel user, final Integer offset, final Integer limit) {
+        return projectRepository.findItemsByUserId(user.getId(), offset, limit);
+    }
+
+    /**
+     * Lists the projects of a user that follow a cursor, with the role of the user only and without a
+     * total.
+     *
+     * @param user  the user
+     * @param after the cursor of the previous page
+     * @param limit the maximum number of projects
+     * @return the page of project items
+     */
+    @WithSpan("ProjectController.getProjectItemsAfter")
+    public KeysetPage<ProjectItem> getProjectItemsAfter(final UserModel user, final String after,
+        final Integer limit) {
+        try {
+            return projectRepository.findItemsByUserIdAfter(user.getId(), after, limit);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
     public long countProjects(final UserModel user) {
         return projectRepository.countMembershipByUserId(user.getId());
     }
@@ -95,6 +141,7 @@ public class ProjectController {
         }
         entity.addMember(userEntity, MemberRole.PROPRIETOR);
         projectRepository.persistAndFlush(entity);
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(userEntity.getId()));
         return entity;
     }
 
@@ -110,6 +157,7 @@ public class ProjectController {
         final ProjectEntity entity = projectRepository.findProjectByUserId(user.getId(), projectId)
             .orElseThrow(() -> new NotFoundException("Project not exist or user has no membership"));
         entity.setTitle(project.getTitle());
+        displayNameCache.invalidateProject(projectId);
         if (project.getOwner() != null) {
             entity.setOwner(project.getOwner());
         }
@@ -151,6 +199,8 @@ public class ProjectController {
         if (entity == null) {
             return false;
         } else if (entity.isMember(user)) {
+            authorizationChanged.fire(AuthorizationChangedEvent.forAllUsers());
+            displayNameCache.invalidateProject(projectId);
             return projectRepository.deleteById(projectId);
         } else {
             throw new ForbiddenException("User is not a member of this project");
@@ -190,6 +240,7 @@ public class ProjectController {
             throw new AlreadyExistsException("User is already a member of this project");
         }
         projectEntity.addMember(userEntity, member.getRole());
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(userEntity.getId()));
         notificationController.informUserAboutProjectMembership(userEntity, projectId);
         projectRepository.mergeAndFlush(projectEntity);
         return projectRepository.findMembershipByUserIdAndProjectId(userEntity.getId(), projectId)
@@ -204,6 +255,7 @@ public class ProjectController {
         final ProjectMembershipEntity entity = projectRepository.findMembershipByUserIdAndProjectId(memberId, projectId)
             .orElseThrow(() -> new NotFoundException("Project not exist or user has no membership"));
         entity.setRole(memberRole);
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(memberId));
         return projectRepository.merge(entity);
     }
 
@@ -211,6 +263,7 @@ public class ProjectController {
     public boolean removeProjectMember(final UUID projectId, final UUID memberId) {
         logger.infov("Removing a project membership (projectId={0}, memberId={1})",
             projectId, memberId);
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(memberId));
         return projectRepository.removeMembershipByUserIdAndProjectId(memberId, projectId);
     }
 
@@ -298,6 +351,7 @@ public class ProjectController {
         }
 
         projectEntity.addOrganization(organizationEntity, organization.getRole());
+        fireOrganizationChanged(organizationEntity.getId());
         projectRepository.mergeAndFlush(projectEntity);
         return projectOrganizationRepository
             .findByProjectIdAndOrganizationId(projectId, organization.getOrganizationId())
@@ -313,6 +367,7 @@ public class ProjectController {
             .findByProjectIdAndOrganizationId(projectId, organizationId)
             .orElseThrow(() -> new NotFoundException("Organization is not assigned to this project"));
         entity.setRole(role);
+        fireOrganizationChanged(organizationId);
         return projectOrganizationRepository.merge(entity);
     }
 
@@ -320,7 +375,16 @@ public class ProjectController {
     public boolean removeProjectOrganization(final UUID projectId, final UUID organizationId) {
         logger.infov("Removing an organization from project (projectId={0}, organizationId={1})",
             projectId, organizationId);
+        fireOrganizationChanged(organizationId);
         return projectOrganizationRepository.removeByProjectIdAndOrganizationId(projectId, organizationId);
     }
 
+    /** Project roles derived from an organization change for all of its employees */
+    private void fireOrganizationChanged(final UUID organizationId) {
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(
+            organizationRepository.findOrganizationEmployeesByOrganizationId(organizationId).stream()
+                .map(OrganizationEmployeeEntity::getId)
+                .toList()));
+    }
+
 }
@@ -13,6 +13,7 @@ import de.remsfal.core.json.project.SiteJson;
 import de.remsfal.core.json.project.StorageJson;
 import de.remsfal.core.model.RentalUnitModel.UnitType;
 import de.remsfal.core.model.project.PropertyModel;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.service.entity.dao.ApartmentRepository;
 import de.remsfal.service.entity.dao.CommercialRepository;
 import de.remsfal.service.entity.dao.BuildingRepository;
@@ -27,9 +28,13 @@ import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 import org.jboss.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -59,9 +64,13 @@ public class PropertyController {
     @Inject
     StorageRepository storageRepository;
 
+    @Inject
+    PropertyTreeCache propertyTreeCache;
+
     @Transactional
     public PropertyModel createProperty(final UUID projectId, final PropertyModel property) {
         logger.infov("Creating a property (projectId={0})", projectId);
+        propertyTreeCache.invalidate(projectId);
         PropertyEntity entity = updateProperty(property, new PropertyEntity());
         entity.generateId();
         entity.setProjectId(projectId);
@@ -98,20 +107,39 @@ public class PropertyController {
      * @return {@code true} if the unit has no sub-units
      */
     public boolean isLeafRentalUnit(final UUID projectId, final UnitType type, final UUID unitId) {
-        return switch (type) {
-            case PROPERTY -> !siteRepository.existsByPropertyId(projectId, unitId)
-                && !buildingRepository.existsByPropertyId(projectId, unitId);
-            case BUILDING -> !apartmentRepository.existsByBuildingId(projectId, unitId)
-                && !commercialRepository.existsByBuildingId(projectId, unitId)
-                && !storageRepository.existsByBuildingId(projectId, unitId);
-            case SITE, APARTMENT, STORAGE, COMMERCIAL -> true;
-        };
+        return findNonLeafRentalUnits(projectId, Map.of(type, Set.of(unitId))).isEmpty();
+    }
+
+    /**
+     * Resolves the leaf status of many rental units with one query per type that can have sub-units,
+     * i.e. at most one for properties and one for buildings.
+     *
+     * @param projectId the project ID
+     * @param unitIds the IDs of the rental units by type
+     * @return the IDs of the units that have sub-units by type, empty if all units are leaves
+     * @see #isLeafRentalUnit(UUID, UnitType, UUID)
+     */
+    public Map<UnitType, List<UUID>> findNonLeafRentalUnits(final UUID projectId,
+            final Map<UnitType, ? extends Collection<UUID>> unitIds) {
+        final Map<UnitType, List<UUID>> nonLeafUnits = new EnumMap<>(UnitType.class);
+        final Collection<UUID> propertyIds = unitIds.getOrDefault(UnitType.PROPERTY, List.of());
+        final List<UUID> properties = propertyRepository.findPropertyIdsWithChildren(projectId, propertyIds);
+        if (!properties.isEmpty()) {
+            nonLeafUnits.put(UnitType.PROPERTY, properties);
+        }
+        final Collection<UUID> buildingIds = unitIds.getOrDefault(UnitType.BUILDING, List.of());
+        final List<UUID> buildings = buildingRepository.findBuildingIdsWithChildren(projectId, buildingIds);
+        if (!buildings.isEmpty()) {
+            nonLeafUnits.put(UnitType.BUILDING, buildings);
+        }
+        return nonLeafUnits;
     }
 
     @Transactional
     public PropertyModel updateProperty(final UUID projectId, final UUID propertyId, final PropertyModel property) {
         logger.infov("Updating a property (projectId = {0}, propertyId = {1}, property={2})",
             projectId, propertyId, property);
+        propertyTreeCache.invalidate(projectId);
         final PropertyEntity entity = propertyRepository.findPropertyById(projectId, propertyId)
             .orElseThrow(() -> new NotFoundException("Project not exist or user has no membership"));
         return propertyRepository.merge(updateProperty(property, entity));
@@ -157,90 +185,81 @@ public class PropertyController {
     @Transactional
     public boolean deleteProperty(final UUID projectId, final UUID propertyId) {
         logger.infov("Deleting a property (projectId={0}, propertyId={1})", projectId, propertyId);
+        propertyTreeCache.invalidate(projectId);
         return propertyRepository.deletePropertyById(projectId, propertyId) > 0;
     }
 
     public List<RentalUnitTreeNodeJson> getPropertyTree(final UUID projectId) {
-        logger.infov("Retrieving properties (projectId = {0})", projectId);
-
-        // Fetch properties for the project
-        return propertyRepository.findPropertiesByProjectId(projectId)
-            .stream()
-            .map(this::buildPropertyNode)
-            .toList();
+        return getTaggedPropertyTree(projectId).nodes();
     }
 
-    private RentalUnitTreeNodeJson buildPropertyNode(final PropertyEntity property) {
-        RentalUnitNodeDataJson data = RentalUnitNodeDataJson.valueOf(property);
-
-        List<RentalUnitTreeNodeJson> buildingTree = buildingRepository
-            .findAllBuildings(property.getProjectId(), property.getId())
-            .stream()
-            .map(this::buildBuildingNode)
-            .toList();
-        
-        List<RentalUnitTreeNodeJson> siteTree = siteRepository
-            .findAllSites(property.getProjectId(), property.getId())
-            .stream()
-            .map(unit -> RentalUnitTreeNodeJson.valueOf(unit))
-            .toList();
-        
-        return ImmutableRentalUnitTreeNodeJson.builder()
-            .key(property.getId())
-            .data(data)
-            .addAllChildren(buildingTree)
-            .addAllChildren(siteTree)
-            .build();
+    /**
+     * Returns the rental unit tree of a project together with its entity tag. The tree is served from
+     * the {@link PropertyTreeCache} and only assembled again after a rental unit of the project changed.
+     *
+     * @param projectId the project ID
+     * @return the tagged tree
+     */
+    public PropertyTreeCache.Tree getTaggedPropertyTree(final UUID projectId) {
+        return propertyTreeCache.get(projectId).orElseGet(() -> {
+            final long version = propertyTreeCache.getVersion(projectId);
+            return propertyTreeCache.put(projectId, version, buildPropertyTree(projectId));
+        });
     }
 
-    private RentalUnitTreeNodeJson buildBuildingNode(final BuildingEntity building) {
-        RentalUnitNodeDataJson data = RentalUnitNodeDataJson.valueOf(building);
-
-        List<RentalUnitTreeNodeJson> apartmentTree = apartmentRepository
-            .findAllApartments(building.getProjectId(), building.getId())
-            .stream()
-            .map(unit -> RentalUnitTreeNodeJson.valueOf(unit))
-            .toList();
+    /**
+     * Assembles the tree with one query per unit type for the whole project. Children are grouped
+     * by the id of their parent before the parents are visited.
+     */
+    private List<RentalUnitTreeNodeJson> buildPropertyTree(final UUID projectId) {
+        logger.infov("Retrieving properties (projectId = {0})", projectId);
 
-        List<RentalUnitTreeNodeJson> commercialTree = commercialRepository
-            .findAllCommercials(building.getProjectId(), building.getId())
-            .stream()
-            .map(unit -> RentalUnitTreeNodeJson.valueOf(unit))
-            .toList();
+        final Map<UUID, List<RentalUnitTreeNodeJson>> buildingChildren = new HashMap<>();
+        apartmentRepository.findAllApartments(projectId).forEach(unit -> buildingChildren
+            .computeIfAbsent(unit.getBuildingId(), id -> new ArrayList<>())
+            .add(RentalUnitTreeNodeJson.valueOf(unit)));
+        commercialRepository.findAllCommercials(projectId).forEach(unit -> buildingChildren
+            .computeIfAbsent(unit.getBuildingId(), id -> new ArrayList<>())
+            .add(RentalUnitTreeNodeJson.valueOf(unit)));
+        storageRepository.findAllStorages(projectId).forEach(unit -> buildingChildren
+            .computeIfAbsent(unit.getBuildingId(), id -> new ArrayList<>())
+            .add(RentalUnitTreeNodeJson.valueOf(unit)));
+
+        final Map<UUID, List<RentalUnitTreeNodeJson>> propertyChildren = new HashMap<>();
+        buildingRepository.findAllBuildings(projectId).forEach(building -> propertyChildren
+            .computeIfAbsent(building.getPropertyId(), id -> new ArrayList<>())
+            .add(buildBuildingNode(building, buildingChildren.getOrDefault(building.getId(), List.of()))));
+        siteRepository.findAllSites(projectId).forEach(unit -> propertyChildren
+            .computeIfAbsent(unit.getPropertyId(), id -> new ArrayList<>())
+            .add(RentalUnitTreeNodeJson.valueOf(unit)));
 
-        List<RentalUnitTreeNodeJson> storageTree = storageRepository
-            .findAllStorages(building.getProjectId(), building.getId())
+        return propertyRepository.findPropertiesByProjectId(projectId)
             .stream()
-            .map(unit -> RentalUnitTreeNodeJson.valueOf(unit))
+            .map(property -> (RentalUnitTreeNodeJson) ImmutableRentalUnitTreeNodeJson.builder()
+                .key(property.getId())
+                .data(RentalUnitNodeDataJson.valueOf(property))
+                .addAllChildren(propertyChildren.getOrDefault(property.getId(), List.of()))
+                .build())
             .toList();
+    }
 
+    private RentalUnitTreeNodeJson buildBuildingNode(final BuildingEntity building,
+        final List<RentalUnitTreeNodeJson> children) {
+        RentalUnitNodeDataJson data = RentalUnitNodeDataJson.valueOf(building);
         if (data.getSpace() == null || data.getSpace() <= 0) {
-            data = data.withSpace(calculateTotalSpace(apartmentTree, commercialTree, storageTree));
+            data = data.withSpace(calculateTotalSpace(children));
         }
 
         return ImmutableRentalUnitTreeNodeJson.builder()
             .key(building.getId())
             .data(data)
-            .addAllChildren(apartmentTree)
-            .addAllChildren(commercialTree)
-            .addAllChildren(storageTree)
+            .addAllChildren(children)
             .build();
     }
 
-    private Float calculateTotalSpace(List<RentalUnitTreeNodeJson> apartmentTree,
-        List<RentalUnitTreeNodeJson> commercialTree, List<RentalUnitTreeNodeJson> storageTree) {
+    private Float calculateTotalSpace(final List<RentalUnitTreeNodeJson> children) {
         float totalSpace = 0;
-        for (RentalUnitTreeNodeJson child : apartmentTree) {
-            if (child.getData().getSpace() != null) {
-                totalSpace += child.getData().getSpace();
-            }
-        }
-        for (RentalUnitTreeNodeJson child : commercialTree) {
-            if (child.getData().getSpace() != null) {
-                totalSpace += child.getData().getSpace();
-            }
-        }
-        for (RentalUnitTreeNodeJson child : storageTree) {
+        for (RentalUnitTreeNodeJson child : children) {
             if (child.getData().getSpace() != null) {
                 totalSpace += child.getData().getSpace();
             }
@@ -259,36 +278,18 @@ public class PropertyController {
         logger.infov("Loading all rental units for project (projectId = {0})", projectId);
 
         Map<UUID, RentalUnitJson> unitsMap = new HashMap<>();
-
-        // Load all properties
-        propertyRepository.findPropertiesByProjectId(projectId).forEach(property -> {
-            unitsMap.put(property.getId(), PropertyJson.valueOf(property));
-
-            // Load all sites for this property
-            siteRepository.findAllSites(projectId, property.getId()).forEach(site ->
-                unitsMap.put(site.getId(), SiteJson.valueOf(site))
-            );
-
-            // Load all buildings for this property
-            buildingRepository.findAllBuildings(projectId, property.getId()).forEach(building -> {
-                unitsMap.put(building.getId(), BuildingJson.valueOf(building));
-
-                // Load all apartments for this building
-                apartmentRepository.findAllApartments(projectId, building.getId()).forEach(apartment ->
-                    unitsMap.put(apartment.getId(), ApartmentJson.valueOf(apartment))
-                );
-
-                // Load all commercials for this building
-                commercialRepository.findAllCommercials(projectId, building.getId()).forEach(commercial ->
-                    unitsMap.put(commercial.getId(), CommercialJson.valueOf(commercial))
-                );
-
-                // Load all storages for this building
-                storageRepository.findAllStorages(projectId, building.getId()).forEach(storage ->
-                    unitsMap.put(storage.getId(), StorageJson.valueOf(storage))
-                );
-            });
-        });
+        propertyRepository.findPropertiesByProjectId(projectId)
+            .forEach(property -> unitsMap.put(property.getId(), PropertyJson.valueOf(property)));
+        siteRepository.findAllSites(projectId)
+            .forEach(site -> unitsMap.put(site.getId(), SiteJson.valueOf(site)));
+        buildingRepository.findAllBuildings(projectId)
+            .forEach(building -> unitsMap.put(building.getId(), BuildingJson.valueOf(building)));
+        apartmentRepository.findAllApartments(projectId)
+            .forEach(apartment -> unitsMap.put(apartment.getId(), ApartmentJson.valueOf(apartment)));
+        commercialRepository.findAllCommercials(projectId)
+            .forEach(commercial -> unitsMap.put(commercial.getId(), CommercialJson.valueOf(commercial)));
+        storageRepository.findAllStorages(projectId)
+            .forEach(storage -> unitsMap.put(storage.getId(), StorageJson.valueOf(storage)));
 
         logger.infov("Loaded {0} rental units for project {1}", unitsMap.size(), projectId);
         return unitsMap;
@@ -305,23 +306,27 @@ public class PropertyController {
         logger.infov("Loading address map for project (projectId = {0})", projectId);
 
         Map<UUID, AddressJson> addressMap = new HashMap<>();
-
-        propertyRepository.findPropertiesByProjectId(projectId).forEach(property -> {
-            siteRepository.findAllSites(projectId, property.getId()).forEach(site ->
-                addressMap.put(site.getId(), AddressJson.valueOf(site.getAddress())));
-
-            buildingRepository.findAllBuildings(projectId, property.getId()).forEach(building -> {
-                AddressJson addr = AddressJson.valueOf(building.getAddress());
-                apartmentRepository.findAllApartments(projectId, building.getId())
-                    .forEach(a -> addressMap.put(a.getId(), addr));
-                commercialRepository.findAllCommercials(projectId, building.getId())
-                    .forEach(c -> addressMap.put(c.getId(), addr));
-                storageRepository.findAllStorages(projectId, building.getId())
-                    .forEach(s -> addressMap.put(s.getId(), addr));
-            });
-        });
+        siteRepository.findAllSites(projectId)
+            .forEach(site -> addressMap.put(site.getId(), AddressJson.valueOf(site.getAddress())));
+
+        Map<UUID, AddressJson> buildingAddresses = new HashMap<>();
+        buildingRepository.findAllBuildings(projectId).forEach(building ->
+            buildingAddresses.put(building.getId(), AddressJson.valueOf(building.getAddress())));
+        apartmentRepository.findAllApartments(projectId)
+            .forEach(a -> putBuildingAddress(addressMap, buildingAddresses, a.getId(), a.getBuildingId()));
+        commercialRepository.findAllCommercials(projectId)
+            .forEach(c -> putBuildingAddress(addressMap, buildingAddresses, c.getId(), c.getBuildingId()));
+        storageRepository.findAllStorages(projectId)
+            .forEach(st -> putBuildingAddress(addressMap, buildingAddresses, st.getId(), st.getBuildingId()));
 
         return addressMap;
     }
 
+    private static void putBuildingAddress(final Map<UUID, AddressJson> addressMap,
+        final Map<UUID, AddressJson> buildingAddresses, final UUID unitId, final UUID buildingId) {
+        if (buildingAddresses.containsKey(buildingId)) {
+            addressMap.put(unitId, buildingAddresses.get(buildingId));
+        }
+    }
+
 }
@@ -0,0 +1,225 @@
+package de.remsfal.service.control;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import de.remsfal.core.model.RentalUnitModel.UnitType;
+import de.remsfal.core.model.project.RentModel.BillingCycle;
+import de.remsfal.service.entity.dao.RentalAgreementRepository.RentRollRow;
+
+/**
+ * Expected income of a project within a period, summed up by month for every rental unit, building and
+ * property. Each rent is expanded into its payment dates, which are counted into the month they fall into,
+ * so the amounts are kept in flat arrays of cents with one slot per month.
+ *
+ * A monthly rent is paid on the day of month of its first payment, or on the last day of a shorter month.
+ * A weekly rent is paid every seventh day after its first payment.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class RentRoll {
+
+    /**
+     * The monthly amounts of a rental unit, building or property.
+     *
+     * @param type     the type of the rental unit, building or property
+     * @param id       the rental unit, building or property
+     * @param parentId the building or property the rental unit or building belongs to, or null for a
+     *                 property
+     * @param title    the title of the rental unit, building or property
+     * @param amounts  the expected income in cents by month
+     */
+    public record Line(UnitType type, UUID id, UUID parentId, String title, long[] amounts) {
+    }
+
+    private final YearMonth firstMonth;
+    private final int fromDay;
+    private final int toDay;
+
+    /** The first day of each month of the period as days since the epoch, followed by the end of the last one. */
+    private final int[] monthStart;
+
+    /** Number of payments of the current rent by month. */
+    private final int[] payments;
+
+    private final long[] totals;
+    private final Level units;
+    private final Level buildings;
+    private final Level properties;
+
+    /**
+     * @param from the first day of the period
+     * @param to   the last day of the period, not before the first one
+     */
+    public RentRoll(final LocalDate from, final LocalDate to) {
+        this.firstMonth = YearMonth.from(from);
+        this.fromDay = (int) from.toEpochDay();
+        this.toDay = (int) to.toEpochDay();
+        final int months = (int) (firstMonth.until(YearMonth.from(to), ChronoUnit.MONTHS) + 1);
+        this.monthStart = new int[months + 1];
+        for (int month = 0; month <= months; month++) {
+            monthStart[month] = (int) firstMonth.plusMonths(month).atDay(1).toEpochDay();
+        }
+        this.payments = new int[months];
+        this.totals = new long[months];
+        this.units = new Level(months);
+        this.buildings = new Level(months);
+        this.properties = new Level(months);
+    }
+
+    /**
+     * Adds the payments of a rent within the period.
+     *
+     * @param row the rent, rents of the same unit may be added in any order
+     */
+    public void add(final RentRollRow row) {
+        Arrays.fill(payments, 0);
+        final int last = row.lastPaymentDay() != null ? Math.min(row.lastPaymentDay(), toDay) : toDay;
+        if (row.billingCycle() == BillingCycle.WEEKLY) {
+            countWeeklyPayments(row.firstPaymentDay(), last);
+        } else {
+            countMonthlyPayments(row.firstPaymentDay(), last);
+        }
+        final int unit = units.indexOf(row.unitType(), row.unitId(), parentOf(row), row.unitTitle());
+        final int building = row.buildingId() != null
+            ? buildings.indexOf(UnitType.BUILDING, row.buildingId(), row.propertyId(), row.buildingTitle())
+            : -1;
+        final int property = properties.indexOf(UnitType.PROPERTY, row.propertyId(), null, row.propertyTitle());
+        for (int month = 0; month < payments.length; month++) {
+            if (payments[month] == 0) {
+                continue;
+            }
+            final long amount = payments[month] * row.amount();
+            units.add(unit, month, amount);
+            if (building >= 0) {
+                buildings.add(building, month, amount);
+            }
+            properties.add(property, month, amount);
+            totals[month] += amount;
+        }
+    }
+
+    private static UUID parentOf(final RentRollRow row) {
+        return switch (row.unitType()) {
+            case PROPERTY -> null;
+            case SITE, BUILDING -> row.propertyId();
+            default -> row.buildingId();
+        };
+    }
+
+    private void countMonthlyPayments(final int firstDay, final int lastDay) {
+        final LocalDate first = LocalDate.ofEpochDay(firstDay);
+        final int dayOfMonth = first.getDayOfMonth();
+        final int firstPaymentMonth = (int) firstMonth.until(YearMonth.from(first), ChronoUnit.MONTHS);
+        for (int month = Math.max(firstPaymentMonth, 0); month < payments.length; month++) {
+            final int day = monthStart[month] + Math.min(dayOfMonth, monthStart[month + 1] - monthStart[month]) - 1;
+            if (day > lastDay) {
+                break;
+            }
+            if (day >= fromDay) {
+                payments[month]++;
+            }
+        }
+    }
+
+    private void countWeeklyPayments(final int firstDay, final int lastDay) {
+        int day = firstDay;
+        if (day < fromDay) {
+            day += (fromDay - day + 6) / 7 * 7;
+        }
+        int month = 0;
+        for (; day <= lastDay; day += 7) {
+            while (day >= monthStart[month + 1]) {
+                month++;
+            }
+            payments[month]++;
+        }
+    }
+
+    /**
+     * @return the months of the period
+     */
+    public List<YearMonth> getMonths() {
+        final List<YearMonth> months = new ArrayList<>(payments.length);
+        for (int month = 0; month < payments.length; month++) {
+            months.add(firstMonth.plusMonths(month));
+        }
+        return months;
+    }
+
+    /**
+     * @return the expected income of the project in cents by month
+     */
+    public long[] getTotals() {
+        return totals.clone();
+    }
+
+    /**
+     * @return the rental units with rents, in the order they have been added first
+     */
+    public List<Line> getUnits() {
+        return units.lines();
+    }
+
+    /**
+     * @return the buildings with rents of their own or of their rental units
+     */
+    public List<Line> getBuildings() {
+        return buildings.lines();
+    }
+
+    /**
+     * @return the properties with rents of their own or of their sites, buildings and rental units
+     */
+    public List<Line> getProperties() {
+        return properties.lines();
+    }
+
+    /**
+     * The amounts of all rental units, buildings or properties in one array, a row of months each.
+     */
+    private static final class Level {
+
+        private final int months;
+        private final Map<UUID, Integer> index = new HashMap<>();
+        private final List<Line> lines = new ArrayList<>();
+        private long[] amounts;
+
+        Level(final int months) {
+            this.months = months;
+            this.amounts = new long[months * 16];
+        }
+
+        int indexOf(final UnitType type, final UUID id, final UUID parentId, final String title) {
+            return index.computeIfAbsent(id, key -> {
+                lines.add(new Line(type, id, parentId, title, null));
+                if (lines.size() * months > amounts.length) {
+                    amounts = Arrays.copyOf(amounts, amounts.length * 2);
+                }
+                return lines.size() - 1;
+            });
+        }
+
+        void add(final int line, final int month, final long amount) {
+            amounts[line * months + month] += amount;
+        }
+
+        List<Line> lines() {
+            final List<Line> result = new ArrayList<>(lines.size());
+            for (int line = 0; line < lines.size(); line++) {
+                final Line header = lines.get(line);
+                result.add(new Line(header.type(), header.id(), header.parentId(), header.title(),
+                    Arrays.copyOfRange(amounts, line * months, (line + 1) * months)));
+            }
+            return result;
+        }
+    }
+
+}
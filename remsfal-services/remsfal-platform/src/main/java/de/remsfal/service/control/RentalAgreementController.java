@@ -8,8 +8,11 @@ import de.remsfal.core.model.project.RentalAgreementModel;
 import de.remsfal.core.model.project.RentModel;
 import de.remsfal.core.model.project.RentModel.BillingCycle;
 import de.remsfal.core.model.project.TenantModel;
+import de.remsfal.service.control.event.AuthorizationChangedEvent;
+import de.remsfal.service.control.exception.NonLeafRentalUnitException;
 import de.remsfal.service.entity.dao.ProjectRepository;
 import de.remsfal.service.entity.dao.RentalAgreementRepository;
+import de.remsfal.service.entity.dao.RentalAgreementRepository.RentRollRow;
 import de.remsfal.service.entity.dao.TenantRepository;
 import de.remsfal.service.entity.dao.UserRepository;
 import de.remsfal.service.entity.dto.AddressEntity;
@@ -25,21 +28,29 @@ import de.remsfal.service.entity.dto.embeddable.RentalAgreementKeysEntity;
 import de.remsfal.service.entity.dto.UserEntity;
 import de.remsfal.service.entity.dto.superclass.RentEntity;
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.jboss.logging.Logger;
 
@@ -49,6 +60,9 @@ import org.jboss.logging.Logger;
 @RequestScoped
 public class RentalAgreementController {
 
+    /** Longest period of a rent roll, in months. */
+    public static final int MAX_RENT_ROLL_MONTHS = 120;
+
     @Inject
     Logger logger;
 
@@ -67,15 +81,20 @@ public class RentalAgreementController {
     @Inject
     PropertyController propertyController;
 
+    @Inject
+    Event<AuthorizationChangedEvent> authorizationChanged;
+
     public List<RentalAgreementEntity> getRentalAgreements(final UserModel tenant) {
         logger.infov("Retrieving all rental agreements (tenantId = {0})", tenant.getId());
-        return rentalAgreementRepository.findRentalAgreementsByTenant(tenant.getId());
+        return rentalAgreementRepository.findRentalAgreementsByTenant(tenant.getId(),
+            RentalAgreementEntity.GRAPH_LIST);
     }
 
     public RentalAgreementEntity getRentalAgreement(final UserModel tenant, final UUID agreementId) {
         logger.infov("Retrieving a rental agreement (tenantId = {0}, agreementId = {1})",
             tenant.getId(), agreementId);
-        return rentalAgreementRepository.findRentalAgreementByTenant(tenant.getId(), agreementId)
+        return rentalAgreementRepository
+            .findRentalAgreementByTenant(tenant.getId(), agreementId, RentalAgreementEntity.GRAPH_DETAIL)
             .orElseThrow(() -> new NotFoundException("Rental agreement not exist"));
     }
 
@@ -90,6 +109,9 @@ public class RentalAgreementController {
     public boolean deleteRentalAgreement(final UUID projectId, final UUID agreementId) {
         logger.infov("Deleting a Rental Agreement (projectId={0}, agreementId={1})",
             projectId, agreementId);
+        rentalAgreementRepository
+            .findRentalAgreementByProject(projectId, agreementId, RentalAgreementEntity.GRAPH_LIST)
+            .ifPresent(agreement -> fireTenancyChanged(agreement.getTenants()));
         return rentalAgreementRepository.removeRentalAgreementByIds(projectId, agreementId) > 0;
     }
 
@@ -102,7 +124,8 @@ public class RentalAgreementController {
      */
     public Map<UUID, List<RentalAgreementEntity>> getRentalAgreementsByTenant(final UUID projectId) {
         logger.infov("Retrieving all rental agreements grouped by tenant (projectId = {0})", projectId);
-        List<RentalAgreementEntity> agreements = rentalAgreementRepository.findRentalAgreementByProject(projectId);
+        List<RentalAgreementEntity> agreements = rentalAgreementRepository
+            .findRentalAgreementByProject(projectId, RentalAgreementEntity.GRAPH_LIST);
 
         Map<UUID, List<RentalAgreementEntity>> agreementsByTenant = new HashMap<>();
         for (RentalAgreementEntity agreement : agreements) {
@@ -118,6 +141,31 @@ public class RentalAgreementController {
         return agreementsByTenant;
     }
 
+    /**
+     * Computes the expected income of a project by month from all rents with payments within a period. The
+     * rents are read through a database cursor and summed up while they arrive, so no rent entity is loaded.
+     *
+     * @param projectId the project
+     * @param from      the first day of the period
+     * @param to        the last day of the period
+     * @return the monthly amounts by rental unit, building and property
+     */
+    @Transactional
+    public RentRoll getRentRoll(final UUID projectId, final LocalDate from, final LocalDate to) {
+        logger.infov("Computing the rent roll (projectId = {0}, from = {1}, to = {2})", projectId, from, to);
+        if (to.isBefore(from)) {
+            throw new BadRequestException("End of the period must not be before its start");
+        }
+        if (ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) >= MAX_RENT_ROLL_MONTHS) {
+            throw new BadRequestException("Period must not exceed " + MAX_RENT_ROLL_MONTHS + " months");
+        }
+        final RentRoll rentRoll = new RentRoll(from, to);
+        try (Stream<RentRollRow> rows = rentalAgreementRepository.streamRentRoll(projectId, from, to)) {
+            rows.forEach(rentRoll::add);
+        }
+        return rentRoll;
+    }
+
     public RentalAgreementEntity getRentalAgreementByProject(final UUID projectId, final UUID agreementId) {
         logger.infov("Retrieving a rental agreement (projectId = {0}, agreementId = {1})", projectId, agreementId);
         return rentalAgreementRepository.findRentalAgreementByProject(projectId, agreementId)
@@ -150,31 +198,43 @@ public class RentalAgreementController {
         processRents(entity, agreement);
 
         rentalAgreementRepository.persistAndFlush(entity);
+        fireTenancyChanged(entity.getTenants());
         return entity;
     }
 
+    /** Tenancies are part of the access tokens of the tenants' users */
+    private void fireTenancyChanged(final Collection<? extends TenantModel> tenants) {
+        if (tenants != null && !tenants.isEmpty()) {
+            authorizationChanged.fire(AuthorizationChangedEvent.forUsers(tenants.stream()
+                .map(TenantModel::getUserId)
+                .toList()));
+        }
+    }
+
     /**
      * Validates that every rent in the agreement references a leaf rental unit (i.e. a unit
-     * without sub-units) — rental agreements may only be concluded for leaf units.
+     * without sub-units) — rental agreements may only be concluded for leaf units. The referenced
+     * units are collected by type and checked together, so all offending units are reported at once.
      */
     private void validateLeafRentalUnits(final UUID projectId, final RentalAgreementModel agreement) {
-        validateLeafRentalUnits(projectId, UnitType.PROPERTY, agreement.getPropertyRents());
-        validateLeafRentalUnits(projectId, UnitType.SITE, agreement.getSiteRents());
-        validateLeafRentalUnits(projectId, UnitType.BUILDING, agreement.getBuildingRents());
-        validateLeafRentalUnits(projectId, UnitType.APARTMENT, agreement.getApartmentRents());
-        validateLeafRentalUnits(projectId, UnitType.STORAGE, agreement.getStorageRents());
-        validateLeafRentalUnits(projectId, UnitType.COMMERCIAL, agreement.getCommercialRents());
+        final Map<UnitType, Set<UUID>> unitIds = new EnumMap<>(UnitType.class);
+        collectRentalUnitIds(unitIds, UnitType.PROPERTY, agreement.getPropertyRents());
+        collectRentalUnitIds(unitIds, UnitType.BUILDING, agreement.getBuildingRents());
+        final Map<UnitType, List<UUID>> nonLeafUnits = propertyController.findNonLeafRentalUnits(projectId, unitIds);
+        if (!nonLeafUnits.isEmpty()) {
+            throw new NonLeafRentalUnitException(nonLeafUnits);
+        }
     }
 
-    private void validateLeafRentalUnits(final UUID projectId, final UnitType type,
+    /** Sites, apartments, storages and commercials are always leaves and need not be collected. */
+    private static void collectRentalUnitIds(final Map<UnitType, Set<UUID>> unitIds, final UnitType type,
             final List<? extends RentModel> rents) {
         if (rents == null) {
             return;
         }
         for (RentModel rent : rents) {
-            if (!propertyController.isLeafRentalUnit(projectId, type, rent.getRentalUnitId())) {
-                throw new BadRequestException("Rents may only be created for leaf rental units; "
-                    + type + " " + rent.getRentalUnitId() + " has child units");
+            if (rent.getRentalUnitId() != null) {
+                unitIds.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(rent.getRentalUnitId());
             }
         }
     }
@@ -197,9 +257,11 @@ public class RentalAgreementController {
         // Update tenants (replace entire list)
         final List<? extends TenantModel> tenants = agreement.getTenants();
         if (tenants != null && !tenants.isEmpty()) {
+            fireTenancyChanged(entity.getTenants());
             entity.getTenants().clear();
             List<TenantEntity> tenantEntities = processTenants(projectId, tenants);
             entity.getTenants().addAll(tenantEntities);
+            fireTenancyChanged(tenantEntities);
         }
 
         // Update keys (replace entire list, only if provided)
@@ -215,12 +277,13 @@ public class RentalAgreementController {
         logger.infov("Adding a tenant to a rental agreement (projectId={0}, agreementId={1})",
             projectId, agreementId);
         final RentalAgreementEntity entity = rentalAgreementRepository
-            .findRentalAgreementByProject(projectId, agreementId)
+            .findRentalAgreementByProject(projectId, agreementId, RentalAgreementEntity.GRAPH_LIST)
             .orElseThrow(() -> new NotFoundException("Rental agreement not exist"));
 
         final TenantEntity tenant = processTenants(projectId, List.of(tenantInput)).get(0);
         entity.addTenant(tenant);
         rentalAgreementRepository.merge(entity);
+        fireTenancyChanged(List.of(tenant));
         return tenant;
     }
 
@@ -229,9 +292,12 @@ public class RentalAgreementController {
         logger.infov("Removing a tenant from a rental agreement (projectId={0}, agreementId={1}, tenantId={2})",
             projectId, agreementId, tenantId);
         final RentalAgreementEntity entity = rentalAgreementRepository
-            .findRentalAgreementByProject(projectId, agreementId)
+            .findRentalAgreementByProject(projectId, agreementId, RentalAgreementEntity.GRAPH_LIST)
             .orElseThrow(() -> new NotFoundException("Rental agreement not exist"));
 
+        fireTenancyChanged(entity.getTenants().stream()
+            .filter(tenant -> tenant.getId().equals(tenantId))
+            .toList());
         entity.removeTenant(tenantId);
         rentalAgreementRepository.merge(entity);
     }
@@ -260,8 +326,7 @@ public class RentalAgreementController {
             .orElseThrow(() -> new NotFoundException("Rental agreement not exist"));
 
         if (!propertyController.isLeafRentalUnit(projectId, rentalUnitType, rentalUnitId)) {
-            throw new BadRequestException("Rents may only be created for leaf rental units; "
-                + rentalUnitType + " " + rentalUnitId + " has child units");
+            throw new NonLeafRentalUnitException(Map.of(rentalUnitType, List.of(rentalUnitId)));
         }
         if (rentInput.getFirstPaymentDate() == null) {
             throw new BadRequestException("First payment date is required");
@@ -370,7 +435,7 @@ public class RentalAgreementController {
         logger.infov("Deleting rents of a rental unit from a rental agreement (projectId={0}, agreementId={1}, "
             + "rentalUnitType={2}, rentalUnitId={3})", projectId, agreementId, rentalUnitType, rentalUnitId);
         final RentalAgreementEntity entity = rentalAgreementRepository
-            .findRentalAgreementByProject(projectId, agreementId)
+            .findRentalAgreementByProject(projectId, agreementId, RentalAgreementEntity.GRAPH_RENTS)
             .orElseThrow(() -> new NotFoundException("Rental agreement not exist"));
 
         switch (rentalUnitType) {
@@ -1,6 +1,7 @@
 package de.remsfal.service.control;
 
 import de.remsfal.core.model.project.SiteModel;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.service.entity.dao.SiteRepository;
 import de.remsfal.service.entity.dto.SiteEntity;
 
@@ -24,12 +25,16 @@ public class SiteController {
     @Inject
     SiteRepository repository;
 
+    @Inject
+    PropertyTreeCache propertyTreeCache;
+
     @Inject
     AddressController addressController;
 
     @Transactional
     public SiteModel createSite(final UUID projectId, final UUID propertyId, final SiteModel site) {
         logger.infov("Creating a site (projectId={0}, propertyId={1}, site={2})", projectId, propertyId, site);
+        propertyTreeCache.invalidate(projectId);
         final SiteEntity entity = updateSite(site, new SiteEntity());
         entity.generateId();
         entity.setProjectId(projectId);
@@ -50,6 +55,7 @@ public class SiteController {
     public SiteModel updateSite(final UUID projectId, final UUID siteId, final SiteModel site) {
         logger.infov("Updating a site (projectId={0}, siteId={1}, site={2})",
             projectId, siteId, site);
+        propertyTreeCache.invalidate(projectId);
         final SiteEntity entity = repository.findSiteById(projectId, siteId)
             .orElseThrow(() -> new NotFoundException("Site not exist or user has no membership"));
         return repository.merge(updateSite(site, entity));
@@ -77,6 +83,7 @@ public class SiteController {
     @Transactional
     public boolean deleteSite(final UUID projectId, final UUID siteId) {
         logger.infov("Deleting a site (projectId={0}, siteId={1})", projectId, siteId);
+        propertyTreeCache.invalidate(projectId);
         return repository.deleteSiteById(projectId, siteId) > 0;
     }
 
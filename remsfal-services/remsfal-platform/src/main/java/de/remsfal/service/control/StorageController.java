@@ -1,6 +1,7 @@
 package de.remsfal.service.control;
 
 import de.remsfal.core.model.project.StorageModel;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.service.entity.dao.StorageRepository;
 import de.remsfal.service.entity.dto.StorageEntity;
 
@@ -21,10 +22,14 @@ public class StorageController {
     @Inject
     StorageRepository storageRepository;
 
+    @Inject
+    PropertyTreeCache propertyTreeCache;
+
     @Transactional
     public StorageModel createStorage(final UUID projectId, final UUID buildingId, final StorageModel storage) {
         logger.infov("Creating a storage (projectId={0}, buildingId={1}, storage={2})",
             projectId, buildingId, storage);
+        propertyTreeCache.invalidate(projectId);
         StorageEntity entity = updateStorage(storage, new StorageEntity());
         entity.generateId();
         entity.setProjectId(projectId);
@@ -45,6 +50,7 @@ public class StorageController {
     public StorageModel updateStorage(final UUID projectId, final UUID storageId, final StorageModel storage) {
         logger.infov("Updating a storage (projectId={0}, storageId={1}, storage={2})",
             projectId, storageId, storage);
+        propertyTreeCache.invalidate(projectId);
         final StorageEntity entity = storageRepository.findByIds(projectId, storageId)
             .orElseThrow(() -> new NotFoundException("Storage does not exist"));
         return storageRepository.merge(updateStorage(storage, entity));
@@ -76,6 +82,7 @@ public class StorageController {
     public boolean deleteStorage(final UUID projectId, final UUID storageId) {
         logger.infov("Deleting a storage (projectId={0}, storageId={1})",
             projectId, storageId);
+        propertyTreeCache.invalidate(projectId);
         return storageRepository.removeStorageByIds(projectId, storageId) > 0;
     }
 
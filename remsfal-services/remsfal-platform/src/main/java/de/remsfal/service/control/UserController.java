@@ -3,6 +3,7 @@ package de.remsfal.service.control;
 import de.remsfal.service.entity.dao.AdditionalEmailRepository;
 import de.remsfal.service.entity.dto.AdditionalEmailEntity;
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
@@ -27,7 +28,9 @@ import de.remsfal.core.json.eventing.ImmutableAffectedTenantJson;
 import de.remsfal.core.model.CustomerModel;
 import de.remsfal.core.model.UserModel;
 import de.remsfal.service.boundary.eventing.UserEventProducer;
+import de.remsfal.service.control.event.AuthorizationChangedEvent;
 import de.remsfal.service.control.exception.AlreadyExistsException;
+import de.remsfal.service.entity.cache.DisplayNameCache;
 import de.remsfal.service.entity.dao.TenantRepository;
 import de.remsfal.service.entity.dao.UserRepository;
 import de.remsfal.service.entity.dto.UserEntity;
@@ -59,6 +62,12 @@ public class UserController {
     @Inject
     UserEventProducer userEventProducer;
 
+    @Inject
+    Event<AuthorizationChangedEvent> authorizationChanged;
+
+    @Inject
+    DisplayNameCache displayNameCache;
+
     private static final String DEFAULT_LOCALE = "de";
     private static final int ADDITIONAL_EMAIL_VERIFICATION_TOKEN_VALID_HOURS = 24;
 
@@ -163,6 +172,9 @@ public class UserController {
         if (tenantRelevantChange) {
             notifyTenantRelevantUserUpdate(userId, mergedEntity);
         }
+        // the name is part of the access token
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(userId));
+        displayNameCache.invalidateUser(userId);
         return mergedEntity;
     }
 
@@ -179,6 +191,8 @@ public class UserController {
     @Transactional
     public boolean deleteUser(final UUID userId) {
         logger.infov("Deleting a user (id = {0})", userId);
+        authorizationChanged.fire(AuthorizationChangedEvent.forUsers(userId));
+        displayNameCache.invalidateUser(userId);
         final boolean deleted = repository.remove(userId);
         if (deleted) {
             userEventProducer.sendUserDeleted(userId);
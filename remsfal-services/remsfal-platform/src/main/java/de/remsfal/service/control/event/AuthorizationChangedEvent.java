@@ -0,0 +1,49 @@
+package de.remsfal.service.control.event;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Fired whenever a change affects the claims of the access tokens of some users,
+ * e.g. a project membership, an organization employment or a tenancy.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public class AuthorizationChangedEvent {
+
+    private final Set<UUID> userIds;
+
+    private AuthorizationChangedEvent(final Set<UUID> userIds) {
+        this.userIds = userIds;
+    }
+
+    public static AuthorizationChangedEvent forUsers(final UUID... userIds) {
+        return forUsers(Arrays.asList(userIds));
+    }
+
+    public static AuthorizationChangedEvent forUsers(final Collection<UUID> userIds) {
+        return new AuthorizationChangedEvent(userIds.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public static AuthorizationChangedEvent forAllUsers() {
+        return new AuthorizationChangedEvent(null);
+    }
+
+    /**
+     * @return the affected users or {@code null} if all users are affected
+     */
+    public Set<UUID> getUserIds() {
+        return userIds;
+    }
+
+    public boolean isAllUsers() {
+        return userIds == null;
+    }
+
+}
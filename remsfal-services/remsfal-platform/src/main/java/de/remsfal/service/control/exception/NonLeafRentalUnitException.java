@@ -0,0 +1,50 @@
+package de.remsfal.service.control.exception;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import de.remsfal.core.model.RentalUnitModel.UnitType;
+
+/**
+ * Rents may only be created for leaf rental units. The response lists all referenced rental units that
+ * have sub-units, so a client can correct every rent of an agreement at once.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public class NonLeafRentalUnitException extends BadRequestException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String MESSAGE = "Rents may only be created for leaf rental units";
+
+    private final transient Map<UnitType, List<UUID>> rentalUnits;
+
+    /**
+     * Construct a new "bad request" exception.
+     *
+     * @param rentalUnits the ids of the rental units with sub-units by type
+     */
+    public NonLeafRentalUnitException(final Map<UnitType, List<UUID>> rentalUnits) {
+        super(MESSAGE + "; " + rentalUnits + " have child units", Response.status(Response.Status.BAD_REQUEST)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(Map.of("message", MESSAGE, "rentalUnits", rentalUnits.entrySet().stream()
+                .flatMap(units -> units.getValue().stream()
+                    .map(id -> Map.of("type", units.getKey().name(), "id", id.toString())))
+                .toList()))
+            .build());
+        this.rentalUnits = rentalUnits;
+    }
+
+    /**
+     * @return the ids of the rental units with sub-units by type
+     */
+    public Map<UnitType, List<UUID>> getRentalUnits() {
+        return rentalUnits;
+    }
+
+}
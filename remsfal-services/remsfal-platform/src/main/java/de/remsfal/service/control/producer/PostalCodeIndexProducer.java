@@ -0,0 +1,47 @@
+package de.remsfal.service.control.producer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.logging.Logger;
+
+import de.remsfal.service.entity.cache.PostalCodeIndex;
+import io.quarkus.runtime.Startup;
+
+/**
+ * Loads the postal code index once at startup.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class PostalCodeIndexProducer {
+
+    @Inject
+    Logger logger;
+
+    @Produces
+    @Singleton
+    @Startup
+    public PostalCodeIndex createPostalCodeIndex() {
+        final long start = System.nanoTime();
+        try (InputStream csv = Thread.currentThread().getContextClassLoader()
+            .getResourceAsStream(PostalCodeIndex.RESOURCE)) {
+            if (csv == null) {
+                throw new IllegalStateException("Missing postal codes: " + PostalCodeIndex.RESOURCE);
+            }
+            final PostalCodeIndex index = PostalCodeIndex.load(csv);
+            logger.infov("Loaded {0} postal codes in {1} ms, the index occupies about {2} KiB",
+                index.size(), (System.nanoTime() - start) / 1_000_000, index.estimateFootprint() / 1024);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package de.remsfal.service.entity.cache;
+
+import java.util.Map;
+import java.util.UUID;
+
+import de.remsfal.core.model.UserModel;
+
+/**
+ * Immutable copy of everything an access token is built from: the user claims and the project,
+ * organization and tenancy authorizations at the time the snapshot was loaded.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class AuthorizationSnapshot implements UserModel {
+
+    private final UUID id;
+
+    private final String email;
+
+    private final String name;
+
+    private final Boolean active;
+
+    private final Map<String, String> projectRoles;
+
+    private final Map<String, String> organizationRoles;
+
+    private final Map<String, String> tenancyProjects;
+
+    public AuthorizationSnapshot(final UserModel user, final Map<String, String> projectRoles,
+        final Map<String, String> organizationRoles, final Map<String, String> tenancyProjects) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.name = user.getName();
+        this.active = user.isActive();
+        this.projectRoles = Map.copyOf(projectRoles);
+        this.organizationRoles = Map.copyOf(organizationRoles);
+        this.tenancyProjects = Map.copyOf(tenancyProjects);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Boolean isActive() {
+        return active;
+    }
+
+    public Map<String, String> getProjectRoles() {
+        return projectRoles;
+    }
+
+    public Map<String, String> getOrganizationRoles() {
+        return organizationRoles;
+    }
+
+    public Map<String, String> getTenancyProjects() {
+        return tenancyProjects;
+    }
+
+}
@@ -0,0 +1,226 @@
+package de.remsfal.service.entity.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Versioned per-user cache of {@link AuthorizationSnapshot authorization snapshots}.
+ *
+ * Every user has a version that is bumped whenever one of its memberships changes, plus a global
+ * version for changes that affect an unknown set of users. A snapshot is only served if it was
+ * loaded at the current version and no change for its user is pending. A change is marked
+ * {@link #markPending(Collection) pending} before it is written and {@link #invalidate(Collection)
+ * invalidated} after its transaction completed. Invalidation bumps the version before it clears the
+ * pending mark, so a reader that no longer sees the mark always sees the new version. A snapshot
+ * loaded concurrently to a change is therefore never served once that change is committed.
+ *
+ * Entries expire after {@code de.remsfal.auth.snapshot-cache.ttl} as a safety net for changes
+ * that bypass the controllers. The cache is bounded by {@code de.remsfal.auth.snapshot-cache.max-size};
+ * once the bound is reached an arbitrary entry is evicted. The same bound applies to the user versions:
+ * once more users have a version than the cache may hold snapshots, all user versions are dropped
+ * together with the snapshots and the global version is bumped, so no snapshot loaded before can match
+ * a version again. Invalidating and clearing are serialized, so a dropped user version is never
+ * replaced by a version a reader captured before.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class AuthorizationSnapshotCache {
+
+    private static final Logger LOGGER = Logger.getLogger(AuthorizationSnapshotCache.class);
+
+    static final String METRIC_HIT = "remsfal.auth.snapshots.hit";
+    static final String METRIC_MISS = "remsfal.auth.snapshots.miss";
+    static final String METRIC_INVALIDATED = "remsfal.auth.snapshots.invalidated";
+    static final String METRIC_CACHED = "remsfal.auth.snapshots.cached";
+
+    @ConfigProperty(name = "de.remsfal.auth.snapshot-cache.ttl", defaultValue = "PT10M")
+    Duration ttl;
+
+    @ConfigProperty(name = "de.remsfal.auth.snapshot-cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final AtomicInteger globalPending = new AtomicInteger();
+    private final Map<UUID, Long> userVersions = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> userPending = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter invalidatedCounter;
+
+    /**
+     * Version of the authorization data of a single user at the time a snapshot was loaded.
+     */
+    public record Version(long global, long user) {
+    }
+
+    private record Entry(AuthorizationSnapshot snapshot, Version version, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        hitCounter = Counter.builder(METRIC_HIT)
+            .description("Number of access tokens issued from a cached authorization snapshot")
+            .register(meterRegistry);
+        missCounter = Counter.builder(METRIC_MISS)
+            .description("Number of authorization snapshots loaded from the database")
+            .register(meterRegistry);
+        invalidatedCounter = Counter.builder(METRIC_INVALIDATED)
+            .description("Number of authorization changes that invalidated cached snapshots")
+            .register(meterRegistry);
+        meterRegistry.gaugeMapSize(METRIC_CACHED, Collections.emptyList(), entries);
+    }
+
+    /**
+     * Returns the cached snapshot of the given user if it is still current.
+     *
+     * @param userId the user
+     * @return the snapshot or empty if it has to be loaded from the database
+     */
+    public Optional<AuthorizationSnapshot> get(final UUID userId) {
+        if (!isPending(userId)) {
+            final Entry entry = entries.get(userId);
+            if (entry != null && entry.version().equals(currentVersion(userId))
+                && entry.expiresAt() > System.currentTimeMillis()) {
+                hitCounter.increment();
+                return Optional.of(entry.snapshot());
+            } else if (entry != null) {
+                entries.remove(userId, entry);
+            }
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Captures the version a snapshot is about to be loaded at. Must be called before the database
+     * is read.
+     *
+     * @param userId the user
+     * @return the current version or {@code null} if a change is pending and the snapshot must not be cached
+     */
+    public Version begin(final UUID userId) {
+        return isPending(userId) ? null : currentVersion(userId);
+    }
+
+    /**
+     * Caches a snapshot if no change happened since {@link #begin(UUID)}.
+     *
+     * @param userId   the user
+     * @param version  the version returned by {@link #begin(UUID)}
+     * @param snapshot the loaded snapshot
+     */
+    public void put(final UUID userId, final Version version, final AuthorizationSnapshot snapshot) {
+        if (version == null) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(userId)) {
+            evictOne();
+        }
+        final Entry entry = new Entry(snapshot, version, System.currentTimeMillis() + ttl.toMillis());
+        entries.put(userId, entry);
+        // a change may have started or completed while the snapshot was loaded
+        if (isPending(userId) || !version.equals(currentVersion(userId))) {
+            entries.remove(userId, entry);
+        }
+    }
+
+    /**
+     * Marks a change of the given users as in progress. Snapshots of these users are neither
+     * served nor cached until the change is {@link #invalidate(Collection) invalidated}.
+     *
+     * @param userIds the affected users or {@code null} if all users are affected
+     */
+    public void markPending(final Collection<UUID> userIds) {
+        if (userIds == null) {
+            globalPending.incrementAndGet();
+        } else {
+            userIds.forEach(userId -> userPending.merge(userId, 1, Integer::sum));
+        }
+    }
+
+    /**
+     * Completes a change previously {@link #markPending(Collection) marked as pending} and drops
+     * all snapshots of the affected users.
+     *
+     * @param userIds the affected users or {@code null} if all users are affected
+     */
+    public synchronized void invalidate(final Collection<UUID> userIds) {
+        if (userIds == null) {
+            globalVersion.incrementAndGet();
+            globalPending.decrementAndGet();
+            entries.clear();
+        } else {
+            for (UUID userId : userIds) {
+                userVersions.put(userId, sequence.incrementAndGet());
+                userPending.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+                entries.remove(userId);
+            }
+            if (userVersions.size() > maxSize) {
+                LOGGER.debugv("More than {0} user versions, dropped all authorization snapshots", maxSize);
+                clear();
+            }
+        }
+        invalidatedCounter.increment();
+    }
+
+    /**
+     * Drops all cached snapshots, e.g. after authorization data was changed without firing
+     * an authorization change.
+     */
+    public synchronized void clear() {
+        // bumped first, so a reader still seeing a dropped user version sees the new global version
+        globalVersion.incrementAndGet();
+        userVersions.clear();
+        entries.clear();
+    }
+
+    /**
+     * @return the number of snapshots currently held by the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isPending(final UUID userId) {
+        return globalPending.get() > 0 || userPending.containsKey(userId);
+    }
+
+    private Version currentVersion(final UUID userId) {
+        return new Version(globalVersion.get(), userVersions.getOrDefault(userId, 0L));
+    }
+
+    private void evictOne() {
+        final Iterator<UUID> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            LOGGER.debugv("Authorization snapshot cache is full ({0}), evicted one entry", maxSize);
+        }
+    }
+
+}
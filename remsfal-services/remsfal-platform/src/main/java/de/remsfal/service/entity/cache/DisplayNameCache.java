@@ -0,0 +1,210 @@
+package de.remsfal.service.entity.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import de.remsfal.service.entity.dao.UserRepository.UserName;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache of project titles and user names that are looked up for every issue event.
+ *
+ * There is one generation counter that is bumped after any transaction that updated or deleted a
+ * project or a user completed. Values are only cached if the generation did not change while they
+ * were loaded, so a value read concurrently to a change is never cached.
+ *
+ * Entries expire after {@code de.remsfal.display-name.cache.ttl}, which bounds the staleness for
+ * changes made by other instances. Each of the two maps is bounded by
+ * {@code de.remsfal.display-name.cache.max-size}; once the bound is reached an arbitrary entry is evicted.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class DisplayNameCache {
+
+    static final String METRIC_HIT = "remsfal.display-name.cache.hit";
+    static final String METRIC_MISS = "remsfal.display-name.cache.miss";
+
+    @ConfigProperty(name = "de.remsfal.display-name.cache.ttl", defaultValue = "PT10M")
+    Duration ttl;
+
+    @ConfigProperty(name = "de.remsfal.display-name.cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<UUID, Entry<String>> projectTitles = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry<UserName>> userNames = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    private record Entry<T>(T value, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        hitCounter = Counter.builder(METRIC_HIT)
+            .description("Number of project titles and user names served from the cache")
+            .register(meterRegistry);
+        missCounter = Counter.builder(METRIC_MISS)
+            .description("Number of project titles and user names loaded from the database")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return the generation to pass to the put methods, read before the values are loaded
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @param projectIds the projects
+     * @return the cached titles by project id, without the projects that have to be loaded
+     */
+    public Map<UUID, String> getProjectTitles(final Collection<UUID> projectIds) {
+        return get(projectTitles, projectIds);
+    }
+
+    /**
+     * @param userIds the users
+     * @return the cached names by user id, without the users that have to be loaded
+     */
+    public Map<UUID, UserName> getUserNames(final Collection<UUID> userIds) {
+        return get(userNames, userIds);
+    }
+
+    /**
+     * @param generation the generation read before the titles were loaded
+     * @param titles     the loaded titles by project id
+     */
+    public void putProjectTitles(final long generation, final Map<UUID, String> titles) {
+        titles.forEach((id, title) -> put(projectTitles, generation, id, title));
+    }
+
+    /**
+     * @param generation the generation read before the names were loaded
+     * @param names      the loaded names
+     */
+    public void putUserNames(final long generation, final Collection<UserName> names) {
+        names.forEach(name -> put(userNames, generation, name.id(), name));
+    }
+
+    /**
+     * Drops the title of the project once the current transaction completed, or immediately if
+     * there is no transaction.
+     *
+     * @param projectId the updated or deleted project
+     */
+    public void invalidateProject(final UUID projectId) {
+        afterCompletion(() -> {
+            generation.incrementAndGet();
+            projectTitles.remove(projectId);
+        });
+    }
+
+    /**
+     * Drops the name of the user once the current transaction completed, or immediately if
+     * there is no transaction.
+     *
+     * @param userId the updated or deleted user
+     */
+    public void invalidateUser(final UUID userId) {
+        afterCompletion(() -> {
+            generation.incrementAndGet();
+            userNames.remove(userId);
+        });
+    }
+
+    /**
+     * Drops all cached values, e.g. after projects or users were changed without invalidating them.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        projectTitles.clear();
+        userNames.clear();
+    }
+
+    private <T> Map<UUID, T> get(final Map<UUID, Entry<T>> entries, final Collection<UUID> ids) {
+        final long now = System.currentTimeMillis();
+        final Map<UUID, T> result = new HashMap<>();
+        for (UUID id : ids) {
+            final Entry<T> entry = entries.get(id);
+            if (entry != null && entry.expiresAt() > now) {
+                result.put(id, entry.value());
+            } else if (entry != null) {
+                entries.remove(id, entry);
+            }
+        }
+        hitCounter.increment(result.size());
+        missCounter.increment((double) ids.size() - result.size());
+        return result;
+    }
+
+    private <T> void put(final Map<UUID, Entry<T>> entries, final long generation, final UUID id, final T value) {
+        if (generation != getGeneration()) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(id)) {
+            evictOne(entries);
+        }
+        final Entry<T> entry = new Entry<>(value, System.currentTimeMillis() + ttl.toMillis());
+        entries.put(id, entry);
+        if (generation != getGeneration()) {
+            entries.remove(id, entry);
+        }
+    }
+
+    private void afterCompletion(final Runnable invalidation) {
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+            invalidation.run();
+            return;
+        }
+        try {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // the change is not visible before the commit
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    invalidation.run();
+                }
+            });
+        } catch (IllegalStateException e) {
+            invalidation.run();
+        }
+    }
+
+    private static void evictOne(final Map<UUID, ?> entries) {
+        final Iterator<UUID> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+}
@@ -0,0 +1,358 @@
+package de.remsfal.service.entity.cache;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable in-memory index of the postal codes and cities of the bundled {@code germany_city2zip.csv}.
+ *
+ * The entries are sorted by zip code, which is held as {@code int}, so zip lookups are binary searches.
+ * Cities, provinces and countries are deduplicated into a string pool the entries point into. City
+ * prefixes are resolved with a trie over the lower-cased city names whose nodes cover a contiguous range
+ * of the entries sorted by city.
+ *
+ * Zip codes with a leading zero are stored without it, e.g. {@code 8626} for {@code 08626}. A zip prefix
+ * is interpreted as the beginning of the five-digit code, so {@code 086} finds {@code 8626}.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class PostalCodeIndex {
+
+    public static final String RESOURCE = "META-INF/germany_city2zip.csv";
+
+    private static final int ZIP_DIGITS = 5;
+    private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1_000, 10_000, 100_000 };
+    private static final char SEPARATOR = ';';
+
+    /**
+     * A postal code with its city.
+     */
+    public record PostalCode(String zip, String city, String province, Locale country) {
+    }
+
+    private final String[] pool;
+    private final int[] zips;
+    private final int[] cities;
+    private final int[] provinces;
+    private final int[] countries;
+
+    /** Entry positions sorted by lower-cased city name and zip. */
+    private final int[] byCity;
+
+    /** Trie over the lower-cased city names, the children of a node are stored contiguously by label. */
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] rangeStart;
+    private final int[] rangeEnd;
+
+    private PostalCodeIndex(final String[] pool, final int[] zips, final int[] cities, final int[] provinces,
+            final int[] countries, final int[] byCity, final TrieBuilder trie) {
+        this.pool = pool;
+        this.zips = zips;
+        this.cities = cities;
+        this.provinces = provinces;
+        this.countries = countries;
+        this.byCity = byCity;
+        this.labels = trie.labels;
+        this.firstChild = trie.firstChild;
+        this.childCount = trie.childCount;
+        this.rangeStart = trie.rangeStart;
+        this.rangeEnd = trie.rangeEnd;
+    }
+
+    /**
+     * Reads an index from a semicolon separated file with a header line and the columns
+     * {@code osm_id;land;ort;plz;landkreis;bundesland}.
+     *
+     * @param csv the file content, is not closed
+     * @return the index
+     * @throws IOException if the file cannot be read or a zip code is not numeric
+     */
+    public static PostalCodeIndex load(final InputStream csv) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        final Map<String, Integer> poolIndex = new HashMap<>();
+        final List<String> pool = new ArrayList<>();
+        final List<int[]> rows = new ArrayList<>();
+        // the first line is the header
+        String line = reader.readLine();
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            final String[] columns = split(line);
+            try {
+                rows.add(new int[] {
+                    Integer.parseInt(columns[3]),
+                    intern(columns[2], poolIndex, pool),
+                    intern(columns[5], poolIndex, pool),
+                    intern(columns[1], poolIndex, pool) });
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Invalid postal code entry: " + line, e);
+            }
+        }
+        rows.sort(Comparator.<int[]>comparingInt(row -> row[0]).thenComparing(row -> pool.get(row[1])));
+
+        final int size = rows.size();
+        final int[] zips = new int[size];
+        final int[] cities = new int[size];
+        final int[] provinces = new int[size];
+        final int[] countries = new int[size];
+        for (int i = 0; i < size; i++) {
+            final int[] row = rows.get(i);
+            zips[i] = row[0];
+            cities[i] = row[1];
+            provinces[i] = row[2];
+            countries[i] = row[3];
+        }
+        final String[] names = pool.toArray(String[]::new);
+        final String[] keys = Arrays.stream(names).map(PostalCodeIndex::normalize).toArray(String[]::new);
+        final int[] byCity = IntStream.range(0, size).boxed()
+            .sorted(Comparator.<Integer, String>comparing(i -> keys[cities[i]]).thenComparingInt(i -> zips[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        final TrieBuilder trie = new TrieBuilder();
+        for (int position = 0; position < size; position++) {
+            trie.insert(keys[cities[byCity[position]]], position);
+        }
+        trie.flatten();
+        return new PostalCodeIndex(names, zips, cities, provinces, countries, byCity, trie);
+    }
+
+    /**
+     * @return the number of postal code entries
+     */
+    public int size() {
+        return zips.length;
+    }
+
+    /**
+     * @param zip the complete zip code, with or without a leading zero
+     * @return the cities of the zip code
+     */
+    public List<PostalCode> findByZip(final String zip) {
+        final int value;
+        try {
+            value = Integer.parseInt(zip);
+        } catch (NumberFormatException e) {
+            return List.of();
+        }
+        return collect(lowerBound(value), upperBound(value), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param prefix the first digits of a five-digit zip code
+     * @param limit  the maximum number of results
+     * @return the postal codes starting with the prefix, by zip code
+     */
+    public List<PostalCode> findByZipPrefix(final String prefix, final int limit) {
+        if (prefix.isEmpty() || prefix.length() > ZIP_DIGITS
+            || !prefix.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return List.of();
+        }
+        final int scale = POWERS_OF_TEN[ZIP_DIGITS - prefix.length()];
+        final int first = Integer.parseInt(prefix) * scale;
+        return collect(lowerBound(first), lowerBound(first + scale), limit);
+    }
+
+    /**
+     * @param prefix the beginning of a city name, case-insensitive
+     * @param limit  the maximum number of results
+     * @return the postal codes of the cities starting with the prefix, by city and zip code
+     */
+    public List<PostalCode> findByCityPrefix(final String prefix, final int limit) {
+        final String key = normalize(prefix);
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            node = findChild(node, key.charAt(i));
+            if (node < 0) {
+                return List.of();
+            }
+        }
+        final int end = rangeStart[node] + Math.min(limit, rangeEnd[node] - rangeStart[node]);
+        final List<PostalCode> result = new ArrayList<>(end - rangeStart[node]);
+        for (int position = rangeStart[node]; position < end; position++) {
+            result.add(get(byCity[position]));
+        }
+        return result;
+    }
+
+    /**
+     * @return the approximate number of bytes occupied by the index on a 64 bit JVM with compressed pointers
+     */
+    public long estimateFootprint() {
+        long bytes = arrayBytes(pool.length, 4);
+        for (String value : pool) {
+            bytes += 24 + arrayBytes(value.length(), 2);
+        }
+        bytes += 5 * arrayBytes(zips.length, 4);
+        bytes += arrayBytes(labels.length, 2) + 4 * arrayBytes(labels.length, 4);
+        return bytes;
+    }
+
+    private static long arrayBytes(final int length, final int elementSize) {
+        return 16 + (long) length * elementSize;
+    }
+
+    private int findChild(final int node, final char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (labels[middle] < label) {
+                low = middle + 1;
+            } else if (labels[middle] > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the position of the first entry with a zip code not less than the value
+     */
+    private int lowerBound(final int value) {
+        int low = 0;
+        int high = zips.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (zips[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(final int value) {
+        return value == Integer.MAX_VALUE ? zips.length : lowerBound(value + 1);
+    }
+
+    private List<PostalCode> collect(final int from, final int to, final int limit) {
+        final int end = from + Math.min(limit, to - from);
+        final List<PostalCode> result = new ArrayList<>(end - from);
+        for (int position = from; position < end; position++) {
+            result.add(get(position));
+        }
+        return result;
+    }
+
+    private PostalCode get(final int position) {
+        return new PostalCode(Integer.toString(zips[position]), pool[cities[position]], pool[provinces[position]],
+            new Locale("", pool[countries[position]]));
+    }
+
+    private static String normalize(final String name) {
+        return name.strip().toLowerCase(Locale.GERMAN);
+    }
+
+    private static int intern(final String value, final Map<String, Integer> poolIndex, final List<String> pool) {
+        return poolIndex.computeIfAbsent(value, key -> {
+            pool.add(key);
+            return pool.size() - 1;
+        });
+    }
+
+    private static String[] split(final String line) {
+        final String[] columns = new String[6];
+        int column = 0;
+        int start = 0;
+        for (int i = 0; i < line.length() && column < columns.length - 1; i++) {
+            if (line.charAt(i) == SEPARATOR) {
+                columns[column++] = line.substring(start, i);
+                start = i + 1;
+            }
+        }
+        columns[column] = line.substring(start);
+        if (column < columns.length - 1) {
+            throw new ArrayIndexOutOfBoundsException(column);
+        }
+        return columns;
+    }
+
+    /**
+     * Collects the city names in a tree of nodes and flattens it breadth-first into arrays, so the children
+     * of each node end up next to each other.
+     */
+    private static final class TrieBuilder {
+
+        private static final class Node {
+            private final TreeMap<Character, Node> children = new TreeMap<>();
+            private int start = -1;
+            private int end;
+        }
+
+        private final Node root = new Node();
+
+        private char[] labels;
+        private int[] firstChild;
+        private int[] childCount;
+        private int[] rangeStart;
+        private int[] rangeEnd;
+
+        /**
+         * @param key      the normalized city name
+         * @param position the position of the entry, keys must be inserted in ascending order
+         */
+        void insert(final String key, final int position) {
+            Node node = root;
+            extend(node, position);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), label -> new Node());
+                extend(node, position);
+            }
+        }
+
+        private static void extend(final Node node, final int position) {
+            if (node.start < 0) {
+                node.start = position;
+            }
+            node.end = position + 1;
+        }
+
+        void flatten() {
+            final List<Node> nodes = new ArrayList<>();
+            final List<Character> nodeLabels = new ArrayList<>();
+            nodes.add(root);
+            nodeLabels.add('\0');
+            for (int i = 0; i < nodes.size(); i++) {
+                for (Map.Entry<Character, Node> child : nodes.get(i).children.entrySet()) {
+                    nodes.add(child.getValue());
+                    nodeLabels.add(child.getKey());
+                }
+            }
+            final int size = nodes.size();
+            labels = new char[size];
+            firstChild = new int[size];
+            childCount = new int[size];
+            rangeStart = new int[size];
+            rangeEnd = new int[size];
+            int next = 1;
+            for (int i = 0; i < size; i++) {
+                final Node node = nodes.get(i);
+                labels[i] = nodeLabels.get(i);
+                firstChild[i] = next;
+                childCount[i] = node.children.size();
+                rangeStart[i] = Math.max(node.start, 0);
+                rangeEnd[i] = node.end;
+                next += node.children.size();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package de.remsfal.service.entity.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import de.remsfal.core.json.project.RentalUnitTreeNodeJson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Versioned per-project cache of the rental unit tree.
+ *
+ * Every project has a version that is bumped after any transaction that created, updated or deleted
+ * one of its rental units completed. Versions are drawn from a single sequence, so a version never
+ * repeats; projects whose rental units did not change since the last {@link #clear()} share the base
+ * version drawn at that point. A tree is only cached if the version did not change
+ * while it was assembled and only served while its version is current. Every assembled tree gets an
+ * entity tag made of the start time of this instance, the version and the time it was assembled, so
+ * that tags issued before a restart or before the entry expired never match again.
+ *
+ * Entries expire after {@code de.remsfal.property-tree.cache.ttl}, which bounds the staleness for
+ * changes made by other instances. The cache is bounded by {@code de.remsfal.property-tree.cache.max-size};
+ * once the bound is reached an arbitrary entry is evicted. The versions are bounded the same way, once
+ * more projects changed than trees may be cached, the cache is {@link #clear() cleared}.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class PropertyTreeCache {
+
+    static final String METRIC_HIT = "remsfal.property-tree.cache.hit";
+    static final String METRIC_MISS = "remsfal.property-tree.cache.miss";
+
+    @ConfigProperty(name = "de.remsfal.property-tree.cache.ttl", defaultValue = "PT5M")
+    Duration ttl;
+
+    @ConfigProperty(name = "de.remsfal.property-tree.cache.max-size", defaultValue = "1000")
+    int maxSize;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong baseVersion = new AtomicLong();
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    /**
+     * Rental unit tree of a project together with its entity tag.
+     */
+    public record Tree(List<RentalUnitTreeNodeJson> nodes, String tag) {
+    }
+
+    private record Entry(Tree tree, long version, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        hitCounter = Counter.builder(METRIC_HIT)
+            .description("Number of rental unit trees served from the cache")
+            .register(meterRegistry);
+        missCounter = Counter.builder(METRIC_MISS)
+            .description("Number of rental unit trees assembled from the database")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param projectId the project
+     * @return the current version of the rental units of the project
+     */
+    public long getVersion(final UUID projectId) {
+        return versions.getOrDefault(projectId, baseVersion.get());
+    }
+
+    /**
+     * Returns the cached tree of the given project if it is still current.
+     *
+     * @param projectId the project
+     * @return the tree or empty if it has to be assembled from the database
+     */
+    public Optional<Tree> get(final UUID projectId) {
+        final Entry entry = entries.get(projectId);
+        if (entry != null && entry.version() == getVersion(projectId)
+            && entry.expiresAt() > System.currentTimeMillis()) {
+            hitCounter.increment();
+            return Optional.of(entry.tree());
+        } else if (entry != null) {
+            entries.remove(projectId, entry);
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Tags an assembled tree and caches it if no rental unit of the project changed since
+     * {@link #getVersion(UUID)} was read.
+     *
+     * @param projectId the project
+     * @param version   the version read before the tree was assembled
+     * @param nodes     the assembled tree
+     * @return the tagged tree
+     */
+    public Tree put(final UUID projectId, final long version, final List<RentalUnitTreeNodeJson> nodes) {
+        final long now = System.currentTimeMillis();
+        final Tree tree = new Tree(List.copyOf(nodes),
+            epoch + "-" + version + "-" + Long.toString(now, Character.MAX_RADIX));
+        if (entries.size() >= maxSize && !entries.containsKey(projectId)) {
+            evictOne();
+        }
+        final Entry entry = new Entry(tree, version, now + ttl.toMillis());
+        entries.put(projectId, entry);
+        if (version != getVersion(projectId)) {
+            entries.remove(projectId, entry);
+        }
+        return tree;
+    }
+
+    /**
+     * Bumps the version of the project once the current transaction completed, or immediately
+     * if there is no transaction.
+     *
+     * @param projectId the project whose rental units changed
+     */
+    public void invalidate(final UUID projectId) {
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+            bump(projectId);
+            return;
+        }
+        try {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // the change is not visible before the commit
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    bump(projectId);
+                }
+            });
+        } catch (IllegalStateException e) {
+            bump(projectId);
+        }
+    }
+
+    /**
+     * Drops all cached trees, e.g. after rental units were changed without invalidating their project.
+     */
+    public synchronized void clear() {
+        // drawn first, so a reader still seeing a dropped version sees the new base version afterwards
+        baseVersion.set(sequence.incrementAndGet());
+        versions.clear();
+        entries.clear();
+    }
+
+    private synchronized void bump(final UUID projectId) {
+        versions.put(projectId, sequence.incrementAndGet());
+        entries.remove(projectId);
+        if (versions.size() > maxSize) {
+            clear();
+        }
+    }
+
+    private void evictOne() {
+        final Iterator<UUID> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+}
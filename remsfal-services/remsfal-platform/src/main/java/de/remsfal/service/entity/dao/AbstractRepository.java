@@ -1,6 +1,11 @@
 package de.remsfal.service.entity.dao;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 import de.remsfal.service.entity.dto.superclass.MetaDataEntity;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
@@ -12,6 +17,7 @@ abstract class AbstractRepository<Entity extends MetaDataEntity>
     implements PanacheRepositoryBase<Entity, UUID> {
 
     protected static final String PARAM_ID = "id";
+    protected static final String PARAM_IDS = "ids";
     protected static final String PARAM_USER_ID = "userId";
     protected static final String PARAM_PROJECT_ID = "projectId";
     protected static final String PARAM_PROPERTY_ID = "propertyId";
@@ -27,4 +33,27 @@ abstract class AbstractRepository<Entity extends MetaDataEntity>
         getEntityManager().flush();
         return e;
     }
+
+    /**
+     * Loads the entities of ids that were selected and ordered by a projection, in the order of the ids.
+     */
+    protected List<Entity> findByIdsInOrder(final List<UUID> ids, final Function<Entity, UUID> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final Map<UUID, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return list("id in ?1", ids).stream()
+            .sorted(Comparator.comparingInt(entity -> positions.get(idOf.apply(entity))))
+            .toList();
+    }
+
+    /**
+     * Escapes the wildcards of a search term for a LIKE pattern with the default escape character.
+     */
+    protected static String escapeLike(final String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -12,6 +12,10 @@ import java.util.List;
 @ApplicationScoped
 public class AddressRepository extends AbstractRepository<AddressEntity> {
 
+    /**
+     * Zip lookups are served by the {@link de.remsfal.service.entity.cache.PostalCodeIndex}. This query
+     * on the validation table is only kept to cross-check the index against the database in tests.
+     */
     public List<AddressValidationEntity> findAddressByZip(final String zip) {
         return getEntityManager().createNamedQuery("AddressValidationEntity.findByZip", AddressValidationEntity.class)
                 .setParameter("zip", zip)
@@ -21,6 +21,10 @@ public class ApartmentRepository extends AbstractRepository<ApartmentEntity> {
             Map.of(PARAM_PROJECT_ID, projectId, PARAM_BUILDING_ID, buildingId));
     }
 
+    public List<ApartmentEntity> findAllApartments(final UUID projectId) {
+        return list("projectId = :projectId", Map.of(PARAM_PROJECT_ID, projectId));
+    }
+
     public Optional<ApartmentEntity> findByIds(final UUID projectId, final UUID apartmentId) {
         return find("id = :id and projectId = :projectId",
             Map.of(PARAM_ID, apartmentId, PARAM_PROJECT_ID, projectId))
@@ -32,9 +36,4 @@ public class ApartmentRepository extends AbstractRepository<ApartmentEntity> {
             Map.of(PARAM_ID, apartmentId, PARAM_PROJECT_ID, projectId));
     }
 
-    public boolean existsByBuildingId(final UUID projectId, final UUID buildingId) {
-        return count("projectId = :projectId and buildingId = :buildingId",
-            Map.of(PARAM_PROJECT_ID, projectId, PARAM_BUILDING_ID, buildingId)) > 0;
-    }
-
 }
@@ -1,13 +1,16 @@
 package de.remsfal.service.entity.dao;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Tuple;
 
 import de.remsfal.service.entity.dto.BuildingEntity;
 
+import java.util.Collection;
 import java.util.Map;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
@@ -20,9 +23,39 @@ public class BuildingRepository extends AbstractRepository<BuildingEntity> {
             Map.of(PARAM_PROJECT_ID, projectId, PARAM_PROPERTY_ID, propertyId));
     }
 
-    public boolean existsByPropertyId(final UUID projectId, final UUID propertyId) {
-        return count("projectId = :projectId and propertyId = :propertyId",
-            Map.of(PARAM_PROJECT_ID, projectId, PARAM_PROPERTY_ID, propertyId)) > 0;
+    public List<BuildingEntity> findAllBuildings(final UUID projectId) {
+        return find("SELECT b FROM BuildingEntity b LEFT JOIN FETCH b.address WHERE b.projectId = :projectId",
+            Map.of(PARAM_PROJECT_ID, projectId)).list();
+    }
+
+    /**
+     * Resolves which of the given buildings have apartments, commercials or storages with a single query.
+     * The children are united before they are joined, so they are counted without multiplying each other.
+     *
+     * @param projectId   the project
+     * @param buildingIds the buildings to check
+     * @return the ids of the buildings that are not leaf rental units
+     */
+    public List<UUID> findBuildingIdsWithChildren(final UUID projectId, final Collection<UUID> buildingIds) {
+        if (buildingIds.isEmpty()) {
+            return List.of();
+        }
+        final Stream<?> rows = getEntityManager().createNativeQuery("SELECT b.id FROM buildings b "
+                + "LEFT JOIN (SELECT building_id FROM apartments "
+                + "WHERE project_id = :projectId AND building_id IN (:ids) "
+                + "UNION ALL SELECT building_id FROM commercials "
+                + "WHERE project_id = :projectId AND building_id IN (:ids) "
+                + "UNION ALL SELECT building_id FROM storages "
+                + "WHERE project_id = :projectId AND building_id IN (:ids)) "
+                + "c ON c.building_id = b.id "
+                + "WHERE b.project_id = :projectId AND b.id IN (:ids) "
+                + "GROUP BY b.id HAVING count(c.building_id) > 0", Tuple.class)
+            .setParameter(PARAM_PROJECT_ID, projectId)
+            .setParameter(PARAM_IDS, buildingIds)
+            .getResultStream();
+        return rows.map(Tuple.class::cast)
+            .map(tuple -> tuple.get("id", UUID.class))
+            .toList();
     }
 
 }
@@ -20,6 +20,10 @@ public class CommercialRepository extends AbstractRepository<CommercialEntity> {
             Map.of(PARAM_PROJECT_ID, projectId, PARAM_BUILDING_ID, buildingId));
     }
 
+    public List<CommercialEntity> findAllCommercials(final UUID projectId) {
+        return list("projectId = :projectId", Map.of(PARAM_PROJECT_ID, projectId));
+    }
+
     public Optional<CommercialEntity> findCommercialById(final UUID projectId, final UUID commercialId) {
         return find("id = :id and projectId = :projectId",
             Map.of(PARAM_ID, commercialId, PARAM_PROJECT_ID, projectId))
@@ -31,9 +35,4 @@ public class CommercialRepository extends AbstractRepository<CommercialEntity> {
             Map.of(PARAM_ID, commercialId, PARAM_PROJECT_ID, projectId));
     }
 
-    public boolean existsByBuildingId(final UUID projectId, final UUID buildingId) {
-        return count("projectId = :projectId and buildingId = :buildingId",
-            Map.of(PARAM_PROJECT_ID, projectId, PARAM_BUILDING_ID, buildingId)) > 0;
-    }
-
 }
@@ -7,10 +7,12 @@ import jakarta.transaction.Transactional;
 
 import java.util.Map;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Tuple;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for contractor entities.
@@ -18,6 +20,24 @@ import java.util.UUID;
 @ApplicationScoped
 public class ContractorRepository extends AbstractRepository<ContractorEntity> {
 
+    /**
+     * Contractors of a project whose company name contains the term, or is similar to it by trigrams,
+     * ranked by similarity, with the total of all matches in the same statement.
+     */
+    private static final String RANKED_SEARCH_QUERY = "SELECT c.id AS id, count(*) OVER () AS total "
+        + "FROM contractors c WHERE c.project_id = :projectId "
+        + "AND (c.company_name ILIKE :pattern OR c.company_name % :query) "
+        + "ORDER BY similarity(c.company_name, :query) DESC, c.id LIMIT :limit OFFSET :offset";
+
+    /**
+     * A page of a ranked search.
+     *
+     * @param contractors the contractors of the page, most similar first
+     * @param total       the number of all matching contractors of the project, or 0 for a page behind the last
+     */
+    public record ContractorSearchPage(List<ContractorEntity> contractors, long total) {
+    }
+
     /**
      * Update organization_id for all contractors with the given email that have no organization set.
      * Called when a new organization is created to retroactively link matching contractors.
@@ -73,6 +93,56 @@ public class ContractorRepository extends AbstractRepository<ContractorEntity> {
                 .getResultList();
     }
 
+    /**
+     * Find the contractors of a project that follow the company name and id of a cursor.
+     *
+     * @param projectId the project ID
+     * @param after the cursor of the previous page
+     * @param limit the limit
+     * @return the page of contractors
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public KeysetPage<ContractorEntity> findByProjectIdAfter(final UUID projectId, final String after,
+        final int limit) {
+        final KeysetPage.Position position = KeysetPage.Position.valueOf(after);
+        final List<ContractorEntity> contractors = getEntityManager()
+                .createNamedQuery("ContractorEntity.findByProjectIdAfter", ContractorEntity.class)
+                .setParameter(PARAM_PROJECT_ID, projectId)
+                .setParameter("companyName", position.key())
+                .setParameter(PARAM_ID, position.id())
+                .setMaxResults(limit)
+                .getResultList();
+        return KeysetPage.of(contractors, limit, ContractorEntity::getCompanyName, ContractorEntity::getId);
+    }
+
+    /**
+     * Search the contractors of a project by company name, ranked by trigram similarity.
+     *
+     * @param projectId the project ID
+     * @param query     the search term (min. 3 characters)
+     * @param offset    the offset
+     * @param limit     the limit
+     * @return the page of matching contractors
+     */
+    public ContractorSearchPage searchByCompanyName(final UUID projectId, final String query,
+        final int offset, final int limit) {
+        final Stream<?> rows = getEntityManager().createNativeQuery(RANKED_SEARCH_QUERY, Tuple.class)
+            .setParameter(PARAM_PROJECT_ID, projectId)
+            .setParameter("query", query)
+            .setParameter("pattern", "%" + escapeLike(query) + "%")
+            .setParameter("offset", offset)
+            .setParameter("limit", limit)
+            .getResultStream();
+        final List<Tuple> matches = rows.map(Tuple.class::cast).toList();
+        if (matches.isEmpty()) {
+            return new ContractorSearchPage(List.of(), 0);
+        }
+        return new ContractorSearchPage(
+            findByIdsInOrder(matches.stream().map(match -> match.get(PARAM_ID, UUID.class)).toList(),
+                ContractorEntity::getId),
+            matches.get(0).get("total", Long.class));
+    }
+
     /**
      * Count contractors by project ID.
      *
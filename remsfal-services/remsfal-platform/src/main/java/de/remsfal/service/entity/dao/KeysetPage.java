@@ -0,0 +1,59 @@
+package de.remsfal.service.entity.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A page of a listing that is sorted by a text key and the id. The next page continues after the key and
+ * id of the last element, so it costs as much as the first one, however deep it is.
+ *
+ * @param items      the elements of the page
+ * @param nextCursor the cursor of the next page, or null if this is the last page
+ * @param <T>        the type of the elements
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * @param items the elements of a page, which may have been fetched with an offset as well
+     * @param limit the maximum number of elements the page was fetched with
+     * @param keyOf the sort key of an element
+     * @param idOf  the id of an element
+     * @return the page with the cursor after its last element, or without a cursor if the page is not full
+     */
+    public static <T> KeysetPage<T> of(final List<T> items, final int limit, final Function<T, String> keyOf,
+            final Function<T, UUID> idOf) {
+        if (items.isEmpty() || items.size() < limit) {
+            return new KeysetPage<>(items, null);
+        }
+        final T last = items.get(items.size() - 1);
+        return new KeysetPage<>(items, new Position(keyOf.apply(last), idOf.apply(last)).toCursor());
+    }
+
+    /**
+     * Sort key and id of the last element of a page, encoded as opaque cursor.
+     */
+    record Position(String key, UUID id) {
+
+        String toCursor() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + "/" + key).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the cursor is malformed
+         */
+        static Position valueOf(final String cursor) {
+            try {
+                final String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("/", 2);
+                return new Position(position[1], UUID.fromString(position[0]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+
+}
@@ -4,14 +4,61 @@ import de.remsfal.service.entity.dto.OrganizationEmployeeEntity;
 import de.remsfal.service.entity.dto.OrganizationEntity;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class OrganizationRepository extends AbstractRepository<OrganizationEntity> {
 
+    /**
+     * Organizations whose name contains the term, or is similar to it by trigrams, ranked by similarity.
+     * The total of all matches is counted in the same statement; the ranking has to visit every match
+     * anyway. Both predicates are served by the trigram index on the name.
+     */
+    private static final String RANKED_SEARCH_QUERY = "WITH matches AS ("
+        + "SELECT o.id, similarity(o.name, :query) AS score FROM organizations o "
+        + "WHERE o.name ILIKE :pattern OR o.name % :query) "
+        + "SELECT m.id AS id, m.score AS score, (SELECT count(*) FROM matches) AS total FROM matches m ";
+
+    private static final String RANKED_SEARCH_ORDER = "ORDER BY m.score DESC, m.id LIMIT :limit";
+
+    private static final String RANKED_SEARCH_AFTER = "WHERE m.score < :score OR (m.score = :score AND m.id > :id) ";
+
+    private static final String NAME_SEARCH_QUERY =
+        "SELECT o FROM OrganizationEntity o WHERE LOWER(o.name) LIKE LOWER(:query)";
+
+    private static final String CONTRACTOR_ORGANIZATIONS_QUERY = "SELECT o FROM OrganizationEntity o WHERE o IN ("
+        + "  SELECT DISTINCT c.organization FROM ContractorEntity c"
+        + "  WHERE c.organization IS NOT NULL AND ("
+        + "    EXISTS (SELECT pm FROM ProjectMembershipEntity pm"
+        + "            WHERE pm.project.id = c.project.id AND pm.user.id = :userId)"
+        + "    OR EXISTS (SELECT po FROM ProjectOrganizationEntity po"
+        + "               JOIN OrganizationEmployeeEntity oe ON oe.organization.id = po.organization.id"
+        + "               WHERE po.project.id = c.project.id AND oe.user.id = :userId)"
+        + "  ))";
+
+    /** Appended to the queries above to continue after the name and id of a cursor. */
+    private static final String KEYSET_AFTER = " AND (o.name > :name OR (o.name = :name AND o.id > :id))";
+
+    private static final String KEYSET_ORDER = " ORDER BY o.name, o.id";
+
+    /**
+     * A page of a ranked search.
+     *
+     * @param organizations the organizations of the page, most similar first
+     * @param total         the number of all matching organizations
+     * @param nextCursor    the cursor of the next page, or null if this is the last page
+     */
+    public record OrganizationSearchPage(List<OrganizationEntity> organizations, long total, String nextCursor) {
+    }
+
     public List<OrganizationEmployeeEntity> findOrganizationEmployeesByOrganizationId(UUID organizationId) {
         return getEntityManager()
             .createNamedQuery(
@@ -79,14 +126,35 @@ public class OrganizationRepository extends AbstractRepository<OrganizationEntit
      */
     public List<OrganizationEntity> searchByName(final String query, final int offset, final int limit) {
         return getEntityManager()
-            .createQuery("SELECT o FROM OrganizationEntity o WHERE LOWER(o.name) LIKE LOWER(:query)"
-                + " ORDER BY o.name", OrganizationEntity.class)
+            .createQuery(NAME_SEARCH_QUERY + KEYSET_ORDER, OrganizationEntity.class)
             .setParameter("query", "%" + query + "%")
             .setFirstResult(offset)
             .setMaxResults(limit)
             .getResultList();
     }
 
+    /**
+     * Search organizations by name (case-insensitive, partial match) that follow the name and id of a cursor.
+     *
+     * @param query the search term (min. 3 characters)
+     * @param after the cursor of the previous page
+     * @param limit maximum number of results
+     * @return the page of matching organizations
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public KeysetPage<OrganizationEntity> searchByNameAfter(final String query, final String after,
+        final int limit) {
+        final KeysetPage.Position position = KeysetPage.Position.valueOf(after);
+        final List<OrganizationEntity> organizations = getEntityManager()
+            .createQuery(NAME_SEARCH_QUERY + KEYSET_AFTER + KEYSET_ORDER, OrganizationEntity.class)
+            .setParameter("query", "%" + query + "%")
+            .setParameter("name", position.key())
+            .setParameter(PARAM_ID, position.id())
+            .setMaxResults(limit)
+            .getResultList();
+        return KeysetPage.of(organizations, limit, OrganizationEntity::getName, OrganizationEntity::getId);
+    }
+
     /**
      * Count organizations matching a name search (case-insensitive, partial match).
      *
@@ -101,6 +169,74 @@ public class OrganizationRepository extends AbstractRepository<OrganizationEntit
             .getSingleResult();
     }
 
+    /**
+     * Search organizations by name, ranked by trigram similarity. Pages continue after the score and id
+     * of the last organization of the previous page, so deep pages cost as much as the first one.
+     *
+     * @param query  the search term (min. 3 characters)
+     * @param cursor opaque cursor of a previous page, or null for the first page
+     * @param limit  maximum number of results
+     * @return the page of matching organizations
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public OrganizationSearchPage searchRankedByName(final String query, final String cursor, final int limit) {
+        final Query search;
+        if (cursor == null) {
+            search = getEntityManager().createNativeQuery(RANKED_SEARCH_QUERY + RANKED_SEARCH_ORDER, Tuple.class);
+        } else {
+            final RankedPosition after = RankedPosition.valueOf(cursor);
+            search = getEntityManager()
+                .createNativeQuery(RANKED_SEARCH_QUERY + RANKED_SEARCH_AFTER + RANKED_SEARCH_ORDER, Tuple.class)
+                .setParameter("score", after.score())
+                .setParameter(PARAM_ID, after.id());
+        }
+        final Stream<?> rows = search
+            .setParameter("query", query)
+            .setParameter("pattern", "%" + escapeLike(query) + "%")
+            .setParameter("limit", limit)
+            .getResultStream();
+        final List<Tuple> matches = rows.map(Tuple.class::cast).toList();
+        if (matches.isEmpty()) {
+            return new OrganizationSearchPage(List.of(), cursor == null ? 0 : countRankedByName(query), null);
+        }
+        final Tuple last = matches.get(matches.size() - 1);
+        final String nextCursor = matches.size() < limit ? null
+            : new RankedPosition(last.get("score", Float.class), last.get(PARAM_ID, UUID.class)).toCursor();
+        return new OrganizationSearchPage(
+            findByIdsInOrder(matches.stream().map(match -> match.get(PARAM_ID, UUID.class)).toList(),
+                OrganizationEntity::getId),
+            matches.get(0).get("total", Long.class), nextCursor);
+    }
+
+    private long countRankedByName(final String query) {
+        return ((Number) getEntityManager()
+            .createNativeQuery("SELECT count(*) FROM organizations o WHERE o.name ILIKE :pattern OR o.name % :query")
+            .setParameter("query", query)
+            .setParameter("pattern", "%" + escapeLike(query) + "%")
+            .getSingleResult()).longValue();
+    }
+
+    /**
+     * Score and id of the last organization of a page, encoded as opaque cursor.
+     */
+    private record RankedPosition(float score, UUID id) {
+
+        String toCursor() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((score + "/" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static RankedPosition valueOf(final String cursor) {
+            try {
+                final String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("/", 2);
+                return new RankedPosition(Float.parseFloat(position[0]), UUID.fromString(position[1]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+
     /**
      * Find distinct organizations that are contractors in projects accessible to the given user.
      * A project is accessible if the user is either a direct member or an employee of an organization
@@ -113,22 +249,37 @@ public class OrganizationRepository extends AbstractRepository<OrganizationEntit
      */
     public List<OrganizationEntity> findContractorOrganizationsByUser(final UUID userId,
         final int offset, final int limit) {
-        return getEntityManager().createQuery(
-            "SELECT o FROM OrganizationEntity o WHERE o IN ("
-            + "  SELECT DISTINCT c.organization FROM ContractorEntity c"
-            + "  WHERE c.organization IS NOT NULL AND ("
-            + "    EXISTS (SELECT pm FROM ProjectMembershipEntity pm"
-            + "            WHERE pm.project.id = c.project.id AND pm.user.id = :userId)"
-            + "    OR EXISTS (SELECT po FROM ProjectOrganizationEntity po"
-            + "               JOIN OrganizationEmployeeEntity oe ON oe.organization.id = po.organization.id"
-            + "               WHERE po.project.id = c.project.id AND oe.user.id = :userId)"
-            + "  )) ORDER BY o.name", OrganizationEntity.class)
-            .setParameter("userId", userId)
+        return getEntityManager()
+            .createQuery(CONTRACTOR_ORGANIZATIONS_QUERY + KEYSET_ORDER, OrganizationEntity.class)
+            .setParameter(PARAM_USER_ID, userId)
             .setFirstResult(offset)
             .setMaxResults(limit)
             .getResultList();
     }
 
+    /**
+     * Find distinct organizations that are contractors in projects accessible to the given user and follow
+     * the name and id of a cursor.
+     *
+     * @param userId the user ID
+     * @param after  the cursor of the previous page
+     * @param limit  pagination limit
+     * @return the page of contractor organizations, ordered by name
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public KeysetPage<OrganizationEntity> findContractorOrganizationsByUserAfter(final UUID userId,
+        final String after, final int limit) {
+        final KeysetPage.Position position = KeysetPage.Position.valueOf(after);
+        final List<OrganizationEntity> organizations = getEntityManager()
+            .createQuery(CONTRACTOR_ORGANIZATIONS_QUERY + KEYSET_AFTER + KEYSET_ORDER, OrganizationEntity.class)
+            .setParameter(PARAM_USER_ID, userId)
+            .setParameter("name", position.key())
+            .setParameter(PARAM_ID, position.id())
+            .setMaxResults(limit)
+            .getResultList();
+        return KeysetPage.of(organizations, limit, OrganizationEntity::getName, OrganizationEntity::getId);
+    }
+
     /**
      * Count distinct organizations that are contractors in projects accessible to the given user.
      *
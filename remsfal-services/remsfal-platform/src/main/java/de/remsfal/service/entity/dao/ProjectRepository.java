@@ -1,11 +1,21 @@
 package de.remsfal.service.entity.dao;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Tuple;
 
+import de.remsfal.core.model.OrganizationEmployeeModel.EmployeeRole;
+import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
 import de.remsfal.service.entity.dto.ProjectEntity;
 import de.remsfal.service.entity.dto.ProjectMembershipEntity;
 import jakarta.persistence.NoResultException;
@@ -16,6 +26,53 @@ import jakarta.persistence.NoResultException;
 @ApplicationScoped
 public class ProjectRepository extends AbstractRepository<ProjectEntity> {
 
+    /**
+     * A project of a listing with the role of the user, loaded without the eagerly fetched memberships.
+     */
+    public record ProjectItem(UUID id, String title, MemberRole role) {
+    }
+
+    /**
+     * A page of project items and the total number of projects of the user.
+     */
+    public record ProjectItemPage(List<ProjectItem> items, long total) {
+    }
+
+    /**
+     * Most privileged project role an employee can derive from the role of the organization in a
+     * project, according to Authorization.md.
+     */
+    private static final Map<EmployeeRole, MemberRole> DERIVABLE_ROLES = new EnumMap<>(Map.of(
+        EmployeeRole.OWNER, MemberRole.PROPRIETOR,
+        EmployeeRole.MANAGER, MemberRole.MANAGER,
+        EmployeeRole.STAFF, MemberRole.STAFF));
+
+    /**
+     * Direct memberships and the roles derived from the organizations of the user in one statement. A
+     * derived role is the less privileged one of the organization role and the role derivable by the
+     * employee; of several roles in one project {@code DISTINCT ON} keeps the most privileged one. The
+     * leadership levels are taken from the enums, so the roles are ranked like in Java.
+     */
+    private static final String EFFECTIVE_ROLES_QUERY = "WITH roles (name, leadership) AS (VALUES "
+        + Arrays.stream(MemberRole.values())
+            .map(role -> "('" + role.name() + "', " + role.getLeadershipLevel() + ")")
+            .collect(Collectors.joining(", "))
+        + "), derivable (employee_role, leadership) AS (VALUES "
+        + DERIVABLE_ROLES.entrySet().stream()
+            .map(e -> "('" + e.getKey().name() + "', " + e.getValue().getLeadershipLevel() + ")")
+            .collect(Collectors.joining(", "))
+        + ") SELECT DISTINCT ON (r.project_id) r.project_id AS project_id, roles.name AS role FROM ("
+        + "SELECT m.project_id, roles.leadership FROM project_memberships m "
+        + "JOIN roles ON roles.name = m.member_role WHERE m.user_id = :userId "
+        + "UNION ALL "
+        + "SELECT po.project_id, GREATEST(roles.leadership, derivable.leadership) "
+        + "FROM organization_employees oe "
+        + "JOIN derivable ON derivable.employee_role = oe.employee_role "
+        + "JOIN project_organizations po ON po.organization_id = oe.organization_id "
+        + "JOIN roles ON roles.name = po.organization_role WHERE oe.employee_id = :userId"
+        + ") r JOIN roles ON roles.leadership = r.leadership "
+        + "ORDER BY r.project_id, r.leadership";
+
     public List<ProjectMembershipEntity> findMembershipByUserId(final UUID userId,
         final int offset, final int limit) {
         return getEntityManager().createNamedQuery("ProjectMembershipEntity.findByUserId",
@@ -26,6 +83,61 @@ public class ProjectRepository extends AbstractRepository<ProjectEntity> {
             .getResultList();
     }
 
+    /**
+     * Loads a page of the projects of a user as items. The total is computed by a window function in the
+     * same statement; only a page behind the last project needs a separate count.
+     *
+     * @param userId the user
+     * @param offset the index of the first project
+     * @param limit  the maximum number of projects
+     * @return the page of project items
+     */
+    public ProjectItemPage findItemsByUserId(final UUID userId, final int offset, final int limit) {
+        final List<Tuple> rows = getEntityManager()
+            .createNamedQuery("ProjectMembershipEntity.findItemsByUserId", Tuple.class)
+            .setParameter(PARAM_USER_ID, userId)
+            .setFirstResult(offset)
+            .setMaxResults(limit)
+            .getResultList();
+        if (rows.isEmpty()) {
+            return new ProjectItemPage(List.of(), offset > 0 ? countMembershipByUserId(userId) : 0);
+        }
+        final List<ProjectItem> items = rows.stream()
+            .map(ProjectRepository::toProjectItem)
+            .toList();
+        return new ProjectItemPage(items, rows.get(0).get("total", Long.class));
+    }
+
+    /**
+     * Loads the projects of a user as items that follow the title and id of a cursor, without a total.
+     *
+     * @param userId the user
+     * @param after  the cursor of the previous page
+     * @param limit  the maximum number of projects
+     * @return the page of project items
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public KeysetPage<ProjectItem> findItemsByUserIdAfter(final UUID userId, final String after,
+        final int limit) {
+        final KeysetPage.Position position = KeysetPage.Position.valueOf(after);
+        final List<ProjectItem> items = getEntityManager()
+            .createNamedQuery("ProjectMembershipEntity.findItemsByUserIdAfter", Tuple.class)
+            .setParameter(PARAM_USER_ID, userId)
+            .setParameter("title", position.key())
+            .setParameter(PARAM_ID, position.id())
+            .setMaxResults(limit)
+            .getResultList()
+            .stream()
+            .map(ProjectRepository::toProjectItem)
+            .toList();
+        return KeysetPage.of(items, limit, ProjectItem::title, ProjectItem::id);
+    }
+
+    private static ProjectItem toProjectItem(final Tuple tuple) {
+        return new ProjectItem(tuple.get(PARAM_ID, UUID.class), tuple.get("title", String.class),
+            tuple.get("role", MemberRole.class));
+    }
+
     public long countMembershipByUserId(final UUID userId) {
         return getEntityManager()
             .createNamedQuery("ProjectMembershipEntity.countByUserId", Long.class)
@@ -47,6 +159,42 @@ public class ProjectRepository extends AbstractRepository<ProjectEntity> {
         }
     }
 
+    /**
+     * Loads only the titles of the given projects, without their eagerly fetched memberships.
+     *
+     * @param projectIds the projects
+     * @return the titles of the existing projects by id
+     */
+    public Map<UUID, String> findTitlesByIds(final Collection<UUID> projectIds) {
+        final Map<UUID, String> titles = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            return titles;
+        }
+        getEntityManager().createNamedQuery("ProjectEntity.findTitlesByIds", Tuple.class)
+            .setParameter(PARAM_IDS, projectIds)
+            .getResultStream()
+            .forEach(tuple -> titles.put(tuple.get("id", UUID.class), tuple.get("title", String.class)));
+        return titles;
+    }
+
+    /**
+     * Resolves the effective role of a user in every project the user has access to, directly or through
+     * an organization, with a single query.
+     *
+     * @param userId the user
+     * @return the most privileged role of the user by project id
+     */
+    public Map<UUID, MemberRole> findEffectiveRolesByUserId(final UUID userId) {
+        final Map<UUID, MemberRole> roles = new HashMap<>();
+        final Stream<?> rows = getEntityManager().createNativeQuery(EFFECTIVE_ROLES_QUERY, Tuple.class)
+            .setParameter(PARAM_USER_ID, userId)
+            .getResultStream();
+        rows.map(Tuple.class::cast)
+            .forEach(tuple -> roles.put(tuple.get("project_id", UUID.class),
+                MemberRole.valueOf(tuple.get("role", String.class))));
+        return roles;
+    }
+
     public Optional<ProjectEntity> findProjectByUserId(final UUID userId, final UUID projectId) {
         return findMembershipByUserIdAndProjectId(userId, projectId).map(ProjectMembershipEntity::getProject);
     }
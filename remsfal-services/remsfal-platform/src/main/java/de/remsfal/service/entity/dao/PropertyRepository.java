@@ -2,12 +2,15 @@ package de.remsfal.service.entity.dao;
 
 import de.remsfal.service.entity.dto.PropertyEntity;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Tuple;
 
+import java.util.Collection;
 import java.util.Map;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
@@ -30,6 +33,33 @@ public class PropertyRepository extends AbstractRepository<PropertyEntity> {
         return count(PARAM_PROJECT_ID, projectId);
     }
 
+    /**
+     * Resolves which of the given properties have sites or buildings with a single query. The children
+     * are united before they are joined, so they are counted without multiplying each other.
+     *
+     * @param projectId   the project
+     * @param propertyIds the properties to check
+     * @return the ids of the properties that are not leaf rental units
+     */
+    public List<UUID> findPropertyIdsWithChildren(final UUID projectId, final Collection<UUID> propertyIds) {
+        if (propertyIds.isEmpty()) {
+            return List.of();
+        }
+        final Stream<?> rows = getEntityManager().createNativeQuery("SELECT p.id FROM properties p "
+                + "LEFT JOIN (SELECT property_id FROM sites WHERE project_id = :projectId AND property_id IN (:ids) "
+                + "UNION ALL SELECT property_id FROM buildings "
+                + "WHERE project_id = :projectId AND property_id IN (:ids)) "
+                + "c ON c.property_id = p.id "
+                + "WHERE p.project_id = :projectId AND p.id IN (:ids) "
+                + "GROUP BY p.id HAVING count(c.property_id) > 0", Tuple.class)
+            .setParameter(PARAM_PROJECT_ID, projectId)
+            .setParameter(PARAM_IDS, propertyIds)
+            .getResultStream();
+        return rows.map(Tuple.class::cast)
+            .map(tuple -> tuple.get("id", UUID.class))
+            .toList();
+    }
+
     public long deletePropertyById(final UUID projectId, final UUID propertyId) {
         return delete("id = :id and projectId = :projectId",
                 Map.of("id", propertyId, PARAM_PROJECT_ID, projectId));
@@ -2,15 +2,24 @@ package de.remsfal.service.entity.dao;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
+import jakarta.persistence.Tuple;
+
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import java.util.Map;
 
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.HibernateHints;
+
 import de.remsfal.core.model.RentalUnitModel.UnitType;
+import de.remsfal.core.model.project.RentModel.BillingCycle;
 import de.remsfal.service.entity.dto.RentalAgreementEntity;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 
 /**
  * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
@@ -20,16 +29,80 @@ public class RentalAgreementRepository extends AbstractRepository<RentalAgreemen
 
     private static final String PARAM_RENTAL_UNIT_ID = "rentalUnitId";
 
+    private static final String HINT_FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    private static final int RENT_ROLL_FETCH_SIZE = 1_000;
+
+    private static final String RENT_ROLL_COLUMNS = "r.first_payment - DATE '1970-01-01' AS first_payment, "
+        + "r.last_payment - DATE '1970-01-01' AS last_payment, r.billing_cycle, "
+        + "CAST(round(100 * (coalesce(r.basic_rent, 0) + coalesce(r.operating_costs_prepayment, 0) "
+        + "+ coalesce(r.heating_costs_prepayment, 0))) AS bigint) AS amount ";
+
+    private static final String RENT_ROLL_PERIOD = "AND r.first_payment <= :to "
+        + "AND (r.last_payment IS NULL OR r.last_payment >= :from) ";
+
+    private static final String RENT_ROLL_BUILDING_UNIT = "b.id AS building_id, b.title AS building_title, "
+        + "p.id AS property_id, p.title AS property_title, " + RENT_ROLL_COLUMNS;
+
+    private static final String RENT_ROLL_QUERY = "SELECT 'PROPERTY' AS unit_type, u.id AS unit_id, "
+        + "u.title AS unit_title, CAST(NULL AS uuid) AS building_id, CAST(NULL AS varchar) AS building_title, "
+        + "u.id AS property_id, u.title AS property_title, " + RENT_ROLL_COLUMNS
+        + "FROM properties u JOIN property_rents r ON r.property_id = u.id "
+        + "WHERE u.project_id = :projectId " + RENT_ROLL_PERIOD
+        + "UNION ALL SELECT 'SITE', u.id, u.title, NULL, NULL, p.id, p.title, " + RENT_ROLL_COLUMNS
+        + "FROM sites u JOIN site_rents r ON r.site_id = u.id JOIN properties p ON p.id = u.property_id "
+        + "WHERE u.project_id = :projectId " + RENT_ROLL_PERIOD
+        + "UNION ALL SELECT 'BUILDING', u.id, u.title, u.id, u.title, p.id, p.title, " + RENT_ROLL_COLUMNS
+        + "FROM buildings u JOIN building_rents r ON r.building_id = u.id "
+        + "JOIN properties p ON p.id = u.property_id "
+        + "WHERE u.project_id = :projectId " + RENT_ROLL_PERIOD
+        + "UNION ALL SELECT 'APARTMENT', u.id, u.title, " + RENT_ROLL_BUILDING_UNIT
+        + "FROM apartments u JOIN apartment_rents r ON r.apartment_id = u.id "
+        + "JOIN buildings b ON b.id = u.building_id JOIN properties p ON p.id = b.property_id "
+        + "WHERE u.project_id = :projectId " + RENT_ROLL_PERIOD
+        + "UNION ALL SELECT 'STORAGE', u.id, u.title, " + RENT_ROLL_BUILDING_UNIT
+        + "FROM storages u JOIN storage_rents r ON r.storage_id = u.id "
+        + "JOIN buildings b ON b.id = u.building_id JOIN properties p ON p.id = b.property_id "
+        + "WHERE u.project_id = :projectId " + RENT_ROLL_PERIOD
+        + "UNION ALL SELECT 'COMMERCIAL', u.id, u.title, " + RENT_ROLL_BUILDING_UNIT
+        + "FROM commercials u JOIN commercial_rents r ON r.commercial_id = u.id "
+        + "JOIN buildings b ON b.id = u.building_id JOIN properties p ON p.id = b.property_id "
+        + "WHERE u.project_id = :projectId " + RENT_ROLL_PERIOD
+        + "ORDER BY property_title, property_id, building_title NULLS FIRST, building_id NULLS FIRST, "
+        + "unit_title, unit_id, first_payment";
+
+    /**
+     * A rent of a rental unit with the building and property the unit belongs to. Payment dates are given
+     * as days since the epoch and the amount of a single payment in cents.
+     *
+     * @param buildingId     the building of the unit, or null if the unit is not part of a building
+     * @param lastPaymentDay the day of the last payment, or null if the rent is not limited
+     */
+    public record RentRollRow(UnitType unitType, UUID unitId, String unitTitle, UUID buildingId,
+        String buildingTitle, UUID propertyId, String propertyTitle, int firstPaymentDay, Integer lastPaymentDay,
+        BillingCycle billingCycle, long amount) {
+    }
+
+    /**
+     * Finds the agreements of a tenant without any associations, e.g. to authorize the tenant.
+     */
     public List<RentalAgreementEntity> findRentalAgreementsByTenant(final UUID tenantId) {
-        return find("SELECT a FROM RentalAgreementEntity a JOIN a.tenants tenant WHERE tenant.user.id = :userId",
-            Map.of(PARAM_USER_ID, tenantId)).list();
+        return findRentalAgreementsByTenant(tenantId, RentalAgreementEntity.GRAPH_RENTS);
+    }
+
+    public List<RentalAgreementEntity> findRentalAgreementsByTenant(final UUID tenantId, final String graph) {
+        return withGraph(find("SELECT a FROM RentalAgreementEntity a JOIN a.tenants tenant "
+                + "WHERE tenant.user.id = :userId", Map.of(PARAM_USER_ID, tenantId)), graph)
+            .list();
     }
 
-    public Optional<RentalAgreementEntity> findRentalAgreementByTenant(final UUID tenantId, final UUID agreementId) {
-        return find("SELECT a FROM RentalAgreementEntity a JOIN a.tenants tenant "
+    public Optional<RentalAgreementEntity> findRentalAgreementByTenant(final UUID tenantId, final UUID agreementId,
+            final String graph) {
+        return withGraph(find("SELECT a FROM RentalAgreementEntity a JOIN a.tenants tenant "
                 + "WHERE a.id = :id and tenant.user.id = :userId",
-            Map.of(PARAM_ID, agreementId, PARAM_USER_ID, tenantId))
-            .singleResultOptional();
+            Map.of(PARAM_ID, agreementId, PARAM_USER_ID, tenantId)), graph)
+            .singleResultOptional()
+            .map(agreement -> fetchGraph(agreement, graph));
     }
 
     public Optional<RentalAgreementEntity> findRentalAgreementByProjectId(final UUID projectId) {
@@ -37,7 +110,11 @@ public class RentalAgreementRepository extends AbstractRepository<RentalAgreemen
     }
 
     public List<RentalAgreementEntity> findRentalAgreementByProject(final UUID projectId) {
-        return find("projectId", projectId).list();
+        return findRentalAgreementByProject(projectId, RentalAgreementEntity.GRAPH_LIST);
+    }
+
+    public List<RentalAgreementEntity> findRentalAgreementByProject(final UUID projectId, final String graph) {
+        return withGraph(find("projectId", projectId), graph).list();
     }
 
     public List<RentalAgreementEntity> findRentalAgreementByProject(final UUID projectId,
@@ -48,33 +125,88 @@ public class RentalAgreementRepository extends AbstractRepository<RentalAgreemen
         final Map<String, Object> params = new HashMap<>();
         params.put(PARAM_PROJECT_ID, projectId);
         params.put(PARAM_RENTAL_UNIT_ID, rentalUnitId);
-        return switch (rentalUnitType) {
-            case PROPERTY -> find("SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.propertyRent r "
-                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.propertyId = :rentalUnitId)",
-                params).list();
-            case SITE -> find("SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.siteRent r "
-                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.siteId = :rentalUnitId)",
-                params).list();
-            case BUILDING -> find("SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.buildingRent r "
-                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.buildingId = :rentalUnitId)",
-                params).list();
-            case APARTMENT -> find("SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.apartmentRent r "
-                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.apartmentId = :rentalUnitId)",
-                params).list();
-            case STORAGE -> find("SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.storageRent r "
-                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.storageId = :rentalUnitId)",
-                params).list();
-            case COMMERCIAL -> find("SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.commercialRent r "
-                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.commercialId = :rentalUnitId)",
-                params).list();
+        final String query = switch (rentalUnitType) {
+            case PROPERTY -> "SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.propertyRent r "
+                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.propertyId = :rentalUnitId)";
+            case SITE -> "SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.siteRent r "
+                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.siteId = :rentalUnitId)";
+            case BUILDING -> "SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.buildingRent r "
+                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.buildingId = :rentalUnitId)";
+            case APARTMENT -> "SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.apartmentRent r "
+                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.apartmentId = :rentalUnitId)";
+            case STORAGE -> "SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.storageRent r "
+                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.storageId = :rentalUnitId)";
+            case COMMERCIAL -> "SELECT DISTINCT a FROM RentalAgreementEntity a JOIN a.commercialRent r "
+                + "WHERE a.projectId = :projectId AND (:rentalUnitId IS NULL OR r.commercialId = :rentalUnitId)";
         };
+        return withGraph(find(query, params), RentalAgreementEntity.GRAPH_LIST).list();
+    }
+
+    /**
+     * Reads all rents of a project that have payments within a period with a single query, whose rows are
+     * fetched in chunks from a database cursor. Therefore, the stream has to be consumed within the
+     * transaction and has to be closed.
+     *
+     * @param projectId the project
+     * @param from      the first day of the period
+     * @param to        the last day of the period
+     * @return the rents ordered by property, building and rental unit
+     */
+    public Stream<RentRollRow> streamRentRoll(final UUID projectId, final LocalDate from, final LocalDate to) {
+        final Stream<?> rows = getEntityManager().createNativeQuery(RENT_ROLL_QUERY, Tuple.class)
+            .setParameter(PARAM_PROJECT_ID, projectId)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, RENT_ROLL_FETCH_SIZE)
+            .getResultStream();
+        return rows.map(Tuple.class::cast)
+            .map(tuple -> new RentRollRow(UnitType.valueOf(tuple.get("unit_type", String.class)),
+                tuple.get("unit_id", UUID.class),
+                tuple.get("unit_title", String.class),
+                tuple.get("building_id", UUID.class),
+                tuple.get("building_title", String.class),
+                tuple.get("property_id", UUID.class),
+                tuple.get("property_title", String.class),
+                tuple.get("first_payment", Integer.class),
+                tuple.get("last_payment", Integer.class),
+                BillingCycle.valueOf(tuple.get("billing_cycle", String.class)),
+                tuple.get("amount", Long.class)));
     }
 
     public Optional<RentalAgreementEntity> findRentalAgreementByProject(final UUID projectId, final UUID agreementId) {
-        return find("SELECT a FROM RentalAgreementEntity a LEFT JOIN FETCH a.tenants t " +
-            "LEFT JOIN FETCH t.user u LEFT JOIN FETCH t.address WHERE a.id = :id and a.projectId = :projectId",
-            Map.of(PARAM_ID, agreementId, PARAM_PROJECT_ID, projectId))
-            .singleResultOptional();
+        return findRentalAgreementByProject(projectId, agreementId, RentalAgreementEntity.GRAPH_DETAIL);
+    }
+
+    public Optional<RentalAgreementEntity> findRentalAgreementByProject(final UUID projectId, final UUID agreementId,
+            final String graph) {
+        return withGraph(find("id = :id and projectId = :projectId",
+            Map.of(PARAM_ID, agreementId, PARAM_PROJECT_ID, projectId)), graph)
+            .singleResultOptional()
+            .map(agreement -> fetchGraph(agreement, graph));
+    }
+
+    /**
+     * Initializes the keys and rents that the detail graph adds to the listing graph it is queried with, so
+     * a single agreement is still complete once it is detached at the end of the transaction.
+     */
+    private RentalAgreementEntity fetchGraph(final RentalAgreementEntity agreement, final String graph) {
+        if (RentalAgreementEntity.GRAPH_DETAIL.equals(graph)) {
+            Hibernate.initialize(agreement.getKeys());
+            Hibernate.initialize(agreement.getPropertyRents());
+            Hibernate.initialize(agreement.getSiteRents());
+            Hibernate.initialize(agreement.getBuildingRents());
+            Hibernate.initialize(agreement.getApartmentRents());
+            Hibernate.initialize(agreement.getStorageRents());
+            Hibernate.initialize(agreement.getCommercialRents());
+        }
+        return agreement;
+    }
+
+    private PanacheQuery<RentalAgreementEntity> withGraph(final PanacheQuery<RentalAgreementEntity> query,
+            final String graph) {
+        final String entityGraph = RentalAgreementEntity.GRAPH_DETAIL.equals(graph)
+            ? RentalAgreementEntity.GRAPH_LIST : graph;
+        return query.withHint(HINT_FETCH_GRAPH, getEntityManager().getEntityGraph(entityGraph));
     }
     
     public long removeRentalAgreementByIds(final UUID projectId, final UUID agreementId) {
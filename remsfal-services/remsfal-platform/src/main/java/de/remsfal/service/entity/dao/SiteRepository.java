@@ -34,9 +34,9 @@ public class SiteRepository extends AbstractRepository<SiteEntity> {
             Map.of(PARAM_PROJECT_ID, projectId, PARAM_PROPERTY_ID, propertyId));
     }
 
-    public boolean existsByPropertyId(final UUID projectId, final UUID propertyId) {
-        return count("projectId = :projectId and propertyId = :propertyId",
-            Map.of(PARAM_PROJECT_ID, projectId, PARAM_PROPERTY_ID, propertyId)) > 0;
+    public List<SiteEntity> findAllSites(final UUID projectId) {
+        return find("SELECT s FROM SiteEntity s LEFT JOIN FETCH s.address WHERE s.projectId = :projectId",
+            Map.of(PARAM_PROJECT_ID, projectId)).list();
     }
 
 }
@@ -1,9 +1,12 @@
 package de.remsfal.service.entity.dao;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Tuple;
 import jakarta.transaction.Transactional;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,6 +18,12 @@ import de.remsfal.service.entity.dto.UserEntity;
 @ApplicationScoped
 public class UserRepository extends AbstractRepository<UserEntity> {
 
+    /**
+     * Name and email of a user, loaded without the eagerly fetched address.
+     */
+    public record UserName(UUID id, String email, String firstName, String lastName) {
+    }
+
     public Optional<UserEntity> findByTokenId(final String tokenId) {
         return find("tokenId", tokenId).singleResultOptional();
     }
@@ -30,6 +39,18 @@ public class UserRepository extends AbstractRepository<UserEntity> {
             .findFirst();
     }
 
+    public List<UserName> findNamesByIds(final Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return getEntityManager().createNamedQuery("UserEntity.findNamesByIds", Tuple.class)
+            .setParameter(PARAM_IDS, userIds)
+            .getResultStream()
+            .map(tuple -> new UserName(tuple.get("id", UUID.class), tuple.get("email", String.class),
+                tuple.get("firstName", String.class), tuple.get("lastName", String.class)))
+            .toList();
+    }
+
     public boolean remove(final UUID userId) {
         return getEntityManager().createNamedQuery("UserEntity.deleteById")
             .setParameter("id", userId)
@@ -22,7 +22,11 @@ import java.util.UUID;
 @Entity
 @Table(name = "contractors")
 @NamedQuery(name = "ContractorEntity.findByProjectId",
-    query = "SELECT c FROM ContractorEntity c WHERE c.project.id = :projectId")
+    query = "SELECT c FROM ContractorEntity c WHERE c.project.id = :projectId ORDER BY c.companyName, c.id")
+@NamedQuery(name = "ContractorEntity.findByProjectIdAfter",
+    query = "SELECT c FROM ContractorEntity c WHERE c.project.id = :projectId "
+        + "AND (c.companyName > :companyName OR (c.companyName = :companyName AND c.id > :id)) "
+        + "ORDER BY c.companyName, c.id")
 @NamedQuery(name = "ContractorEntity.countByProjectId",
     query = "SELECT count(c) FROM ContractorEntity c WHERE c.project.id = :projectId")
 public class ContractorEntity extends AbstractEntity implements ContractorModel {
@@ -10,6 +10,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -22,6 +23,8 @@ import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
 /**
  * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
  */
+@NamedQuery(name = "ProjectEntity.findTitlesByIds",
+    query = "select p.id as id, p.title as title from ProjectEntity p where p.id in :ids")
 @Entity
 @Table(name = "projects")
 public class ProjectEntity extends AbstractEntity implements ProjectModel {
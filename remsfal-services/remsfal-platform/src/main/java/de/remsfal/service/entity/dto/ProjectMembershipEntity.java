@@ -25,6 +25,13 @@ import de.remsfal.service.entity.dto.superclass.MetaDataEntity;
     query = "SELECT m FROM ProjectMembershipEntity m WHERE m.user.id = :userId")
 @NamedQuery(name = "ProjectMembershipEntity.findByProjectIdAndUserId",
     query = "SELECT m FROM ProjectMembershipEntity m WHERE m.project.id = :projectId AND m.user.id = :userId")
+@NamedQuery(name = "ProjectMembershipEntity.findItemsByUserId",
+    query = "SELECT p.id AS id, p.title AS title, m.role AS role, count(*) OVER () AS total "
+        + "FROM ProjectMembershipEntity m JOIN m.project p WHERE m.user.id = :userId ORDER BY p.title, p.id")
+@NamedQuery(name = "ProjectMembershipEntity.findItemsByUserIdAfter",
+    query = "SELECT p.id AS id, p.title AS title, m.role AS role "
+        + "FROM ProjectMembershipEntity m JOIN m.project p WHERE m.user.id = :userId "
+        + "AND (p.title > :title OR (p.title = :title AND p.id > :id)) ORDER BY p.title, p.id")
 @NamedQuery(name = "ProjectMembershipEntity.countByUserId",
     query = "SELECT count(m) FROM ProjectMembershipEntity m WHERE m.user.id = :userId")
 @NamedQuery(name = "ProjectMembershipEntity.removeByProjectIdAndUserId",
@@ -9,6 +9,8 @@ import java.util.UUID;
 import de.remsfal.core.model.project.RentalAgreementModel;
 import de.remsfal.service.entity.dto.embeddable.RentalAgreementKeysEntity;
 import de.remsfal.service.entity.dto.superclass.AbstractEntity;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
@@ -18,21 +20,50 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 
 /**
+ * All associations are loaded lazily. The finders of the repository apply one of the entity graphs below,
+ * depending on the use case. Tenants are joined into the query of the agreements, while keys and rents are
+ * bags that cannot be joined together with the tenants; they are loaded with one subselect per collection
+ * for all agreements of the same query.
+ *
  * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
  */
 @Entity
 @Table(name = "rental_agreements")
+@NamedEntityGraph(name = RentalAgreementEntity.GRAPH_LIST,
+    attributeNodes = @NamedAttributeNode(value = "tenants", subgraph = "tenant"),
+    subgraphs = {
+        @NamedSubgraph(name = "tenant", attributeNodes = {
+            @NamedAttributeNode(value = "user", subgraph = "user"),
+            @NamedAttributeNode("address") }),
+        @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("address"))
+    })
+@NamedEntityGraph(name = RentalAgreementEntity.GRAPH_RENTS)
 public class RentalAgreementEntity extends AbstractEntity implements RentalAgreementModel {
 
+    /** Agreements of a listing: tenants with their user and address, rents on access. */
+    public static final String GRAPH_LIST = "RentalAgreementEntity.list";
+
+    /**
+     * A single agreement that is returned completely. It is not an entity graph of its own: the agreement
+     * is queried with {@link #GRAPH_LIST} and its keys and rents are initialized afterwards.
+     */
+    public static final String GRAPH_DETAIL = "RentalAgreementEntity.detail";
+
+    /** A single agreement whose rents of one unit type are reconciled: no tenants at all. */
+    public static final String GRAPH_RENTS = "RentalAgreementEntity.rents";
+
     @Column(name = "project_id", nullable = false, updatable = false, columnDefinition = "uuid")
     private UUID projectId;
 
-    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     @JoinTable(
         name = "rental_agreement_tenants",
         joinColumns = @JoinColumn(name = "rental_agreement_id"),
@@ -47,37 +78,44 @@ public class RentalAgreementEntity extends AbstractEntity implements RentalAgree
     @Column(name = "end_of_rental", columnDefinition = "date")
     private LocalDate endOfRental;
     
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "rental_agreement_keys",
         joinColumns = @JoinColumn(name = "agreement_id", nullable = false, columnDefinition = "uuid"))
     private List<RentalAgreementKeysEntity> keys = new ArrayList<>();
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinColumn(name = "agreement_id", nullable = false, columnDefinition = "uuid")
     @OrderBy("firstPaymentDate")
     private List<PropertyRentEntity> propertyRent;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinColumn(name = "agreement_id", nullable = false, columnDefinition = "uuid")
     @OrderBy("firstPaymentDate")
     private List<SiteRentEntity> siteRent;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinColumn(name = "agreement_id", nullable = false, columnDefinition = "uuid")
     @OrderBy("firstPaymentDate")
     private List<BuildingRentEntity> buildingRent;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinColumn(name = "agreement_id", nullable = false, columnDefinition = "uuid")
     @OrderBy("firstPaymentDate")
     private List<ApartmentRentEntity> apartmentRent;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinColumn(name = "agreement_id", nullable = false, columnDefinition = "uuid")
     @OrderBy("firstPaymentDate")
     private List<StorageRentEntity> storageRent;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinColumn(name = "agreement_id", nullable = false, columnDefinition = "uuid")
     @OrderBy("firstPaymentDate")
     private List<CommercialRentEntity> commercialRent;
@@ -32,6 +32,9 @@ import de.remsfal.service.entity.dto.superclass.AbstractEntity;
     query = "delete from UserEntity user where user.id = :id")
 @NamedQuery(name = "UserEntity.findByIdWithAdditionalEmails",
     query = "select u from UserEntity u left join fetch u.additionalEmails where u.id = :id ")
+@NamedQuery(name = "UserEntity.findNamesByIds",
+    query = "select u.id as id, u.email as email, u.firstName as firstName, u.lastName as lastName"
+        + " from UserEntity u where u.id in :ids")
 @Entity
 @Table(name = "users")
 public class UserEntity extends AbstractEntity implements CustomerModel {
@@ -14,8 +14,13 @@ import jakarta.transaction.Status;
 import jakarta.transaction.SystemException;
 import jakarta.transaction.UserTransaction;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 
+import de.remsfal.service.entity.cache.AuthorizationSnapshotCache;
+import de.remsfal.service.entity.cache.DisplayNameCache;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.test.AbstractTest;
 import de.remsfal.test.TestData;
 
@@ -27,6 +32,15 @@ public abstract class AbstractServiceTest extends AbstractTest {
     @Inject
     protected UserTransaction userTransaction;
 
+    @Inject
+    protected AuthorizationSnapshotCache snapshotCache;
+
+    @Inject
+    protected PropertyTreeCache propertyTreeCache;
+
+    @Inject
+    protected DisplayNameCache displayNameCache;
+
     @BeforeEach
     void cleanDB() {
         runInTransaction(() -> {
@@ -37,6 +51,22 @@ public abstract class AbstractServiceTest extends AbstractTest {
             entityManager.createQuery("DELETE FROM UserEntity").executeUpdate();
             entityManager.createQuery("DELETE FROM AddressEntity").executeUpdate();
         });
+        // test data is inserted without firing authorization changes
+        snapshotCache.clear();
+        propertyTreeCache.clear();
+        displayNameCache.clear();
+    }
+
+    /**
+     * Resets the Hibernate statistics, so that only the statements of the following calls are counted.
+     *
+     * @return the statistics of the persistence unit
+     */
+    protected Statistics getStatistics() {
+        final Statistics statistics = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
     }
 
     /**
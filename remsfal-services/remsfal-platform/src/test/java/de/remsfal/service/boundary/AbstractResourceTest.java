@@ -29,6 +29,7 @@ public abstract class AbstractResourceTest extends AbstractServiceTest {
 
     protected Cookie buildAccessTokenCookie(final UUID userId, final String userEmail, final Duration ttl) {
         String accessToken;
+        snapshotCache.clear();
         try {
             accessToken = sessionManager.generateAccessToken(userId, userEmail).getValue();
         } catch (Exception e) {
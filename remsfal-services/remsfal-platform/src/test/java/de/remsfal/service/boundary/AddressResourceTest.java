@@ -84,4 +84,46 @@ class AddressResourceTest extends AbstractResourceTest {
             .and().body("countryCode", Matchers.hasItems("DE"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void autocomplete_FAILED_queryTooShort() {
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID, TestData.USER_EMAIL, Duration.ofMinutes(10)))
+            .queryParam("q", "1")
+            .get(BASE_PATH + "/autocomplete")
+            .then()
+            .statusCode(Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Test
+    void autocomplete_SUCCESS_zipPrefixIsCached() {
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID, TestData.USER_EMAIL, Duration.ofMinutes(10)))
+            .queryParam("q", "1031")
+            .get(BASE_PATH + "/autocomplete")
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .contentType(ContentType.JSON)
+            .header("Cache-Control", Matchers.containsString("max-age=86400"))
+            .and().body("size()", Matchers.is(4))
+            .and().body("zip", Matchers.contains("10315", "10317", "10318", "10319"))
+            .and().body("city", Matchers.everyItem(Matchers.is("Berlin")));
+    }
+
+    @Test
+    void autocomplete_SUCCESS_cityPrefixIsLimited() {
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID, TestData.USER_EMAIL, Duration.ofMinutes(10)))
+            .queryParam("q", "aach")
+            .queryParam("limit", 3)
+            .get(BASE_PATH + "/autocomplete")
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .contentType(ContentType.JSON)
+            .and().body("city", Matchers.contains("Aach", "Aach", "Aachen"))
+            .and().body("countryCode", Matchers.everyItem(Matchers.is("DE")));
+    }
+
+}
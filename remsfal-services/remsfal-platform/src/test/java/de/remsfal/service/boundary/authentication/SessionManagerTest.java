@@ -9,6 +9,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -24,11 +25,14 @@ import java.util.UUID;
 
 import org.eclipse.microprofile.jwt.Claims;
 import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import de.remsfal.common.authentication.JWTManager;
 import de.remsfal.common.authentication.UnauthorizedException;
+import de.remsfal.core.model.UserModel;
 import de.remsfal.service.control.AuthorizationController;
+import de.remsfal.service.entity.cache.AuthorizationSnapshotCache;
 import de.remsfal.service.entity.dto.UserAuthenticationEntity;
 import de.remsfal.service.entity.dto.UserEntity;
 import de.remsfal.test.TestData;
@@ -55,6 +59,18 @@ class SessionManagerTest {
     @InjectMock
     JWTParser jwtParser;
 
+    @Inject
+    AuthorizationSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void clearSnapshots() {
+        snapshotCache.clear();
+    }
+
+    private static UserModel userWithId(final UUID userId) {
+        return argThat(user -> user != null && userId.equals(user.getId()));
+    }
+
     private Map<String, String> createMemberships(String p1Role, String p2Role) {
         return Map.of(
                 TestData.PROJECT_ID_1.toString(), p1Role,
@@ -113,7 +129,7 @@ class SessionManagerTest {
         when(controller.getTenancyAuthorization(TestData.USER_ID))
             .thenReturn(Map.of());
 
-        when(jwtManager.createAccessToken(eq(user), anyMap(), anyMap(), anyMap(), anyLong()))
+        when(jwtManager.createAccessToken(userWithId(TestData.USER_ID), anyMap(), anyMap(), anyMap(), anyLong()))
                 .thenReturn("new-access");
 
         when(jwtManager.createRefreshToken(eq(TestData.USER_ID), eq(email), anyString(), eq(604800L)))
@@ -130,7 +146,7 @@ class SessionManagerTest {
 
         verify(controller).requireValidRefreshToken(TestData.USER_ID, refreshId);
         verify(jwtParser).parse(refreshTokenValue);
-        verify(jwtManager).createAccessToken(eq(user), anyMap(), anyMap(), anyMap(), anyLong());
+        verify(jwtManager).createAccessToken(userWithId(TestData.USER_ID), anyMap(), anyMap(), anyMap(), anyLong());
         verify(jwtManager).createRefreshToken(eq(TestData.USER_ID), eq(email), anyString(), eq(604800L));
     }
 
@@ -156,7 +172,7 @@ class SessionManagerTest {
         when(controller.getTenancyAuthorization(TestData.USER_ID))
             .thenReturn(Map.of());
 
-        when(jwtManager.createAccessToken(eq(user), anyMap(), anyMap(), anyMap(), anyLong()))
+        when(jwtManager.createAccessToken(userWithId(TestData.USER_ID), anyMap(), anyMap(), anyMap(), anyLong()))
                 .thenReturn("access.jwt");
 
         // Act
@@ -207,7 +223,7 @@ class SessionManagerTest {
                 .thenReturn(Map.of());
         when(controller.getTenancyAuthorization(TestData.USER_ID))
                 .thenReturn(Map.of());
-        when(jwtManager.createAccessToken(eq(user), anyMap(), anyMap(), anyMap(), eq(300L)))
+        when(jwtManager.createAccessToken(userWithId(TestData.USER_ID), anyMap(), anyMap(), anyMap(), eq(300L)))
                 .thenReturn("access.jwt");
         when(jwtManager.createRefreshToken(eq(TestData.USER_ID), eq(TestData.USER_EMAIL), anyString(), eq(604800L)))
                 .thenReturn("refresh.jwt");
@@ -253,7 +269,7 @@ class SessionManagerTest {
     void test_generateAccessToken_throws_whenUserMissing() {
         when(controller.getAuthenticatedUser(TestData.USER_ID_4)).thenThrow(UnauthorizedException.class);
         assertThrows(UnauthorizedException.class, () -> sessionManager.generateAccessToken(TestData.USER_ID_4, "x@x"));
-        verify(jwtManager, never()).createAccessToken(any(UserEntity.class), anyMap(), anyMap(), anyMap(), anyLong());
+        verify(jwtManager, never()).createAccessToken(any(), anyMap(), anyMap(), anyMap(), anyLong());
     }
 
     @Test
@@ -219,6 +219,66 @@ class ProjectResourceTest extends AbstractResourceTest {
             .and().body("projects.size()", Matchers.is(12));
     }
 
+    @Test
+    void getProjects_SUCCESS_keysetPagination() {
+        for (int i = 0; i < 25; i++) {
+            given()
+                .when()
+                .cookie(buildManagerCookie())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{ \"title\":\"" + String.format("%s %02d", TestData.PROJECT_TITLE, i) + "\"}")
+                .post(BASE_PATH)
+                .then()
+                .statusCode(Status.CREATED.getStatusCode());
+        }
+
+        final Response first = given()
+            .when()
+            .cookie(buildManagerCookie())
+            .get(BASE_PATH)
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .and().body("total", Matchers.is(25))
+            .and().body("nextCursor", Matchers.notNullValue())
+            .extract().response();
+        final String cursor = first.path("nextCursor");
+
+        final Response second = given()
+            .when()
+            .cookie(buildManagerCookie())
+            .queryParam("after", cursor)
+            .get(BASE_PATH)
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .contentType(ContentType.JSON)
+            .and().body("first", Matchers.nullValue())
+            .and().body("total", Matchers.nullValue())
+            .and().body("size", Matchers.is(10))
+            .and().body("projects[0].name", Matchers.is(TestData.PROJECT_TITLE + " 10"))
+            .extract().response();
+
+        given()
+            .when()
+            .cookie(buildManagerCookie())
+            .queryParam("after", second.<String>path("nextCursor"))
+            .queryParam("includeTotal", true)
+            .get(BASE_PATH)
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .and().body("total", Matchers.is(25))
+            .and().body("size", Matchers.is(5))
+            .and().body("projects[4].name", Matchers.is(TestData.PROJECT_TITLE + " 24"))
+            .and().body("nextCursor", Matchers.nullValue());
+
+        given()
+            .when()
+            .cookie(buildManagerCookie())
+            .queryParam("after", "no-cursor")
+            .get(BASE_PATH)
+            .then()
+            .statusCode(Status.BAD_REQUEST.getStatusCode());
+    }
+
     @Test
     void getProjects_SUCCESS_multiUser() {
         final String user1projectId1 = given()
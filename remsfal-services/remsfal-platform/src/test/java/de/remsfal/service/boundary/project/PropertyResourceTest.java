@@ -143,6 +143,50 @@ class PropertyResourceTest extends AbstractResourceTest {
             .log().body();
     }
 
+    @Test
+    void getProperties_SUCCESS_notModifiedUntilPropertyIsCreated() {
+        setupTestProperties();
+        setupTestBuildings();
+
+        final String etag = given()
+            .when()
+            .cookie(buildManagerCookie())
+            .get(BASE_PATH + "/{projectId}/properties", TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .header("ETag", Matchers.notNullValue())
+            .and().body("properties.size()", Matchers.is(2))
+            .extract().header("ETag");
+
+        given()
+            .when()
+            .cookie(buildManagerCookie())
+            .header("If-None-Match", etag)
+            .get(BASE_PATH + "/{projectId}/properties", TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.NOT_MODIFIED.getStatusCode())
+            .header("ETag", Matchers.equalTo(etag));
+
+        given()
+            .when()
+            .cookie(buildManagerCookie())
+            .contentType(ContentType.JSON)
+            .body("{ \"title\":\"" + TestData.PROPERTY_TITLE + "\"}")
+            .post(BASE_PATH + "/{projectId}/properties", TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.CREATED.getStatusCode());
+
+        given()
+            .when()
+            .cookie(buildManagerCookie())
+            .header("If-None-Match", etag)
+            .get(BASE_PATH + "/{projectId}/properties", TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .header("ETag", Matchers.not(Matchers.equalTo(etag)))
+            .and().body("properties.size()", Matchers.is(3));
+    }
+
     @Test
     void deleteProperty_SUCCESS_propertyIsdeleted() {
         runInTransaction(() -> entityManager
@@ -14,6 +14,7 @@ import java.time.Duration;
 import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @QuarkusTest
 class RentalAgreementResourceTest extends AbstractResourceTest {
@@ -23,6 +24,7 @@ class RentalAgreementResourceTest extends AbstractResourceTest {
     static final String AGREEMENT_TENANTS_PATH = AGREEMENT_PATH + "/tenants";
     static final String AGREEMENT_TENANT_PATH = AGREEMENT_TENANTS_PATH + "/{tenantId}";
     static final String AGREEMENT_RENT_PATH = AGREEMENT_PATH + "/{rentalUnitType}/{rentalUnitId}";
+    static final String RENT_ROLL_PATH = BASE_PATH + "/rent-roll";
 
     @BeforeEach
     protected void setupTests() {
@@ -244,6 +246,30 @@ class RentalAgreementResourceTest extends AbstractResourceTest {
             .body("keys[0].keyDescription", Matchers.equalTo("Haustürschlüssel"));
     }
 
+    @Test
+    void createRentalAgreement_FAILURE_nonLeafUnitsReportedTogether() {
+        String json = "{" +
+            "\"startOfRental\":\"2023-01-01\"," +
+            "\"tenants\": [{\"firstName\":\"Max\", \"lastName\":\"Mustermann\"}]," +
+            "\"propertyRents\": [{\"rentalUnitId\":\"" + TestData.PROPERTY_ID + "\"}]," +
+            "\"buildingRents\": [{\"rentalUnitId\":\"" + TestData.BUILDING_ID + "\"}]," +
+            "\"apartmentRents\": [{\"rentalUnitId\":\"" + TestData.APARTMENT_ID + "\"}]" +
+            "}";
+
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID_1, TestData.USER_EMAIL_1, Duration.ofMinutes(10)))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(json)
+            .post(BASE_PATH, TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.BAD_REQUEST.getStatusCode())
+            .contentType(ContentType.JSON)
+            .body("rentalUnits.size()", Matchers.equalTo(2))
+            .body("rentalUnits.find { it.type == 'PROPERTY' }.id", Matchers.equalTo(TestData.PROPERTY_ID.toString()))
+            .body("rentalUnits.find { it.type == 'BUILDING' }.id", Matchers.equalTo(TestData.BUILDING_ID.toString()));
+    }
+
     @Test
     void createRentalAgreement_SUCCESS_tenantLinkedToExistingUser() {
         String json = "{" +
@@ -844,4 +870,94 @@ class RentalAgreementResourceTest extends AbstractResourceTest {
             .then()
             .statusCode(Status.FORBIDDEN.getStatusCode());
     }
+
+    @Test
+    void getRentRoll_SUCCESS_monthlyAmountsAsJson() {
+        insertApartmentRent(TestData.APARTMENT_ID, TestData.AGREEMENT_ID,
+            java.time.LocalDate.parse("2025-01-31"), "MONTHLY", 500.00, 100.00, 50.00,
+            java.time.LocalDate.parse("2025-02-28"));
+
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID_1, TestData.USER_EMAIL_1, Duration.ofMinutes(10)))
+            .accept(ContentType.JSON)
+            .queryParam("from", "2025-01-01")
+            .queryParam("to", "2025-03-31")
+            .get(RENT_ROLL_PATH, TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .contentType(ContentType.JSON)
+            .body("months", Matchers.contains("2025-01", "2025-02", "2025-03"))
+            .body("totals", Matchers.contains(650.0f, 650.0f, 0.0f))
+            .body("properties.size()", Matchers.equalTo(1))
+            .body("properties[0].id", Matchers.equalTo(TestData.PROPERTY_ID.toString()))
+            .body("buildings[0].id", Matchers.equalTo(TestData.BUILDING_ID.toString()))
+            .body("buildings[0].parentId", Matchers.equalTo(TestData.PROPERTY_ID.toString()))
+            .body("units[0].id", Matchers.equalTo(TestData.APARTMENT_ID.toString()))
+            .body("units[0].type", Matchers.equalTo("APARTMENT"))
+            .body("units[0].title", Matchers.equalTo(TestData.APARTMENT_TITLE_1))
+            .body("units[0].amounts", Matchers.contains(650.0f, 650.0f, 0.0f));
+    }
+
+    @Test
+    void getRentRoll_SUCCESS_monthlyAmountsAsCsv() {
+        insertApartmentRent(TestData.APARTMENT_ID, TestData.AGREEMENT_ID,
+            java.time.LocalDate.parse("2025-01-31"), "MONTHLY", 500.00, 100.00, 50.00);
+
+        final String csv = given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID_1, TestData.USER_EMAIL_1, Duration.ofMinutes(10)))
+            .accept("text/csv")
+            .queryParam("from", "2025-02-01")
+            .queryParam("to", "2025-03-31")
+            .get(RENT_ROLL_PATH, TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.OK.getStatusCode())
+            .contentType(Matchers.startsWith("text/csv"))
+            .header("Content-Disposition", Matchers.containsString("rent-roll.csv"))
+            .extract().asString();
+
+        final String[] lines = csv.split("\r\n");
+        assertEquals(5, lines.length);
+        assertEquals("level,type,id,parent_id,title,2025-02,2025-03", lines[0]);
+        assertEquals("unit,APARTMENT," + TestData.APARTMENT_ID + "," + TestData.BUILDING_ID + ",\""
+            + TestData.APARTMENT_TITLE_1 + "\",650.00,650.00", lines[3]);
+        assertEquals("total,,,,,650.00,650.00", lines[4]);
+    }
+
+    @Test
+    void getRentRoll_FAILURE_invalidPeriod() {
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID_1, TestData.USER_EMAIL_1, Duration.ofMinutes(10)))
+            .accept(ContentType.JSON)
+            .queryParam("from", "2025-03-01")
+            .queryParam("to", "2025-02-31")
+            .get(RENT_ROLL_PATH, TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.BAD_REQUEST.getStatusCode());
+
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID_1, TestData.USER_EMAIL_1, Duration.ofMinutes(10)))
+            .accept(ContentType.JSON)
+            .queryParam("from", "2025-03-01")
+            .queryParam("to", "2025-02-28")
+            .get(RENT_ROLL_PATH, TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Test
+    void getRentRoll_FAILURE_unauthorized() {
+        given()
+            .when()
+            .cookie(buildAccessTokenCookie(TestData.USER_ID_2, TestData.USER_EMAIL_2, Duration.ofMinutes(10)))
+            .accept(ContentType.JSON)
+            .queryParam("from", "2025-01-01")
+            .queryParam("to", "2025-12-31")
+            .get(RENT_ROLL_PATH, TestData.PROJECT_ID.toString())
+            .then()
+            .statusCode(Status.FORBIDDEN.getStatusCode());
+    }
 }
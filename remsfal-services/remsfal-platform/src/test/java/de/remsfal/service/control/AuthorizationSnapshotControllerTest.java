@@ -0,0 +1,171 @@
+package de.remsfal.service.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.control.event.AuthorizationChangedEvent;
+import de.remsfal.service.entity.cache.AuthorizationSnapshot;
+import de.remsfal.service.entity.cache.AuthorizationSnapshotCache;
+import de.remsfal.test.TestData;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class AuthorizationSnapshotControllerTest extends AbstractServiceTest {
+
+    @Inject
+    AuthorizationSnapshotController snapshotController;
+
+    @Inject
+    ProjectController projectController;
+
+    @Inject
+    Event<AuthorizationChangedEvent> authorizationChanged;
+
+    @BeforeEach
+    void setupTestData() {
+        setupTestUsers();
+        setupTestProjects();
+    }
+
+    @Test
+    void getSnapshot_SUCCESS_cachedUntilMembershipChanges() {
+        final AuthorizationSnapshot first = snapshotController.getSnapshot(TestData.USER_ID);
+        assertEquals("MANAGER", first.getProjectRoles().get(TestData.PROJECT_ID_1.toString()));
+        assertSame(first, snapshotController.getSnapshot(TestData.USER_ID));
+
+        projectController.changeProjectMemberRole(TestData.PROJECT_ID_1, TestData.USER_ID, MemberRole.STAFF);
+
+        final AuthorizationSnapshot second = snapshotController.getSnapshot(TestData.USER_ID);
+        assertNotSame(first, second);
+        assertEquals("STAFF", second.getProjectRoles().get(TestData.PROJECT_ID_1.toString()));
+        assertEquals(TestData.USER_EMAIL, second.getEmail());
+    }
+
+    @Test
+    void getSnapshot_SUCCESS_noStaleRoleAfterConcurrentRenewals() throws Exception {
+        final String projectId = TestData.PROJECT_ID_1.toString();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Integer>> renewals = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            renewals.add(executor.submit(() -> {
+                final ManagedContext requestContext = Arc.container().requestContext();
+                int count = 0;
+                while (running.get()) {
+                    requestContext.activate();
+                    try {
+                        snapshotController.getSnapshot(TestData.USER_ID);
+                        count++;
+                    } finally {
+                        requestContext.terminate();
+                    }
+                }
+                return count;
+            }));
+        }
+
+        try {
+            final MemberRole[] roles = { MemberRole.STAFF, MemberRole.MANAGER, MemberRole.COLLABORATOR };
+            for (int i = 0; i < 30; i++) {
+                final MemberRole role = roles[i % roles.length];
+                projectController.changeProjectMemberRole(TestData.PROJECT_ID_1, TestData.USER_ID, role);
+                // the change is committed, no renewal may issue the previous role anymore
+                for (int j = 0; j < 5; j++) {
+                    assertEquals(role.name(),
+                        snapshotController.getSnapshot(TestData.USER_ID).getProjectRoles().get(projectId));
+                }
+            }
+        } finally {
+            running.set(false);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        for (Future<Integer> renewal : renewals) {
+            assertTrue(renewal.get() > 0);
+        }
+    }
+
+    @Test
+    void put_SUCCESS_snapshotLoadedDuringChangeIsNotCached() {
+        final UUID userId = UUID.randomUUID();
+        final AuthorizationSnapshot snapshot = new AuthorizationSnapshot(
+            snapshotController.getSnapshot(TestData.USER_ID), Map.of(), Map.of(), Map.of());
+
+        // change started before the load
+        snapshotCache.markPending(Set.of(userId));
+        assertNull(snapshotCache.begin(userId));
+        snapshotCache.invalidate(Set.of(userId));
+
+        // change completed during the load
+        final AuthorizationSnapshotCache.Version version = snapshotCache.begin(userId);
+        snapshotCache.markPending(Set.of(userId));
+        snapshotCache.put(userId, version, snapshot);
+        assertTrue(snapshotCache.get(userId).isEmpty());
+        snapshotCache.invalidate(Set.of(userId));
+        snapshotCache.put(userId, version, snapshot);
+        assertTrue(snapshotCache.get(userId).isEmpty());
+
+        // change affecting all users
+        final AuthorizationSnapshotCache.Version current = snapshotCache.begin(userId);
+        snapshotCache.put(userId, current, snapshot);
+        assertSame(snapshot, snapshotCache.get(userId).orElseThrow());
+        snapshotCache.markPending(null);
+        assertTrue(snapshotCache.get(userId).isEmpty());
+        snapshotCache.invalidate(null);
+        assertTrue(snapshotCache.get(userId).isEmpty());
+    }
+
+    @Test
+    void onAuthorizationChanged_SUCCESS_pendingUntilRequestEndedWithoutTransaction() throws Exception {
+        final AuthorizationSnapshot snapshot = snapshotController.getSnapshot(TestData.USER_ID);
+        assertSame(snapshot, snapshotController.getSnapshot(TestData.USER_ID));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                final ManagedContext requestContext = Arc.container().requestContext();
+                requestContext.activate();
+                try {
+                    authorizationChanged.fire(AuthorizationChangedEvent.forUsers(TestData.USER_ID));
+                    // the change is written after the event, a snapshot loaded now must not be cached
+                    final AuthorizationSnapshotCache.Version version = snapshotCache.begin(TestData.USER_ID);
+                    assertNull(version);
+                    snapshotCache.put(TestData.USER_ID, version, snapshot);
+                    assertTrue(snapshotCache.get(TestData.USER_ID).isEmpty());
+                } finally {
+                    requestContext.terminate();
+                }
+            }).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        final AuthorizationSnapshot renewed = snapshotController.getSnapshot(TestData.USER_ID);
+        assertNotSame(snapshot, renewed);
+        assertSame(renewed, snapshotController.getSnapshot(TestData.USER_ID));
+    }
+
+}
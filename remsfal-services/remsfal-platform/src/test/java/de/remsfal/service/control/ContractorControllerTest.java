@@ -7,12 +7,15 @@ import de.remsfal.core.json.project.ImmutableProjectJson;
 import de.remsfal.core.model.ContractorModel;
 import de.remsfal.core.model.UserModel;
 import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.dao.ContractorRepository.ContractorSearchPage;
+import de.remsfal.service.entity.dao.KeysetPage;
 import de.remsfal.service.entity.dto.ContractorEntity;
 import de.remsfal.service.entity.dto.OrganizationEntity;
 import de.remsfal.service.entity.dto.ProjectEntity;
 import de.remsfal.test.TestData;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,6 +74,47 @@ class ContractorControllerTest extends AbstractServiceTest {
         assertEquals(0, count);
     }
 
+    @Test
+    void getContractorsAfter_SUCCESS_continuesAfterCompanyName() {
+        insertContractor(UUID.randomUUID(), projectId, "Contractor C", null);
+        insertContractor(UUID.randomUUID(), projectId, "Contractor A", null);
+        insertContractor(UUID.randomUUID(), projectId, "Contractor B", null);
+
+        List<ContractorEntity> first = contractorController.getContractors(projectId, 0, 2);
+        assertEquals(List.of("Contractor A", "Contractor B"),
+            first.stream().map(ContractorEntity::getCompanyName).toList());
+
+        KeysetPage<ContractorEntity> page = contractorController.getContractorsAfter(projectId,
+            KeysetPage.of(first, 2, ContractorEntity::getCompanyName, ContractorEntity::getId).nextCursor(), 2);
+        assertEquals(1, page.items().size());
+        assertEquals("Contractor C", page.items().get(0).getCompanyName());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getContractorsAfter_FAILED_invalidCursor() {
+        assertThrows(BadRequestException.class,
+            () -> contractorController.getContractorsAfter(projectId, "no-cursor", 10));
+    }
+
+    @Test
+    void searchContractors_SUCCESS_rankedByCompanyName() {
+        final UUID exactId = UUID.randomUUID();
+        insertContractor(UUID.randomUUID(), projectId, COMPANY_NAME_1 + " GmbH", null);
+        insertContractor(exactId, projectId, COMPANY_NAME_1, null);
+        insertContractor(UUID.randomUUID(), projectId, "Schmidt Dachdecker", null);
+
+        ContractorSearchPage page = contractorController.searchContractors(projectId, COMPANY_NAME_1, 0, 10);
+        assertEquals(2, page.total());
+        assertEquals(2, page.contractors().size());
+        assertEquals(exactId, page.contractors().get(0).getId());
+
+        page = contractorController.searchContractors(projectId, COMPANY_NAME_1, 1, 10);
+        assertEquals(2, page.total());
+        assertEquals(1, page.contractors().size());
+        assertNotEquals(exactId, page.contractors().get(0).getId());
+    }
+
     @Test
     void createContractor_SUCCESS_contractorCreated() {
         // Create a contractor JSON
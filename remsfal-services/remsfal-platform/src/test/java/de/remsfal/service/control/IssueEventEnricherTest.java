@@ -4,16 +4,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 
 import de.remsfal.core.json.ImmutableUserJson;
 import de.remsfal.core.json.UserJson;
@@ -23,10 +28,10 @@ import de.remsfal.core.json.eventing.ImmutableIssueEventJson;
 import de.remsfal.core.json.eventing.ImmutableProjectEventJson;
 import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
 import de.remsfal.core.model.ticketing.IssueModel.IssueType;
+import de.remsfal.service.entity.cache.DisplayNameCache;
 import de.remsfal.service.entity.dao.ProjectRepository;
 import de.remsfal.service.entity.dao.UserRepository;
-import de.remsfal.service.entity.dto.ProjectEntity;
-import de.remsfal.service.entity.dto.UserEntity;
+import de.remsfal.service.entity.dao.UserRepository.UserName;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -43,10 +48,18 @@ class IssueEventEnricherTest {
     @Inject
     IssueEventEnricher enricher;
 
+    @Inject
+    DisplayNameCache displayNameCache;
+
     @Inject
     @ConfigProperty(name = "de.remsfal.frontend.url.base")
     String frontendBaseUrl;
 
+    @BeforeEach
+    void clearCache() {
+        displayNameCache.clear();
+    }
+
     @Test
     void enrich_enrichesAssigneeDetailsAndBuildsLink() {
         UUID issueId = UUID.randomUUID();
@@ -63,17 +76,9 @@ class IssueEventEnricherTest {
         Set<UUID> childOf = Set.of(UUID.randomUUID());
         String projectTitle = "Project title";
 
-        UserEntity assigneeEntity = new UserEntity();
-        assigneeEntity.setId(assigneeId);
-        assigneeEntity.setEmail("assignee@example.com");
-        assigneeEntity.setFirstName("Assignee");
-        assigneeEntity.setLastName("Person");
-
-        when(userRepository.findByIdOptional(assigneeId)).thenReturn(Optional.of(assigneeEntity));
-        ProjectEntity project = new ProjectEntity();
-        project.setId(projectId);
-        project.setTitle(projectTitle);
-        when(projectRepository.findByIdOptional(projectId)).thenReturn(Optional.of(project));
+        when(userRepository.findNamesByIds(Set.of(assigneeId)))
+            .thenReturn(List.of(new UserName(assigneeId, "assignee@example.com", "Assignee", "Person")));
+        when(projectRepository.findTitlesByIds(Set.of(projectId))).thenReturn(Map.of(projectId, projectTitle));
 
         IssueEventJson event = ImmutableIssueEventJson.builder()
             .issueEventType(IssueEventType.ISSUE_ASSIGNED)
@@ -118,8 +123,8 @@ class IssueEventEnricherTest {
         assertEquals(projectId, enriched.getProject().getId());
         assertEquals(projectTitle, enriched.getProject().getTitle());
 
-        verify(userRepository).findByIdOptional(assigneeId);
-        verify(projectRepository).findByIdOptional(projectId);
+        verify(userRepository).findNamesByIds(Set.of(assigneeId));
+        verify(projectRepository).findTitlesByIds(Set.of(projectId));
     }
 
     @Test
@@ -129,10 +134,8 @@ class IssueEventEnricherTest {
             .build();
 
         UUID projectId = UUID.randomUUID();
-        ProjectEntity project = new ProjectEntity();
-        project.setId(projectId);
-        project.setTitle("Assigneeless project");
-        when(projectRepository.findByIdOptional(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.findTitlesByIds(Set.of(projectId)))
+            .thenReturn(Map.of(projectId, "Assigneeless project"));
 
         IssueEventJson event = ImmutableIssueEventJson.builder()
             .issueEventType(IssueEventType.ISSUE_UPDATED)
@@ -149,7 +152,7 @@ class IssueEventEnricherTest {
         assertNotNull(enriched.getProject());
         assertEquals(projectId, enriched.getProject().getId());
         assertEquals("Assigneeless project", enriched.getProject().getTitle());
-        verify(projectRepository).findByIdOptional(projectId);
+        verify(projectRepository).findTitlesByIds(Set.of(projectId));
     }
 
     @Test
@@ -193,10 +196,7 @@ class IssueEventEnricherTest {
     void enrich_keepsAssigneeWhenMissingAndBuildsLinkFromConfig() {
         UUID issueId = UUID.randomUUID();
         UUID projectId = UUID.randomUUID();
-        ProjectEntity project = new ProjectEntity();
-        project.setId(projectId);
-        project.setTitle("No assignee project");
-        when(projectRepository.findByIdOptional(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.findTitlesByIds(Set.of(projectId))).thenReturn(Map.of(projectId, "No assignee project"));
         IssueEventJson event = ImmutableIssueEventJson.builder()
             .issueEventType(IssueEventType.ISSUE_UPDATED)
             .issueId(issueId)
@@ -215,7 +215,7 @@ class IssueEventEnricherTest {
         assertNotNull(enriched.getProject());
         assertEquals(projectId, enriched.getProject().getId());
         assertEquals("No assignee project", enriched.getProject().getTitle());
-        verify(projectRepository).findByIdOptional(projectId);
+        verify(projectRepository).findTitlesByIds(Set.of(projectId));
     }
 
     @Test
@@ -224,11 +224,9 @@ class IssueEventEnricherTest {
         UUID projectId = UUID.randomUUID();
         UUID assigneeId = UUID.randomUUID();
 
-        when(userRepository.findByIdOptional(assigneeId)).thenReturn(Optional.empty());
-        ProjectEntity project = new ProjectEntity();
-        project.setId(projectId);
-        project.setTitle("Project unknown assignee");
-        when(projectRepository.findByIdOptional(projectId)).thenReturn(Optional.of(project));
+        when(userRepository.findNamesByIds(Set.of(assigneeId))).thenReturn(List.of());
+        when(projectRepository.findTitlesByIds(Set.of(projectId)))
+            .thenReturn(Map.of(projectId, "Project unknown assignee"));
 
         IssueEventJson event = ImmutableIssueEventJson.builder()
             .issueEventType(IssueEventType.ISSUE_UPDATED)
@@ -245,11 +243,11 @@ class IssueEventEnricherTest {
         assertNotNull(enriched.getAssignee());
         assertEquals(assigneeId, enriched.getAssignee().getId());
         assertNull(enriched.getAssignee().getEmail());
-        verify(userRepository).findByIdOptional(assigneeId);
+        verify(userRepository).findNamesByIds(Set.of(assigneeId));
         assertNotNull(enriched.getProject());
         assertEquals(projectId, enriched.getProject().getId());
         assertEquals("Project unknown assignee", enriched.getProject().getTitle());
-        verify(projectRepository).findByIdOptional(projectId);
+        verify(projectRepository).findTitlesByIds(Set.of(projectId));
     }
 
     @Test
@@ -263,4 +261,66 @@ class IssueEventEnricherTest {
         verifyNoInteractions(userRepository);
         verifyNoInteractions(projectRepository);
     }
+
+    @Test
+    void enrich_batchResolvesDistinctIdsOnceAndCachesThem() {
+        final UUID projectId1 = UUID.randomUUID();
+        final UUID projectId2 = UUID.randomUUID();
+        final UUID userId1 = UUID.randomUUID();
+        final UUID userId2 = UUID.randomUUID();
+        when(projectRepository.findTitlesByIds(Set.of(projectId1, projectId2)))
+            .thenReturn(Map.of(projectId1, "Project 1", projectId2, "Project 2"));
+        when(userRepository.findNamesByIds(Set.of(userId1, userId2)))
+            .thenReturn(List.of(new UserName(userId1, "one@example.com", "One", "User"),
+                new UserName(userId2, "two@example.com", "Two", "User")));
+
+        final List<IssueEventJson> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final UUID assigneeId = i % 2 == 0 ? userId1 : userId2;
+            events.add(ImmutableIssueEventJson.builder()
+                .issueEventType(IssueEventType.ISSUE_ASSIGNED)
+                .issueId(UUID.randomUUID())
+                .projectId(i % 3 == 0 ? projectId1 : projectId2)
+                .title("Ticket " + i)
+                .assigneeId(assigneeId)
+                .assignee(ImmutableUserJson.builder().id(assigneeId).build())
+                .build());
+        }
+
+        final List<IssueEventJson> enriched = enricher.enrich(events);
+
+        assertEquals(events.size(), enriched.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(events.get(i).getIssueId(), enriched.get(i).getIssueId());
+            assertEquals(i % 3 == 0 ? "Project 1" : "Project 2", enriched.get(i).getProject().getTitle());
+            assertEquals(i % 2 == 0 ? "one@example.com" : "two@example.com",
+                enriched.get(i).getAssignee().getEmail());
+        }
+        verify(projectRepository).findTitlesByIds(Set.of(projectId1, projectId2));
+        verify(userRepository).findNamesByIds(Set.of(userId1, userId2));
+
+        // the second batch is served from the cache
+        assertEquals(enriched.size(), enricher.enrich(events).size());
+        verify(projectRepository).findTitlesByIds(ArgumentMatchers.anyCollection());
+        verify(userRepository).findNamesByIds(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    void enrich_reloadsInvalidatedProjectTitle() {
+        final UUID projectId = UUID.randomUUID();
+        when(projectRepository.findTitlesByIds(Set.of(projectId))).thenReturn(Map.of(projectId, "Old title"));
+        final IssueEventJson event = ImmutableIssueEventJson.builder()
+            .issueEventType(IssueEventType.ISSUE_UPDATED)
+            .issueId(UUID.randomUUID())
+            .projectId(projectId)
+            .title("Renamed project")
+            .build();
+        assertEquals("Old title", enricher.enrich(event).getProject().getTitle());
+
+        when(projectRepository.findTitlesByIds(Set.of(projectId))).thenReturn(Map.of(projectId, "New title"));
+        assertEquals("Old title", enricher.enrich(event).getProject().getTitle());
+        displayNameCache.invalidateProject(projectId);
+        assertEquals("New title", enricher.enrich(event).getProject().getTitle());
+        verify(userRepository, never()).findNamesByIds(ArgumentMatchers.anyCollection());
+    }
 }
@@ -0,0 +1,139 @@
+package de.remsfal.service.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.core.json.ImmutableUserJson;
+import de.remsfal.core.json.eventing.ImmutableIssueEventJson;
+import de.remsfal.core.json.eventing.IssueEventJson;
+import de.remsfal.core.json.eventing.IssueEventJson.IssueEventType;
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.test.TestData;
+import io.quarkus.kafka.client.serialization.ObjectMapperSerde;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kafka.InjectKafkaCompanion;
+import io.quarkus.test.kafka.KafkaCompanionResource;
+import io.smallrye.reactive.messaging.kafka.companion.ConsumerTask;
+import io.smallrye.reactive.messaging.kafka.companion.KafkaCompanion;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+@QuarkusTestResource(KafkaCompanionResource.class)
+class IssueEventEnricherThroughputTest extends AbstractServiceTest {
+
+    private static final int EVENT_COUNT = 2_000;
+    private static final int BATCH_SIZE = 200;
+
+    private static final List<UUID> PROJECT_IDS = List.of(TestData.PROJECT_ID_1, TestData.PROJECT_ID_2,
+        TestData.PROJECT_ID_3, TestData.PROJECT_ID_4, TestData.PROJECT_ID_5);
+
+    private static final List<UUID> USER_IDS = List.of(TestData.USER_ID_1, TestData.USER_ID_2,
+        TestData.USER_ID_3, TestData.USER_ID_4);
+
+    @InjectKafkaCompanion
+    KafkaCompanion companion;
+
+    @Inject
+    IssueEventEnricher enricher;
+
+    @BeforeEach
+    void setupTestData() {
+        setupTestUsers();
+        setupTestProjects();
+        companion.registerSerde(ImmutableIssueEventJson.class,
+            new ObjectMapperSerde<>(ImmutableIssueEventJson.class));
+    }
+
+    private static List<ImmutableIssueEventJson> createEvents(final int count) {
+        final List<ImmutableIssueEventJson> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final UUID assigneeId = USER_IDS.get(i % USER_IDS.size());
+            events.add(ImmutableIssueEventJson.builder()
+                .issueEventType(IssueEventType.ISSUE_ASSIGNED)
+                .issueId(UUID.randomUUID())
+                .projectId(PROJECT_IDS.get(i % PROJECT_IDS.size()))
+                .title("Ticket " + i)
+                .assigneeId(assigneeId)
+                .assignee(ImmutableUserJson.builder().id(assigneeId).build())
+                .build());
+        }
+        return events;
+    }
+
+    @Test
+    void enrich_SUCCESS_oneLookupPerBatchInsteadOfPerEvent() {
+        final List<ImmutableIssueEventJson> events = createEvents(EVENT_COUNT);
+
+        // before: every event looked up its project and its assignee on its own
+        Statistics statistics = getStatistics();
+        for (IssueEventJson event : events.subList(0, BATCH_SIZE)) {
+            displayNameCache.clear();
+            enricher.enrich(event);
+        }
+        final long single = statistics.getPrepareStatementCount();
+
+        displayNameCache.clear();
+        statistics = getStatistics();
+        final List<IssueEventJson> enriched = new ArrayList<>(enricher.enrich(events.subList(0, BATCH_SIZE)));
+        final long firstBatch = statistics.getPrepareStatementCount();
+        for (int offset = BATCH_SIZE; offset < EVENT_COUNT; offset += BATCH_SIZE) {
+            enriched.addAll(enricher.enrich(events.subList(offset, Math.min(offset + BATCH_SIZE, EVENT_COUNT))));
+        }
+        final long batched = statistics.getPrepareStatementCount();
+        logger.infov("Issue event enrichment of {0} events: {1} statements one by one, {2} in batches of {3}",
+            BATCH_SIZE, single, firstBatch, BATCH_SIZE);
+
+        assertEquals(EVENT_COUNT, enriched.size());
+        assertEquals(TestData.PROJECT_TITLE_1, enriched.get(0).getProject().getTitle());
+        assertEquals(TestData.USER_EMAIL_1, enriched.get(0).getAssignee().getEmail());
+        // one event at a time looks up its project and its user on its own
+        assertEquals(2L * BATCH_SIZE, single);
+        // one query for the projects and one for the users of the batch
+        assertEquals(2, firstBatch);
+        // all later batches are served from the cache
+        assertEquals(firstBatch, batched);
+    }
+
+    @Test
+    void consume_SUCCESS_allEventsEnrichedThroughKafka() {
+        final List<ImmutableIssueEventJson> events = createEvents(EVENT_COUNT);
+        final ConsumerTask<String, ImmutableIssueEventJson> consumer = companion
+            .consume(ImmutableIssueEventJson.class)
+            .fromTopics(IssueEventJson.TOPIC_ENRICHED, EVENT_COUNT);
+
+        companion.produce(ImmutableIssueEventJson.class)
+            .fromRecords(events.stream()
+                .map(event -> new ProducerRecord<String, ImmutableIssueEventJson>(IssueEventJson.TOPIC_BASIC,
+                    event.getIssueId().toString(), event))
+                .toList());
+        final List<ConsumerRecord<String, ImmutableIssueEventJson>> records = consumer
+            .awaitCompletion(Duration.ofMinutes(2))
+            .getRecords();
+
+        assertEquals(EVENT_COUNT, records.size());
+        final Map<UUID, IssueEventJson> enriched = records.stream()
+            .map(ConsumerRecord::value)
+            .collect(Collectors.toMap(IssueEventJson::getIssueId, event -> event, (first, second) -> first));
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            final IssueEventJson event = enriched.get(events.get(i).getIssueId());
+            assertEquals(events.get(i).getProjectId(), event.getProject().getId());
+            assertEquals(events.get(i).getAssigneeId(), event.getAssignee().getId());
+            assertNotNull(event.getAssignee().getEmail());
+        }
+    }
+
+}
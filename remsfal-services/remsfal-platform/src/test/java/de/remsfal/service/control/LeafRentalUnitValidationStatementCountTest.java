@@ -0,0 +1,197 @@
+package de.remsfal.service.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.core.json.project.ImmutableRentJson;
+import de.remsfal.core.json.project.ImmutableRentalAgreementJson;
+import de.remsfal.core.json.project.RentJson;
+import de.remsfal.core.json.project.RentalAgreementJson;
+import de.remsfal.core.model.RentalUnitModel.UnitType;
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.control.exception.NonLeafRentalUnitException;
+import de.remsfal.service.entity.dto.RentalAgreementEntity;
+import de.remsfal.test.TestData;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class LeafRentalUnitValidationStatementCountTest extends AbstractServiceTest {
+
+    /** Rents per unit type of the agreement, of properties, buildings, apartments and storages. */
+    private static final int RENTS_PER_TYPE = 10;
+
+    /** One query for the properties and one for the buildings. */
+    private static final long MAX_STATEMENTS = 2;
+
+    @Inject
+    RentalAgreementController rentalAgreementController;
+
+    @Inject
+    PropertyController propertyController;
+
+    private final List<UUID> leafProperties = new ArrayList<>();
+    private final List<UUID> leafBuildings = new ArrayList<>();
+
+    @BeforeEach
+    void setupTestData() {
+        setupTestUsers();
+        setupTestProjects();
+        setupTestProperties();
+        setupTestSites();
+        setupTestBuildings();
+        leafProperties.clear();
+        leafBuildings.clear();
+        runInTransaction(() -> {
+            for (int i = 0; i < RENTS_PER_TYPE; i++) {
+                final UUID propertyId = UUID.randomUUID();
+                entityManager.createNativeQuery("INSERT INTO properties (id, project_id, title) VALUES (?,?,?)")
+                    .setParameter(1, propertyId)
+                    .setParameter(2, TestData.PROJECT_ID)
+                    .setParameter(3, "Leaf property " + i)
+                    .executeUpdate();
+                leafProperties.add(propertyId);
+                final UUID buildingId = UUID.randomUUID();
+                entityManager.createNativeQuery("INSERT INTO buildings (id, project_id, property_id, title) "
+                    + "VALUES (?,?,?,?)")
+                    .setParameter(1, buildingId)
+                    .setParameter(2, TestData.PROJECT_ID)
+                    .setParameter(3, TestData.PROPERTY_ID)
+                    .setParameter(4, "Leaf building " + i)
+                    .executeUpdate();
+                leafBuildings.add(buildingId);
+            }
+        });
+    }
+
+    private static RentJson rent(final UUID unitId, final int month) {
+        return ImmutableRentJson.builder()
+            .rentalUnitId(unitId)
+            .firstPaymentDate(LocalDate.of(2025, 1 + month % 12, 1))
+            .basicRent(500.0f)
+            .build();
+    }
+
+    /**
+     * An agreement with ten rents per type, the property and building rents may contain units with
+     * sub-units instead of leaves.
+     */
+    private RentalAgreementJson getAgreement(final UUID nonLeafProperty, final UUID nonLeafBuilding) {
+        final ImmutableRentalAgreementJson.Builder agreement = ImmutableRentalAgreementJson.builder()
+            .startOfRental(LocalDate.of(2025, 1, 1));
+        for (int i = 0; i < RENTS_PER_TYPE; i++) {
+            agreement.addPropertyRents(rent(i == 0 && nonLeafProperty != null
+                ? nonLeafProperty : leafProperties.get(i), i));
+            agreement.addBuildingRents(rent(i == 0 && nonLeafBuilding != null
+                ? nonLeafBuilding : leafBuildings.get(i), i));
+            agreement.addApartmentRents(rent(i % 2 == 0 ? TestData.APARTMENT_ID_1 : TestData.APARTMENT_ID_2, i));
+            agreement.addStorageRents(rent(i % 2 == 0 ? TestData.STORAGE_ID_1 : TestData.STORAGE_ID_2, i));
+        }
+        return agreement.build();
+    }
+
+    /**
+     * The validation before the batch: up to three exists queries per property and building rent.
+     */
+    private Map<UnitType, List<UUID>> findNonLeafUnitsOneByOne(final RentalAgreementJson agreement) {
+        final Map<UnitType, List<UUID>> nonLeafUnits = new EnumMap<>(UnitType.class);
+        for (RentJson rent : agreement.getPropertyRents()) {
+            final UUID id = rent.getRentalUnitId();
+            if (hasChildren("sites", "property_id", id) || hasChildren("buildings", "property_id", id)) {
+                nonLeafUnits.computeIfAbsent(UnitType.PROPERTY, type -> new ArrayList<>()).add(id);
+            }
+        }
+        for (RentJson rent : agreement.getBuildingRents()) {
+            final UUID id = rent.getRentalUnitId();
+            if (hasChildren("apartments", "building_id", id) || hasChildren("commercials", "building_id", id)
+                || hasChildren("storages", "building_id", id)) {
+                nonLeafUnits.computeIfAbsent(UnitType.BUILDING, type -> new ArrayList<>()).add(id);
+            }
+        }
+        return nonLeafUnits;
+    }
+
+    private boolean hasChildren(final String table, final String parentColumn, final UUID parentId) {
+        return ((Number) entityManager.createNativeQuery("SELECT count(*) FROM " + table
+            + " WHERE project_id = ? AND " + parentColumn + " = ?")
+            .setParameter(1, TestData.PROJECT_ID)
+            .setParameter(2, parentId)
+            .getSingleResult()).longValue() > 0;
+    }
+
+    private static Map<UnitType, Set<UUID>> getUnitIds(final RentalAgreementJson agreement) {
+        final Map<UnitType, Set<UUID>> unitIds = new EnumMap<>(UnitType.class);
+        for (RentJson rent : agreement.getPropertyRents()) {
+            unitIds.computeIfAbsent(UnitType.PROPERTY, type -> new LinkedHashSet<>()).add(rent.getRentalUnitId());
+        }
+        for (RentJson rent : agreement.getBuildingRents()) {
+            unitIds.computeIfAbsent(UnitType.BUILDING, type -> new LinkedHashSet<>()).add(rent.getRentalUnitId());
+        }
+        return unitIds;
+    }
+
+    @Test
+    void findNonLeafRentalUnits_SUCCESS_oneQueryPerTypeInsteadOfPerRent() {
+        final RentalAgreementJson agreement = getAgreement(TestData.PROPERTY_ID, TestData.BUILDING_ID);
+        assertEquals(4 * RENTS_PER_TYPE, agreement.getPropertyRents().size() + agreement.getBuildingRents().size()
+            + agreement.getApartmentRents().size() + agreement.getStorageRents().size());
+
+        Statistics statistics = getStatistics();
+        final Map<UnitType, List<UUID>> before = findNonLeafUnitsOneByOne(agreement);
+        final long statementsBefore = statistics.getPrepareStatementCount();
+
+        statistics = getStatistics();
+        final Map<UnitType, List<UUID>> after =
+            propertyController.findNonLeafRentalUnits(TestData.PROJECT_ID, getUnitIds(agreement));
+        final long statementsAfter = statistics.getPrepareStatementCount();
+
+        logger.infov("Validating an agreement with {0} rents: {1} statements one by one, {2} batched",
+            4 * RENTS_PER_TYPE, statementsBefore, statementsAfter);
+        assertEquals(before, after);
+        assertEquals(Map.of(UnitType.PROPERTY, List.of(TestData.PROPERTY_ID),
+            UnitType.BUILDING, List.of(TestData.BUILDING_ID)), after);
+        assertEquals(MAX_STATEMENTS, statementsAfter);
+        assertTrue(statementsAfter < statementsBefore);
+    }
+
+    @Test
+    void createRentalAgreement_SUCCESS_fortyLeafRents() {
+        final RentalAgreementEntity entity = rentalAgreementController
+            .createRentalAgreement(TestData.PROJECT_ID, getAgreement(null, null));
+
+        assertEquals(RENTS_PER_TYPE, entity.getPropertyRents().size());
+        assertEquals(RENTS_PER_TYPE, entity.getBuildingRents().size());
+        assertEquals(RENTS_PER_TYPE, entity.getApartmentRents().size());
+        assertEquals(RENTS_PER_TYPE, entity.getStorageRents().size());
+    }
+
+    @Test
+    void createRentalAgreement_FAILED_allNonLeafUnitsReportedAtOnce() {
+        final RentalAgreementJson agreement = getAgreement(TestData.PROPERTY_ID, TestData.BUILDING_ID);
+
+        final Statistics statistics = getStatistics();
+        final NonLeafRentalUnitException exception = assertThrows(NonLeafRentalUnitException.class,
+            () -> rentalAgreementController.createRentalAgreement(TestData.PROJECT_ID, agreement));
+        final long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(Map.of(UnitType.PROPERTY, List.of(TestData.PROPERTY_ID),
+            UnitType.BUILDING, List.of(TestData.BUILDING_ID)), exception.getRentalUnits());
+        // the project lookup and the validation, nothing is written
+        assertTrue(statements <= 1 + MAX_STATEMENTS);
+    }
+
+}
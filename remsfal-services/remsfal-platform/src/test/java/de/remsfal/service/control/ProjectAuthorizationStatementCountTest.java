@@ -0,0 +1,159 @@
+package de.remsfal.service.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.core.model.OrganizationEmployeeModel.EmployeeRole;
+import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.dao.OrganizationRepository;
+import de.remsfal.service.entity.dao.ProjectOrganizationRepository;
+import de.remsfal.service.entity.dao.ProjectRepository;
+import de.remsfal.service.entity.dto.OrganizationEmployeeEntity;
+import de.remsfal.service.entity.dto.ProjectMembershipEntity;
+import de.remsfal.service.entity.dto.ProjectOrganizationEntity;
+import de.remsfal.test.TestData;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class ProjectAuthorizationStatementCountTest extends AbstractServiceTest {
+
+    private static final int ORGANIZATIONS = 50;
+    private static final int PROJECTS = 2_000;
+
+    @Inject
+    AuthorizationController authorizationController;
+
+    @Inject
+    ProjectRepository projectRepository;
+
+    @Inject
+    ProjectOrganizationRepository projectOrganizationRepository;
+
+    @Inject
+    OrganizationRepository organizationRepository;
+
+    @BeforeEach
+    void setupTestData() {
+        setupTestUsers();
+        final List<UUID> organizationIds = new ArrayList<>();
+        final MemberRole[] memberRoles = MemberRole.values();
+        final EmployeeRole[] employeeRoles = EmployeeRole.values();
+        runInTransaction(() -> {
+            for (int i = 0; i <= ORGANIZATIONS; i++) {
+                final UUID organizationId = UUID.randomUUID();
+                organizationIds.add(organizationId);
+                entityManager.createNativeQuery("INSERT INTO organizations (id, name) VALUES (?,?)")
+                    .setParameter(1, organizationId)
+                    .setParameter(2, "Organization " + i)
+                    .executeUpdate();
+                // the last organization has projects, but the user is not employed there
+                if (i < ORGANIZATIONS) {
+                    entityManager.createNativeQuery("INSERT INTO organization_employees "
+                        + "(organization_id, employee_id, employee_role) VALUES (?,?,?)")
+                        .setParameter(1, organizationId)
+                        .setParameter(2, TestData.USER_ID_1)
+                        .setParameter(3, employeeRoles[i % employeeRoles.length].name())
+                        .executeUpdate();
+                }
+            }
+            for (int p = 0; p < PROJECTS; p++) {
+                final UUID projectId = UUID.randomUUID();
+                entityManager.createNativeQuery("INSERT INTO projects (id, title) VALUES (?,?)")
+                    .setParameter(1, projectId)
+                    .setParameter(2, "Project " + p)
+                    .executeUpdate();
+                insertOrganizationRole(projectId, organizationIds.get(p % ORGANIZATIONS),
+                    memberRoles[p % memberRoles.length]);
+                if (p % 4 == 0) {
+                    insertOrganizationRole(projectId, organizationIds.get((p + 1) % ORGANIZATIONS),
+                        memberRoles[(p + 2) % memberRoles.length]);
+                }
+                if (p % 7 == 0) {
+                    insertOrganizationRole(projectId, organizationIds.get(ORGANIZATIONS), MemberRole.PROPRIETOR);
+                }
+                if (p % 10 == 0) {
+                    entityManager.createNativeQuery("INSERT INTO project_memberships "
+                        + "(project_id, user_id, member_role) VALUES (?,?,?)")
+                        .setParameter(1, projectId)
+                        .setParameter(2, TestData.USER_ID_1)
+                        .setParameter(3, memberRoles[(p + 3) % memberRoles.length].name())
+                        .executeUpdate();
+                }
+            }
+        });
+    }
+
+    private void insertOrganizationRole(final UUID projectId, final UUID organizationId, final MemberRole role) {
+        entityManager.createNativeQuery("INSERT INTO project_organizations "
+            + "(project_id, organization_id, organization_role) VALUES (?,?,?)")
+            .setParameter(1, projectId)
+            .setParameter(2, organizationId)
+            .setParameter(3, role.name())
+            .executeUpdate();
+    }
+
+    /**
+     * The resolution before the single query: memberships, organization assignments and employments are
+     * loaded on their own and merged in memory.
+     */
+    private Map<String, String> getProjectAuthorizationInMemory(final UUID userId) {
+        final Map<UUID, MemberRole> projectRoles = new HashMap<>();
+        for (ProjectMembershipEntity membership : projectRepository.findMembershipByUserId(userId, 0,
+            Integer.MAX_VALUE)) {
+            projectRoles.put(membership.getProject().getId(), membership.getRole());
+        }
+        final Map<UUID, EmployeeRole> organizationRoles = organizationRepository
+            .findOrganizationEmployeesByUserId(userId).stream()
+            .collect(Collectors.toMap(e -> e.getOrganization().getId(), OrganizationEmployeeEntity::getRole));
+        for (ProjectOrganizationEntity organizationProject : projectOrganizationRepository.findByUserId(userId)) {
+            final EmployeeRole employeeRole = organizationRoles.get(organizationProject.getOrganization().getId());
+            if (employeeRole != null) {
+                projectRoles.merge(organizationProject.getProject().getId(),
+                    authorizationController.calculateProjectRole(employeeRole, organizationProject.getRole()),
+                    (existing, derived) -> existing.getLeadershipLevel() <= derived.getLeadershipLevel()
+                        ? existing : derived);
+            }
+        }
+        return projectRoles.entrySet().stream()
+            .collect(Collectors.toMap(e -> e.getKey().toString(), e -> e.getValue().name()));
+    }
+
+    @Test
+    void getProjectAuthorization_SUCCESS_sameRolesAsInMemoryMerge() {
+        final Map<String, String> expected = getProjectAuthorizationInMemory(TestData.USER_ID_1);
+        final Map<String, String> actual = authorizationController.getProjectAuthorization(TestData.USER_ID_1);
+
+        assertEquals(PROJECTS, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getProjectAuthorization_SUCCESS_singleStatementInsteadOfOnePerSource() {
+        Statistics statistics = getStatistics();
+        getProjectAuthorizationInMemory(TestData.USER_ID_1);
+        final long inMemory = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics = getStatistics();
+        final Map<String, String> roles = authorizationController.getProjectAuthorization(TestData.USER_ID_1);
+        final long singleQuery = statistics.getPrepareStatementCount();
+
+        assertEquals(PROJECTS, roles.size());
+        assertTrue(inMemory >= 3);
+        assertEquals(1, singleQuery);
+    }
+
+}
@@ -0,0 +1,132 @@
+package de.remsfal.service.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.core.json.project.ProjectItemJson;
+import de.remsfal.core.json.project.ProjectListJson;
+import de.remsfal.core.model.UserModel;
+import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
+import de.remsfal.core.model.project.ProjectModel;
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.dao.ProjectRepository.ProjectItem;
+import de.remsfal.service.entity.dao.ProjectRepository.ProjectItemPage;
+import de.remsfal.service.entity.dto.UserEntity;
+import de.remsfal.test.TestData;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class ProjectListingStatementCountTest extends AbstractServiceTest {
+
+    private static final int PROJECTS = 500;
+    private static final int LIMIT = 100;
+
+    @Inject
+    ProjectController projectController;
+
+    private UserModel user;
+
+    @BeforeEach
+    void setupTestData() {
+        setupTestUsers();
+        final UUID[] members = { TestData.USER_ID_2, TestData.USER_ID_3, TestData.USER_ID_4 };
+        final MemberRole[] roles = MemberRole.values();
+        runInTransaction(() -> {
+            for (int p = 0; p < PROJECTS; p++) {
+                final UUID projectId = UUID.randomUUID();
+                entityManager.createNativeQuery("INSERT INTO projects (id, title) VALUES (?,?)")
+                    .setParameter(1, projectId)
+                    .setParameter(2, String.format("Project %03d", p))
+                    .executeUpdate();
+                insertMembership(projectId, TestData.USER_ID_1, roles[p % roles.length]);
+                for (UUID member : members) {
+                    insertMembership(projectId, member, MemberRole.STAFF);
+                }
+            }
+        });
+        user = entityManager.find(UserEntity.class, TestData.USER_ID_1);
+        entityManager.clear();
+    }
+
+    private void insertMembership(final UUID projectId, final UUID userId, final MemberRole role) {
+        entityManager.createNativeQuery("INSERT INTO project_memberships "
+            + "(project_id, user_id, member_role) VALUES (?,?,?)")
+            .setParameter(1, projectId)
+            .setParameter(2, userId)
+            .setParameter(3, role.name())
+            .executeUpdate();
+    }
+
+    /**
+     * The listing before the projection: membership entities with their eagerly fetched project graph
+     * and a separate count.
+     */
+    private ProjectListJson getProjectsByEntities(final int offset) {
+        final List<ProjectModel> projects = projectController.getProjects(user, offset, LIMIT);
+        return ProjectListJson.valueOf(projects, offset, projectController.countProjects(user), user);
+    }
+
+    private ProjectListJson getProjectsByProjection(final int offset) {
+        final ProjectItemPage page = projectController.getProjectItems(user, offset, LIMIT);
+        return ProjectListJson.valueOf(page.items().stream()
+            .map(item -> ProjectItemJson.valueOf(item.id(), item.title(), item.role()))
+            .toList(), offset, page.total());
+    }
+
+    @Test
+    void getProjectItems_SUCCESS_singleStatementInsteadOfEntityGraph() {
+        Statistics statistics = getStatistics();
+        final ProjectListJson before = getProjectsByEntities(0);
+        final long statementsBefore = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics = getStatistics();
+        final ProjectListJson after = getProjectsByProjection(0);
+        final long statementsAfter = statistics.getPrepareStatementCount();
+
+        logger.infov("Listing {0} of {1} projects: {2} statements with entities, {3} with the projection",
+            LIMIT, PROJECTS, statementsBefore, statementsAfter);
+        assertEquals(before.getTotal(), after.getTotal());
+        assertEquals(LIMIT, after.getSize());
+        assertEquals(1, statementsAfter);
+        assertTrue(statementsAfter < statementsBefore);
+    }
+
+    @Test
+    void getProjectItems_SUCCESS_sameProjectsAsEntities() {
+        final Set<ProjectItemJson> before = getProjectsByEntities(0).getProjects().stream()
+            .collect(Collectors.toSet());
+        final ProjectItemPage all = projectController.getProjectItems(user, 0, PROJECTS);
+
+        assertEquals(PROJECTS, all.total());
+        assertEquals(PROJECTS, all.items().size());
+        assertEquals(LIMIT, before.size());
+        assertTrue(all.items().stream()
+            .map(item -> ProjectItemJson.valueOf(item.id(), item.title(), item.role()))
+            .collect(Collectors.toSet())
+            .containsAll(before));
+        assertEquals(List.of("Project 000", "Project 001"), all.items().stream()
+            .limit(2)
+            .map(ProjectItem::title)
+            .toList());
+    }
+
+    @Test
+    void getProjectItems_SUCCESS_totalBehindLastPage() {
+        final ProjectItemPage page = projectController.getProjectItems(user, PROJECTS, LIMIT);
+
+        assertTrue(page.items().isEmpty());
+        assertEquals(PROJECTS, page.total());
+    }
+
+}
@@ -8,6 +8,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -16,11 +17,14 @@ import jakarta.persistence.NoResultException;
 import jakarta.ws.rs.NotFoundException;
 
 import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import de.remsfal.core.model.project.PropertyModel;
 import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.cache.PropertyTreeCache;
 import de.remsfal.service.entity.dto.PropertyEntity;
 import de.remsfal.test.TestData;
 
@@ -30,6 +34,9 @@ import java.util.UUID;
 @QuarkusTest
 class PropertyControllerTest extends AbstractServiceTest {
 
+    @Inject
+    Logger logger;
+
     @Inject
     PropertyController propertyController;
 
@@ -159,6 +166,77 @@ class PropertyControllerTest extends AbstractServiceTest {
         assertProperty(property2, createdProperty2);
     }
 
+    @Test
+    void getPropertyTree_SUCCESS_largeTreeAssembledAndCached() {
+        // 10 properties with 10 buildings each, every building with 16 apartments, commercials and storages
+        runInTransaction(() -> {
+            for (int p = 0; p < 10; p++) {
+                final UUID propertyId = UUID.randomUUID();
+                entityManager.createNativeQuery("INSERT INTO properties (id, project_id, title) VALUES (?,?,?)")
+                    .setParameter(1, propertyId)
+                    .setParameter(2, TestData.PROJECT_ID)
+                    .setParameter(3, "Property " + p)
+                    .executeUpdate();
+                entityManager.createNativeQuery("INSERT INTO sites (id, project_id, property_id, title) "
+                        + "VALUES (?,?,?,?)")
+                    .setParameter(1, UUID.randomUUID())
+                    .setParameter(2, TestData.PROJECT_ID)
+                    .setParameter(3, propertyId)
+                    .setParameter(4, "Site " + p)
+                    .executeUpdate();
+                for (int b = 0; b < 10; b++) {
+                    final UUID buildingId = UUID.randomUUID();
+                    entityManager.createNativeQuery("INSERT INTO buildings (id, project_id, property_id, title) "
+                            + "VALUES (?,?,?,?)")
+                        .setParameter(1, buildingId)
+                        .setParameter(2, TestData.PROJECT_ID)
+                        .setParameter(3, propertyId)
+                        .setParameter(4, "Building " + b)
+                        .executeUpdate();
+                    for (String table : List.of("apartments", "commercials", "storages")) {
+                        entityManager.createNativeQuery("INSERT INTO " + table
+                                + " (id, project_id, building_id, title, usable_space) "
+                                + "SELECT gen_random_uuid(), ?, ?, 'Unit ' || n, 10 FROM generate_series(1, 16) n")
+                            .setParameter(1, TestData.PROJECT_ID)
+                            .setParameter(2, buildingId)
+                            .executeUpdate();
+                    }
+                }
+            }
+        });
+        propertyTreeCache.clear();
+
+        Statistics statistics = getStatistics();
+        final PropertyTreeCache.Tree cold = propertyController.getTaggedPropertyTree(TestData.PROJECT_ID);
+        final long coldStatements = statistics.getPrepareStatementCount();
+        statistics = getStatistics();
+        final PropertyTreeCache.Tree warm = propertyController.getTaggedPropertyTree(TestData.PROJECT_ID);
+        final long warmStatements = statistics.getPrepareStatementCount();
+        logger.infov("Assembled tree with 4,920 rental units with {0} statements, served it from cache with {1}",
+            coldStatements, warmStatements);
+
+        // properties, sites, buildings, apartments, commercials and storages
+        assertEquals(6, coldStatements);
+        assertEquals(0, warmStatements);
+
+        assertEquals(10, cold.nodes().size());
+        final RentalUnitTreeNodeJson property = cold.nodes().get(0);
+        assertEquals(11, property.getChildren().size());
+        assertEquals(UnitType.BUILDING, property.getChildren().get(0).getData().getType());
+        assertEquals(UnitType.SITE, property.getChildren().get(10).getData().getType());
+        final RentalUnitTreeNodeJson building = property.getChildren().get(0);
+        assertEquals(48, building.getChildren().size());
+        assertEquals(UnitType.APARTMENT, building.getChildren().get(0).getData().getType());
+        assertEquals(UnitType.COMMERCIAL, building.getChildren().get(16).getData().getType());
+        assertEquals(UnitType.STORAGE, building.getChildren().get(32).getData().getType());
+        assertSame(cold, warm);
+
+        propertyController.createProperty(TestData.PROJECT_ID, TestData.propertyBuilder().build());
+        final PropertyTreeCache.Tree changed = propertyController.getTaggedPropertyTree(TestData.PROJECT_ID);
+        assertEquals(11, changed.nodes().size());
+        assertNotEquals(cold.tag(), changed.tag());
+    }
+
     private void assertProperty(PropertyModel expectedProperty, PropertyModel actualProperty) {
         assertEquals(expectedProperty.getTitle(), actualProperty.getTitle());
         assertEquals(expectedProperty.getLandRegistry(), actualProperty.getLandRegistry());
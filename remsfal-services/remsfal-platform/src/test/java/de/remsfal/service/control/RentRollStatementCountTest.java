@@ -0,0 +1,118 @@
+package de.remsfal.service.control;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.control.RentRoll.Line;
+import de.remsfal.test.TestData;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * The rent roll of a project with ten successive agreements per apartment, every other one paid weekly.
+ * {@link RentRollThroughputTest} runs the same checks on 50,000 agreements.
+ */
+@QuarkusTest
+class RentRollStatementCountTest extends AbstractServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Inject
+    RentalAgreementController rentalAgreementController;
+
+    int getAgreements() {
+        return 500;
+    }
+
+    int getApartments() {
+        return 50;
+    }
+
+    @BeforeEach
+    void setupTestData() {
+        final int agreements = getAgreements();
+        final int apartments = getApartments();
+        setupTestUsers();
+        setupTestProjects();
+        setupTestProperties();
+        setupTestBuildings();
+        runInTransaction(() -> {
+            entityManager.createNativeQuery("INSERT INTO apartments (id, project_id, building_id, title) "
+                + "SELECT gen_random_uuid(), :projectId, CASE WHEN a % 2 = 0 THEN :building1 ELSE :building2 END, "
+                + "'Apartment ' || a FROM generate_series(0, " + (apartments - 1) + ") a")
+                .setParameter("projectId", TestData.PROJECT_ID)
+                .setParameter("building1", TestData.BUILDING_ID_1)
+                .setParameter("building2", TestData.BUILDING_ID_2)
+                .executeUpdate();
+            entityManager.createNativeQuery("INSERT INTO rental_agreements (id, project_id, start_of_rental) "
+                + "SELECT CAST(md5('agreement ' || i) AS uuid), :projectId, DATE '2014-01-01' "
+                + "FROM generate_series(0, " + (agreements - 1) + ") i")
+                .setParameter("projectId", TestData.PROJECT_ID)
+                .executeUpdate();
+            // ten successive agreements per apartment, every other one paid weekly
+            entityManager.createNativeQuery("INSERT INTO apartment_rents "
+                + "(agreement_id, apartment_id, first_payment, billing_cycle, basic_rent) "
+                + "SELECT CAST(md5('agreement ' || i) AS uuid), u.id, "
+                + "make_date(2014 + i / " + apartments + ", 1 + i % 12, 1 + i % 28), "
+                + "CASE WHEN i % 2 = 0 THEN 'WEEKLY' ELSE 'MONTHLY' END, 100 + i % 900 "
+                + "FROM generate_series(0, " + (agreements - 1) + ") i "
+                + "JOIN apartments u ON u.project_id = :projectId AND u.title = 'Apartment ' || (i % "
+                + apartments + ")")
+                .setParameter("projectId", TestData.PROJECT_ID)
+                .executeUpdate();
+            entityManager.createNativeQuery("ANALYZE apartment_rents").executeUpdate();
+        });
+    }
+
+    /**
+     * The income of January computed by the database, with the number of Mondays, Tuesdays etc. in January
+     * after the first payment of each weekly rent.
+     */
+    private long getJanuaryTotal() {
+        return ((Number) entityManager.createNativeQuery("SELECT sum(round(100 * r.basic_rent) * CASE "
+            + "WHEN r.billing_cycle = 'WEEKLY' THEN (DATE '2024-01-31' - r.first_payment) / 7 "
+            + "- (DATE '2024-01-01' - r.first_payment + 6) / 7 + 1 ELSE 1 END) FROM apartment_rents r")
+            .getSingleResult()).longValue();
+    }
+
+    @Test
+    void getRentRoll_SUCCESS_singleQueryForAllAgreements() {
+        rentalAgreementController.getRentRoll(TestData.PROJECT_ID, FROM, TO);
+
+        final Statistics statistics = getStatistics();
+        final RentRoll rentRoll = rentalAgreementController.getRentRoll(TestData.PROJECT_ID, FROM, TO);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(getApartments(), rentRoll.getUnits().size());
+        assertEquals(2, rentRoll.getBuildings().size());
+        assertEquals(1, rentRoll.getProperties().size());
+        assertEquals(getJanuaryTotal(), rentRoll.getTotals()[0]);
+    }
+
+    @Test
+    void getRentRoll_SUCCESS_levelsAddUpToTotals() {
+        final RentRoll rentRoll = rentalAgreementController.getRentRoll(TestData.PROJECT_ID, FROM, TO);
+
+        final long[] units = new long[rentRoll.getMonths().size()];
+        for (Line unit : rentRoll.getUnits()) {
+            Arrays.setAll(units, month -> units[month] + unit.amounts()[month]);
+        }
+        final long[] buildings = new long[rentRoll.getMonths().size()];
+        for (Line building : rentRoll.getBuildings()) {
+            Arrays.setAll(buildings, month -> buildings[month] + building.amounts()[month]);
+        }
+        assertArrayEquals(rentRoll.getTotals(), units);
+        assertArrayEquals(rentRoll.getTotals(), buildings);
+        assertArrayEquals(rentRoll.getTotals(), rentRoll.getProperties().get(0).amounts());
+    }
+
+}
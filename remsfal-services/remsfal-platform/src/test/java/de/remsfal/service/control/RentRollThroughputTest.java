@@ -0,0 +1,45 @@
+package de.remsfal.service.control;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.test.TestData;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Response time of the rent roll of 50,000 agreements of 5,000 apartments. The timing depends on the
+ * machine, so it is only logged and the test runs with the {@code benchmark} profile:
+ * {@code mvn test -Pbenchmark -pl remsfal-services/remsfal-platform}.
+ */
+@Tag("benchmark")
+@QuarkusTest
+class RentRollThroughputTest extends RentRollStatementCountTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Override
+    int getAgreements() {
+        return 50_000;
+    }
+
+    @Override
+    int getApartments() {
+        return 5_000;
+    }
+
+    @Test
+    void getRentRoll_SUCCESS_responseTime() {
+        rentalAgreementController.getRentRoll(TestData.PROJECT_ID, FROM, TO);
+
+        final long start = System.nanoTime();
+        final RentRoll rentRoll = rentalAgreementController.getRentRoll(TestData.PROJECT_ID, FROM, TO);
+        final long duration = (System.nanoTime() - start) / 1_000_000;
+
+        logger.infov("Rent roll of {0} agreements over {1} months: {2} ms",
+            getAgreements(), rentRoll.getMonths().size(), duration);
+    }
+
+}
@@ -10,11 +10,13 @@ import de.remsfal.core.json.project.RentalAgreementKeysJson;
 import de.remsfal.core.json.project.ImmutableRentalAgreementKeysJson;
 import de.remsfal.core.model.RentalUnitModel.UnitType;
 import de.remsfal.core.model.project.RentModel;
+import de.remsfal.service.control.RentRoll.Line;
 import de.remsfal.service.entity.dto.RentalAgreementEntity;
 import de.remsfal.service.entity.dto.TenantEntity;
 import io.quarkus.test.junit.QuarkusTest;
 
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -1860,4 +1862,91 @@ class RentalAgreementControllerTest extends AbstractServiceTest {
         assertThrows(NotFoundException.class,
             () -> controller.removeTenant(projectId, agreementId, tenantId));
     }
+
+    private void insertRent(final String table, final String unitColumn, final UUID unitId,
+            final LocalDate firstPayment, final String billingCycle, final double basicRent,
+            final LocalDate lastPayment) {
+        runInTransaction(() -> entityManager.createNativeQuery("INSERT INTO " + table + " (agreement_id, "
+                + unitColumn + ", first_payment, billing_cycle, basic_rent, last_payment) "
+                + "VALUES (?,?,?,?,?,CAST(? AS date))")
+            .setParameter(1, TestData.AGREEMENT_ID)
+            .setParameter(2, unitId)
+            .setParameter(3, firstPayment)
+            .setParameter(4, billingCycle)
+            .setParameter(5, basicRent)
+            .setParameter(6, lastPayment != null ? lastPayment.toString() : null)
+            .executeUpdate());
+    }
+
+    @Test
+    void getRentRoll_SUCCESS_paymentsSummedUpByMonth() {
+        insertRentalAgreement(TestData.AGREEMENT_ID, TestData.PROJECT_ID);
+        // paid on the last day of February
+        insertApartmentRent(TestData.APARTMENT_ID, TestData.AGREEMENT_ID, LocalDate.parse("2025-01-31"),
+            "MONTHLY", 500.00, 100.00, 50.00);
+        // paid on 4 Mondays in January and February and on 5 Mondays in March
+        insertRent("storage_rents", "storage_id", TestData.STORAGE_ID, LocalDate.parse("2025-01-06"),
+            "WEEKLY", 10.00, null);
+        // paid on 15 December and 15 January only
+        insertRent("site_rents", "site_id", TestData.SITE_ID, LocalDate.parse("2024-12-15"),
+            "MONTHLY", 100.00, LocalDate.parse("2025-02-14"));
+
+        final RentRoll rentRoll = controller.getRentRoll(TestData.PROJECT_ID,
+            LocalDate.parse("2025-01-01"), LocalDate.parse("2025-03-31"));
+
+        assertEquals(3, rentRoll.getMonths().size());
+        assertArrayEquals(new long[] { 79000, 69000, 70000 }, rentRoll.getTotals());
+        assertEquals(1, rentRoll.getProperties().size());
+        assertEquals(TestData.PROPERTY_ID, rentRoll.getProperties().get(0).id());
+        assertArrayEquals(rentRoll.getTotals(), rentRoll.getProperties().get(0).amounts());
+        assertEquals(1, rentRoll.getBuildings().size());
+        assertEquals(TestData.PROPERTY_ID, rentRoll.getBuildings().get(0).parentId());
+        assertArrayEquals(new long[] { 69000, 69000, 70000 }, rentRoll.getBuildings().get(0).amounts());
+
+        final List<Line> units = rentRoll.getUnits();
+        assertEquals(3, units.size());
+        final Line site = units.stream().filter(unit -> unit.type() == UnitType.SITE).findFirst().orElseThrow();
+        assertEquals(TestData.PROPERTY_ID, site.parentId());
+        assertArrayEquals(new long[] { 10000, 0, 0 }, site.amounts());
+        final Line storage = units.stream().filter(unit -> unit.type() == UnitType.STORAGE).findFirst()
+            .orElseThrow();
+        assertEquals(TestData.BUILDING_ID, storage.parentId());
+        assertArrayEquals(new long[] { 4000, 4000, 5000 }, storage.amounts());
+    }
+
+    @Test
+    void getRentRoll_SUCCESS_periodWithinMonth() {
+        insertRentalAgreement(TestData.AGREEMENT_ID, TestData.PROJECT_ID);
+        insertApartmentRent(TestData.APARTMENT_ID, TestData.AGREEMENT_ID, LocalDate.parse("2025-01-10"),
+            "MONTHLY", 500.00, 0.00, 0.00);
+        insertRent("storage_rents", "storage_id", TestData.STORAGE_ID, LocalDate.parse("2025-01-06"),
+            "WEEKLY", 10.00, null);
+
+        final RentRoll rentRoll = controller.getRentRoll(TestData.PROJECT_ID,
+            LocalDate.parse("2025-02-11"), LocalDate.parse("2025-02-24"));
+
+        assertEquals(1, rentRoll.getMonths().size());
+        // no monthly payment on 10 February, weekly payments on 17 and 24 February
+        assertArrayEquals(new long[] { 2000 }, rentRoll.getTotals());
+    }
+
+    @Test
+    void getRentRoll_SUCCESS_noRents() {
+        final RentRoll rentRoll = controller.getRentRoll(TestData.PROJECT_ID,
+            LocalDate.parse("2025-01-01"), LocalDate.parse("2025-12-31"));
+
+        assertEquals(12, rentRoll.getMonths().size());
+        assertArrayEquals(new long[12], rentRoll.getTotals());
+        assertTrue(rentRoll.getUnits().isEmpty());
+    }
+
+    @Test
+    void getRentRoll_FAILED_invalidPeriod() {
+        final LocalDate from = LocalDate.parse("2025-01-01");
+
+        assertThrows(BadRequestException.class,
+            () -> controller.getRentRoll(TestData.PROJECT_ID, from, from.minusDays(1)));
+        assertThrows(BadRequestException.class, () -> controller.getRentRoll(TestData.PROJECT_ID, from,
+            from.plusMonths(RentalAgreementController.MAX_RENT_ROLL_MONTHS)));
+    }
 }
@@ -0,0 +1,112 @@
+package de.remsfal.service.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.core.json.project.RentalAgreementListJson;
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.dto.RentalAgreementEntity;
+import de.remsfal.test.TestData;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class RentalAgreementStatementCountTest extends AbstractServiceTest {
+
+    private static final int AGREEMENTS = 1_000;
+
+    /** The agreements with tenants, users and addresses, plus one subselect per rent collection. */
+    private static final long MAX_STATEMENTS = 1 + 6;
+
+    @Inject
+    RentalAgreementController rentalAgreementController;
+
+    @BeforeEach
+    void setupTestData() {
+        setupAllTestData();
+        final UUID[] users = { TestData.USER_ID_3, TestData.USER_ID_4, null };
+        runInTransaction(() -> {
+            for (int i = 0; i < AGREEMENTS; i++) {
+                final UUID agreementId = UUID.randomUUID();
+                final LocalDate start = LocalDate.of(2020, 1, 1).plusDays(i);
+                entityManager.createNativeQuery("INSERT INTO rental_agreements "
+                    + "(id, project_id, start_of_rental) VALUES (?,?,?)")
+                    .setParameter(1, agreementId)
+                    .setParameter(2, TestData.PROJECT_ID)
+                    .setParameter(3, start)
+                    .executeUpdate();
+                for (int t = 0; t < 1 + i % 2; t++) {
+                    final UUID tenantId = UUID.randomUUID();
+                    entityManager.createNativeQuery("INSERT INTO tenants "
+                        + "(id, project_id, user_id, first_name, last_name) VALUES (?,?,?,?,?)")
+                        .setParameter(1, tenantId)
+                        .setParameter(2, TestData.PROJECT_ID)
+                        .setParameter(3, users[(i + t) % users.length])
+                        .setParameter(4, "Tenant")
+                        .setParameter(5, "No. " + i + "/" + t)
+                        .executeUpdate();
+                    entityManager.createNativeQuery("INSERT INTO rental_agreement_tenants "
+                        + "(rental_agreement_id, tenant_id) VALUES (?,?)")
+                        .setParameter(1, agreementId)
+                        .setParameter(2, tenantId)
+                        .executeUpdate();
+                }
+                insertRent("apartment_rents", "apartment_id", agreementId, TestData.APARTMENT_ID_1, start);
+                if (i % 3 == 0) {
+                    insertRent("storage_rents", "storage_id", agreementId, TestData.STORAGE_ID_1, start);
+                }
+            }
+        });
+    }
+
+    private void insertRent(final String table, final String unitColumn, final UUID agreementId,
+            final UUID unitId, final LocalDate firstPayment) {
+        entityManager.createNativeQuery("INSERT INTO " + table + " (agreement_id, " + unitColumn
+            + ", first_payment, basic_rent) VALUES (?,?,?,?)")
+            .setParameter(1, agreementId)
+            .setParameter(2, unitId)
+            .setParameter(3, firstPayment)
+            .setParameter(4, 500f)
+            .executeUpdate();
+    }
+
+    @Test
+    void getRentalAgreementsByProject_SUCCESS_statementCountIsIndependentOfAgreements() {
+        final Statistics statistics = getStatistics();
+
+        final List<RentalAgreementEntity> agreements =
+            rentalAgreementController.getRentalAgreementsByProject(TestData.PROJECT_ID, null, null);
+        final RentalAgreementListJson json = RentalAgreementListJson.valueOf(agreements, Map.of());
+
+        final long statements = statistics.getPrepareStatementCount();
+        logger.infov("Listing {0} rental agreements took {1} statements", AGREEMENTS, statements);
+        assertEquals(AGREEMENTS, json.getRentalAgreements().size());
+        assertEquals(AGREEMENTS + AGREEMENTS / 2, json.getRentalAgreements().stream()
+            .mapToInt(agreement -> agreement.getTenants().size())
+            .sum());
+        assertTrue(statements <= MAX_STATEMENTS, "Statements: " + statements);
+    }
+
+    @Test
+    void getRentalAgreementsByProject_SUCCESS_tenantsAreFetchedWithTheAgreements() {
+        final Statistics statistics = getStatistics();
+
+        final List<RentalAgreementEntity> agreements =
+            rentalAgreementController.getRentalAgreementsByProject(TestData.PROJECT_ID, null, null);
+        agreements.forEach(agreement -> agreement.getTenants().forEach(tenant -> tenant.getAddress()));
+
+        assertEquals(AGREEMENTS, agreements.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+}
@@ -1,7 +1,9 @@
 package de.remsfal.service.entity;
 
 import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.dao.KeysetPage;
 import de.remsfal.service.entity.dao.OrganizationRepository;
+import de.remsfal.service.entity.dao.OrganizationRepository.OrganizationSearchPage;
 import de.remsfal.service.entity.dto.OrganizationEntity;
 import de.remsfal.test.TestData;
 import io.quarkus.test.junit.QuarkusTest;
@@ -64,6 +66,26 @@ class OrganizationRepositoryTest extends AbstractServiceTest {
         assertEquals(1, page1.size());
     }
 
+    @Test
+    void searchByNameAfter_SUCCESS_continuesAfterOffsetPage() {
+        List<OrganizationEntity> page0 = repository.searchByName(TestData.ORGANIZATION_NAME, 0, 2);
+        String cursor = KeysetPage.of(page0, 2, OrganizationEntity::getName, OrganizationEntity::getId)
+            .nextCursor();
+        assertNotNull(cursor);
+
+        KeysetPage<OrganizationEntity> page1 = repository.searchByNameAfter(TestData.ORGANIZATION_NAME, cursor, 2);
+        assertEquals(1, page1.items().size());
+        assertEquals(repository.searchByName(TestData.ORGANIZATION_NAME, 2, 2).get(0).getId(),
+            page1.items().get(0).getId());
+        assertNull(page1.nextCursor());
+    }
+
+    @Test
+    void searchByNameAfter_FAILED_invalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.searchByNameAfter(TestData.ORGANIZATION_NAME, "no-cursor", 10));
+    }
+
     @Test
     void countByName_SUCCESS_matchesSearch() {
         long count = repository.countByName(TestData.ORGANIZATION_NAME.substring(0, 4));
@@ -82,6 +104,51 @@ class OrganizationRepositoryTest extends AbstractServiceTest {
         assertEquals(3, count);
     }
 
+    @Test
+    void searchRankedByName_SUCCESS_exactMatchFirst() {
+        OrganizationSearchPage page = repository.searchRankedByName(TestData.ORGANIZATION_NAME, null, 10);
+        assertEquals(3, page.total());
+        assertEquals(3, page.organizations().size());
+        assertEquals(TestData.ORGANIZATION_ID, page.organizations().get(0).getId());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void searchRankedByName_SUCCESS_cursorContinuesAfterLastOrganization() {
+        OrganizationSearchPage first = repository.searchRankedByName(TestData.ORGANIZATION_NAME, null, 2);
+        assertEquals(3, first.total());
+        assertEquals(2, first.organizations().size());
+        assertNotNull(first.nextCursor());
+
+        OrganizationSearchPage second = repository.searchRankedByName(TestData.ORGANIZATION_NAME,
+            first.nextCursor(), 2);
+        assertEquals(3, second.total());
+        assertEquals(1, second.organizations().size());
+        assertNull(second.nextCursor());
+        assertTrue(first.organizations().stream()
+            .noneMatch(o -> o.getId().equals(second.organizations().get(0).getId())));
+    }
+
+    @Test
+    void searchRankedByName_SUCCESS_similarName() {
+        OrganizationSearchPage page = repository.searchRankedByName(TestData.ORGANIZATION_NAME + "s", null, 10);
+        assertFalse(page.organizations().isEmpty());
+        assertEquals(TestData.ORGANIZATION_ID, page.organizations().get(0).getId());
+    }
+
+    @Test
+    void searchRankedByName_SUCCESS_noMatch() {
+        OrganizationSearchPage page = repository.searchRankedByName("xyzzy_no_match_org_9999", null, 10);
+        assertTrue(page.organizations().isEmpty());
+        assertEquals(0, page.total());
+    }
+
+    @Test
+    void searchRankedByName_FAILED_invalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.searchRankedByName(TestData.ORGANIZATION_NAME, "no-cursor", 10));
+    }
+
     @Test
     void findContractorOrganizationsByUser_SUCCESS_emptyWhenNoContractors() {
         List<OrganizationEntity> result = repository.findContractorOrganizationsByUser(
@@ -103,6 +170,28 @@ class OrganizationRepositoryTest extends AbstractServiceTest {
         assertEquals(TestData.ORGANIZATION_ID, result.get(0).getId());
     }
 
+    @Test
+    void findContractorOrganizationsByUserAfter_SUCCESS_lastPageHasNoCursor() {
+        insertProject(PROJECT_ID, "Test Project");
+        insertProjectMember(PROJECT_ID, TestData.USER_ID, "MANAGER");
+        insertContractor(CONTRACTOR_ID_1, PROJECT_ID, "Contractor A", TestData.ORGANIZATION_ID);
+        insertContractor(UUID.randomUUID(), PROJECT_ID, "Contractor B", TestData.ORGANIZATION_ID_2);
+
+        KeysetPage<OrganizationEntity> page0 = KeysetPage.of(
+            repository.findContractorOrganizationsByUser(TestData.USER_ID, 0, 1), 1,
+            OrganizationEntity::getName, OrganizationEntity::getId);
+        assertEquals(TestData.ORGANIZATION_ID, page0.items().get(0).getId());
+
+        KeysetPage<OrganizationEntity> page1 = repository.findContractorOrganizationsByUserAfter(
+            TestData.USER_ID, page0.nextCursor(), 1);
+        assertEquals(TestData.ORGANIZATION_ID_2, page1.items().get(0).getId());
+
+        KeysetPage<OrganizationEntity> page2 = repository.findContractorOrganizationsByUserAfter(
+            TestData.USER_ID, page1.nextCursor(), 1);
+        assertTrue(page2.items().isEmpty());
+        assertNull(page2.nextCursor());
+    }
+
     @Test
     void countContractorOrganizationsByUser_SUCCESS_zero() {
         long count = repository.countContractorOrganizationsByUser(TestData.USER_ID);
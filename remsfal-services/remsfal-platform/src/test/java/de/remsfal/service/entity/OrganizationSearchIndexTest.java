@@ -0,0 +1,99 @@
+package de.remsfal.service.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.dao.OrganizationRepository;
+import de.remsfal.service.entity.dao.OrganizationRepository.OrganizationSearchPage;
+import de.remsfal.service.entity.dto.OrganizationEntity;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+class OrganizationSearchIndexTest extends AbstractServiceTest {
+
+    private static final int ORGANIZATIONS = 2_000;
+    private static final int LIMIT = 10;
+
+    private static final UUID EXACT_ID = UUID.randomUUID();
+    private static final UUID CONTAINING_ID = UUID.randomUUID();
+    private static final UUID SIMILAR_ID = UUID.randomUUID();
+
+    @Inject
+    OrganizationRepository repository;
+
+    private String query;
+
+    @BeforeEach
+    void setupTestData() throws NoSuchAlgorithmException {
+        runInTransaction(() -> {
+            entityManager.createNativeQuery("INSERT INTO organizations (id, name) "
+                + "SELECT gen_random_uuid(), (ARRAY['Hausverwaltung','Dachdecker','Elektro','Sanitaer',"
+                + "'Malerbetrieb','Gartenbau'])[1 + i % 6] || ' ' || md5(i::text) "
+                + "FROM generate_series(1, " + ORGANIZATIONS + ") i")
+                .executeUpdate();
+            insertOrganization(EXACT_ID, "Elektro Schulz");
+            insertOrganization(CONTAINING_ID, "Elektro Schulz und Partner");
+            insertOrganization(SIMILAR_ID, "Elektrotechnik Schulze Berlin");
+            entityManager.createNativeQuery("ANALYZE organizations").executeUpdate();
+        });
+        final byte[] digest = MessageDigest.getInstance("MD5").digest("4711".getBytes(StandardCharsets.UTF_8));
+        query = HexFormat.of().formatHex(digest).substring(0, 12);
+    }
+
+    private void insertOrganization(final UUID id, final String name) {
+        entityManager.createNativeQuery("INSERT INTO organizations (id, name) VALUES (?,?)")
+            .setParameter(1, id)
+            .setParameter(2, name)
+            .executeUpdate();
+    }
+
+    @Test
+    void searchRankedByName_SUCCESS_sameMatchesAsLike() {
+        final List<OrganizationEntity> expected = repository.searchByName(query, 0, LIMIT);
+        final OrganizationSearchPage page = repository.searchRankedByName(query, null, LIMIT);
+
+        assertEquals(1, expected.size());
+        assertEquals(1, repository.countByName(query));
+        assertEquals(1, page.total());
+        assertEquals(expected.get(0).getId(), page.organizations().get(0).getId());
+    }
+
+    @Test
+    void searchRankedByName_SUCCESS_orderedBySimilarity() {
+        final OrganizationSearchPage page = repository.searchRankedByName("Elektro Schulz", null, LIMIT);
+
+        assertEquals(3, page.total());
+        assertEquals(List.of(EXACT_ID, CONTAINING_ID, SIMILAR_ID),
+            page.organizations().stream().map(OrganizationEntity::getId).toList());
+    }
+
+    @Test
+    void searchRankedByName_SUCCESS_servedByTrigramIndex() {
+        final List<String> plan = new ArrayList<>();
+        runInTransaction(() -> {
+            // without sequential scans the planner falls back to the index only if it can serve both predicates
+            entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+            for (Object line : entityManager.createNativeQuery("EXPLAIN SELECT o.id FROM organizations o "
+                + "WHERE o.name ILIKE '%" + query + "%' OR o.name % '" + query + "'").getResultList()) {
+                plan.add(line.toString());
+            }
+        });
+
+        assertTrue(plan.stream().anyMatch(line -> line.contains("idx_organizations_name_trgm")), plan.toString());
+        assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan")), plan.toString());
+    }
+
+}
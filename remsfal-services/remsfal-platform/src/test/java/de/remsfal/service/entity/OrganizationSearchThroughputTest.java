@@ -0,0 +1,85 @@
+package de.remsfal.service.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.dao.OrganizationRepository;
+import de.remsfal.service.entity.dto.OrganizationEntity;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Response times of the ranked search over 200,000 organizations, compared with LIKE plus count. The
+ * timings depend on the machine, so they are only logged and the test runs with the {@code benchmark}
+ * profile: {@code mvn test -Pbenchmark -pl remsfal-services/remsfal-platform}. The matches and the use of
+ * the trigram index are checked by {@link OrganizationSearchIndexTest}.
+ */
+@Tag("benchmark")
+@QuarkusTest
+class OrganizationSearchThroughputTest extends AbstractServiceTest {
+
+    private static final int ORGANIZATIONS = 200_000;
+    private static final int LIMIT = 10;
+    private static final int ROUNDS = 20;
+
+    @Inject
+    OrganizationRepository repository;
+
+    private String query;
+
+    @BeforeEach
+    void setupTestData() throws NoSuchAlgorithmException {
+        runInTransaction(() -> {
+            entityManager.createNativeQuery("INSERT INTO organizations (id, name) "
+                + "SELECT gen_random_uuid(), (ARRAY['Hausverwaltung','Dachdecker','Elektro','Sanitaer',"
+                + "'Malerbetrieb','Gartenbau'])[1 + i % 6] || ' ' || md5(i::text) "
+                + "FROM generate_series(1, " + ORGANIZATIONS + ") i")
+                .executeUpdate();
+            entityManager.createNativeQuery("ANALYZE organizations").executeUpdate();
+        });
+        final byte[] digest = MessageDigest.getInstance("MD5").digest("4711".getBytes(StandardCharsets.UTF_8));
+        query = HexFormat.of().formatHex(digest).substring(0, 12);
+    }
+
+    /**
+     * The search before the trigram index: a sequential scan for the page and another one for the total.
+     */
+    private List<OrganizationEntity> searchByLike() {
+        final List<OrganizationEntity> organizations = repository.searchByName(query, 0, LIMIT);
+        assertEquals(1, repository.countByName(query));
+        return organizations;
+    }
+
+    @Test
+    void searchRankedByName_SUCCESS_comparedWithLike() {
+        searchByLike();
+        repository.searchRankedByName(query, null, LIMIT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            searchByLike();
+            entityManager.clear();
+        }
+        final long like = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            repository.searchRankedByName(query, null, LIMIT);
+            entityManager.clear();
+        }
+        final long ranked = (System.nanoTime() - start) / ROUNDS;
+        logger.infov("Searching {0} organizations: {1} ms with LIKE and count, {2} ms ranked by the trigram index",
+            ORGANIZATIONS, like / 1_000_000, ranked / 1_000_000);
+    }
+
+}
@@ -0,0 +1,105 @@
+package de.remsfal.service.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.service.AbstractServiceTest;
+import de.remsfal.service.entity.cache.PostalCodeIndex;
+import de.remsfal.service.entity.cache.PostalCodeIndex.PostalCode;
+import de.remsfal.service.entity.dao.AddressRepository;
+import de.remsfal.service.entity.dto.AddressValidationEntity;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class PostalCodeIndexTest extends AbstractServiceTest {
+
+    @Inject
+    PostalCodeIndex index;
+
+    @Inject
+    AddressRepository repository;
+
+    @Test
+    void findByZip_SUCCESS_sameCitiesAsDatabase() {
+        final long entries = (Long) entityManager
+            .createQuery("SELECT COUNT(a) FROM AddressValidationEntity a")
+            .getSingleResult();
+        assertEquals(entries, index.size());
+
+        for (String zip : List.of("10318", "52062", "78267", "8626", "86477")) {
+            final Set<String> expected = repository.findAddressByZip(zip).stream()
+                .map(address -> address.getZip() + "/" + address.getCity() + "/" + address.getProvince()
+                    + "/" + address.getCountry())
+                .collect(Collectors.toSet());
+            final Set<String> actual = index.findByZip(zip).stream()
+                .map(code -> code.zip() + "/" + code.city() + "/" + code.province() + "/" + code.country())
+                .collect(Collectors.toSet());
+            assertEquals(expected, actual, zip);
+        }
+    }
+
+    @Test
+    void findByZip_SUCCESS_leadingZeroIsIgnored() {
+        final List<AddressValidationEntity> expected = repository.findAddressByZip("8626");
+
+        assertEquals(expected.size(), index.findByZip("08626").size());
+        assertTrue(index.findByZip("99999").isEmpty());
+        assertTrue(index.findByZip("no zip").isEmpty());
+    }
+
+    @Test
+    void findByZipPrefix_SUCCESS_prefixOfFiveDigits() {
+        final List<PostalCode> codes = index.findByZipPrefix("1031", 10);
+
+        assertEquals(List.of("10315", "10317", "10318", "10319"), codes.stream().map(PostalCode::zip).toList());
+        assertEquals(List.of("8626"), index.findByZipPrefix("0862", 10).stream()
+            .map(PostalCode::zip)
+            .distinct()
+            .toList());
+        assertTrue(index.findByZipPrefix("86", 10).stream().allMatch(code -> code.zip().startsWith("86")));
+        assertEquals(3, index.findByZipPrefix("8", 3).size());
+        assertTrue(index.findByZipPrefix("123456", 10).isEmpty());
+    }
+
+    @Test
+    void findByCityPrefix_SUCCESS_caseInsensitiveByCityAndZip() {
+        final List<PostalCode> codes = index.findByCityPrefix("aach", 5);
+
+        assertEquals(5, codes.size());
+        assertEquals(List.of("Aach", "Aach", "Aachen", "Aachen", "Aachen"),
+            codes.stream().map(PostalCode::city).toList());
+        assertEquals(List.of("54298", "78267"), codes.subList(0, 2).stream().map(PostalCode::zip).toList());
+        assertTrue(index.findByCityPrefix("BERLIN", 100).stream()
+            .allMatch(code -> code.city().toLowerCase().startsWith("berlin")));
+        assertTrue(index.findByCityPrefix("xyzzy", 10).isEmpty());
+    }
+
+    @Test
+    void load_SUCCESS_smallFile() throws IOException {
+        final String csv = "osm_id;land;ort;plz;landkreis;bundesland\n"
+            + "1;DE;Zeuthen;15738;Landkreis Dahme-Spreewald;Brandenburg\n"
+            + "2;DE;Zehdenick;16792;Landkreis Oberhavel;Brandenburg\n"
+            + "3;DE;Berlin;10115;;Berlin\n";
+        final PostalCodeIndex small = PostalCodeIndex.load(new ByteArrayInputStream(
+            csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, small.size());
+        assertEquals(List.of("Zehdenick", "Zeuthen"), small.findByCityPrefix("Ze", 10).stream()
+            .map(PostalCode::city)
+            .toList());
+        assertEquals("Berlin", small.findByZip("10115").get(0).province());
+        assertTrue(small.estimateFootprint() > 0);
+    }
+
+}
@@ -4,19 +4,42 @@ import io.quarkus.security.Authenticated;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
 import de.remsfal.common.boundary.AbstractResource;
+import de.remsfal.common.boundary.ByteRange;
 import de.remsfal.core.model.OrganizationEmployeeModel.EmployeeRole;
 import de.remsfal.core.model.OrganizationEmployeeModel.PermissionType;
 import de.remsfal.core.model.project.ProjectMemberModel.MemberRole;
 import de.remsfal.core.model.ticketing.IssueModel;
 import de.remsfal.ticketing.control.IssueController;
+import de.remsfal.ticketing.entity.storage.FileStorage;
+import de.remsfal.ticketing.entity.storage.StoredFile;
 
 /**
  * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
@@ -25,9 +48,20 @@ import de.remsfal.ticketing.control.IssueController;
 @RequestScoped
 public class AbstractTicketingResource extends AbstractResource {
 
+    private static final String MULTIPART_BOUNDARY = "REMSFAL_BYTERANGES";
+
     @Inject
     protected IssueController issueController;
 
+    @Context
+    protected Request request;
+
+    @Context
+    protected HttpHeaders headers;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.download.buffer-size", defaultValue = "65536")
+    int downloadBufferSize;
+
     /**
      * Checks if the current user has sufficient permissions to create an issue in the given project.
      * Throws a {@link ForbiddenException} if the user does not have sufficient permissions.
@@ -118,6 +152,111 @@ public class AbstractTicketingResource extends AbstractResource {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * Builds the response of a file download. Answers {@code If-None-Match} and {@code If-Modified-Since}
+     * with {@code 304} and {@code If-Match} and {@code If-Unmodified-Since} with {@code 412}, based on the
+     * metadata of the stored object. A {@code Range} header is answered with {@code 206} and only the
+     * requested bytes are read from the storage, multiple ranges as {@code multipart/byteranges}.
+     * Unsatisfiable ranges are answered with {@code 416}. The thumbnail of a file is announced as JPEG file.
+     *
+     * @param file     the file to download
+     * @param fileName the file name announced in the {@code Content-Disposition} header
+     * @return the response streaming the file content
+     */
+    protected Response buildDownloadResponse(final StoredFile file, final String fileName) {
+        final EntityTag tag = new EntityTag(file.getEtag());
+        final Instant lastModified = file.getLastModified().truncatedTo(ChronoUnit.SECONDS);
+        final ResponseBuilder precondition = request.evaluatePreconditions(Date.from(lastModified), tag);
+        if (precondition != null) {
+            return precondition.tag(tag).lastModified(Date.from(lastModified)).build();
+        }
+
+        final long size = file.getSize();
+        final List<ByteRange> ranges = isRangeApplicable(tag, lastModified)
+            ? ByteRange.parse(headers.getHeaderString(HttpHeaders.RANGE), size) : null;
+        final ResponseBuilder builder;
+        if (ranges == null) {
+            builder = Response.ok((StreamingOutput) output -> copy(file.open(), output))
+                .type(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_LENGTH, size);
+        } else if (ranges.isEmpty()) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header("Content-Range", ByteRange.toUnsatisfiedContentRange(size))
+                .header("Accept-Ranges", ByteRange.UNIT)
+                .build();
+        } else if (ranges.size() == 1) {
+            final ByteRange range = ranges.get(0);
+            builder = Response.status(Response.Status.PARTIAL_CONTENT)
+                .entity((StreamingOutput) output -> copy(file.open(range.offset(), range.length()), output))
+                .type(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_LENGTH, range.length())
+                .header("Content-Range", range.toContentRange(size));
+        } else {
+            builder = Response.status(Response.Status.PARTIAL_CONTENT)
+                .entity((StreamingOutput) output -> writeByteRanges(file, ranges, output))
+                .type("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
+        }
+        return builder
+            .tag(tag)
+            .lastModified(Date.from(lastModified))
+            .header("Accept-Ranges", ByteRange.UNIT)
+            .header("Content-Disposition", "attachment; filename=\"" + toDownloadName(file, fileName) + "\"")
+            .build();
+    }
+
+    private static String toDownloadName(final StoredFile file, final String fileName) {
+        if (!FileStorage.isPreview(file.getObjectName())) {
+            return fileName;
+        }
+        final int extension = fileName.lastIndexOf('.');
+        return (extension > 0 ? fileName.substring(0, extension) : fileName) + FileStorage.THUMBNAIL_SUFFIX;
+    }
+
+    /**
+     * A {@code Range} header is only applied if there is no {@code If-Range} header or if it matches
+     * the current representation, otherwise the whole file is sent.
+     */
+    private boolean isRangeApplicable(final EntityTag tag, final Instant lastModified) {
+        final String ifRange = headers.getHeaderString("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        final String value = ifRange.trim();
+        if (value.startsWith("\"")) {
+            return value.equals(tag.toString());
+        } else if (value.startsWith("W/")) {
+            // weak entity tags never match for ranges
+            return false;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().equals(lastModified);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private void writeByteRanges(final StoredFile file, final List<ByteRange> ranges, final OutputStream output)
+        throws IOException {
+        for (ByteRange range : ranges) {
+            final String partHeader = "\r\n--" + MULTIPART_BOUNDARY + "\r\n"
+                + HttpHeaders.CONTENT_TYPE + ": " + MediaType.APPLICATION_OCTET_STREAM + "\r\n"
+                + "Content-Range: " + range.toContentRange(file.getSize()) + "\r\n\r\n";
+            output.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+            copy(file.open(range.offset(), range.length()), output);
+        }
+        output.write(("\r\n--" + MULTIPART_BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void copy(final InputStream fileStream, final OutputStream output) throws IOException {
+        try (InputStream input = fileStream) {
+            final byte[] buffer = new byte[downloadBufferSize];
+            int bytesRead;
+            while ((bytesRead = input.read(buffer)) != -1) {
+                output.write(buffer, 0, bytesRead);
+            }
+        }
+    }
+
     /**
      * Computes the cursor for the next page from the current page's issues. A full page (as many
      * issues as requested) implies there might be more; a partial page means the data was exhausted.
@@ -6,6 +6,7 @@ import de.remsfal.core.json.ticketing.TimelineJson;
 import de.remsfal.core.json.ticketing.TimelineListJson;
 import de.remsfal.core.model.ticketing.IssueModel;
 import de.remsfal.ticketing.control.AttachmentController;
+import de.remsfal.ticketing.control.AttachmentUploadExecutor;
 import de.remsfal.ticketing.control.TimelineController;
 import de.remsfal.ticketing.entity.dto.TimelineEntity;
 
@@ -38,6 +39,9 @@ public abstract class AbstractTimelineResource extends AbstractTicketingResource
     @Inject
     AttachmentController attachmentController;
 
+    @Inject
+    AttachmentUploadExecutor uploadExecutor;
+
     protected TimelineListJson getTimelineEntries(final IssueModel issue) {
         if (issue.getAgreementId() == null) {
             return TimelineListJson.valueOf(List.of());
@@ -123,9 +127,10 @@ public abstract class AbstractTimelineResource extends AbstractTicketingResource
             return List.of();
         }
 
-        final List<IssueAttachmentJson> uploadedAttachments = MultipartAttachmentProcessor.processAttachmentParts(
-            fileParts,
-            fileData -> IssueAttachmentJson.valueOf(attachmentController.addAttachment(principal, issueId, fileData)));
+        final List<IssueAttachmentJson> uploadedAttachments = uploadExecutor.uploadAll(
+            MultipartAttachmentProcessor.readAttachmentParts(fileParts),
+            fileData -> IssueAttachmentJson.valueOf(attachmentController.addAttachment(principal, issueId, fileData)),
+            attachment -> attachmentController.deleteAttachment(issueId, attachment.getAttachmentId()));
 
         final List<UUID> attachmentIds = new ArrayList<>();
         for (IssueAttachmentJson attachment : uploadedAttachments) {
@@ -2,6 +2,7 @@ package de.remsfal.ticketing.boundary;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +16,8 @@ import jakarta.ws.rs.NotAuthorizedException;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.InternalServerErrorException;
 import org.jboss.logging.Logger;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.jboss.resteasy.plugins.providers.multipart.InputPart;
 import org.jboss.resteasy.plugins.providers.multipart.MultipartFormDataInput;
 
@@ -24,8 +27,10 @@ import de.remsfal.core.api.ticketing.ChatMessageEndpoint;
 import de.remsfal.core.json.ticketing.ChatMessageJson;
 import de.remsfal.ticketing.control.ChatMessageController;
 import de.remsfal.ticketing.control.ChatSessionController;
+import de.remsfal.ticketing.entity.dao.ChatMessageRepository.ChatMessagePage;
 import de.remsfal.ticketing.entity.dao.ChatMessageRepository.ContentType;
 import de.remsfal.ticketing.entity.dto.ChatMessageEntity;
+import de.remsfal.ticketing.entity.dto.ChatSessionEntity;
 import io.quarkus.security.Authenticated;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
@@ -46,6 +51,9 @@ public class ChatMessageResource extends AbstractTicketingResource implements Ch
     @Inject
     ChatMessageController chatMessageController;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     @Inject
     Logger logger;
 
@@ -89,26 +97,63 @@ public class ChatMessageResource extends AbstractTicketingResource implements Ch
 
     @Override
     public Response getChatMessages(final UUID issueId,
-        final UUID sessionId) {
+        final UUID sessionId, final String cursor, final Integer limit) {
         try {
             UUID projectId = checkProjectIssueAccessPermissions(issueId).getProjectId();
-            return Response.ok()
+            ChatSessionEntity session = chatSessionController.getChatSession(projectId, issueId, sessionId)
+                .orElseThrow(() -> new NotFoundException(NOT_FOUND_SESSION_MESSAGE));
+            ChatMessagePage page = chatMessageController.getChatMessages(sessionId, cursor, limit);
+            return Response.ok((StreamingOutput) output -> writeChatLog(output, session, page))
                 .type(MediaType.APPLICATION_JSON)
-                .entity(chatSessionController.getChatLogs(projectId, sessionId, issueId))
                 .build();
-
-        } catch (NoSuchElementException e) {
-            throw new NotFoundException(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        } catch (NotFoundException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to get chat messages", e);
             throw e;
         }
+    }
 
+    /**
+     * Streams a page of the chat log to the response. The sender roles are resolved from the participants
+     * of the session, which has been read once for the whole page.
+     */
+    private void writeChatLog(final OutputStream output, final ChatSessionEntity session,
+        final ChatMessagePage page) throws IOException {
+        final Map<UUID, String> participants = session.getParticipants() != null
+            ? session.getParticipants() : Map.of();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartObject();
+            generator.writeStringField("session_id", stringOf(session.getSessionId()));
+            generator.writeStringField("issue_id", stringOf(session.getIssueId()));
+            generator.writeStringField("project_id", stringOf(session.getProjectId()));
+            generator.writeArrayFieldStart("messages");
+            for (ChatMessageEntity message : page.messages()) {
+                generator.writeStartObject();
+                generator.writeStringField("DATETIME", stringOf(message.getCreatedAt()));
+                generator.writeStringField("message_id", stringOf(message.getMessageId()));
+                generator.writeStringField("SENDER_ID", stringOf(message.getSenderId()));
+                generator.writeStringField("MEMBER_ROLE", participants.get(message.getSenderId()));
+                generator.writeStringField("MESSAGE_TYPE", message.getContentType());
+                generator.writeStringField("MESSAGE_CONTENT", ContentType.FILE.name().equals(message.getContentType())
+                    ? message.getUrl() : message.getContent());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeStringField("next_cursor", page.nextCursor());
+            generator.writeEndObject();
+        }
+    }
+
+    private static String stringOf(final Object value) {
+        return value != null ? value.toString() : null;
     }
 
     @Override
     public Response getChatMessage(final UUID issueId,
-        final UUID sessionId, final UUID messageId) {
+        final UUID sessionId, final UUID messageId, final String variant) {
         try {
             checkProjectIssueAccessPermissions(issueId).getProjectId();
             ChatMessageEntity chatMessageEntity =
@@ -120,29 +165,16 @@ public class ChatMessageResource extends AbstractTicketingResource implements Ch
                     .build();
             }
             if (chatMessageEntity.getContentType().equals(ContentType.FILE.name())) {
-                // Extract the file URL and derive the file name
-                String fileUrl = chatMessageEntity.getUrl();
-                String fileName = fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
-
-                // Download the file from the storage service via controller
-                InputStream fileStream = chatMessageController.downloadFile(sessionId, messageId);
-                // Stream the file content to the client as a binary response
-                return Response.ok((StreamingOutput) output -> {
-                    byte[] buffer = new byte[8192];
-                    int bytesRead;
+                // Files sent before their name was stored are named after their object
+                String fileName = chatMessageEntity.getFileName();
+                if (fileName == null) {
+                    String fileUrl = chatMessageEntity.getUrl();
+                    fileName = fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
+                }
 
-                    // Read chunks from the file and write them to the HTTP response
-                    while (true) {
-                        bytesRead = fileStream.read(buffer);
-                        if (bytesRead == -1) {
-                            break; // End of file reached
-                        }
-                        output.write(buffer, 0, bytesRead);
-                    }
-                })
-                    .type(MediaType.APPLICATION_OCTET_STREAM)
-                    .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                    .build();
+                // Stream the file content from the storage service, honouring ranges and conditional requests
+                return buildDownloadResponse(chatMessageController.getFile(sessionId, messageId, variant),
+                    fileName);
             }
         } catch (NoSuchElementException e) {
             throw new NotFoundException(e.getMessage());
@@ -1,8 +1,12 @@
 package de.remsfal.ticketing.boundary;
 
 import de.remsfal.core.api.ticketing.InboxEndpoint;
+import de.remsfal.core.json.ticketing.ImmutableInboxCountersJson;
+import de.remsfal.core.json.ticketing.InboxCountersJson;
 import de.remsfal.core.json.ticketing.InboxMessageJson;
+import de.remsfal.core.json.ticketing.InboxMessageListJson;
 import de.remsfal.ticketing.control.InboxController;
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository.InboxCounters;
 import de.remsfal.ticketing.entity.dto.InboxMessageEntity;
 
 import de.remsfal.ticketing.entity.dto.InboxMessageKey;
@@ -15,6 +19,7 @@ import io.quarkus.security.Authenticated;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.UUID;
 
 @Authenticated
 @RequestScoped
@@ -24,17 +29,36 @@ public class InboxResource extends AbstractTicketingResource implements InboxEnd
     InboxController controller;
 
     /**
-     * Lists inbox messages for the authenticated user.
+     * Lists one page of the inbox messages of the authenticated user, newest first.
      */
     @Override
-    public List<InboxMessageJson> getInboxMessages(final Boolean read) {
+    public InboxMessageListJson getInboxMessages(final Boolean read, final UUID cursor, final Integer limit) {
         try {
             String userId = principal.getJwt().getSubject();
 
             List<InboxMessageEntity> messages =
-                controller.getInboxMessages(read, userId);
+                controller.getInboxMessages(read, userId, cursor, limit);
 
-            return toJsonList(messages);
+            String nextCursor = messages.size() < limit ? null
+                : messages.get(messages.size() - 1).getKey().getId().toString();
+            return InboxMessageListJson.valueOf(toJsonList(messages), nextCursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the inbox counters of the authenticated user.
+     */
+    @Override
+    public InboxCountersJson getInboxCounters() {
+        try {
+            String userId = principal.getJwt().getSubject();
+            InboxCounters counters = controller.getInboxCounters(userId);
+            return ImmutableInboxCountersJson.builder()
+                .total(counters.total())
+                .unread(counters.unread())
+                .build();
         } catch (IllegalArgumentException e) {
             throw new BadRequestException(e.getMessage());
         }
@@ -5,9 +5,7 @@ import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.core.StreamingOutput;
 
-import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -19,6 +17,7 @@ import de.remsfal.common.boundary.MultipartAttachmentProcessor;
 import de.remsfal.core.api.ticketing.IssueAttachmentEndpoint;
 import de.remsfal.core.json.ticketing.IssueAttachmentJson;
 import de.remsfal.ticketing.control.AttachmentController;
+import de.remsfal.ticketing.control.AttachmentUploadExecutor;
 import de.remsfal.ticketing.entity.dto.IssueAttachmentEntity;
 
 /**
@@ -31,22 +30,17 @@ public class IssueAttachmentResource extends AbstractTicketingResource implement
     @Inject
     AttachmentController attachmentController;
 
+    @Inject
+    AttachmentUploadExecutor uploadExecutor;
+
     @Override
-    public Response downloadAttachment(final UUID issueId, final UUID attachmentId, final String filename) {
+    public Response downloadAttachment(final UUID issueId, final UUID attachmentId, final String filename,
+        final String variant) {
         checkProjectIssueAccessPermissions(issueId);
         IssueAttachmentEntity attachment = attachmentController.getAttachment(issueId, attachmentId);
-        InputStream fileStream = attachmentController.downloadAttachment(attachment.getObjectName());
-
-        return Response.ok((StreamingOutput) output -> {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = fileStream.read(buffer)) != -1) {
-                output.write(buffer, 0, bytesRead);
-            }
-        })
-            .type(MediaType.APPLICATION_OCTET_STREAM)
-            .header("Content-Disposition", "attachment; filename=\"" + attachment.getFileName() + "\"")
-            .build();
+        return buildDownloadResponse(
+            attachmentController.getAttachmentFile(attachment.getObjectName(), variant),
+            attachment.getFileName());
     }
 
     @Override
@@ -60,9 +54,10 @@ public class IssueAttachmentResource extends AbstractTicketingResource implement
         checkProjectIssueAccessPermissions(issueId);
         Map<String, List<InputPart>> formDataMap = input.getFormDataMap();
         List<InputPart> fileParts = formDataMap.get("attachment");
-        List<IssueAttachmentJson> attachments = MultipartAttachmentProcessor.processAttachmentParts(
-            fileParts,
-            fileData -> IssueAttachmentJson.valueOf(attachmentController.addAttachment(principal, issueId, fileData)));
+        List<IssueAttachmentJson> attachments = uploadExecutor.uploadAll(
+            MultipartAttachmentProcessor.readAttachmentParts(fileParts),
+            fileData -> IssueAttachmentJson.valueOf(attachmentController.addAttachment(principal, issueId, fileData)),
+            attachment -> attachmentController.deleteAttachment(issueId, attachment.getAttachmentId()));
 
         return Response.ok()
             .type(MediaType.APPLICATION_JSON)
@@ -4,6 +4,7 @@ import jakarta.enterprise.context.RequestScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -15,12 +16,16 @@ import de.remsfal.core.api.ticketing.IssueEndpoint;
 import de.remsfal.core.json.ticketing.IssueAttachmentJson;
 import de.remsfal.core.json.ticketing.IssueJson;
 import de.remsfal.core.json.ticketing.IssueListJson;
+import de.remsfal.core.json.ticketing.IssueLookupConsistencyJson;
+import de.remsfal.core.json.ticketing.ImmutableIssueLookupConsistencyJson;
 import de.remsfal.core.model.RentalUnitModel.UnitType;
 import de.remsfal.core.model.ticketing.IssueAttachmentModel;
 import de.remsfal.core.model.ticketing.IssueModel;
 import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
 import de.remsfal.core.model.ticketing.IssueModel.IssueType;
 import de.remsfal.ticketing.control.AttachmentController;
+import de.remsfal.ticketing.control.IssueLookupController;
+import de.remsfal.ticketing.entity.dao.IssueRepository.LookupConsistency;
 import de.remsfal.ticketing.entity.filter.IssueFilter;
 import io.quarkus.security.Authenticated;
 
@@ -34,6 +39,9 @@ public class IssueResource extends AbstractTicketingResource implements IssueEnd
     @Inject
     AttachmentController attachmentController;
 
+    @Inject
+    IssueLookupController issueLookupController;
+
     @Inject
     Instance<IssueAttachmentResource> attachmentResource;
 
@@ -63,6 +71,30 @@ public class IssueResource extends AbstractTicketingResource implements IssueEnd
         return IssueListJson.valueOfProjectIssues(issues, nextCursorOf(issues, limit));
     }
 
+    @Override
+    public IssueLookupConsistencyJson checkLookupConsistency(final UUID projectId) {
+        return getLookupConsistency(projectId, false);
+    }
+
+    @Override
+    public IssueLookupConsistencyJson repairLookupConsistency(final UUID projectId) {
+        return getLookupConsistency(projectId, true);
+    }
+
+    private IssueLookupConsistencyJson getLookupConsistency(final UUID projectId, final boolean repair) {
+        if (principal.getProjectRole(projectId) == null || !principal.getProjectRole(projectId).isPrivileged()) {
+            throw new ForbiddenException(FORBIDDEN_MESSAGE);
+        }
+        final LookupConsistency result = issueLookupController.checkConsistency(projectId, repair);
+        return ImmutableIssueLookupConsistencyJson.builder()
+            .projectId(projectId)
+            .checked(result.checked())
+            .missing(result.missing())
+            .mismatched(result.mismatched())
+            .repaired(result.repaired())
+            .build();
+    }
+
     @Override
     public Response createIssue(final IssueJson issue) {
         checkProjectIssueCreatePermissions(issue.getProjectId());
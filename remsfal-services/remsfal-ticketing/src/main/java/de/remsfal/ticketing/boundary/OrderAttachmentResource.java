@@ -6,9 +6,7 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.core.StreamingOutput;
 
-import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +19,7 @@ import de.remsfal.common.boundary.MultipartAttachmentProcessor;
 import de.remsfal.core.api.ticketing.OrderAttachmentEndpoint;
 import de.remsfal.core.json.ticketing.OrderAttachmentJson;
 import de.remsfal.core.model.ticketing.OrderProcessPhase;
+import de.remsfal.ticketing.control.AttachmentUploadExecutor;
 import de.remsfal.ticketing.control.OrderAttachmentController;
 import de.remsfal.ticketing.control.OrderManagementController;
 import de.remsfal.ticketing.entity.dto.OrderAttachmentEntity;
@@ -42,6 +41,9 @@ public class OrderAttachmentResource extends AbstractTicketingResource implement
     @Inject
     OrderAttachmentController orderAttachmentController;
 
+    @Inject
+    AttachmentUploadExecutor uploadExecutor;
+
     @Inject
     OrderManagementController orderManagementController;
 
@@ -76,23 +78,15 @@ public class OrderAttachmentResource extends AbstractTicketingResource implement
     }
 
     @Override
-    public Response downloadAttachment(final UUID urlProcessId, final UUID attachmentId, final String filename) {
+    public Response downloadAttachment(final UUID urlProcessId, final UUID attachmentId, final String filename,
+        final String variant) {
         final UUID processId = authorize(urlProcessId);
 
         OrderAttachmentEntity attachment =
             orderAttachmentController.getAttachment(processPhase, processId, attachmentId);
-        InputStream fileStream = orderAttachmentController.downloadAttachment(attachment.getObjectName());
-
-        return Response.ok((StreamingOutput) output -> {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = fileStream.read(buffer)) != -1) {
-                output.write(buffer, 0, bytesRead);
-            }
-        })
-            .type(MediaType.APPLICATION_OCTET_STREAM)
-            .header("Content-Disposition", "attachment; filename=\"" + attachment.getFileName() + "\"")
-            .build();
+        return buildDownloadResponse(
+            orderAttachmentController.getAttachmentFile(attachment.getObjectName(), variant),
+            attachment.getFileName());
     }
 
     @Override
@@ -107,10 +101,12 @@ public class OrderAttachmentResource extends AbstractTicketingResource implement
 
         Map<String, List<InputPart>> formDataMap = input.getFormDataMap();
         List<InputPart> fileParts = formDataMap.get("attachment");
-        List<OrderAttachmentJson> attachments = MultipartAttachmentProcessor.processAttachmentParts(
-            fileParts,
+        List<OrderAttachmentJson> attachments = uploadExecutor.uploadAll(
+            MultipartAttachmentProcessor.readAttachmentParts(fileParts),
             fileData -> OrderAttachmentJson.valueOf(
-                orderAttachmentController.addAttachment(principal, processPhase, processId, fileData)));
+                orderAttachmentController.addAttachment(principal, processPhase, processId, fileData)),
+            attachment -> orderAttachmentController.deleteAttachment(processPhase, processId,
+                attachment.getAttachmentId()));
 
         return Response.ok()
             .type(MediaType.APPLICATION_JSON)
@@ -1,5 +1,6 @@
 package de.remsfal.ticketing.boundary.eventing;
 
+import de.remsfal.common.util.UUIDv7;
 import de.remsfal.core.json.eventing.IssueEventJson;
 import de.remsfal.ticketing.entity.dao.InboxMessageRepository;
 import de.remsfal.ticketing.entity.dto.InboxMessageEntity;
@@ -12,7 +13,6 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
-import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 
 @ApplicationScoped
@@ -51,7 +51,7 @@ public class InboxEventConsumer {
         // Convert IssueEventJson → InboxMessageEntity
         InboxMessageEntity entity = toEntity(event, recipientUserId);
 
-        // Save into Cassandra
+        // Save into Cassandra and count it as unread
         repository.saveInboxMessage(entity);
 
         logger.infof("Stored inbox notification for user %s", recipientUserId);
@@ -67,7 +67,7 @@ public class InboxEventConsumer {
         // Create Cassandra key
         InboxMessageKey key = new InboxMessageKey();
         key.setUserId(recipientUserId);
-        key.setId(UUID.randomUUID());
+        key.setId(UUIDv7.randomUUID());
 
         InboxMessageEntity entity = new InboxMessageEntity();
         entity.setKey(key);
@@ -9,10 +9,8 @@ import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.core.StreamingOutput;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +30,7 @@ import de.remsfal.core.model.ticketing.MessagePurpose;
 import de.remsfal.ticketing.boundary.AbstractTicketingResource;
 import de.remsfal.ticketing.boundary.IssueResource;
 import de.remsfal.ticketing.control.AttachmentController;
+import de.remsfal.ticketing.control.AttachmentUploadExecutor;
 import de.remsfal.ticketing.control.TimelineController;
 import de.remsfal.ticketing.entity.dto.IssueAttachmentEntity;
 import io.quarkus.security.Authenticated;
@@ -55,6 +54,9 @@ public class TenantIssueResource extends AbstractTicketingResource implements Te
     @Inject
     AttachmentController attachmentController;
 
+    @Inject
+    AttachmentUploadExecutor uploadExecutor;
+
     @Inject
     TimelineController timelineController;
 
@@ -79,10 +81,11 @@ public class TenantIssueResource extends AbstractTicketingResource implements Te
 
         final Map<String, List<InputPart>> formDataMap = input.getFormDataMap();
         final List<InputPart> fileParts = formDataMap.get("attachment");
-        final List<IssueAttachmentJson> attachments = MultipartAttachmentProcessor.processAttachmentParts(
-            fileParts,
+        final List<IssueAttachmentJson> attachments = uploadExecutor.uploadAll(
+            MultipartAttachmentProcessor.readAttachmentParts(fileParts),
             fileData -> IssueAttachmentJson.valueOf(
-                attachmentController.addAttachment(principal, createdIssue.getId(), fileData)));
+                attachmentController.addAttachment(principal, createdIssue.getId(), fileData)),
+            attachment -> attachmentController.deleteAttachment(createdIssue.getId(), attachment.getAttachmentId()));
 
         final List<UUID> attachmentIds = attachments.stream()
             .map(IssueAttachmentJson::getAttachmentId)
@@ -145,7 +148,8 @@ public class TenantIssueResource extends AbstractTicketingResource implements Te
     }
 
     @Override
-    public Response downloadAttachment(final UUID issueId, final UUID attachmentId, final String filename) {
+    public Response downloadAttachment(final UUID issueId, final UUID attachmentId, final String filename,
+        final String variant) {
         final IssueModel issue = checkTenancyIssueAccessPermissions(issueId);
 
         final Set<UUID> visibleAttachmentIds = timelineController.getVisibleAttachmentIds(
@@ -155,18 +159,9 @@ public class TenantIssueResource extends AbstractTicketingResource implements Te
         }
 
         final IssueAttachmentEntity attachment = attachmentController.getAttachment(issueId, attachmentId);
-        final InputStream fileStream = attachmentController.downloadAttachment(attachment.getObjectName());
-
-        return Response.ok((StreamingOutput) output -> {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = fileStream.read(buffer)) != -1) {
-                output.write(buffer, 0, bytesRead);
-            }
-        })
-            .type(MediaType.APPLICATION_OCTET_STREAM)
-            .header("Content-Disposition", "attachment; filename=\"" + attachment.getFileName() + "\"")
-            .build();
+        return buildDownloadResponse(
+            attachmentController.getAttachmentFile(attachment.getObjectName(), variant),
+            attachment.getFileName());
     }
 
     @Override
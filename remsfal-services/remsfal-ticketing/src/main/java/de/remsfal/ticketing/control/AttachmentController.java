@@ -12,6 +12,7 @@ import de.remsfal.core.model.ticketing.IssueAttachmentModel;
 import de.remsfal.ticketing.entity.dao.IssueAttachmentRepository;
 import de.remsfal.ticketing.entity.dto.IssueAttachmentEntity;
 import de.remsfal.ticketing.entity.dto.IssueAttachmentKey;
+import de.remsfal.ticketing.entity.storage.StoredFile;
 
 import java.io.InputStream;
 import java.time.Instant;
@@ -44,12 +45,15 @@ public class AttachmentController {
         attachment.setUploadedBy(user.getName());
         attachment.setCreatedAt(Instant.now());
 
-        String objectFileName = generateUniqueFileName(
-            fileData.getFileName(), issueId, attachment.getAttachmentId());
-        objectFileName = fileStorageController.uploadFile(fileData, objectFileName);
-        attachment.setObjectName(objectFileName);
+        attachment.setObjectName(fileStorageController.uploadFile(fileData, fileData.getFileName()));
 
-        return attachmentRepository.insert(attachment);
+        try {
+            return attachmentRepository.insert(attachment);
+        } catch (RuntimeException e) {
+            // release the reference, so that the garbage collection can remove an unreferenced object
+            fileStorageController.deleteFile(attachment.getObjectName());
+            throw e;
+        }
     }
 
     public List<? extends IssueAttachmentModel> getAttachments(final UUID issueId) {
@@ -68,6 +72,12 @@ public class AttachmentController {
         return fileStorageController.downloadFile(objectName);
     }
 
+    public StoredFile getAttachmentFile(final String objectName, final String variant) {
+        logger.infov("Retrieving attachment metadata from storage (objectName={0}, variant={1})",
+            objectName, variant);
+        return fileStorageController.getFile(objectName, variant);
+    }
+
     public void deleteAttachment(final UUID issueId, final UUID attachmentId) {
         logger.infov("Deleting attachment (issueId={0}, attachmentId={1})", issueId, attachmentId);
 
@@ -78,17 +88,9 @@ public class AttachmentController {
 
     public void deleteAllAttachments(final UUID issueId) {
         logger.infov("Deleting all attachments for issue (issueId={0})", issueId);
+        attachmentRepository.findByIssueId(issueId)
+            .forEach(attachment -> fileStorageController.deleteFile(attachment.getObjectName()));
         attachmentRepository.deleteByIssueId(issueId);
     }
 
-    private String generateUniqueFileName(final String fileName, final UUID issueId, final UUID attachmentId) {
-        StringBuilder sb = new StringBuilder("/issues/");
-        sb.append(issueId.toString());
-        sb.append("/attachments/");
-        sb.append(attachmentId.toString());
-        sb.append("/");
-        sb.append(fileName);
-        return sb.toString();
-    }
-
 }
@@ -0,0 +1,173 @@
+package de.remsfal.ticketing.control;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import de.remsfal.common.model.FileUploadData;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Uploads the files of one request concurrently, with at most
+ * {@code de.remsfal.ticketing.attachments.upload.max-parallelism} uploads in flight at a time.
+ *
+ * If an upload fails, no further uploads are started, the uploads in flight are awaited and every
+ * completed upload is cleaned up again, so a failed request leaves no attachments behind. The duration
+ * and the throughput of every upload are recorded.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class AttachmentUploadExecutor {
+
+    static final String METRIC_UPLOAD = "remsfal.ticketing.attachments.upload";
+    static final String METRIC_THROUGHPUT = "remsfal.ticketing.attachments.upload.throughput";
+
+    @Inject
+    Logger logger;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.attachments.upload.max-parallelism", defaultValue = "4")
+    int maxParallelism;
+
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * @param files   the files to upload
+     * @param upload  uploads one file and returns its attachment
+     * @param cleanup removes an uploaded attachment again if another upload failed
+     * @return the attachments in the order of the files
+     */
+    public <T> List<T> uploadAll(final List<FileUploadData> files, final Function<FileUploadData, T> upload,
+        final Consumer<T> cleanup) {
+        if (files.size() <= 1) {
+            return files.stream().map(file -> measure(file, upload)).toList();
+        }
+        return uploadAll(files, upload, cleanup, managedExecutor);
+    }
+
+    <T> List<T> uploadAll(final List<FileUploadData> files, final Function<FileUploadData, T> upload,
+        final Consumer<T> cleanup, final Executor executor) {
+        final Semaphore permits = new Semaphore(maxParallelism);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<CompletableFuture<T>> futures = new ArrayList<>(files.size());
+        try {
+            for (FileUploadData file : files) {
+                permits.acquire();
+                if (failure.get() != null) {
+                    permits.release();
+                    break;
+                }
+                futures.add(CompletableFuture.supplyAsync(() -> measure(file, upload), executor)
+                    .whenComplete((attachment, e) -> {
+                        if (e != null) {
+                            failure.compareAndSet(null, e instanceof CompletionException ? e.getCause() : e);
+                        }
+                        permits.release();
+                    }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .exceptionally(e -> null)
+            .join();
+
+        final Throwable cause = failure.get();
+        if (cause == null) {
+            return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+        }
+        logger.warnv("Upload of {0} files failed, cleaning up completed uploads", files.size());
+        final RuntimeException exception = cause instanceof RuntimeException runtime ? runtime
+            : new IllegalStateException("Upload of attachments failed", cause);
+        for (CompletableFuture<T> future : futures) {
+            if (!future.isCompletedExceptionally()) {
+                try {
+                    cleanup.accept(future.join());
+                } catch (RuntimeException e) {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        throw exception;
+    }
+
+    private <T> T measure(final FileUploadData file, final Function<FileUploadData, T> upload) {
+        final CountingInputStream content = new CountingInputStream(file.getInputStream());
+        final long start = System.nanoTime();
+        final T attachment = upload.apply(
+            new FileUploadData(content, file.getFileName(), file.getMediaType(), file.getSize()));
+        final long duration = System.nanoTime() - start;
+        Timer.builder(METRIC_UPLOAD)
+            .description("Duration of a single attachment upload")
+            .register(meterRegistry)
+            .record(duration, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(METRIC_THROUGHPUT)
+            .description("Throughput of a single attachment upload")
+            .baseUnit("bytes/s")
+            .register(meterRegistry)
+            .record(content.count * 1e9 / Math.max(1, duration));
+        return attachment;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package de.remsfal.ticketing.control;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import de.remsfal.ticketing.entity.dao.BlobRefRepository;
+import de.remsfal.ticketing.entity.storage.FileStorage;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Mark and sweep garbage collection of the content-addressed objects in the file storage. The mark
+ * phase reads the hashes of all referenced objects from the {@code blob_refs} table, the sweep phase
+ * lists the objects of the bucket and removes those that are not referenced.
+ *
+ * Objects younger than {@code de.remsfal.ticketing.storage.gc.grace-period} are kept, since their
+ * reference may not be visible yet. Before an object is removed, it is claimed with a lightweight
+ * transaction and its reference count is read again. An upload adds its reference before it checks the
+ * claim and waits until the claim is released (see {@link FileStorageController}), so either the count
+ * read after the claim sees the new reference and the object is kept, or the upload stores the object
+ * again after it was removed.
+ * The collection can be enabled at startup with {@code de.remsfal.ticketing.storage.gc.run-at-start}.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class BlobGarbageCollector {
+
+    @Inject
+    Logger logger;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.storage.gc.run-at-start", defaultValue = "false")
+    boolean runAtStart;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.storage.gc.grace-period", defaultValue = "PT24H")
+    Duration gracePeriod;
+
+    @Inject
+    FileStorage storage;
+
+    @Inject
+    BlobRefRepository blobRefs;
+
+    @Inject
+    ManagedExecutor executor;
+
+    void onStartup(@Observes @Priority(Interceptor.Priority.APPLICATION + 1000) final StartupEvent event) {
+        if (!runAtStart) {
+            return;
+        }
+        executor.runAsync(this::collect)
+            .exceptionally(e -> {
+                logger.error("Garbage collection of the file storage failed", e);
+                return null;
+            });
+    }
+
+    public BlobCollection collect() {
+        return collect(Instant.now().minus(gracePeriod));
+    }
+
+    /**
+     * @param olderThan only objects last modified before this instant are removed
+     * @return the number of scanned and of removed objects
+     */
+    public BlobCollection collect(final Instant olderThan) {
+        logger.info("Collecting unreferenced files...");
+        final Set<String> referenced = blobRefs.findReferenced();
+        final AtomicLong scanned = new AtomicLong();
+        final AtomicLong removed = new AtomicLong();
+        storage.forEachBlob(file -> {
+            scanned.incrementAndGet();
+            final String hash = FileStorage.toHash(file.getObjectName());
+            if (!referenced.contains(hash) && file.getLastModified().isBefore(olderThan)
+                && remove(file.getObjectName(), hash)) {
+                removed.incrementAndGet();
+            }
+        });
+        final BlobCollection result = new BlobCollection(scanned.get(), removed.get());
+        logger.infov("Garbage collection completed (scanned={0}, removed={1})", result.scanned(), result.removed());
+        return result;
+    }
+
+    private boolean remove(final String objectName, final String hash) {
+        if (!blobRefs.claim(hash)) {
+            logger.debugv("File {0} is claimed by another collection", objectName);
+            return false;
+        }
+        try {
+            if (blobRefs.count(hash) > 0) {
+                logger.debugv("File {0} was referenced again during the collection", objectName);
+                return false;
+            }
+            storage.deleteFile(objectName);
+            return true;
+        } finally {
+            blobRefs.release(hash);
+        }
+    }
+
+    /**
+     * @param scanned number of content-addressed objects in the bucket
+     * @param removed number of removed objects
+     */
+    public record BlobCollection(long scanned, long removed) {
+    }
+
+}
@@ -10,9 +10,11 @@ import de.remsfal.core.json.ticketing.ImmutableFileUploadJson;
 import de.remsfal.core.model.UserModel;
 import de.remsfal.ticketing.boundary.eventing.OcrEventProducer;
 import de.remsfal.ticketing.entity.dao.ChatMessageRepository;
+import de.remsfal.ticketing.entity.dao.ChatMessageRepository.ChatMessagePage;
 import de.remsfal.ticketing.entity.dao.ChatMessageRepository.ContentType;
 import de.remsfal.ticketing.entity.dto.ChatMessageEntity;
 import de.remsfal.ticketing.entity.storage.FileStorage;
+import de.remsfal.ticketing.entity.storage.StoredFile;
 
 import java.io.InputStream;
 import java.util.NoSuchElementException;
@@ -46,6 +48,9 @@ public class ChatMessageController {
 
     public void deleteChatMessage(UUID sessionId, UUID messageId) {
         logger.infov("Deleting chat message (messageId={0})", messageId);
+        repository.findMessageById(sessionId, messageId)
+            .filter(message -> ContentType.FILE.name().equals(message.getContentType()))
+            .ifPresent(message -> fileStorageController.deleteFile(message.getUrl()));
         repository.deleteChatMessage(sessionId, messageId);
     }
 
@@ -55,26 +60,33 @@ public class ChatMessageController {
             .orElseThrow(() -> new NoSuchElementException("Message not found"));
     }
 
+    public ChatMessagePage getChatMessages(UUID sessionId, String cursor, int limit) {
+        logger.infov("Getting chat messages (sessionId={0}, limit={1})", sessionId, limit);
+        return repository.findMessagePage(sessionId, cursor, limit);
+    }
+
     public ChatMessageEntity uploadFile(final UserModel user, final UUID sessionId, final FileUploadData fileData) {
         logger.infov("Uploading file to chat session (sessionId={0}, fileName={1})",
             sessionId, fileData.getFileName());
 
-        String fileName = fileData.getFileName();
-        UUID messageId = UUID.randomUUID();
-
-        // Generate unique file name
-        String objectFileName = generateUniqueFileName(fileName, sessionId, messageId);
-
         // Upload file to storage
-        objectFileName = fileStorageController.uploadFile(fileData, objectFileName);
-
-        // Create chat message entity with file URL
-        ChatMessageEntity entity = repository.sendMessage(
-            sessionId,
-            user.getId(),
-            ContentType.FILE.name(),
-            objectFileName
-        );
+        String objectFileName = fileStorageController.uploadFile(fileData, fileData.getFileName());
+
+        // Create chat message entity with file URL and the original file name
+        final ChatMessageEntity entity;
+        try {
+            entity = repository.sendMessage(
+                sessionId,
+                user.getId(),
+                ContentType.FILE.name(),
+                objectFileName,
+                fileData.getFileName()
+            );
+        } catch (RuntimeException e) {
+            // release the reference, so that the garbage collection can remove an unreferenced object
+            fileStorageController.deleteFile(objectFileName);
+            throw e;
+        }
 
         // Send OCR request
         FileUploadJson uploadedFile = ImmutableFileUploadJson.builder()
@@ -82,7 +94,7 @@ public class ChatMessageController {
             .messageId(entity.getMessageId())
             .senderId(user.getId())
             .bucket(FileStorage.DEFAULT_BUCKET_NAME)
-            .fileName(extractFileNameFromUrl(objectFileName))
+            .fileName(fileData.getFileName())
             .build();
         ocrEventProducer.sendOcrRequest(uploadedFile);
 
@@ -93,24 +105,22 @@ public class ChatMessageController {
         logger.infov("Downloading file from chat message (sessionId={0}, messageId={1})",
             sessionId, messageId);
 
+        return fileStorageController.downloadFile(getObjectFileName(sessionId, messageId));
+    }
+
+    public StoredFile getFile(final UUID sessionId, final UUID messageId, final String variant) {
+        logger.infov("Retrieving file metadata of chat message (sessionId={0}, messageId={1}, variant={2})",
+            sessionId, messageId, variant);
+        return fileStorageController.getFile(getObjectFileName(sessionId, messageId), variant);
+    }
+
+    private String getObjectFileName(final UUID sessionId, final UUID messageId) {
         ChatMessageEntity entity = getChatMessage(sessionId, messageId);
 
         if (!ContentType.FILE.name().equals(entity.getContentType())) {
             throw new IllegalArgumentException("Message is not a file");
         }
-
-        String objectFileName = entity.getUrl();
-        return fileStorageController.downloadFile(objectFileName);
-    }
-
-    private String generateUniqueFileName(final String fileName, final UUID sessionId, final UUID messageId) {
-        StringBuilder sb = new StringBuilder("/chat-sessions/");
-        sb.append(sessionId.toString());
-        sb.append("/files/");
-        sb.append(messageId.toString());
-        sb.append("/");
-        sb.append(fileName);
-        return sb.toString();
+        return entity.getUrl();
     }
 
     String extractFileNameFromUrl(final String fileUrl) {
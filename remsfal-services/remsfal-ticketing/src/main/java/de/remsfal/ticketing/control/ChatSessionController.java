@@ -26,6 +26,9 @@ public class ChatSessionController {
     @Inject
     ChatMessageRepository chatMessageRepository;
 
+    @Inject
+    FileStorageController fileStorageController;
+
     @Transactional
     public ChatSessionModel createChatSession(UUID projectId, UUID issueId, UUID userId) {
         logger.infov("Creating chat session (projectId={0}, issueId={1})", projectId, issueId);
@@ -33,14 +36,11 @@ public class ChatSessionController {
         return chatSessionRepository.createChatSession(projectId, issueId, participants);
     }
 
-    public String getChatLogs(UUID projectId, UUID issueId, UUID sessionId) {
-        logger.infov("Exporting chat session (sessionId={0})", sessionId);
-        return chatMessageRepository.getChatLogsAsJsonString(projectId, sessionId, issueId);
-    }
-
     public void deleteChatSession(UUID projectId, UUID issueId, UUID sessionId) {
         logger.infov("Deleting chat session (sessionId={0})", sessionId);
         chatSessionRepository.deleteSession(projectId, sessionId, issueId);
+        chatMessageRepository.findFileUrls(sessionId).forEach(fileStorageController::deleteFile);
+        chatMessageRepository.deleteMessagesFromSession(sessionId);
     }
 
     public Optional<ChatSessionEntity> getChatSession(UUID projectId, UUID issueId, UUID sessionId) {
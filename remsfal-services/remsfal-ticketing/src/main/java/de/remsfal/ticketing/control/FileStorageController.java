@@ -3,13 +3,19 @@ package de.remsfal.ticketing.control;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.MediaType;
 
 import de.remsfal.common.model.FileUploadData;
 import de.remsfal.common.validation.MediaTypeValidator;
+import de.remsfal.ticketing.entity.dao.BlobRefRepository;
+import de.remsfal.ticketing.entity.storage.BlobUpload;
 import de.remsfal.ticketing.entity.storage.FileStorage;
+import de.remsfal.ticketing.entity.storage.StoredFile;
 
 import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.logging.Logger;
 
@@ -22,18 +28,30 @@ import org.jboss.logging.Logger;
 @ApplicationScoped
 public class FileStorageController {
 
+    public static final String VARIANT_ORIGINAL = "original";
+
+    public static final String VARIANT_THUMBNAIL = "thumb";
+
+    private static final long CLAIM_POLL_INTERVAL_MS = 50L;
+
     @Inject
     Logger logger;
 
     @Inject
     FileStorage storage;
 
+    @Inject
+    BlobRefRepository blobRefs;
+
+    @Inject
+    PreviewController previewController;
+
     /**
      * Uploads a file to storage.
      *
      * @param fileData the file upload data wrapper (must not be null)
-     * @param fileName the target file name (must not be null or blank)
-     * @return the final file name or identifier of the uploaded file
+     * @param fileName the original file name (must not be null or blank)
+     * @return the name of the content-addressed object holding the file
      * @throws BadRequestException if the content type is invalid, or if fileData or fileName are invalid
      */
     String uploadFile(final FileUploadData fileData, final String fileName) {
@@ -41,7 +59,7 @@ public class FileStorageController {
             logger.error("FileUploadData is null");
             throw new BadRequestException("FileUploadData cannot be null");
         }
-        return uploadFile(fileData.getInputStream(), fileName, fileData.getMediaType());
+        return uploadFile(fileData.getInputStream(), fileName, fileData.getMediaType(), fileData.getSize());
     }
 
     /**
@@ -50,10 +68,26 @@ public class FileStorageController {
      * @param inputStream the file content as an input stream (must not be null)
      * @param fileName the original file name (must not be null or blank)
      * @param contentType the media type of the file (must not be null)
-     * @return the final file name or identifier of the uploaded file
+     * @return the name of the content-addressed object holding the file
      * @throws BadRequestException if the content type is invalid, or if inputStream or fileName are invalid
      */
     String uploadFile(final InputStream inputStream, final String fileName, final MediaType contentType) {
+        return uploadFile(inputStream, fileName, contentType, FileUploadData.UNKNOWN_SIZE);
+    }
+
+    /**
+     * Uploads a file to storage.
+     *
+     * @param inputStream the file content as an input stream (must not be null)
+     * @param fileName the original file name (must not be null or blank)
+     * @param contentType the media type of the file (must not be null)
+     * @param declaredSize the declared length of the content, or {@link FileUploadData#UNKNOWN_SIZE}
+     * @return the name of the content-addressed object holding the file
+     * @throws BadRequestException if the content type is invalid, if inputStream or fileName are invalid,
+     *         or if the content is shorter or longer than declared
+     */
+    String uploadFile(final InputStream inputStream, final String fileName, final MediaType contentType,
+        final long declaredSize) {
         if (inputStream == null) {
             logger.error("Input stream is null");
             throw new BadRequestException("Input stream cannot be null");
@@ -71,7 +105,47 @@ public class FileStorageController {
             throw new BadRequestException("Invalid file type: " + contentType.toString());
         }
         logger.infov("Uploading file: {0} with content type: {1}", fileName, contentType);
-        return storage.uploadFile(inputStream, fileName, contentType);
+        try (BlobUpload upload = storage.spool(inputStream)) {
+            if (declaredSize != FileUploadData.UNKNOWN_SIZE && declaredSize != upload.getSize()) {
+                logger.errorv("File {0} has {1} bytes instead of the declared {2}",
+                    fileName, upload.getSize(), declaredSize);
+                throw new BadRequestException("Incomplete file upload: " + fileName);
+            }
+            // reference first, so that the garbage collection does not remove an object found as duplicate,
+            // then wait for a removal that claimed the object before and store the object again if needed
+            blobRefs.increment(upload.getHash());
+            try {
+                awaitRemoval(upload.getHash());
+                storage.store(upload, contentType);
+            } catch (RuntimeException e) {
+                blobRefs.decrement(upload.getHash());
+                throw e;
+            }
+            previewController.schedule(upload.getObjectName(), contentType);
+            return upload.getObjectName();
+        }
+    }
+
+    /**
+     * Waits until the {@link BlobGarbageCollector} has released its claim on an object. A claim expires
+     * after {@link BlobRefRepository#CLAIM_TTL_SECONDS}, so the wait is bounded.
+     *
+     * @param hash the hash of the object
+     */
+    private void awaitRemoval(final String hash) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BlobRefRepository.CLAIM_TTL_SECONDS);
+        while (blobRefs.isClaimed(hash)) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new InternalServerErrorException("File is still claimed by the garbage collection");
+            }
+            logger.debugv("Waiting for the garbage collection of file {0}", hash);
+            try {
+                Thread.sleep(CLAIM_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InternalServerErrorException("Interrupted while waiting for the garbage collection", e);
+            }
+        }
     }
 
     /**
@@ -85,12 +159,46 @@ public class FileStorageController {
     }
 
     /**
-     * Deletes a file from storage.
+     * Looks up a file in storage without reading its content.
+     *
+     * @param fileName the name or identifier of the file
+     * @return a handle carrying the metadata of the file
+     */
+    StoredFile getFile(final String fileName) {
+        return storage.getFile(fileName);
+    }
+
+    /**
+     * Looks up a variant of a file in storage without reading its content. If the thumbnail of a file is
+     * requested but not rendered (yet), the original file is returned.
+     *
+     * @param fileName the name or identifier of the file
+     * @param variant  {@link #VARIANT_THUMBNAIL} for the thumbnail, null or {@link #VARIANT_ORIGINAL} for the file
+     * @return a handle carrying the metadata of the variant
+     */
+    StoredFile getFile(final String fileName, final String variant) {
+        if (VARIANT_THUMBNAIL.equals(variant) && FileStorage.isBlob(fileName)) {
+            try {
+                return storage.getFile(FileStorage.toThumbnailName(fileName));
+            } catch (NotFoundException e) {
+                logger.debugv("No thumbnail of file {0}, falling back to the original", fileName);
+            }
+        }
+        return storage.getFile(fileName);
+    }
+
+    /**
+     * Deletes a file from storage. A content-addressed object may be shared, so only its reference is
+     * released; the object is removed by the {@link BlobGarbageCollector} once it is not referenced anymore.
      *
      * @param fileName the name or identifier of the file to delete
      */
     void deleteFile(final String fileName) {
-        storage.deleteFile(fileName);
+        if (FileStorage.isBlob(fileName)) {
+            blobRefs.decrement(FileStorage.toHash(fileName));
+        } else {
+            storage.deleteFile(fileName);
+        }
     }
 
     /**
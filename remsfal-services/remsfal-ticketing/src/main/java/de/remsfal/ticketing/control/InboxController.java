@@ -1,12 +1,12 @@
 package de.remsfal.ticketing.control;
 
 import de.remsfal.ticketing.entity.dao.InboxMessageRepository;
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository.InboxCounters;
 import de.remsfal.ticketing.entity.dto.InboxMessageEntity;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,27 +18,30 @@ public class InboxController {
     InboxMessageRepository repository;
 
     /**
-     * Returns inbox messages for a user with optional filtering.
+     * Returns one page of the inbox messages of a user, newest first, with optional filtering.
+     *
+     * @param read   only messages with this read flag are returned, may be null
+     * @param userId the owner of the inbox
+     * @param cursor id of the last message of the previous page, may be null
+     * @param limit  maximum number of messages on the page
      */
-    public List<InboxMessageEntity> getInboxMessages(Boolean read, String userId) {
+    public List<InboxMessageEntity> getInboxMessages(Boolean read, String userId, UUID cursor, int limit) {
 
         if (userId == null) {
             throw new IllegalArgumentException("userId cannot be null");
         }
 
-        List<InboxMessageEntity> result;
+        return repository.findPage(userId, read, cursor, limit);
+    }
 
-        if (read != null) {
-            result = repository.findByUserIdAndRead(userId, read);
-        } else {
-            result = repository.findByUserId(userId);
+    /**
+     * Returns the number of all and of the unread messages of a user.
+     */
+    public InboxCounters getInboxCounters(String userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId cannot be null");
         }
-
-        List<InboxMessageEntity> mutable = new ArrayList<>(result);
-
-        mutable.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-
-        return mutable;
+        return repository.findCounters(userId);
     }
 
 
@@ -58,9 +61,13 @@ public class InboxController {
             throw new IllegalArgumentException("Inbox message not found for user");
         }
 
+        InboxMessageEntity entity = opt.get();
+        boolean wasRead = Boolean.TRUE.equals(entity.getRead());
         repository.updateReadStatus(userId, id, read);
+        if (wasRead != read) {
+            repository.updateCounters(userId, 0, read ? -1 : 1);
+        }
 
-        InboxMessageEntity entity = opt.get();
         entity.setRead(read);
 
         return entity;
@@ -78,10 +85,12 @@ public class InboxController {
             throw new IllegalArgumentException("Invalid UUID format: " + messageId);
         }
 
-        if (repository.findByUserIdAndId(userId, id).isEmpty()) {
+        Optional<InboxMessageEntity> opt = repository.findByUserIdAndId(userId, id);
+        if (opt.isEmpty()) {
             throw new IllegalArgumentException("Inbox message not found for user");
         }
 
         repository.deleteInboxMessage(userId, id);
+        repository.updateCounters(userId, -1, Boolean.TRUE.equals(opt.get().getRead()) ? 0 : -1);
     }
 }
@@ -0,0 +1,60 @@
+package de.remsfal.ticketing.control;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository;
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository.InboxMigration;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Copies the inbox messages of the former {@code inbox_messages} table, which was clustered by random
+ * ids, into the time-ordered {@code user_inbox_messages} table and initializes the inbox counters.
+ *
+ * The migration can be enabled with {@code de.remsfal.ticketing.inbox.migrate-at-start} and runs
+ * after the schema migration. It can be repeated safely: users whose messages were copied before are
+ * recorded and skipped, so their deleted messages and read flags are kept.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class InboxMigrationController {
+
+    @Inject
+    Logger logger;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.inbox.migrate-at-start", defaultValue = "false")
+    boolean migrateAtStart;
+
+    @Inject
+    InboxMessageRepository repository;
+
+    @Inject
+    ManagedExecutor executor;
+
+    void onStartup(@Observes @Priority(Interceptor.Priority.APPLICATION + 1000) final StartupEvent event) {
+        if (!migrateAtStart) {
+            return;
+        }
+        executor.runAsync(this::migrate)
+            .exceptionally(e -> {
+                logger.error("Migration of the inbox messages failed", e);
+                return null;
+            });
+    }
+
+    public InboxMigration migrate() {
+        logger.info("Migrating inbox messages...");
+        final InboxMigration result = repository.migrateLegacyMessages();
+        logger.infov("Inbox migration completed (users={0}, messages={1})", result.users(), result.messages());
+        return result;
+    }
+
+}
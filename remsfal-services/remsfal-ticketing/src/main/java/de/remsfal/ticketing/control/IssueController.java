@@ -20,9 +20,11 @@ import de.remsfal.ticketing.entity.filter.IssueFilter;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.UUID;
 
 @RequestScoped
@@ -112,26 +114,55 @@ public class IssueController {
     /**
      * Aggregates issues across all rental agreements the caller is a tenant of. Cassandra cannot
      * combine an {@code IN} restriction on the partition key ({@code project_id}) with SAI filters,
-     * so this issues one single-partition query per {@code (agreementId, projectId)} pair and merges
-     * the results here. Each partition's rows already arrive sorted by {@code issue_id} descending
-     * (the table's clustering order), so merging is a simple sort of the small
-     * {@code partitions × limit} candidate set, not a full re-sort of the whole result.
+     * so this issues one single-partition query per {@code (agreementId, projectId)} pair. The queries
+     * run concurrently (see {@link IssueRepository#findByQueries}) and each partition's rows already
+     * arrive sorted by {@code issue_id} descending (the table's clustering order), so the results are
+     * combined by a k-way merge that stops as soon as {@code limit} issues have been produced.
+     * <p>
+     * Because all partitions are paged by the same globally time-ordered {@code issue_id}, the id of the
+     * last returned issue is a cursor that is valid for every partition at once.
      */
     public List<? extends IssueModel> getTenancyIssues(final Map<UUID, UUID> tenancyProjects,
         final UUID cursor, final Integer limit) {
         if (tenancyProjects.isEmpty()) {
             return List.of();
         }
-        final List<IssueEntity> merged = new ArrayList<>();
+        final List<IssueFilter> filters = new ArrayList<>(tenancyProjects.size());
         for (final Map.Entry<UUID, UUID> tenancy : tenancyProjects.entrySet()) {
             final UUID agreementId = tenancy.getKey();
             final UUID projectId = tenancy.getValue();
-            final IssueFilter filter = new IssueFilter(projectId, null, agreementId, null, null, null, null,
-                Boolean.TRUE);
-            merged.addAll(issueRepository.findByQuery(filter, cursor, limit));
+            filters.add(new IssueFilter(projectId, null, agreementId, null, null, null, null, Boolean.TRUE));
         }
-        merged.sort(Comparator.comparing(IssueEntity::getId, Comparator.reverseOrder()));
-        return merged.size() > limit ? merged.subList(0, limit) : merged;
+        return mergeDescending(issueRepository.findByQueries(filters, cursor, limit), limit);
+    }
+
+    /**
+     * Merges partition results that are each sorted by issue id descending into one list of at most
+     * {@code limit} issues, keeping only the head of every partition in a heap.
+     */
+    static List<IssueEntity> mergeDescending(final List<List<IssueEntity>> partitions, final int limit) {
+        final Comparator<IssueEntity> byIdDescending =
+            Comparator.comparing(IssueEntity::getId, Comparator.reverseOrder());
+        final PriorityQueue<PartitionCursor> heads = new PriorityQueue<>(Math.max(1, partitions.size()),
+            (a, b) -> byIdDescending.compare(a.head(), b.head()));
+        for (final List<IssueEntity> partition : partitions) {
+            final Iterator<IssueEntity> iterator = partition.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new PartitionCursor(iterator.next(), iterator));
+            }
+        }
+        final List<IssueEntity> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            final PartitionCursor next = heads.poll();
+            merged.add(next.head());
+            if (next.tail().hasNext()) {
+                heads.add(new PartitionCursor(next.tail().next(), next.tail()));
+            }
+        }
+        return merged;
+    }
+
+    private record PartitionCursor(IssueEntity head, Iterator<IssueEntity> tail) {
     }
 
     /**
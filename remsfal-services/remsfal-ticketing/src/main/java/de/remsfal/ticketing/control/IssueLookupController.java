@@ -0,0 +1,69 @@
+package de.remsfal.ticketing.control;
+
+import java.util.UUID;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import de.remsfal.ticketing.entity.dao.IssueRepository;
+import de.remsfal.ticketing.entity.dao.IssueRepository.LookupConsistency;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Maintains the {@code issues_by_id} lookup table that resolves the project partition of an issue.
+ *
+ * New and updated issues are written to the lookup table by the {@link IssueRepository}. Issues that
+ * existed before the table was introduced are copied once by a backfill, which can be enabled with
+ * {@code de.remsfal.ticketing.issue-lookup.backfill-at-start} and runs after the schema migration.
+ * Until the backfill completed, {@code de.remsfal.ticketing.issue-lookup.index-fallback} lets lookups
+ * of issues without a lookup row fall back to the secondary index.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class IssueLookupController {
+
+    @Inject
+    Logger logger;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.issue-lookup.backfill-at-start", defaultValue = "false")
+    boolean backfillAtStart;
+
+    @Inject
+    IssueRepository issueRepository;
+
+    @Inject
+    ManagedExecutor executor;
+
+    void onStartup(@Observes @Priority(Interceptor.Priority.APPLICATION + 1000) final StartupEvent event) {
+        if (!backfillAtStart) {
+            return;
+        }
+        executor.runAsync(this::backfill)
+            .exceptionally(e -> {
+                logger.error("Backfill of the issue lookup table failed", e);
+                return null;
+            });
+    }
+
+    public LookupConsistency backfill() {
+        logger.info("Backfilling issue lookup table...");
+        final LookupConsistency result = issueRepository.backfillLookup();
+        logger.infov("Issue lookup backfill completed (checked={0}, missing={1}, mismatched={2}, repaired={3})",
+            result.checked(), result.missing(), result.mismatched(), result.repaired());
+        return result;
+    }
+
+    public LookupConsistency checkConsistency(final UUID projectId, final boolean repair) {
+        logger.infov("Checking issue lookup consistency (projectId={0}, repair={1})", projectId, repair);
+        return issueRepository.checkLookupConsistency(projectId, repair);
+    }
+
+}
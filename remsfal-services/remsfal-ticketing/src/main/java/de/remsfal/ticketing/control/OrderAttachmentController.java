@@ -13,6 +13,7 @@ import de.remsfal.core.model.ticketing.OrderProcessPhase;
 import de.remsfal.ticketing.entity.dao.OrderAttachmentRepository;
 import de.remsfal.ticketing.entity.dto.OrderAttachmentEntity;
 import de.remsfal.ticketing.entity.dto.OrderAttachmentKey;
+import de.remsfal.ticketing.entity.storage.StoredFile;
 
 import java.io.InputStream;
 import java.time.Instant;
@@ -46,12 +47,15 @@ public class OrderAttachmentController {
         attachment.setUploadedBy(user.getName());
         attachment.setCreatedAt(Instant.now());
 
-        String objectFileName = generateUniqueFileName(
-            fileData.getFileName(), processPhase, processId, attachment.getAttachmentId());
-        objectFileName = fileStorageController.uploadFile(fileData, objectFileName);
-        attachment.setObjectName(objectFileName);
+        attachment.setObjectName(fileStorageController.uploadFile(fileData, fileData.getFileName()));
 
-        return attachmentRepository.insert(attachment);
+        try {
+            return attachmentRepository.insert(attachment);
+        } catch (RuntimeException e) {
+            // release the reference, so that the garbage collection can remove an unreferenced object
+            fileStorageController.deleteFile(attachment.getObjectName());
+            throw e;
+        }
     }
 
     public List<? extends OrderAttachmentModel> getAttachments(final OrderProcessPhase processPhase,
@@ -73,6 +77,12 @@ public class OrderAttachmentController {
         return fileStorageController.downloadFile(objectName);
     }
 
+    public StoredFile getAttachmentFile(final String objectName, final String variant) {
+        logger.infov("Retrieving attachment metadata from storage (objectName={0}, variant={1})",
+            objectName, variant);
+        return fileStorageController.getFile(objectName, variant);
+    }
+
     public void deleteAttachment(final OrderProcessPhase processPhase, final UUID processId,
         final UUID attachmentId) {
         logger.infov("Deleting attachment (processPhase={0}, processId={1}, attachmentId={2})",
@@ -85,20 +95,9 @@ public class OrderAttachmentController {
 
     public void deleteAllAttachments(final OrderProcessPhase processPhase, final UUID processId) {
         logger.infov("Deleting all attachments (processPhase={0}, processId={1})", processPhase, processId);
+        attachmentRepository.findByProcess(processPhase.name(), processId)
+            .forEach(attachment -> fileStorageController.deleteFile(attachment.getObjectName()));
         attachmentRepository.deleteByProcess(processPhase.name(), processId);
     }
 
-    private String generateUniqueFileName(final String fileName, final OrderProcessPhase processPhase,
-        final UUID processId, final UUID attachmentId) {
-        StringBuilder sb = new StringBuilder("/order-management/");
-        sb.append(processPhase.name().toLowerCase());
-        sb.append("/");
-        sb.append(processId.toString());
-        sb.append("/attachments/");
-        sb.append(attachmentId.toString());
-        sb.append("/");
-        sb.append(fileName);
-        return sb.toString();
-    }
-
 }
@@ -0,0 +1,123 @@
+package de.remsfal.ticketing.control;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.core.MediaType;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+import org.jboss.logging.Logger;
+
+import de.remsfal.ticketing.entity.storage.FileStorage;
+
+/**
+ * Renders thumbnails of uploaded images and of the first page of uploaded PDF documents in the background
+ * and stores them next to the original object.
+ *
+ * Rendering runs on its own pool of at most {@code de.remsfal.ticketing.previews.max-workers} threads
+ * with a queue of {@code de.remsfal.ticketing.previews.max-queued} jobs, so a burst of uploads cannot
+ * starve request processing. A job that does not fit into the queue is dropped; its thumbnail is
+ * rendered again by the next upload of the same content, since rendering is skipped only if the
+ * thumbnail exists already. Until then downloads of the thumbnail fall back to the original.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class PreviewController {
+
+    @Inject
+    Logger logger;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.previews.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.previews.max-workers", defaultValue = "2")
+    int maxWorkers;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.previews.max-queued", defaultValue = "64")
+    int maxQueued;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.previews.size", defaultValue = "256")
+    int size;
+
+    @Inject
+    FileStorage storage;
+
+    private ManagedExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = ManagedExecutor.builder()
+            .maxAsync(maxWorkers)
+            .maxQueued(maxQueued)
+            .propagated(ThreadContext.NONE)
+            .cleared(ThreadContext.ALL_REMAINING)
+            .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules the rendering of the thumbnail of an uploaded object, if it is an image or a PDF document.
+     *
+     * @param objectName  the name of the content-addressed object
+     * @param contentType the media type of the object
+     */
+    public void schedule(final String objectName, final MediaType contentType) {
+        if (!enabled || !isRenderable(objectName, contentType)) {
+            return;
+        }
+        try {
+            executor.runAsync(() -> generate(objectName))
+                .exceptionally(e -> {
+                    logger.errorv(e, "Rendering the thumbnail of {0} failed", objectName);
+                    return null;
+                });
+        } catch (RejectedExecutionException e) {
+            logger.warnv("Rendering queue is full, skipped thumbnail of {0}", objectName);
+        }
+    }
+
+    /**
+     * Renders and stores the thumbnail of an object, unless it exists already.
+     *
+     * @param objectName the name of the content-addressed object
+     * @return true if a thumbnail was stored, false if it existed or the object cannot be rendered
+     */
+    public boolean generate(final String objectName) {
+        final String thumbnailName = FileStorage.toThumbnailName(objectName);
+        if (storage.fileExists(thumbnailName)) {
+            return false;
+        }
+        final byte[] thumbnail;
+        try (InputStream content = storage.downloadFile(objectName)) {
+            thumbnail = ThumbnailRenderer.render(content, size);
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Error occurred while rendering thumbnail", e);
+        }
+        if (thumbnail == null) {
+            logger.warnv("File {0} is neither a readable image nor a PDF document", objectName);
+            return false;
+        }
+        storage.storePreview(thumbnailName, thumbnail, ThumbnailRenderer.CONTENT_TYPE);
+        return true;
+    }
+
+    static boolean isRenderable(final String objectName, final MediaType contentType) {
+        return FileStorage.isBlob(objectName) && !FileStorage.isPreview(objectName)
+            && contentType != null
+            && ThumbnailRenderer.supports(contentType.getType() + "/" + contentType.getSubtype());
+    }
+
+}
@@ -0,0 +1,149 @@
+package de.remsfal.ticketing.control;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+/**
+ * Renders JPEG thumbnails of images with the image readers of the JDK and of WebP images with the
+ * TwelveMonkeys reader. Large photos are decoded with source subsampling, so only about twice the pixels
+ * of the thumbnail are held in memory instead of the whole photo. The thumbnail of a PDF document shows
+ * its first page, rendered by PDFBox at the size of the thumbnail.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class ThumbnailRenderer {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    public static final String PDF_CONTENT_TYPE = "application/pdf";
+
+    private static final byte[] PDF_HEADER = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private ThumbnailRenderer() {
+    }
+
+    /**
+     * @param mimeType the media type of an image or document without parameters
+     * @return true if images or documents of this type can be rendered
+     */
+    public static boolean supports(final String mimeType) {
+        return PDF_CONTENT_TYPE.equals(mimeType) || ImageIO.getImageReadersByMIMEType(mimeType).hasNext();
+    }
+
+    /**
+     * @param content the encoded image or PDF document
+     * @param maxEdge the maximum width and height of the thumbnail in pixels
+     * @return the JPEG encoded thumbnail, or null if the content is neither a readable image nor a PDF
+     *         document with pages
+     * @throws IOException if the content cannot be read
+     */
+    public static byte[] render(final InputStream content, final int maxEdge) throws IOException {
+        final BufferedInputStream input = new BufferedInputStream(content);
+        final BufferedImage source = isPdf(input) ? readFirstPage(input, maxEdge) : read(input, maxEdge);
+        if (source == null) {
+            return null;
+        }
+        final double scale = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        final int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        final int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG has no alpha channel, transparent areas become white
+        final BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return write(thumbnail);
+    }
+
+    private static boolean isPdf(final BufferedInputStream input) throws IOException {
+        input.mark(PDF_HEADER.length);
+        final byte[] header = input.readNBytes(PDF_HEADER.length);
+        input.reset();
+        return Arrays.equals(header, PDF_HEADER);
+    }
+
+    private static BufferedImage readFirstPage(final InputStream content, final int maxEdge) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(content))) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            // one point is one pixel at scale 1, the longest edge of the page is rendered with maxEdge pixels
+            final PDRectangle page = document.getPage(0).getCropBox();
+            final float scale = maxEdge / Math.max(page.getWidth(), page.getHeight());
+            return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+
+    private static BufferedImage read(final InputStream content, final int maxEdge) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                final int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                final int subsampling = Math.max(1, longestEdge / (2 * maxEdge));
+                final ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static byte[] write(final BufferedImage image) throws IOException {
+        final ImageWriter writer = ImageIO.getImageWritersByMIMEType(CONTENT_TYPE).next();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -0,0 +1,185 @@
+package de.remsfal.ticketing.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Central registry of prepared CQL statements for all Cassandra repositories.
+ *
+ * Every distinct statement text is prepared exactly once per application and cached, so subsequent
+ * executions only send the statement id and the bound values instead of the full query string, and
+ * Cassandra skips parsing it again. The statement text itself is the cache key; repositories that
+ * assemble CQL dynamically (e.g. from an {@link de.remsfal.ticketing.entity.filter.IssueFilter}) must
+ * therefore only vary the text by the <i>shape</i> of the query and never by its values. Multi-value
+ * {@code IN} restrictions are normalized with {@link #bucket(int)} and {@link #padInValues(List)} so
+ * that filters with a different number of values share one of a few prepared statements.
+ *
+ * The cache is bounded by {@code de.remsfal.ticketing.cassandra.statement-cache.max-size}. Once the
+ * bound is reached an arbitrary entry is evicted; this only happens if a repository leaks values
+ * into the statement text and keeps the registry from growing without limit in that case.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class PreparedStatementRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger(PreparedStatementRegistry.class);
+
+    static final String METRIC_PREPARED = "remsfal.cassandra.statements.prepared";
+    static final String METRIC_BOUND = "remsfal.cassandra.statements.bound";
+    static final String METRIC_EVICTED = "remsfal.cassandra.statements.evicted";
+    static final String METRIC_CACHED = "remsfal.cassandra.statements.cached";
+
+    @ConfigProperty(name = "de.remsfal.ticketing.cassandra.statement-cache.max-size", defaultValue = "512")
+    int maxSize;
+
+    @Inject
+    CqlSession cqlSession;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final Map<String, PreparedStatement> statements = new ConcurrentHashMap<>();
+
+    private Counter preparedCounter;
+    private Counter boundCounter;
+    private Counter evictedCounter;
+
+    @PostConstruct
+    void init() {
+        preparedCounter = Counter.builder(METRIC_PREPARED)
+            .description("Number of CQL statements prepared on the Cassandra cluster")
+            .register(meterRegistry);
+        boundCounter = Counter.builder(METRIC_BOUND)
+            .description("Number of executions bound to an already prepared CQL statement")
+            .register(meterRegistry);
+        evictedCounter = Counter.builder(METRIC_EVICTED)
+            .description("Number of prepared CQL statements evicted from the registry")
+            .register(meterRegistry);
+        meterRegistry.gaugeMapSize(METRIC_CACHED, Collections.emptyList(), statements);
+    }
+
+    /**
+     * Returns the prepared statement for the given CQL text, preparing it on first use.
+     *
+     * @param cql the statement text with positional {@code ?} markers
+     * @return the cached prepared statement
+     */
+    public PreparedStatement prepare(final String cql) {
+        final PreparedStatement cached = statements.get(cql);
+        if (cached != null) {
+            return cached;
+        }
+        LOGGER.debugv("Preparing CQL statement: {0}", cql);
+        final PreparedStatement statement = cqlSession.prepare(cql);
+        preparedCounter.increment();
+        if (statements.size() >= maxSize) {
+            evictOne();
+        }
+        final PreparedStatement concurrent = statements.putIfAbsent(cql, statement);
+        return concurrent != null ? concurrent : statement;
+    }
+
+    /**
+     * Binds the values to the prepared statement of the given CQL text.
+     *
+     * @param cql    the statement text with positional {@code ?} markers
+     * @param values the values in marker order
+     * @return a bound statement ready for execution
+     */
+    public BoundStatement bind(final String cql, final Object... values) {
+        final BoundStatement statement = prepare(cql).bind(values);
+        boundCounter.increment();
+        return statement;
+    }
+
+    /**
+     * Binds the values to the prepared statement of the given CQL text and executes it.
+     *
+     * @param cql    the statement text with positional {@code ?} markers
+     * @param values the values in marker order
+     * @return the result of the execution
+     */
+    public ResultSet execute(final String cql, final Object... values) {
+        return cqlSession.execute(bind(cql, values));
+    }
+
+    /**
+     * @return the number of statements currently held by the registry
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Rounds the arity of an {@code IN} restriction up to the next power of two so that
+     * filters with a similar number of values share the same prepared statement.
+     *
+     * @param arity the number of values (must be positive)
+     * @return the bucketed arity
+     */
+    public static int bucket(final int arity) {
+        if (arity <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(arity - 1) << 1;
+    }
+
+    /**
+     * Pads the values of an {@code IN} restriction up to their {@link #bucket(int) bucketed} arity by
+     * repeating the last value. Duplicates in an {@code IN} list do not change the result set.
+     *
+     * @param values the values of the restriction (must not be empty)
+     * @return the padded values
+     */
+    public static List<Object> padInValues(final List<?> values) {
+        final int size = bucket(values.size());
+        final List<Object> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        final Object last = values.get(values.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    /**
+     * Renders the {@code ?} marker list of an {@code IN} restriction for the given arity.
+     *
+     * @param arity the number of markers
+     * @return a string like {@code "?, ?, ?"}
+     */
+    public static String markers(final int arity) {
+        return String.join(", ", Collections.nCopies(arity, "?"));
+    }
+
+    private void evictOne() {
+        final Iterator<String> iterator = statements.keySet().iterator();
+        if (iterator.hasNext()) {
+            final String evicted = iterator.next();
+            iterator.remove();
+            evictedCounter.increment();
+            LOGGER.warnv("Prepared statement cache is full ({0}), evicted: {1}", maxSize, evicted);
+        }
+    }
+
+}
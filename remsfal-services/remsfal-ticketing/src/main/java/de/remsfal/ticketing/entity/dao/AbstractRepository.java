@@ -9,6 +9,10 @@ import org.eclipse.jnosql.mapping.column.ColumnTemplate;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import de.remsfal.ticketing.entity.PreparedStatementRegistry;
 import de.remsfal.ticketing.entity.dto.AbstractEntity;
 
 @ApplicationScoped
@@ -22,6 +26,8 @@ public abstract class AbstractRepository<Entity extends AbstractEntity, Key> {
     public static final String SESSION_ID  = "session_id";
     public static final String MESSAGE_ID  = "message_id";
 
+    public static final String METRIC_ROUND_TRIPS = "remsfal.ticketing.cassandra.round-trips";
+
     @Inject
     @Database(value = DatabaseType.COLUMN)
     protected ColumnTemplate template;
@@ -29,4 +35,24 @@ public abstract class AbstractRepository<Entity extends AbstractEntity, Key> {
     @Inject
     protected CqlSession cqlSession;
 
+    @Inject
+    protected PreparedStatementRegistry statements;
+
+    @Inject
+    protected MeterRegistry meterRegistry;
+
+    /**
+     * Records the number of requests sent to Cassandra for one logical write operation.
+     *
+     * @param operation  name of the operation, used as tag
+     * @param roundTrips number of statements or batches sent
+     */
+    protected void recordRoundTrips(final String operation, final int roundTrips) {
+        DistributionSummary.builder(METRIC_ROUND_TRIPS)
+            .description("Requests sent to Cassandra per write operation")
+            .tag("operation", operation)
+            .register(meterRegistry)
+            .record(roundTrips);
+    }
+
 }
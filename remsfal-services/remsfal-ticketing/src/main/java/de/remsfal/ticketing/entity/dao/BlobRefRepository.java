@@ -0,0 +1,116 @@
+package de.remsfal.ticketing.entity.dao;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import de.remsfal.ticketing.entity.PreparedStatementRegistry;
+
+/**
+ * Reference counts of the content-addressed objects in the file storage, kept in the {@code blob_refs}
+ * counter table. Every attachment or chat file that points to an object holds one reference. Counters
+ * are never deleted, since Cassandra does not support reusing a deleted counter; an object without
+ * references simply has a count of zero.
+ *
+ * Before the garbage collection removes an object it claims the object in the {@code blob_deletions}
+ * table with a lightweight transaction, which counter tables do not support. An upload that references
+ * an object waits until the object is not claimed anymore, so it either keeps the object or stores it
+ * again after its removal.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+@ApplicationScoped
+public class BlobRefRepository {
+
+    private static final String HASH = "hash";
+    private static final String REFS = "refs";
+
+    private static final int SCAN_PAGE_SIZE = 500;
+
+    /**
+     * Lifetime of a claim in seconds, so that a collector that fails while removing an object does not
+     * block the uploads of its content forever.
+     */
+    public static final int CLAIM_TTL_SECONDS = 60;
+
+    private static final String SELECT_QUERY =
+        "SELECT refs FROM remsfal.blob_refs WHERE hash = ?";
+    private static final String SELECT_ALL_QUERY =
+        "SELECT hash, refs FROM remsfal.blob_refs";
+    private static final String UPDATE_QUERY =
+        "UPDATE remsfal.blob_refs SET refs = refs + ? WHERE hash = ?";
+    private static final String CLAIM_QUERY =
+        "INSERT INTO remsfal.blob_deletions (hash, claimed_at) VALUES (?, ?) IF NOT EXISTS USING TTL "
+            + CLAIM_TTL_SECONDS;
+    private static final String RELEASE_QUERY =
+        "DELETE FROM remsfal.blob_deletions WHERE hash = ? IF EXISTS";
+    private static final String SELECT_CLAIM_QUERY =
+        "SELECT hash FROM remsfal.blob_deletions WHERE hash = ?";
+
+    @Inject
+    CqlSession cqlSession;
+
+    @Inject
+    PreparedStatementRegistry statements;
+
+    public void increment(final String hash) {
+        statements.execute(UPDATE_QUERY, 1L, hash);
+    }
+
+    public void decrement(final String hash) {
+        statements.execute(UPDATE_QUERY, -1L, hash);
+    }
+
+    /**
+     * @return the number of references to the object, zero if it was never referenced
+     */
+    public long count(final String hash) {
+        final Row row = statements.execute(SELECT_QUERY, hash).one();
+        return row != null ? row.getLong(REFS) : 0L;
+    }
+
+    /**
+     * Reads the whole table and returns the hashes of all objects that are still referenced.
+     */
+    public Set<String> findReferenced() {
+        final Set<String> hashes = new HashSet<>();
+        for (Row row : cqlSession.execute(statements.bind(SELECT_ALL_QUERY).setPageSize(SCAN_PAGE_SIZE))) {
+            if (row.getLong(REFS) > 0) {
+                hashes.add(row.getString(HASH));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Claims an object for removal. The claim is a lightweight transaction, so at most one collector holds
+     * it and every upload that checks {@link #isClaimed(String)} afterwards sees it.
+     *
+     * @return true if the object was claimed, false if it is claimed already
+     */
+    public boolean claim(final String hash) {
+        return statements.execute(CLAIM_QUERY, hash, Instant.now()).wasApplied();
+    }
+
+    public void release(final String hash) {
+        statements.execute(RELEASE_QUERY, hash);
+    }
+
+    /**
+     * Reads the claim with serial consistency, so that a claim taken before is always visible.
+     *
+     * @return true if the object is claimed for removal
+     */
+    public boolean isClaimed(final String hash) {
+        return cqlSession.execute(statements.bind(SELECT_CLAIM_QUERY, hash)
+            .setConsistencyLevel(DefaultConsistencyLevel.SERIAL)).one() != null;
+    }
+
+}
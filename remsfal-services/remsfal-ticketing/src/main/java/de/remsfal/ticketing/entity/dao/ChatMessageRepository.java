@@ -1,23 +1,22 @@
 package de.remsfal.ticketing.entity.dao;
 
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PagingState;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
 import com.datastax.oss.driver.api.querybuilder.delete.Delete;
 import com.datastax.oss.driver.api.querybuilder.insert.Insert;
 import com.datastax.oss.driver.api.querybuilder.update.Update;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import de.remsfal.common.util.UUIDv7;
 import de.remsfal.ticketing.entity.dto.ChatMessageEntity;
 import de.remsfal.ticketing.entity.dto.ChatMessageKey;
-import de.remsfal.ticketing.entity.dto.ChatSessionEntity;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Collections;
-import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -34,8 +33,14 @@ public class ChatMessageRepository extends AbstractRepository<ChatMessageEntity,
 
     private static final String TABLE = "chat_messages";
 
-    @Inject
-    ChatSessionRepository chatSessionRepository;
+    private static final int FILE_URLS_PAGE_SIZE = 500;
+
+    private static final String SELECT_PAGE_QUERY = "SELECT session_id, message_id, sender_id, content_type,"
+        + " content, url, file_name, created_at, modified_at FROM remsfal.chat_messages WHERE session_id = ?";
+    private static final String SELECT_FILE_URLS_QUERY =
+        "SELECT content_type, url FROM remsfal.chat_messages WHERE session_id = ?";
+    private static final String DELETE_SESSION_QUERY =
+        "DELETE FROM remsfal.chat_messages WHERE session_id = ?";
 
     @Inject
     Logger logger;
@@ -53,6 +58,16 @@ public class ChatMessageRepository extends AbstractRepository<ChatMessageEntity,
     }
 
     public ChatMessageEntity sendMessage(UUID sessionId, UUID userId, String contentType, String content) {
+        return sendMessage(sessionId, userId, contentType, content, null);
+    }
+
+    /**
+     * Sends a message to a chat session.
+     *
+     * @param fileName the original name of the file of a file message, as its object may be named after its hash
+     */
+    public ChatMessageEntity sendMessage(UUID sessionId, UUID userId, String contentType, String content,
+        String fileName) {
         try {
             if (!ContentType.TEXT.name().equals(contentType) && !ContentType.FILE.name().equals(contentType)) {
                 throw new IllegalArgumentException("Invalid content type: " + contentType);
@@ -67,12 +82,13 @@ public class ChatMessageRepository extends AbstractRepository<ChatMessageEntity,
             ChatMessageEntity message = new ChatMessageEntity();
             ChatMessageKey key = new ChatMessageKey();
             key.setSessionId(sessionId);
-            key.setMessageId(UUID.randomUUID());
+            key.setMessageId(UUIDv7.randomUUID());
             message.setKey(key);
             message.setSenderId(userId);
             message.setContentType(contentType);
             if (ContentType.FILE.name().equals(contentType)) {
                 message.setUrl(content);
+                message.setFileName(fileName);
             } else {
                 message.setContent(content);
             }
@@ -130,73 +146,91 @@ public class ChatMessageRepository extends AbstractRepository<ChatMessageEntity,
         }
     }
 
-    public String getChatLogsAsJsonString(UUID projectId, UUID taskId, UUID sessionId) {
-        Optional<ChatSessionEntity> sessionOpt =
-            chatSessionRepository.findSessionById(projectId, sessionId, taskId);
-        if (sessionOpt.isEmpty()) {
-            throw new NoSuchElementException("Session not found");
+    /**
+     * Reads one page of the messages of a chat session in chronological order. Messages are clustered by
+     * their time-ordered id, so paging follows Cassandra's own paging state and never materializes more
+     * than {@code limit} rows, regardless of the size of the session.
+     *
+     * @param sessionId the chat session
+     * @param cursor    opaque cursor of a previous page, or null for the first page
+     * @param limit     maximum number of messages on the page
+     * @return the page and the cursor of the next page, if any
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another query
+     */
+    public ChatMessagePage findMessagePage(final UUID sessionId, final String cursor, final int limit) {
+        BoundStatement statement = statements.bind(SELECT_PAGE_QUERY, sessionId)
+            .setPageSize(limit);
+        if (cursor != null) {
+            try {
+                statement = statement.setPagingState(PagingState.fromString(cursor), cqlSession);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
         }
-        ChatSessionEntity session = sessionOpt.get();
-        List<ChatMessageEntity> messages = findMessagesByChatSession(sessionId);
-
-        Map<String, Object> chatSessionJsonMap = new LinkedHashMap<>();
-        chatSessionJsonMap.put(SESSION_ID, session.getSessionId());
-        chatSessionJsonMap.put(ISSUE_ID, session.getIssueId());
-        chatSessionJsonMap.put(PROJECT_ID, session.getProjectId());
-        chatSessionJsonMap.put("messages", messages.stream()
-            .map(message -> mapChatMessageToJson(message, projectId, taskId))
-            .collect(Collectors.toList()));
-
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.writeValueAsString(chatSessionJsonMap);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to export chat logs as JSON", e);
+        final ResultSet resultSet = cqlSession.execute(statement);
+        final List<ChatMessageEntity> messages = new ArrayList<>(resultSet.getAvailableWithoutFetching());
+        for (Row row : resultSet.currentPage()) {
+            messages.add(toEntity(row));
         }
+        final String nextCursor = resultSet.isFullyFetched() ? null
+            : resultSet.getExecutionInfo().getSafePagingState().toString();
+        return new ChatMessagePage(messages, nextCursor);
     }
 
-    private Map<String, Object> mapChatMessageToJson(ChatMessageEntity message, UUID projectId, UUID taskId) {
-        if (message == null) {
-            return Collections.emptyMap();
-        }
-        Map<String, Object> messageJsonMap = new LinkedHashMap<>();
-        messageJsonMap.put("DATETIME", message.getCreatedAt().toString());
-        messageJsonMap.put(MESSAGE_ID, message.getMessageId());
-        messageJsonMap.put("SENDER_ID", message.getSenderId());
-        messageJsonMap.put("MEMBER_ROLE",
-            chatSessionRepository.findParticipantRole(projectId, message.getSessionId(),
-            taskId, message.getSenderId()));
-        messageJsonMap.put("MESSAGE_TYPE", message.getContentType());
-
-        if (message.getContentType().equals(ContentType.FILE.name())) {
-            messageJsonMap.put("MESSAGE_CONTENT", message.getUrl());
-        } else {
-            messageJsonMap.put("MESSAGE_CONTENT", message.getContent());
-        }
-        return messageJsonMap;
+    private static ChatMessageEntity toEntity(final Row row) {
+        final ChatMessageKey key = new ChatMessageKey();
+        key.setSessionId(row.getUuid(SESSION_ID));
+        key.setMessageId(row.getUuid(MESSAGE_ID));
+        final ChatMessageEntity message = new ChatMessageEntity();
+        message.setKey(key);
+        message.setSenderId(row.getUuid("sender_id"));
+        message.setContentType(row.getString("content_type"));
+        message.setContent(row.getString("content"));
+        message.setUrl(row.getString("url"));
+        message.setFileName(row.getString("file_name"));
+        message.setCreatedAt(row.getInstant(CREATED_AT));
+        message.setModifiedAt(row.getInstant(MODIFIED_AT));
+        return message;
     }
 
-    public void deleteMessagesFromSession(String sessionId) {
-        try {
-            List<ChatMessageEntity> messages = findMessagesByChatSession(UUID.fromString(sessionId));
-            messages.forEach(message -> deleteMessage(UUID.fromString(sessionId), message.getMessageId()));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    /**
+     * Returns the object names of all files sent in a chat session.
+     */
+    public List<String> findFileUrls(final UUID sessionId) {
+        final List<String> urls = new ArrayList<>();
+        for (Row row : cqlSession.execute(statements.bind(SELECT_FILE_URLS_QUERY, sessionId)
+            .setPageSize(FILE_URLS_PAGE_SIZE))) {
+            if (ContentType.FILE.name().equals(row.getString("content_type")) && row.getString("url") != null) {
+                urls.add(row.getString("url"));
+            }
         }
+        return urls;
+    }
+
+    /**
+     * Deletes all messages of a chat session. The messages form one partition, so this is a single
+     * partition tombstone instead of one row tombstone per message.
+     */
+    public void deleteMessagesFromSession(final UUID sessionId) {
+        statements.execute(DELETE_SESSION_QUERY, sessionId);
+        recordRoundTrips("chat-session-delete", 1);
     }
 
     private void saveMessage(ChatMessageEntity message) {
         try {
             Insert insertQuery = QueryBuilder.insertInto(keyspace, ChatMessageRepository.TABLE)
-                .value(SESSION_ID, QueryBuilder.literal(message.getSessionId()))
-                .value(MESSAGE_ID, QueryBuilder.literal(message.getMessageId()))
-                .value("sender_id", QueryBuilder.literal(message.getSenderId()))
-                .value("content_type", QueryBuilder.literal(message.getContentType()))
-                .value("content", QueryBuilder.literal(message.getContent()))
-                .value("url", QueryBuilder.literal(message.getUrl()))
-                .value("created_at", QueryBuilder.literal(message.getCreatedAt()));
-
-            cqlSession.execute(insertQuery.build());
+                .value(SESSION_ID, QueryBuilder.bindMarker())
+                .value(MESSAGE_ID, QueryBuilder.bindMarker())
+                .value("sender_id", QueryBuilder.bindMarker())
+                .value("content_type", QueryBuilder.bindMarker())
+                .value("content", QueryBuilder.bindMarker())
+                .value("url", QueryBuilder.bindMarker())
+                .value("file_name", QueryBuilder.bindMarker())
+                .value("created_at", QueryBuilder.bindMarker());
+
+            statements.execute(insertQuery.asCql(), message.getSessionId(), message.getMessageId(),
+                message.getSenderId(), message.getContentType(), message.getContent(), message.getUrl(),
+                message.getFileName(), message.getCreatedAt());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -204,28 +238,30 @@ public class ChatMessageRepository extends AbstractRepository<ChatMessageEntity,
 
     private void updateMessage(ChatMessageEntity message) {
         Update updateQuery = QueryBuilder.update(keyspace, ChatMessageRepository.TABLE)
-            .setColumn("content", QueryBuilder.literal(message.getContent()))
-            .setColumn("url", QueryBuilder.literal(message.getUrl()))
-            .whereColumn(SESSION_ID)
-            .isEqualTo(QueryBuilder.literal(message.getSessionId()))
-            .whereColumn(MESSAGE_ID)
-            .isEqualTo(QueryBuilder.literal(message.getMessageId()));
-
-        cqlSession.execute(updateQuery.build());
+            .setColumn("content", QueryBuilder.bindMarker())
+            .setColumn("url", QueryBuilder.bindMarker())
+            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(MESSAGE_ID).isEqualTo(QueryBuilder.bindMarker());
+
+        statements.execute(updateQuery.asCql(), message.getContent(), message.getUrl(),
+            message.getSessionId(), message.getMessageId());
     }
 
     private void deleteMessage(UUID chatSessionId, UUID messageId) {
         Delete deleteQuery = QueryBuilder.deleteFrom(keyspace, ChatMessageRepository.TABLE)
-            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.literal(chatSessionId))
-            .whereColumn(MESSAGE_ID).isEqualTo(QueryBuilder.literal(messageId));
+            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(MESSAGE_ID).isEqualTo(QueryBuilder.bindMarker());
 
-        cqlSession.execute(deleteQuery.build());
+        statements.execute(deleteQuery.asCql(), chatSessionId, messageId);
     }
 
-    private List<ChatMessageEntity> findMessagesByChatSession(UUID chatSessionId) {
-        return template.select(ChatMessageEntity.class)
-            .where(SESSION_ID).eq(chatSessionId)
-            .result();
+    /**
+     * One page of chat messages.
+     *
+     * @param messages   the messages of the page in chronological order
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public record ChatMessagePage(List<ChatMessageEntity> messages, String nextCursor) {
     }
 
 }
@@ -1,5 +1,6 @@
 package de.remsfal.ticketing.entity.dao;
 
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
@@ -80,9 +81,8 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     public String findStatusById(UUID projectId, UUID sessionId, UUID issueId) {
         try {
-            Select selectQuery = makeSelectQuery(STATUS_COLUMN,
+            ResultSet resultSet = statements.execute(makeSelectQuery(STATUS_COLUMN),
                 projectId, sessionId, issueId);
-            ResultSet resultSet = cqlSession.execute(selectQuery.build());
             Row row = resultSet.one();
             if (row != null) {
                 return row.getString(STATUS_COLUMN);
@@ -98,9 +98,8 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     public Map<UUID, String> findParticipantsById(UUID projectId, UUID sessionId, UUID issueId) {
         try {
-            Select selectQuery = makeSelectQuery(PARTICIPANTS_COLUMN,
+            ResultSet resultSet = statements.execute(makeSelectQuery(PARTICIPANTS_COLUMN),
                 projectId, sessionId, issueId);
-            ResultSet resultSet = cqlSession.execute(selectQuery.build());
             Row row = resultSet.one();
             if (row != null) {
                 return row.getMap(PARTICIPANTS_COLUMN, UUID.class, String.class);
@@ -116,9 +115,8 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     public String findTaskTypeById(UUID projectId, UUID sessionId, UUID issueId) {
         try {
-            Select selectQuery = makeSelectQuery(TASK_TYPE_COLUMN,
+            ResultSet resultSet = statements.execute(makeSelectQuery(TASK_TYPE_COLUMN),
                 projectId, sessionId, issueId);
-            ResultSet resultSet = cqlSession.execute(selectQuery.build());
             Row row = resultSet.one();
             if (row != null) {
                 return row.getString(TASK_TYPE_COLUMN);
@@ -140,8 +138,8 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     public void addParticipant(UUID projectId, UUID sessionId, UUID issueId, UUID userId, String role) {
         try {
-            Select selectQuery = makeSelectQuery(PARTICIPANTS_COLUMN, projectId, sessionId, issueId);
-            ResultSet resultSet = cqlSession.execute(selectQuery.build());
+            ResultSet resultSet = statements.execute(makeSelectQuery(PARTICIPANTS_COLUMN),
+                projectId, sessionId, issueId);
             Row row = resultSet.one();
 
             if (row == null) {
@@ -163,8 +161,8 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     public void changeParticipantRole(UUID projectId, UUID sessionId, UUID issueId, UUID userId, String newRole) {
         try {
-            Select selectQuery = makeSelectQuery(PARTICIPANTS_COLUMN, projectId, sessionId, issueId);
-            ResultSet resultSet = cqlSession.execute(selectQuery.build());
+            ResultSet resultSet = statements.execute(makeSelectQuery(PARTICIPANTS_COLUMN),
+                projectId, sessionId, issueId);
             Row row = resultSet.one();
 
             if (row == null) {
@@ -190,15 +188,11 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     private void updateParticipantsAfterRoleChange(UUID projectId, UUID sessionId, UUID issueId,
         Map<UUID, String> participants) {
-        Update updateQuery = QueryBuilder.update(keyspace, TABLE)
-            .setColumn(PARTICIPANTS_COLUMN, QueryBuilder.literal(participants))
-            .setColumn(MODIFIED_AT_COLUMN, QueryBuilder.literal(Instant.now()))
-            .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.literal(projectId))
-            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.literal(sessionId))
-            .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.literal(issueId));
+        BoundStatement updateQuery = statements.bind(makeUpdateParticipantsQuery(),
+            participants, Instant.now(), projectId, sessionId, issueId);
 
         try {
-            cqlSession.execute(updateQuery.build());
+            cqlSession.execute(updateQuery);
         } catch (Exception e) {
             logger.error("Failed to update chat_sessions after role change. "
                 + "Manual cleanup may be required for session " + sessionId, e);
@@ -208,8 +202,8 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     public void deleteMember(UUID projectId, UUID sessionId, UUID issueId, UUID userId) {
         try {
-            Select selectQuery = makeSelectQuery(PARTICIPANTS_COLUMN, projectId, sessionId, issueId);
-            ResultSet resultSet = cqlSession.execute(selectQuery.build());
+            ResultSet resultSet = statements.execute(makeSelectQuery(PARTICIPANTS_COLUMN),
+                projectId, sessionId, issueId);
             Row row = resultSet.one();
 
             if (row != null) {
@@ -230,15 +224,11 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     private void updateParticipantsAfterDeletion(UUID projectId, UUID sessionId, UUID issueId,
         Map<UUID, String> participants) {
-        Update updateQuery = QueryBuilder.update(keyspace, TABLE)
-            .setColumn(PARTICIPANTS_COLUMN, QueryBuilder.literal(participants))
-            .setColumn(MODIFIED_AT_COLUMN, QueryBuilder.literal(Instant.now()))
-            .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.literal(projectId))
-            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.literal(sessionId))
-            .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.literal(issueId));
+        BoundStatement updateQuery = statements.bind(makeUpdateParticipantsQuery(),
+            participants, Instant.now(), projectId, sessionId, issueId);
 
         try {
-            cqlSession.execute(updateQuery.build());
+            cqlSession.execute(updateQuery);
         } catch (Exception e) {
             logger.error("Failed to update chat_sessions after deleting participant. "
                 + "Manual cleanup may be required for session " + sessionId, e);
@@ -249,11 +239,11 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
     public void deleteSession(UUID projectId, UUID sessionId, UUID issueId) {
         try {
             Delete deleteQuery = QueryBuilder.deleteFrom(keyspace, TABLE)
-                .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.literal(projectId))
-                .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.literal(sessionId))
-                .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.literal(issueId));
+                .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.bindMarker())
+                .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.bindMarker())
+                .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.bindMarker());
             logger.info("Executing delete query: " + deleteQuery.asCql());
-            cqlSession.execute(deleteQuery.build());
+            statements.execute(deleteQuery.asCql(), projectId, sessionId, issueId);
         } catch (Exception e) {
             throw new IllegalArgumentException("An error occurred while deleting the session", e);
         }
@@ -261,22 +251,34 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
 
     private void save(ChatSessionEntity session) {
         Insert insertQuery = QueryBuilder.insertInto(keyspace, TABLE)
-            .value(PROJECT_ID, QueryBuilder.literal(session.getProjectId()))
-            .value(SESSION_ID, QueryBuilder.literal(session.getSessionId()))
-            .value(ISSUE_ID, QueryBuilder.literal(session.getIssueId()))
-            .value(PARTICIPANTS_COLUMN, QueryBuilder.literal(session.getParticipants()))
-            .value("created_at", QueryBuilder.literal(session.getCreatedAt()))
-            .value(MODIFIED_AT_COLUMN, QueryBuilder.literal(session.getModifiedAt()));
+            .value(PROJECT_ID, QueryBuilder.bindMarker())
+            .value(SESSION_ID, QueryBuilder.bindMarker())
+            .value(ISSUE_ID, QueryBuilder.bindMarker())
+            .value(PARTICIPANTS_COLUMN, QueryBuilder.bindMarker())
+            .value("created_at", QueryBuilder.bindMarker())
+            .value(MODIFIED_AT_COLUMN, QueryBuilder.bindMarker());
         logger.info("Executing insert query: " + insertQuery.asCql());
-        cqlSession.execute(insertQuery.build());
+        statements.execute(insertQuery.asCql(), session.getProjectId(), session.getSessionId(),
+            session.getIssueId(), session.getParticipants(), session.getCreatedAt(), session.getModifiedAt());
     }
 
-    private Select makeSelectQuery(String column, UUID projectId, UUID sessionId, UUID issueId) {
-        return QueryBuilder.selectFrom(keyspace, TABLE)
+    private String makeSelectQuery(String column) {
+        Select selectQuery = QueryBuilder.selectFrom(keyspace, TABLE)
             .column(column)
-            .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.literal(projectId))
-            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.literal(sessionId))
-            .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.literal(issueId));
+            .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.bindMarker());
+        return selectQuery.asCql();
+    }
+
+    private String makeUpdateParticipantsQuery() {
+        Update updateQuery = QueryBuilder.update(keyspace, TABLE)
+            .setColumn(PARTICIPANTS_COLUMN, QueryBuilder.bindMarker())
+            .setColumn(MODIFIED_AT_COLUMN, QueryBuilder.bindMarker())
+            .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.bindMarker())
+            .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.bindMarker());
+        return updateQuery.asCql();
     }
 
     private Map<UUID, String> getParticipants(Row row) {
@@ -323,14 +325,10 @@ public class ChatSessionRepository extends AbstractRepository<ChatSessionEntity,
         Map<UUID, String> participants) {
         participants.put(userId, role);
 
-        Update updateQuery = QueryBuilder.update(keyspace, TABLE)
-            .setColumn(PARTICIPANTS_COLUMN, QueryBuilder.literal(participants))
-            .setColumn(MODIFIED_AT_COLUMN, QueryBuilder.literal(Instant.now()))
-            .whereColumn(PROJECT_ID).isEqualTo(QueryBuilder.literal(projectId))
-            .whereColumn(SESSION_ID).isEqualTo(QueryBuilder.literal(sessionId))
-            .whereColumn(ISSUE_ID).isEqualTo(QueryBuilder.literal(issueId));
+        BoundStatement updateQuery = statements.bind(makeUpdateParticipantsQuery(),
+            participants, Instant.now(), projectId, sessionId, issueId);
 
-        cqlSession.execute(updateQuery.build());
+        cqlSession.execute(updateQuery);
     }
 
 
@@ -1,102 +1,271 @@
 package de.remsfal.ticketing.entity.dao;
 
-import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
-import com.datastax.oss.driver.api.querybuilder.update.Update;
-import com.datastax.oss.driver.api.querybuilder.insert.Insert;
-import com.datastax.oss.driver.api.querybuilder.delete.Delete;
+import com.datastax.oss.driver.api.core.cql.Row;
 
 import de.remsfal.ticketing.entity.dto.InboxMessageEntity;
 import de.remsfal.ticketing.entity.dto.InboxMessageKey;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
-import org.eclipse.microprofile.config.inject.ConfigProperty;
-
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Inbox messages of a user in the {@code user_inbox_messages} table, which is clustered by the
+ * time-ordered message id in descending order. A page of the inbox is therefore one slice of the
+ * user's partition that starts after the last message of the previous page.
+ *
+ * The number of all and of the unread messages of a user is kept in the {@code user_inbox_counters}
+ * table, so that the unread badge is a single-row read. Counter updates are not idempotent; they are
+ * applied by the callers that know the previous state of a message, and can be reconciled with
+ * {@link #reconcileCounters(String)}.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
 @ApplicationScoped
 public class InboxMessageRepository extends AbstractRepository<InboxMessageEntity, InboxMessageKey> {
 
-    @ConfigProperty(name = "quarkus.cassandra.keyspace")
-    String keyspace;
-
-    private static final String TABLE = "inbox_messages";
-
     private static final String USER_ID = "user_id";
     private static final String MESSAGE_ID = "id";
+    private static final String READ = "read";
+
+    private static final int MIGRATION_PAGE_SIZE = 500;
+
+    private static final String COLUMNS = "user_id, id, event_type, issue_id, title, issue_type, status,"
+        + " description, actor_email, assignee_email, link, created_at, read";
+
+    private static final String SELECT_ALL_QUERY =
+        "SELECT " + COLUMNS + " FROM remsfal.user_inbox_messages WHERE user_id = ?";
+    private static final String SELECT_BY_KEY_QUERY =
+        "SELECT " + COLUMNS + " FROM remsfal.user_inbox_messages WHERE user_id = ? AND id = ?";
+    private static final String SELECT_READ_FLAGS_QUERY =
+        "SELECT read FROM remsfal.user_inbox_messages WHERE user_id = ?";
+    private static final String INSERT_QUERY =
+        "INSERT INTO remsfal.user_inbox_messages (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_READ_QUERY =
+        "UPDATE remsfal.user_inbox_messages SET read = ? WHERE user_id = ? AND id = ?";
+    private static final String DELETE_QUERY =
+        "DELETE FROM remsfal.user_inbox_messages WHERE user_id = ? AND id = ?";
 
-    public List<InboxMessageEntity> findByUserId(String userId) {
-        return template.select(InboxMessageEntity.class)
-            .where(USER_ID).eq(userId)
-            .result();
+    private static final String SELECT_COUNTERS_QUERY =
+        "SELECT total, unread FROM remsfal.user_inbox_counters WHERE user_id = ?";
+    private static final String UPDATE_COUNTERS_QUERY =
+        "UPDATE remsfal.user_inbox_counters SET total = total + ?, unread = unread + ? WHERE user_id = ?";
+
+    private static final String SELECT_LEGACY_PARTITIONS_QUERY =
+        "SELECT DISTINCT user_id FROM remsfal.inbox_messages";
+    private static final String SELECT_LEGACY_QUERY =
+        "SELECT " + COLUMNS + " FROM remsfal.inbox_messages WHERE user_id = ?";
+    private static final String SELECT_MIGRATED_QUERY =
+        "SELECT user_id FROM remsfal.user_inbox_migrations WHERE user_id = ?";
+    private static final String INSERT_MIGRATED_QUERY =
+        "INSERT INTO remsfal.user_inbox_migrations (user_id, migrated_at) VALUES (?, ?)";
+
+    /**
+     * Returns all messages of a user, newest first.
+     */
+    public List<InboxMessageEntity> findByUserId(final String userId) {
+        final List<InboxMessageEntity> messages = new ArrayList<>();
+        for (Row row : statements.execute(SELECT_ALL_QUERY, userId)) {
+            messages.add(toEntity(row));
+        }
+        return messages;
     }
 
-    public List<InboxMessageEntity> findByUserIdAndRead(String userId, Boolean read) {
-        return template.select(InboxMessageEntity.class)
-            .where(USER_ID).eq(userId)
-            .and("read").eq(read)
-            .result();
+    /**
+     * Returns one page of the messages of a user, newest first.
+     *
+     * @param userId the owner of the inbox
+     * @param read   only messages with this read flag are returned, may be null
+     * @param cursor only messages with an id lower than this are returned, may be null
+     * @param limit  maximum number of messages on the page
+     * @return the messages of the page
+     */
+    public List<InboxMessageEntity> findPage(final String userId, final Boolean read, final UUID cursor,
+        final int limit) {
+        final StringBuilder cql = new StringBuilder(SELECT_ALL_QUERY);
+        final List<Object> params = new ArrayList<>(4);
+        params.add(userId);
+        if (cursor != null) {
+            cql.append(" AND ").append(MESSAGE_ID).append(" < ?");
+            params.add(cursor);
+        }
+        if (read != null) {
+            cql.append(" AND ").append(READ).append(" = ?");
+            params.add(read);
+        }
+        cql.append(" LIMIT ?");
+        params.add(limit);
+        if (read != null) {
+            // restricted to a single partition, read is filtered while reading its slice
+            cql.append(" ALLOW FILTERING");
+        }
+        final List<InboxMessageEntity> messages = new ArrayList<>(limit);
+        for (Row row : statements.execute(cql.toString(), params.toArray())) {
+            messages.add(toEntity(row));
+        }
+        return messages;
     }
 
-    public List<InboxMessageEntity> findByUserIdAndEventType(String userId, String eventType) {
-        return template.select(InboxMessageEntity.class)
-            .where(USER_ID).eq(userId)
-            .and("event_type").eq(eventType)
-            .result();
+    public Optional<InboxMessageEntity> findByUserIdAndId(final String userId, final UUID id) {
+        return Optional.ofNullable(statements.execute(SELECT_BY_KEY_QUERY, userId, id).one())
+            .map(InboxMessageRepository::toEntity);
     }
 
-    public List<InboxMessageEntity> findByUserIdAndEventTypeAndRead(String userId, String eventType, Boolean read) {
-        return template.select(InboxMessageEntity.class)
-            .where(USER_ID).eq(userId)
-            .and("event_type").eq(eventType)
-            .and("read").eq(read)
-            .result();
+    /**
+     * Stores a new message and counts it in the counters of its user.
+     */
+    public void saveInboxMessage(final InboxMessageEntity msg) {
+        insert(msg);
+        updateCounters(msg.getKey().getUserId(), 1, Boolean.TRUE.equals(msg.getRead()) ? 0 : 1);
     }
 
-    public Optional<InboxMessageEntity> findByUserIdAndId(String userId, UUID id) {
-        return template.select(InboxMessageEntity.class)
-            .where(USER_ID).eq(userId)
-            .and(MESSAGE_ID).eq(id)
-            .singleResult();
+    private void insert(final InboxMessageEntity msg) {
+        final InboxMessageKey key = msg.getKey();
+        statements.execute(INSERT_QUERY,
+            key.getUserId(),
+            key.getId(),
+            msg.getEventType(),
+            msg.getIssueId(),
+            msg.getTitle(),
+            msg.getIssueType(),
+            msg.getStatus(),
+            msg.getDescription() == null ? "" : msg.getDescription(),
+            msg.getActorEmail() == null ? "" : msg.getActorEmail(),
+            msg.getAssigneeEmail() == null ? "" : msg.getAssigneeEmail(),
+            msg.getLink(),
+            msg.getCreatedAt(),
+            msg.getRead());
     }
 
-    public void saveInboxMessage(InboxMessageEntity msg) {
-        InboxMessageKey key = msg.getKey();
+    public void updateReadStatus(final String userId, final UUID messageId, final boolean read) {
+        statements.execute(UPDATE_READ_QUERY, read, userId, messageId);
+    }
 
-        Insert insert = QueryBuilder.insertInto(keyspace, TABLE)
-            .value(USER_ID, QueryBuilder.literal(key.getUserId()))
-            .value(MESSAGE_ID, QueryBuilder.literal(key.getId()))
-            .value("event_type", QueryBuilder.literal(msg.getEventType()))
-            .value("issue_id", QueryBuilder.literal(msg.getIssueId()))
-            .value("title", QueryBuilder.literal(msg.getTitle()))
-            .value("issue_type", QueryBuilder.literal(msg.getIssueType()))
-            .value("status", QueryBuilder.literal(msg.getStatus()))
-            .value("description", QueryBuilder.literal(msg.getDescription() == null ? "" : msg.getDescription()))
-            .value("actor_email", QueryBuilder.literal(msg.getActorEmail() == null ? "" : msg.getActorEmail()))
-            .value("assignee_email", QueryBuilder.literal(msg.getAssigneeEmail() == null ? "" : msg.getAssigneeEmail()))
-            .value("link", QueryBuilder.literal(msg.getLink()))
-            .value("created_at", QueryBuilder.literal(msg.getCreatedAt()))
-            .value("read", QueryBuilder.literal(msg.getRead()));
+    public void deleteInboxMessage(final String userId, final UUID messageId) {
+        statements.execute(DELETE_QUERY, userId, messageId);
+    }
 
-        cqlSession.execute(insert.build());
+    public InboxCounters findCounters(final String userId) {
+        final InboxCounters counters = findStoredCounters(userId);
+        // concurrent updates of the same message may let a counter drift below zero
+        return new InboxCounters(Math.max(0, counters.total()), Math.max(0, counters.unread()));
     }
 
-    public void updateReadStatus(String userId, UUID messageId, boolean read) {
-        Update update = QueryBuilder.update(keyspace, TABLE)
-            .setColumn("read", QueryBuilder.literal(read))
-            .whereColumn(USER_ID).isEqualTo(QueryBuilder.literal(userId))
-            .whereColumn(MESSAGE_ID).isEqualTo(QueryBuilder.literal(messageId));
+    private InboxCounters findStoredCounters(final String userId) {
+        final Row row = statements.execute(SELECT_COUNTERS_QUERY, userId).one();
+        if (row == null) {
+            return new InboxCounters(0, 0);
+        }
+        return new InboxCounters(row.getLong("total"), row.getLong("unread"));
+    }
 
-        cqlSession.execute(update.build());
+    public void updateCounters(final String userId, final long totalDelta, final long unreadDelta) {
+        if (totalDelta != 0 || unreadDelta != 0) {
+            statements.execute(UPDATE_COUNTERS_QUERY, totalDelta, unreadDelta, userId);
+        }
     }
 
-    public void deleteInboxMessage(String userId, UUID messageId) {
-        Delete delete = QueryBuilder.deleteFrom(keyspace, TABLE)
-            .whereColumn(USER_ID).isEqualTo(QueryBuilder.literal(userId))
-            .whereColumn(MESSAGE_ID).isEqualTo(QueryBuilder.literal(messageId));
+    /**
+     * Counts the messages of a user and corrects the counters by the difference.
+     *
+     * @return the counters after the correction
+     */
+    public InboxCounters reconcileCounters(final String userId) {
+        long total = 0;
+        long unread = 0;
+        for (Row row : cqlSession.execute(statements.bind(SELECT_READ_FLAGS_QUERY, userId)
+            .setPageSize(MIGRATION_PAGE_SIZE))) {
+            total++;
+            if (!row.getBoolean(READ)) {
+                unread++;
+            }
+        }
+        // the stored values, a drifted counter is only corrected from its actual value
+        final InboxCounters current = findStoredCounters(userId);
+        updateCounters(userId, total - current.total(), unread - current.unread());
+        return new InboxCounters(total, unread);
+    }
+
+    /**
+     * Copies all messages of the {@code inbox_messages} table into {@code user_inbox_messages} and
+     * reconciles the counters of every copied user. The new id of a message is derived from its
+     * creation time and its old id. A user is recorded in {@code user_inbox_migrations} once all messages
+     * are copied and skipped by a repeated migration, so messages deleted or read since are kept as they
+     * are. A migration that stopped within the messages of a user copies this user again.
+     *
+     * @return the number of copied users and messages
+     */
+    public InboxMigration migrateLegacyMessages() {
+        long users = 0;
+        long messages = 0;
+        for (Row partition : cqlSession.execute(statements.bind(SELECT_LEGACY_PARTITIONS_QUERY)
+            .setPageSize(MIGRATION_PAGE_SIZE))) {
+            final String userId = partition.getString(USER_ID);
+            if (statements.execute(SELECT_MIGRATED_QUERY, userId).one() != null) {
+                continue;
+            }
+            for (Row row : cqlSession.execute(statements.bind(SELECT_LEGACY_QUERY, userId)
+                .setPageSize(MIGRATION_PAGE_SIZE))) {
+                final InboxMessageEntity message = toEntity(row);
+                message.getKey().setId(toTimeOrderedId(message));
+                insert(message);
+                messages++;
+            }
+            reconcileCounters(userId);
+            statements.execute(INSERT_MIGRATED_QUERY, userId, Instant.now());
+            users++;
+        }
+        return new InboxMigration(users, messages);
+    }
+
+    /**
+     * Builds a version 7 id with the creation time of the message as timestamp and the bits of its
+     * random version 4 id as random part.
+     */
+    static UUID toTimeOrderedId(final InboxMessageEntity message) {
+        final UUID legacyId = message.getKey().getId();
+        final long timestamp = message.getCreatedAt() != null ? message.getCreatedAt().toEpochMilli() : 0L;
+        final long msb = (timestamp << 16) | 0x7000L | (legacyId.getMostSignificantBits() & 0x0FFFL);
+        final long lsb = (legacyId.getLeastSignificantBits() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
 
-        cqlSession.execute(delete.build());
+    private static InboxMessageEntity toEntity(final Row row) {
+        final InboxMessageKey key = new InboxMessageKey();
+        key.setUserId(row.getString(USER_ID));
+        key.setId(row.getUuid(MESSAGE_ID));
+        final InboxMessageEntity entity = new InboxMessageEntity();
+        entity.setKey(key);
+        entity.setEventType(row.getString("event_type"));
+        entity.setIssueId(row.getString(ISSUE_ID));
+        entity.setTitle(row.getString("title"));
+        entity.setIssueType(row.getString("issue_type"));
+        entity.setStatus(row.getString("status"));
+        entity.setDescription(row.getString("description"));
+        entity.setActorEmail(row.getString("actor_email"));
+        entity.setAssigneeEmail(row.getString("assignee_email"));
+        entity.setLink(row.getString("link"));
+        entity.setCreatedAt(row.getInstant(CREATED_AT));
+        entity.setRead(row.isNull(READ) ? null : row.getBoolean(READ));
+        return entity;
     }
+
+    /**
+     * @param total  number of all messages of the user
+     * @param unread number of unread messages of the user
+     */
+    public record InboxCounters(long total, long unread) {
+    }
+
+    /**
+     * @param users    number of users whose inbox was copied by this run
+     * @param messages number of copied messages
+     */
+    public record InboxMigration(long users, long messages) {
+    }
+
 }
@@ -1,24 +1,36 @@
 package de.remsfal.ticketing.entity.dao;
 
 import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
+import de.remsfal.ticketing.entity.PreparedStatementRegistry;
 import de.remsfal.ticketing.entity.dto.IssueEntity;
 import de.remsfal.ticketing.entity.dto.IssueKey;
 import de.remsfal.ticketing.entity.filter.IssueFilter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.eclipse.jnosql.databases.cassandra.mapping.CassandraTemplate;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
-import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
 
 @ApplicationScoped
 public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
@@ -39,16 +51,67 @@ public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
     static final String PARENT_ISSUE_ID    = "parent_issue_id";
     static final String CHILDREN_ISSUE_IDS = "children_issue_ids";
 
-    @Inject
-    CqlSession session;
+    private static final int LOOKUP_PAGE_SIZE = 500;
+
+    private static final String SELECT_BY_KEY_QUERY =
+        "SELECT * FROM remsfal.issues WHERE project_id = ? AND issue_id = ?";
+    private static final String SELECT_ISSUE_IDS_QUERY =
+        "SELECT issue_id FROM remsfal.issues WHERE project_id = ?";
+    private static final String SELECT_PARTITIONS_QUERY =
+        "SELECT DISTINCT project_id FROM remsfal.issues";
+    private static final String SELECT_LOOKUP_QUERY =
+        "SELECT project_id FROM remsfal.issues_by_id WHERE issue_id = ?";
+    private static final String INSERT_LOOKUP_QUERY =
+        "INSERT INTO remsfal.issues_by_id (issue_id, project_id) VALUES (?, ?)";
+    private static final String DELETE_LOOKUP_QUERY =
+        "DELETE FROM remsfal.issues_by_id WHERE issue_id = ?";
+
+    private static final String SET_PARENT_QUERY =
+        "UPDATE remsfal.issues SET parent_issue_id = ?, modified_at = ? WHERE project_id = ? AND issue_id = ?";
+    private static final String CLEAR_RELATIONS_QUERY = "UPDATE remsfal.issues SET blocks_issue_ids = null,"
+        + " blocked_by_issue_ids = null, related_to_issue_ids = null, duplicate_of_issue_ids = null,"
+        + " parent_issue_id = null, children_issue_ids = null, modified_at = ? WHERE project_id = ? AND issue_id = ?";
+
+    static final String METRIC_FAN_OUT = "remsfal.ticketing.issues.fan-out";
+
+    @ConfigProperty(name = "de.remsfal.ticketing.issues.fan-out.max-parallelism", defaultValue = "8")
+    int maxParallelism;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.issues.relation-batch.max-size", defaultValue = "50")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "de.remsfal.ticketing.issue-lookup.index-fallback", defaultValue = "false")
+    boolean indexFallback;
 
     @Inject
-    CassandraTemplate cassandraTemplate;
+    CqlSession session;
 
+    /**
+     * Fetches a single issue by its id. The partition of the issue is resolved through the
+     * {@code issues_by_id} lookup table first, so this is two single-partition reads instead of a query
+     * on the global {@code issues_issue_id_idx} secondary index, which has to ask every node. Issues
+     * written before the lookup table existed are copied by the backfill. Until it completed, the index
+     * can be queried for ids without a lookup row by enabling {@code de.remsfal.ticketing.issue-lookup.index-fallback};
+     * issues found this way get their lookup row written on the way.
+     */
     public Optional<IssueEntity> findByIssueId(final UUID issueId) {
-        return template.select(IssueEntity.class)
+        final Row lookup = statements.execute(SELECT_LOOKUP_QUERY, issueId).one();
+        if (lookup != null) {
+            return findByKey(lookup.getUuid(PROJECT_ID), issueId);
+        } else if (!indexFallback) {
+            return Optional.empty();
+        }
+        final Optional<IssueEntity> issue = template.select(IssueEntity.class)
             .where(ISSUE_ID).eq(issueId)
             .singleResult();
+        issue.ifPresent(entity -> insertLookup(entity.getId(), entity.getProjectId()));
+        return issue;
+    }
+
+    public Optional<IssueEntity> findByKey(final UUID projectId, final UUID issueId) {
+        final Row row = statements.execute(SELECT_BY_KEY_QUERY, projectId, issueId).one();
+        return Optional.ofNullable(row)
+            .map(IssueRepository::toEntity);
     }
 
     public List<IssueEntity> findByAssigneeId(final UUID assigneeId) {
@@ -84,8 +147,30 @@ public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
      * it is the sole predicate; combined with any other predicate (as {@code type}/{@code status} are
      * here) it is rejected. {@code ALLOW FILTERING} is safe here since {@code project_id} is always
      * bound, so filtering is scoped to a single partition rather than a full-table scan.
+     *
+     * <p>The statement text only depends on which filters are set (and the bucketed {@code IN}
+     * arity), so it is prepared once by the {@link PreparedStatementRegistry} and only bound per call.
      */
     public List<IssueEntity> findByQuery(final IssueFilter filter, final UUID cursor, final Integer limit) {
+        final List<IssueEntity> issues = new ArrayList<>();
+        for (Row row : session.execute(bindQuery(filter, cursor, limit))) {
+            issues.add(toEntity(row));
+        }
+        return issues;
+    }
+
+    private BoundStatement bindQuery(final IssueFilter filter, final UUID cursor, final Integer limit) {
+        final IssueQuery query = buildQuery(filter, cursor, limit);
+        return statements.bind(query.cql(), query.params());
+    }
+
+    /**
+     * Statement text and bind values of an issue query.
+     */
+    record IssueQuery(String cql, Object[] params) {
+    }
+
+    static IssueQuery buildQuery(final IssueFilter filter, final UUID cursor, final Integer limit) {
         final StringBuilder cql = new StringBuilder("SELECT * FROM remsfal.issues WHERE ")
             .append(PROJECT_ID).append(" = ?");
         final List<Object> params = new ArrayList<>();
@@ -108,14 +193,10 @@ public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
             params.add(filter.rentalUnitId());
         }
         if (filter.type() != null && !filter.type().isEmpty()) {
-            cql.append(AND).append(TYPE).append(" IN (")
-                .append(String.join(", ", Collections.nCopies(filter.type().size(), "?"))).append(")");
-            filter.type().forEach(type -> params.add(type.name()));
+            appendInRestriction(cql, params, TYPE, filter.type().stream().map(Enum::name).toList());
         }
         if (filter.status() != null && !filter.status().isEmpty()) {
-            cql.append(AND).append(STATUS).append(" IN (")
-                .append(String.join(", ", Collections.nCopies(filter.status().size(), "?"))).append(")");
-            filter.status().forEach(status -> params.add(status.name()));
+            appendInRestriction(cql, params, STATUS, filter.status().stream().map(Enum::name).toList());
         }
         if (filter.isVisibleToTenants() != null) {
             cql.append(" AND is_visable_to_tenants = ?");
@@ -127,23 +208,97 @@ public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
         }
         cql.append(" LIMIT ? ALLOW FILTERING");
         params.add(limit);
+        return new IssueQuery(cql.toString(), params.toArray());
+    }
 
-        return cassandraTemplate.<IssueEntity>cql(cql.toString(), params.toArray())
+    /**
+     * Runs one {@link #findByQuery(IssueFilter, UUID, Integer) query} per filter concurrently, with at most
+     * {@code de.remsfal.ticketing.issues.fan-out.max-parallelism} queries in flight at a time. The latency of
+     * the whole fan-out is recorded per (power-of-two bucketed) fan-out width.
+     *
+     * @param filters single-partition filters, one per query
+     * @param cursor  only issues with an id lower than this are returned, may be null
+     * @param limit   maximum number of issues per query
+     * @return the results in the order of the filters, each sorted by {@code issue_id} descending
+     */
+    public List<List<IssueEntity>> findByQueries(final List<IssueFilter> filters, final UUID cursor,
+        final Integer limit) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        final Semaphore permits = new Semaphore(maxParallelism);
+        final List<CompletableFuture<List<IssueEntity>>> futures = new ArrayList<>(filters.size());
+        try {
+            for (IssueFilter filter : filters) {
+                permits.acquire();
+                futures.add(findByQueryAsync(filter, cursor, limit)
+                    .whenComplete((issues, e) -> permits.release())
+                    .toCompletableFuture());
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying issues", e);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_FAN_OUT)
+                .description("Latency of concurrent issue queries across partitions")
+                .tag("width", Integer.toString(PreparedStatementRegistry.bucket(filters.size())))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+        return futures.stream()
+            .map(CompletableFuture::join)
             .toList();
     }
 
+    private CompletionStage<List<IssueEntity>> findByQueryAsync(final IssueFilter filter, final UUID cursor,
+        final Integer limit) {
+        return session.executeAsync(bindQuery(filter, cursor, limit))
+            .thenCompose(resultSet -> collect(resultSet, new ArrayList<>(), limit));
+    }
+
+    private static CompletionStage<List<IssueEntity>> collect(final AsyncResultSet resultSet,
+        final List<IssueEntity> issues, final int limit) {
+        for (Row row : resultSet.currentPage()) {
+            issues.add(toEntity(row));
+        }
+        if (resultSet.hasMorePages() && issues.size() < limit) {
+            return resultSet.fetchNextPage()
+                .thenCompose(next -> collect(next, issues, limit));
+        }
+        return CompletableFuture.completedFuture(issues);
+    }
+
+    /**
+     * Appends an {@code IN} restriction whose marker count is bucketed by the
+     * {@link PreparedStatementRegistry}, so that e.g. filtering by two or by three statuses
+     * shares one prepared statement instead of producing a new statement text per arity.
+     */
+    private static void appendInRestriction(final StringBuilder cql, final List<Object> params,
+        final String column, final List<String> values) {
+        final List<Object> padded = PreparedStatementRegistry.padInValues(values);
+        cql.append(AND).append(column).append(" IN (")
+            .append(PreparedStatementRegistry.markers(padded.size())).append(")");
+        params.addAll(padded);
+    }
+
     public IssueEntity insert(final IssueEntity entity) {
         Instant now = Instant.now();
         entity.setModifiedAt(now);
         if (entity.getCreatedAt() == null) {
             entity.setCreatedAt(now);
         }
-        return template.insert(entity);
+        final IssueEntity inserted = template.insert(entity);
+        insertLookup(inserted.getId(), inserted.getProjectId());
+        return inserted;
     }
 
     public IssueEntity update(final IssueEntity entity) {
         entity.setModifiedAt(Instant.now());
-        return template.update(entity);
+        final IssueEntity updated = template.update(entity);
+        // idempotent upsert, heals a lookup row lost by an earlier failed dual-write
+        insertLookup(updated.getId(), updated.getProjectId());
+        return updated;
     }
 
     public void delete(final IssueKey key) {
@@ -151,6 +306,59 @@ public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
             .where(PROJECT_ID).eq(key.getProjectId())
             .and(ISSUE_ID).eq(key.getIssueId())
             .execute();
+        statements.execute(DELETE_LOOKUP_QUERY, key.getIssueId());
+    }
+
+    /**
+     * Compares all issues of a project partition with their rows in the {@code issues_by_id} lookup
+     * table and optionally writes missing or wrong lookup rows.
+     *
+     * @param projectId the project partition to check
+     * @param repair    whether inconsistent lookup rows should be rewritten
+     * @return the result of the check
+     */
+    public LookupConsistency checkLookupConsistency(final UUID projectId, final boolean repair) {
+        long checked = 0;
+        long missing = 0;
+        long mismatched = 0;
+        long repaired = 0;
+        for (Row row : session.execute(statements.bind(SELECT_ISSUE_IDS_QUERY, projectId)
+            .setPageSize(LOOKUP_PAGE_SIZE))) {
+            final UUID issueId = row.getUuid(ISSUE_ID);
+            final Row lookup = statements.execute(SELECT_LOOKUP_QUERY, issueId).one();
+            checked++;
+            if (lookup == null) {
+                missing++;
+            } else if (!projectId.equals(lookup.getUuid(PROJECT_ID))) {
+                mismatched++;
+            } else {
+                continue;
+            }
+            if (repair) {
+                insertLookup(issueId, projectId);
+                repaired++;
+            }
+        }
+        return new LookupConsistency(checked, missing, mismatched, repaired);
+    }
+
+    /**
+     * Pages through all project partitions of the issues table and writes every missing or wrong
+     * row of the {@code issues_by_id} lookup table.
+     *
+     * @return the accumulated result of all partitions
+     */
+    public LookupConsistency backfillLookup() {
+        LookupConsistency total = new LookupConsistency(0, 0, 0, 0);
+        for (Row row : session.execute(statements.bind(SELECT_PARTITIONS_QUERY)
+            .setPageSize(LOOKUP_PAGE_SIZE))) {
+            total = total.plus(checkLookupConsistency(row.getUuid(PROJECT_ID), true));
+        }
+        return total;
+    }
+
+    private void insertLookup(final UUID issueId, final UUID projectId) {
+        statements.execute(INSERT_LOOKUP_QUERY, issueId, projectId);
     }
 
     public void addBlocks(final UUID projectId, final UUID sourceId, final UUID targetId) {
@@ -217,64 +425,101 @@ public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
         session.execute(batch);
     }
 
-    public void removeAllRelations(IssueEntity entity) {
+    /**
+     * Removes the issue from the relations of all its related issues and clears its own relation columns.
+     * The updates are grouped by the partition of the updated issue and sent as UNLOGGED batches of at most
+     * {@code de.remsfal.ticketing.issues.relation-batch.max-size} statements, so every batch stays within
+     * one partition and below Cassandra's batch size limits. The batches are sent concurrently, with at most
+     * {@code de.remsfal.ticketing.issues.fan-out.max-parallelism} in flight at a time.
+     */
+    public void removeAllRelations(final IssueEntity entity) {
         final UUID projectId = entity.getProjectId();
         final UUID sourceId = entity.getId();
-
-        if (entity.getBlocks() != null && !entity.getBlocks().isEmpty()) {
-            removeAllBidirectionalRelation(BLOCKS_IDS, BLOCKED_BY_IDS,
-                projectId, sourceId, entity.getBlocks());
-        }
-        if (entity.getBlockedBy() != null && !entity.getBlockedBy().isEmpty()) {
-            removeAllBidirectionalRelation(BLOCKED_BY_IDS, BLOCKS_IDS,
-                projectId, sourceId, entity.getBlockedBy());
+        final Map<UUID, List<BatchableStatement<?>>> byPartition = new HashMap<>();
+
+        // related issues always belong to the project of the issue
+        final List<BatchableStatement<?>> updates = byPartition.computeIfAbsent(projectId, id -> new ArrayList<>());
+        addRemoveElementStatements(updates, BLOCKED_BY_IDS, projectId, entity.getBlocks(), sourceId);
+        addRemoveElementStatements(updates, BLOCKS_IDS, projectId, entity.getBlockedBy(), sourceId);
+        addRemoveElementStatements(updates, RELATED_TO_IDS, projectId, entity.getRelatedTo(), sourceId);
+        addRemoveElementStatements(updates, DUPLICATE_OF_IDS, projectId, entity.getDuplicateOf(), sourceId);
+        if (entity.getParentIssue() != null) {
+            updates.add(buildRemoveElementStatement(CHILDREN_ISSUE_IDS, projectId, entity.getParentIssue(),
+                sourceId));
         }
-        if (entity.getRelatedTo() != null && !entity.getRelatedTo().isEmpty()) {
-            removeAllBidirectionalRelation(RELATED_TO_IDS, RELATED_TO_IDS,
-                projectId, sourceId, entity.getRelatedTo());
+        if (entity.getChildrenIssues() != null) {
+            for (UUID childId : entity.getChildrenIssues()) {
+                updates.add(buildSetParentStatement(projectId, childId, null));
+            }
         }
-        if (entity.getDuplicateOf() != null && !entity.getDuplicateOf().isEmpty()) {
-            removeAllBidirectionalRelation(DUPLICATE_OF_IDS, DUPLICATE_OF_IDS,
-                projectId, sourceId, entity.getDuplicateOf());
+        updates.add(statements.bind(CLEAR_RELATIONS_QUERY, Instant.now(), projectId, sourceId));
+
+        final List<BatchStatement> batches = new ArrayList<>();
+        for (List<BatchableStatement<?>> partition : byPartition.values()) {
+            for (int from = 0; from < partition.size(); from += maxBatchSize) {
+                batches.add(BatchStatement.newInstance(DefaultBatchType.UNLOGGED,
+                    partition.subList(from, Math.min(from + maxBatchSize, partition.size()))));
+            }
         }
-        // Remove parent_issue relation
-        if (entity.getParentIssue() != null) {
-            removeParentIssue(projectId, sourceId, entity.getParentIssue());
+        executeConcurrently(batches);
+        recordRoundTrips("issue-relations-delete", batches.size());
+    }
+
+    private void addRemoveElementStatements(final List<BatchableStatement<?>> updates, final String column,
+        final UUID projectId, final Set<UUID> issueIds, final UUID removeId) {
+        if (issueIds != null) {
+            for (UUID issueId : issueIds) {
+                updates.add(buildRemoveElementStatement(column, projectId, issueId, removeId));
+            }
         }
-        // Remove children_issues relations
-        if (entity.getChildrenIssues() != null && !entity.getChildrenIssues().isEmpty()) {
-            for (UUID childId : entity.getChildrenIssues()) {
-                removeChildrenIssue(projectId, sourceId, childId);
+    }
+
+    private void executeConcurrently(final List<? extends Statement<?>> batches) {
+        final Semaphore permits = new Semaphore(maxParallelism);
+        final List<CompletableFuture<AsyncResultSet>> futures = new ArrayList<>(batches.size());
+        try {
+            for (Statement<?> statement : batches) {
+                permits.acquire();
+                futures.add(session.executeAsync(statement)
+                    .whenComplete((resultSet, e) -> permits.release())
+                    .toCompletableFuture());
             }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while updating issues", e);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
         }
     }
 
     /**
-     * Build a SimpleStatement to add/remove a UUID from a Set column.
+     * Build a prepared statement to add/remove a UUID from a Set column. The statement text only
+     * depends on the column and the operation, so it is prepared once per combination.
      *
      * @param column The column name
      * @param add true to add, false to remove
      * @param projectId The project ID
      * @param issueId The issue ID
      * @param deltaId The UUID to add/remove
-     * @return The SimpleStatement query
+     * @return The bound statement
      */
-    private SimpleStatement buildSetUpdateStatement(final String column, final boolean add,
+    private BoundStatement buildSetUpdateStatement(final String column, final boolean add,
         final UUID projectId, final UUID issueId, final UUID deltaId) {
         final String updateTemplateQuery =
             "UPDATE remsfal.issues SET %s = %s %s ?, modified_at = ? WHERE project_id = ? AND issue_id = ?";
         // '+' add / '-' remove
         String op = add ? "+" : "-";
         String cql = String.format(updateTemplateQuery, column, column, op);
-        return SimpleStatement.newInstance(cql, Set.of(deltaId), Instant.now(), projectId, issueId);
+        return statements.bind(cql, Set.of(deltaId), Instant.now(), projectId, issueId);
     }
 
-    private SimpleStatement buildAddElementStatement(final String column,
+    private BoundStatement buildAddElementStatement(final String column,
         final UUID projectId, final UUID issueId, final UUID newId) {
         return buildSetUpdateStatement(column, true, projectId, issueId, newId);
     }
 
-    private SimpleStatement buildRemoveElementStatement(final String column,
+    private BoundStatement buildRemoveElementStatement(final String column,
         final UUID projectId, final UUID issueId, final UUID removeId) {
         return buildSetUpdateStatement(column, false, projectId, issueId, removeId);
     }
@@ -304,17 +549,62 @@ public class IssueRepository extends AbstractRepository<IssueEntity, IssueKey> {
         session.execute(batch);
     }
 
-    private void removeAllBidirectionalRelation(final String sourceColumn, final String targetColumn,
-        final UUID projectId, final UUID sourceId, final Set<UUID> targetIds) {
-        for (UUID target : targetIds) {
-            removeBidirectionalRelation(sourceColumn, targetColumn, projectId, sourceId, target);
-        }
+    private BoundStatement buildSetParentStatement(final UUID projectId, final UUID issueId, final UUID parentId) {
+        return statements.bind(SET_PARENT_QUERY, parentId, Instant.now(), projectId, issueId);
     }
 
-    private SimpleStatement buildSetParentStatement(final UUID projectId, final UUID issueId, final UUID parentId) {
-        final String setParentQuery =
-            "UPDATE remsfal.issues SET parent_issue_id = ?, modified_at = ? WHERE project_id = ? AND issue_id = ?";
-        return SimpleStatement.newInstance(setParentQuery, parentId, Instant.now(), projectId, issueId);
+    private static IssueEntity toEntity(final Row row) {
+        final IssueKey key = new IssueKey();
+        key.setProjectId(row.getUuid(PROJECT_ID));
+        key.setIssueId(row.getUuid(ISSUE_ID));
+        final IssueEntity entity = new IssueEntity();
+        entity.setKey(key);
+        entity.setTitle(row.getString("title"));
+        entity.setType(row.getString(TYPE));
+        entity.setCategory(row.getString("category"));
+        entity.setStatus(row.getString(STATUS));
+        entity.setPriority(row.getString(PRIORITY));
+        entity.setReporterId(row.getUuid("reporter_id"));
+        entity.setReportedBy(row.getString("reported_by"));
+        entity.setAgreementId(row.getUuid(AGREEMENT_ID));
+        entity.setVisibleToTenants(row.get("is_visable_to_tenants", Boolean.class));
+        entity.setRentalUnitId(row.getUuid("rental_unit_id"));
+        entity.setRentalUnitType(row.getString("rental_unit_type"));
+        entity.setAssigneeId(row.getUuid("assignee_id"));
+        entity.setLocation(row.getString("location"));
+        entity.setDescription(row.getString("description"));
+        entity.setParentIssue(row.getUuid(PARENT_ISSUE_ID));
+        entity.setChildrenIssues(toNullableSet(row.getSet(CHILDREN_ISSUE_IDS, UUID.class)));
+        entity.setRelatedTo(toNullableSet(row.getSet(RELATED_TO_IDS, UUID.class)));
+        entity.setDuplicateOf(toNullableSet(row.getSet(DUPLICATE_OF_IDS, UUID.class)));
+        entity.setBlockedBy(toNullableSet(row.getSet(BLOCKED_BY_IDS, UUID.class)));
+        entity.setBlocks(toNullableSet(row.getSet(BLOCKS_IDS, UUID.class)));
+        entity.setTenantUpdateJson(row.getString("tenant_update"));
+        entity.setCreatedAt(row.getInstant(CREATED_AT));
+        entity.setModifiedAt(row.getInstant(MODIFIED_AT));
+        return entity;
+    }
+
+    // The driver decodes null collections as empty ones; keep them null like the JNoSQL mapping does.
+    private static Set<UUID> toNullableSet(final Set<UUID> values) {
+        return values == null || values.isEmpty() ? null : new HashSet<>(values);
+    }
+
+    /**
+     * Result of comparing issue partitions with the {@code issues_by_id} lookup table.
+     *
+     * @param checked    number of issues checked
+     * @param missing    number of issues without a lookup row
+     * @param mismatched number of issues whose lookup row points to another project
+     * @param repaired   number of lookup rows that have been rewritten
+     */
+    public record LookupConsistency(long checked, long missing, long mismatched, long repaired) {
+
+        public LookupConsistency plus(final LookupConsistency other) {
+            return new LookupConsistency(checked + other.checked, missing + other.missing,
+                mismatched + other.mismatched, repaired + other.repaired);
+        }
+
     }
 
 }
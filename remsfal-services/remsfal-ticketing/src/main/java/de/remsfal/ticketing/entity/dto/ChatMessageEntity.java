@@ -26,6 +26,9 @@ public class ChatMessageEntity extends AbstractEntity implements ChatMessageMode
     @Column("url")
     private String url;
 
+    @Column("file_name")
+    private String fileName;
+
     public ChatMessageKey getKey() {
         return key;
     }
@@ -84,6 +87,14 @@ public class ChatMessageEntity extends AbstractEntity implements ChatMessageMode
         this.url = url;
     }
 
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
     @Override
     public String toString() {
         return "CassChatMessageEntity{" +
@@ -93,6 +104,7 @@ public class ChatMessageEntity extends AbstractEntity implements ChatMessageMode
                 ", contentType='" + contentType + '\'' +
                 ", content='" + content + '\'' +
                 ", url='" + url + '\'' +
+                ", fileName='" + fileName + '\'' +
                 ", createdAt=" + createdAt +
                 '}';
     }
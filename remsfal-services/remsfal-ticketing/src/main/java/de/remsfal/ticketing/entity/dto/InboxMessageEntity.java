@@ -4,7 +4,7 @@ import jakarta.nosql.Column;
 import jakarta.nosql.Entity;
 import jakarta.nosql.Id;
 
-@Entity("inbox_messages")
+@Entity("user_inbox_messages")
 public class InboxMessageEntity extends AbstractEntity {
 
     @Id
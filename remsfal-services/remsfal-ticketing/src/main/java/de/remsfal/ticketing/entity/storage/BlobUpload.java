@@ -0,0 +1,58 @@
+package de.remsfal.ticketing.entity.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Content of an upload spooled to a temporary file together with its SHA-256 hash, so that the name of
+ * the content-addressed object is known before anything is sent to the {@link FileStorage}. Closing the
+ * upload deletes the temporary file.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class BlobUpload implements AutoCloseable {
+
+    private final Path file;
+    private final String hash;
+    private final long size;
+
+    BlobUpload(final Path file, final String hash, final long size) {
+        this.file = file;
+        this.hash = hash;
+        this.size = size;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the SHA-256 hash of the content as lower case hex string
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the name of the object holding this content
+     */
+    public String getObjectName() {
+        return FileStorage.toObjectName(hash);
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
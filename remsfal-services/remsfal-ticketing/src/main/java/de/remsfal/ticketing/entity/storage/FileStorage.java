@@ -1,9 +1,13 @@
 package de.remsfal.ticketing.entity.storage;
 
 import io.minio.MinioClient;
+import io.minio.UploadObjectArgs;
 import io.minio.PutObjectArgs;
 import io.minio.GetObjectArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.Result;
 import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import io.minio.RemoveObjectArgs;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
@@ -16,25 +20,53 @@ import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.MediaType;
 
 import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Item;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Consumer;
 
 import org.jboss.logging.Logger;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 /**
+ * Object storage of the ticketing service. Uploaded files are stored content-addressed under
+ * {@code sha256/<prefix>/<hash>}, so the same content is stored only once, no matter how many
+ * attachments or chat messages point to it. Objects stored before under their file name are still
+ * readable by name. Previews of an object are stored next to it under the object name with the
+ * suffix of the variant, e.g. {@code sha256/<prefix>/<hash>.thumb.jpg}.
+ *
  * @author Parham Rahmani [parham.rahmani@student.htw-berlin.de]
  * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
  */
 @ApplicationScoped
 public class FileStorage {
 
-    public static final long DEFAULT_OBJECT_SIZE = -1;
-
     public static final long DEFAULT_PART_SIZE = 5L * 1024L * 1024L;
 
+    public static final long MAX_PART_SIZE = 64L * 1024L * 1024L;
+
+    private static final int TARGET_PART_COUNT = 16;
+
+    private static final int MAX_PART_COUNT = 10000;
+
     public static final String DEFAULT_BUCKET_NAME = "remsfal-ticketing";
 
+    public static final String BLOB_PREFIX = "sha256/";
+
+    public static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
     @ConfigProperty(name = "quarkus.minio.bucket-name", defaultValue = DEFAULT_BUCKET_NAME)
     String bucketName;
 
@@ -63,24 +95,79 @@ public class FileStorage {
         }
     }
 
-    public String uploadFile(final InputStream inputStream,
-        final String fileName, final MediaType contentType) {
+    /**
+     * Copies the content of an upload into a temporary file and hashes it on the way.
+     *
+     * @param inputStream the content of the upload
+     * @return the spooled upload, which has to be closed by the caller
+     */
+    public BlobUpload spool(final InputStream inputStream) {
+        Path file = null;
         try {
-            final String finalFileName = generateUniqueFileName(fileName);
-            logger.infov("Uploading file {0} to bucket {1}", finalFileName, bucketName);
-            minioClient.putObject(
-                PutObjectArgs.builder()
+            file = Files.createTempFile("remsfal-upload-", null);
+            final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            final long size;
+            try (InputStream in = new DigestInputStream(inputStream, digest)) {
+                size = Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new BlobUpload(file, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(file);
+            throw new InternalServerErrorException("Error occurred while receiving file", e);
+        }
+    }
+
+    /**
+     * Stores the content of an upload under its content-addressed name, unless an object with the same
+     * content is stored already.
+     *
+     * @param upload      the spooled upload
+     * @param contentType the media type of the content
+     * @return true if the object was written, false if it existed before
+     */
+    public boolean store(final BlobUpload upload, final MediaType contentType) {
+        final String objectName = upload.getObjectName();
+        if (fileExists(objectName)) {
+            logger.infov("File {0} is already stored in bucket {1}", objectName, bucketName);
+            return false;
+        }
+        try {
+            logger.infov("Uploading file {0} to bucket {1}", objectName, bucketName);
+            minioClient.uploadObject(
+                UploadObjectArgs.builder()
                 .bucket(bucketName)
-                .object(finalFileName)
-                .stream(inputStream, DEFAULT_OBJECT_SIZE, DEFAULT_PART_SIZE)
+                .object(objectName)
+                .filename(upload.getFile().toString(), partSizeOf(upload.getSize()))
                 .contentType(contentType.toString())
                 .build());
-            return finalFileName;
+            return true;
         } catch (Exception e) {
             throw new InternalServerErrorException("Error occurred while uploading file", e);
         }
     }
 
+    /**
+     * Stores a rendered preview of an object, replacing a previous rendering.
+     *
+     * @param previewName the name of the preview object
+     * @param content     the encoded preview
+     * @param contentType the media type of the preview
+     */
+    public void storePreview(final String previewName, final byte[] content, final String contentType) {
+        try {
+            logger.infov("Uploading preview {0} to bucket {1}", previewName, bucketName);
+            minioClient.putObject(
+                PutObjectArgs.builder()
+                .bucket(bucketName)
+                .object(previewName)
+                .stream(new ByteArrayInputStream(content), content.length, -1)
+                .contentType(contentType)
+                .build());
+        } catch (Exception e) {
+            throw new InternalServerErrorException("Error occurred while uploading preview", e);
+        }
+    }
+
     public InputStream downloadFile(final String fileName) {
         try {
             logger.infov("Downloading file {0} from bucket {1}", fileName, bucketName);
@@ -100,6 +187,49 @@ public class FileStorage {
         }
     }
 
+    public InputStream downloadFile(final String fileName, final long offset, final long length) {
+        try {
+            logger.infov("Downloading bytes {0}-{1} of file {2} from bucket {3}",
+                offset, offset + length - 1, fileName, bucketName);
+            return minioClient.getObject(
+                GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(fileName)
+                    .offset(offset)
+                    .length(length)
+                    .build());
+        } catch (ErrorResponseException e) {
+            if (e.response().code() == 404) {
+                logger.warnv("File {0} does not exist in bucket {1}", fileName, bucketName);
+                throw new NotFoundException(e);
+            }
+            throw new InternalServerErrorException("Error occurred while downloading file", e);
+        } catch (Exception e) {
+            throw new InternalServerErrorException("Error occurred while downloading object", e);
+        }
+    }
+
+    public StoredFile getFile(final String fileName) {
+        try {
+            logger.debugv("Reading metadata of file {0} from bucket {1}", fileName, bucketName);
+            final StatObjectResponse stat = minioClient.statObject(
+                StatObjectArgs.builder()
+                .bucket(bucketName)
+                .object(fileName)
+                .build());
+            return new StoredFile(this, fileName, stat.etag().replace("\"", ""), stat.size(),
+                stat.lastModified().toInstant(), stat.contentType());
+        } catch (ErrorResponseException e) {
+            if (e.response().code() == 404) {
+                logger.warnv("File {0} does not exist in bucket {1}", fileName, bucketName);
+                throw new NotFoundException(e);
+            }
+            throw new InternalServerErrorException("Error occurred while reading file metadata", e);
+        } catch (Exception e) {
+            throw new InternalServerErrorException("Error occurred while reading object metadata", e);
+        }
+    }
+
     public void deleteFile(final String fileName) {
         try {
             logger.infov("Deleting file {0} from bucket {1}", fileName, bucketName);
@@ -113,7 +243,7 @@ public class FileStorage {
         }
     }
 
-    private boolean fileExists(final String fileName) {
+    public boolean fileExists(final String fileName) {
         try {
             logger.debugv("Checking if file name {0} exists in bucket {1}", fileName, bucketName);
             minioClient.statObject(
@@ -134,21 +264,96 @@ public class FileStorage {
         }
     }
 
-    private String generateUniqueFileName(final String fileName) {
-        if (!fileExists(fileName)) {
-            return fileName;
+    /**
+     * Chooses the part size of a multipart upload. Small files are sent as a single part. Larger files are
+     * split into about {@value #TARGET_PART_COUNT} parts between the minimum part size of S3 and
+     * {@link #MAX_PART_SIZE}, so that large files need fewer requests; huge files use larger parts to stay
+     * within the limit of {@value #MAX_PART_COUNT} parts.
+     *
+     * @param size the size of the file in bytes
+     * @return the part size in bytes, a multiple of one MiB
+     */
+    static long partSizeOf(final long size) {
+        final long mebibyte = 1024L * 1024L;
+        long partSize = Math.min(Math.max(ceilDiv(size, TARGET_PART_COUNT), DEFAULT_PART_SIZE), MAX_PART_SIZE);
+        partSize = Math.max(partSize, ceilDiv(size, MAX_PART_COUNT));
+        return ceilDiv(partSize, mebibyte) * mebibyte;
+    }
+
+    private static long ceilDiv(final long dividend, final long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    /**
+     * Lists the content-addressed objects of the bucket. The content type of the listed files is not
+     * known.
+     *
+     * @param consumer called once per object
+     */
+    public void forEachBlob(final Consumer<StoredFile> consumer) {
+        final Iterable<Result<Item>> results = minioClient.listObjects(
+            ListObjectsArgs.builder()
+            .bucket(bucketName)
+            .prefix(BLOB_PREFIX)
+            .recursive(true)
+            .build());
+        try {
+            for (Result<Item> result : results) {
+                final Item item = result.get();
+                consumer.accept(new StoredFile(this, item.objectName(), item.etag().replace("\"", ""),
+                    item.size(), item.lastModified().toInstant(), null));
+            }
+        } catch (Exception e) {
+            throw new InternalServerErrorException("Error occurred while listing files", e);
+        }
+    }
+
+    /**
+     * @param hash the SHA-256 hash of the content as lower case hex string
+     * @return the name of the object holding the content, {@code sha256/<first two digits>/<hash>}
+     */
+    public static String toObjectName(final String hash) {
+        return BLOB_PREFIX + hash.substring(0, 2) + "/" + hash;
+    }
+
+    /**
+     * @return true if the object is named by the hash of its content
+     */
+    public static boolean isBlob(final String objectName) {
+        return objectName != null && objectName.startsWith(BLOB_PREFIX);
+    }
+
+    /**
+     * @return the hash of a content-addressed object or of one of its previews
+     */
+    public static String toHash(final String objectName) {
+        final String name = objectName.substring(objectName.lastIndexOf('/') + 1);
+        final int suffix = name.indexOf('.');
+        return suffix < 0 ? name : name.substring(0, suffix);
+    }
+
+    /**
+     * @return the name of the thumbnail of a content-addressed object
+     */
+    public static String toThumbnailName(final String objectName) {
+        return objectName + THUMBNAIL_SUFFIX;
+    }
+
+    /**
+     * @return true if the object is a rendered preview of another object
+     */
+    public static boolean isPreview(final String objectName) {
+        return isBlob(objectName) && objectName.endsWith(THUMBNAIL_SUFFIX);
+    }
+
+    private static void deleteQuietly(final Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // the temporary file is left behind
+            }
         }
-        logger.debugv("Generating unique file name for {0} in bucket {1}", fileName, bucketName);
-        int dotIndex = fileName.lastIndexOf('.');
-        String baseName = (dotIndex == -1) ? fileName : fileName.substring(0, dotIndex);
-        String extension = (dotIndex == -1) ? "" : fileName.substring(dotIndex);
-        int counter = 1;
-        String candidate;
-        do {
-            candidate = String.format("%s(%d)%s", baseName, counter++, extension);
-        } while (fileExists(candidate));
-        logger.infov("Generated unique file name: {0}", candidate);
-        return candidate;
     }
 
 }
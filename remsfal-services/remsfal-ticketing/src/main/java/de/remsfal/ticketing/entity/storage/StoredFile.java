@@ -0,0 +1,70 @@
+package de.remsfal.ticketing.entity.storage;
+
+import java.io.InputStream;
+import java.time.Instant;
+
+/**
+ * Handle of a file in the {@link FileStorage}, carrying the metadata of the stored object so that
+ * conditional and partial downloads can be answered without reading the file content.
+ *
+ * @author Alexander Stanik [alexander.stanik@htw-berlin.de]
+ */
+public final class StoredFile {
+
+    private final FileStorage storage;
+    private final String objectName;
+    private final String etag;
+    private final long size;
+    private final Instant lastModified;
+    private final String contentType;
+
+    StoredFile(final FileStorage storage, final String objectName, final String etag,
+        final long size, final Instant lastModified, final String contentType) {
+        this.storage = storage;
+        this.objectName = objectName;
+        this.etag = etag;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentType = contentType;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * @return the entity tag of the stored object without surrounding quotes
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return the whole content of the file
+     */
+    public InputStream open() {
+        return storage.downloadFile(objectName);
+    }
+
+    /**
+     * @param offset the position of the first byte to read
+     * @param length the number of bytes to read
+     * @return the requested part of the file content
+     */
+    public InputStream open(final long offset, final long length) {
+        return storage.downloadFile(objectName, offset, length);
+    }
+
+}
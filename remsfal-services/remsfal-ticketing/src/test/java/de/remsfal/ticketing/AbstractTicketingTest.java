@@ -22,6 +22,7 @@ import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectsArgs;
 import io.minio.Result;
 import io.minio.messages.DeleteRequest;
+import io.minio.messages.DeleteError;
 import io.minio.messages.Item;
 
 public abstract class AbstractTicketingTest extends AbstractTest {
@@ -50,26 +51,35 @@ public abstract class AbstractTicketingTest extends AbstractTest {
 
         // remove objects
         if (!toDelete.isEmpty()) {
-            minioClient.removeObjects(
+            // objects are removed lazily while the results are read
+            for (Result<DeleteError> error : minioClient.removeObjects(
                 RemoveObjectsArgs.builder()
                     .bucket(FileStorage.DEFAULT_BUCKET_NAME)
                     .objects(toDelete)
-                    .build());
+                    .build())) {
+                error.get();
+            }
         }
     }
 
     @BeforeEach
     void cleanColumnDatabase() {
         cqlSession.execute("TRUNCATE issues");
+        cqlSession.execute("TRUNCATE issues_by_id");
         cqlSession.execute("TRUNCATE issue_attachments");
         cqlSession.execute("TRUNCATE chat_sessions");
         cqlSession.execute("TRUNCATE chat_messages");
         cqlSession.execute("TRUNCATE inbox_messages");
+        cqlSession.execute("TRUNCATE user_inbox_messages");
+        cqlSession.execute("TRUNCATE user_inbox_counters");
+        cqlSession.execute("TRUNCATE user_inbox_migrations");
         cqlSession.execute("TRUNCATE quotation_requests");
         cqlSession.execute("TRUNCATE quotations");
         cqlSession.execute("TRUNCATE order_placements");
         cqlSession.execute("TRUNCATE order_attachments");
         cqlSession.execute("TRUNCATE tenant_timelines");
+        cqlSession.execute("TRUNCATE blob_refs");
+        cqlSession.execute("TRUNCATE blob_deletions");
     }
 
     protected InputStream getTestFileStream(final String path) {
@@ -220,6 +220,42 @@ class ChatMessageResourceTest extends AbstractTicketingTest {
             .body("messages[1].MESSAGE_CONTENT", equalTo("Hello World"));
     }
 
+    @Test
+    void getChatMessages_paginatedWithCursor() {
+        final String cursor = given()
+            .when()
+            .cookie(buildManagerCookie(rolesManagerP1()))
+            .queryParam("limit", 1)
+            .get(CHAT_MESSAGES_PATH, TicketingTestData.ISSUE_ID_1, TicketingTestData.CHAT_SESSION_ID_1)
+            .then()
+            .statusCode(Response.Status.OK.getStatusCode())
+            .contentType(ContentType.JSON)
+            .body("messages.size()", equalTo(1))
+            .body("messages[0].MEMBER_ROLE", equalTo("HANDLER"))
+            .body("next_cursor", notNullValue())
+            .extract().path("next_cursor");
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(rolesManagerP1()))
+            .queryParam("limit", 1)
+            .queryParam("cursor", cursor)
+            .get(CHAT_MESSAGES_PATH, TicketingTestData.ISSUE_ID_1, TicketingTestData.CHAT_SESSION_ID_1)
+            .then()
+            .statusCode(Response.Status.OK.getStatusCode())
+            .body("messages.size()", equalTo(1))
+            .body("messages[0].MESSAGE_TYPE", equalTo("TEXT"))
+            .body("messages[0].MESSAGE_CONTENT", equalTo("Hello World"));
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(rolesManagerP1()))
+            .queryParam("cursor", "not-a-cursor")
+            .get(CHAT_MESSAGES_PATH, TicketingTestData.ISSUE_ID_1, TicketingTestData.CHAT_SESSION_ID_1)
+            .then()
+            .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
     @Test
     void getChatMessage_SUCCESS() {
         given()
@@ -424,6 +460,37 @@ class ChatMessageResourceTest extends AbstractTicketingTest {
         }
     }
 
+    @Test
+    void uploadFile_SUCCESS_downloadKeepsOriginalFileName() throws Exception {
+        Path tempDir = Files.createTempDirectory("test-upload");
+        Path tempFile = tempDir.resolve("floor-plan.txt");
+        Files.writeString(tempFile, "This is a floor plan");
+        try {
+            String fileId =
+                given()
+                    .multiPart("file", tempFile.toFile(), MediaType.TEXT_PLAIN)
+                    .cookie(buildManagerCookie(rolesManagerP1()))
+                    .when()
+                    .post(CHAT_UPLOAD_PATH, TicketingTestData.ISSUE_ID_1, TicketingTestData.CHAT_SESSION_ID_1)
+                    .then()
+                    .statusCode(Response.Status.CREATED.getStatusCode())
+                    .extract().path("fileId");
+
+            // the object is named after the hash of its content, the download after the uploaded file
+            given()
+                .when()
+                .cookie(buildManagerCookie(rolesManagerP1()))
+                .get(CHAT_MESSAGE_ID_PATH, TicketingTestData.ISSUE_ID_1, TicketingTestData.CHAT_SESSION_ID_1, fileId)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .header("Content-Disposition", containsString("filename=\"floor-plan.txt\""))
+                .body(equalTo("This is a floor plan"));
+        } finally {
+            Files.deleteIfExists(tempFile);
+            Files.deleteIfExists(tempDir);
+        }
+    }
+
     private void verifyFileInBucket(String bucketName, String fileName) {
         boolean fileExists = false;
         StringBuilder foundFiles = new StringBuilder("Files in bucket: ");
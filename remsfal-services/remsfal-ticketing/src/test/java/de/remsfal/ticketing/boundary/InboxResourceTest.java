@@ -6,9 +6,12 @@ import jakarta.ws.rs.NotFoundException;
 import de.remsfal.common.authentication.RemsfalPrincipal;
 import de.remsfal.common.boundary.AbstractResource;
 import de.remsfal.ticketing.control.InboxController;
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository.InboxCounters;
 import de.remsfal.ticketing.entity.dto.InboxMessageEntity;
 import de.remsfal.ticketing.entity.dto.InboxMessageKey;
+import de.remsfal.core.json.ticketing.InboxCountersJson;
 import de.remsfal.core.json.ticketing.InboxMessageJson;
+import de.remsfal.core.json.ticketing.InboxMessageListJson;
 
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
@@ -75,23 +78,53 @@ class InboxResourceTest {
         String userId = "11111111-1111-1111-1111-111111111111";
         when(principal.getId()).thenReturn(UUID.fromString(userId));
 
-        when(controller.getInboxMessages(true, userId)).thenReturn(List.of(e));
+        when(controller.getInboxMessages(true, userId, null, 50)).thenReturn(List.of(e));
 
-        List<InboxMessageJson> result = resource.getInboxMessages(true);
+        InboxMessageListJson result = resource.getInboxMessages(true, null, 50);
 
-        assertEquals(1, result.size());
-        verify(controller).getInboxMessages(true, userId);
+        assertEquals(1, result.getSize());
+        assertEquals("Test Issue", result.getMessages().get(0).title);
+        assertNull(result.getNextCursor());
+        verify(controller).getInboxMessages(true, userId, null, 50);
+    }
+
+    @Test
+    void testGetInboxMessages_fullPageHasNextCursor() {
+        String userId = "11111111-1111-1111-1111-111111111111";
+        InboxMessageEntity e = new InboxMessageEntity();
+        InboxMessageKey key = new InboxMessageKey();
+        key.setUserId(userId);
+        key.setId(UUID.randomUUID());
+        e.setKey(key);
+        e.setCreatedAt(java.time.Instant.now());
+
+        when(controller.getInboxMessages(null, userId, null, 1)).thenReturn(List.of(e));
+
+        InboxMessageListJson result = resource.getInboxMessages(null, null, 1);
+
+        assertEquals(key.getId().toString(), result.getNextCursor());
+    }
+
+    @Test
+    void testGetInboxCounters_success() {
+        String userId = "11111111-1111-1111-1111-111111111111";
+        when(controller.getInboxCounters(userId)).thenReturn(new InboxCounters(7, 3));
+
+        InboxCountersJson result = resource.getInboxCounters();
+
+        assertEquals(7, result.getTotal());
+        assertEquals(3, result.getUnread());
     }
 
     @Test
     void testGetInboxMessages_badRequest() {
         when(principal.getId()).thenReturn(UUID.randomUUID());
 
-        when(controller.getInboxMessages(any(), any()))
+        when(controller.getInboxMessages(any(), any(), any(), anyInt()))
                 .thenThrow(new IllegalArgumentException("boom"));
 
         assertThrows(BadRequestException.class,
-                () -> resource.getInboxMessages(false)
+                () -> resource.getInboxMessages(false, null, 50)
         );
     }
 
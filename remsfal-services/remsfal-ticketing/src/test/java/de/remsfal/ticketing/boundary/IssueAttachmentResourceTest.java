@@ -6,8 +6,10 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,6 +22,7 @@ import de.remsfal.ticketing.TicketingTestData;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import jakarta.ws.rs.core.MediaType;
 
 @QuarkusTest
@@ -44,6 +47,88 @@ class IssueAttachmentResourceTest extends AbstractTicketingTest {
             .header("Content-Disposition", containsString(TicketingTestData.ATTACHMENT_FILE_PATH_1));
     }
 
+    @Test
+    void downloadAttachment_SUCCESS_rangesAndConditionalRequests() throws Exception {
+        setupTestIssuesWithAttachment();
+        final String path = BASE_PATH + "/" + TicketingTestData.ISSUE_ID_2 + "/attachments/"
+            + TicketingTestData.ATTACHMENT_ID_1 + "/" + TicketingTestData.ATTACHMENT_FILE_PATH_1;
+
+        final Response full = given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .get(path)
+            .then()
+            .statusCode(200)
+            .header("Accept-Ranges", equalTo("bytes"))
+            .header("ETag", notNullValue())
+            .header("Last-Modified", notNullValue())
+            .extract().response();
+        final byte[] content = full.asByteArray();
+        final String etag = full.header("ETag");
+        final int size = content.length;
+
+        final byte[] head = given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .header("Range", "bytes=0-99")
+            .get(path)
+            .then()
+            .statusCode(206)
+            .header("Content-Range", equalTo("bytes 0-99/" + size))
+            .extract().asByteArray();
+        assertArrayEquals(Arrays.copyOfRange(content, 0, 100), head);
+
+        final byte[] tail = given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .header("Range", "bytes=-10")
+            .header("If-Range", etag)
+            .get(path)
+            .then()
+            .statusCode(206)
+            .header("Content-Range", equalTo("bytes " + (size - 10) + "-" + (size - 1) + "/" + size))
+            .extract().asByteArray();
+        assertArrayEquals(Arrays.copyOfRange(content, size - 10, size), tail);
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .header("Range", "bytes=0-9, 20-29")
+            .get(path)
+            .then()
+            .statusCode(206)
+            .contentType(startsWith("multipart/byteranges"))
+            .body(containsString("Content-Range: bytes 0-9/" + size))
+            .body(containsString("Content-Range: bytes 20-29/" + size));
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .header("Range", "bytes=" + size + "-")
+            .get(path)
+            .then()
+            .statusCode(416)
+            .header("Content-Range", equalTo("bytes */" + size));
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .header("Range", "bytes=0-99")
+            .header("If-Range", "\"outdated\"")
+            .get(path)
+            .then()
+            .statusCode(200);
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .header("If-None-Match", etag)
+            .get(path)
+            .then()
+            .statusCode(304)
+            .header("ETag", equalTo(etag));
+    }
+
     @Test
     void downloadAttachment_FAILED_noAuthentication() {
         setupTestIssues();
@@ -212,7 +297,7 @@ class IssueAttachmentResourceTest extends AbstractTicketingTest {
             .body("[0].attachmentId", notNullValue())
             .body("[0].fileName", equalTo(TicketingTestData.ATTACHMENT_FILE_PATH_1))
             .body("[0].contentType", startsWith(TicketingTestData.ATTACHMENT_FILE_TYPE_1))
-            .body("[0].objectName", startsWith("/issues/"))
+            .body("[0].objectName", startsWith("sha256/"))
             .body("[0].uploaderId", notNullValue())
             .body("[0].uploadedBy", notNullValue())
             .body("[0].createdAt", notNullValue());
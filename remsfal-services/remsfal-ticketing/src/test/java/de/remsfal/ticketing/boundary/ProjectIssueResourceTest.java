@@ -17,6 +17,10 @@ import org.junit.jupiter.api.Test;
 
 import com.datastax.oss.quarkus.test.CassandraTestResource;
 
+import de.remsfal.core.model.ticketing.IssueModel.IssuePriority;
+import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
+import de.remsfal.core.model.ticketing.IssueModel.IssueType;
+
 import de.remsfal.ticketing.AbstractTicketingTest;
 import de.remsfal.ticketing.TicketingTestData;
 import io.quarkus.test.common.QuarkusTestResource;
@@ -168,6 +172,68 @@ class ProjectIssueResourceTest extends AbstractTicketingTest {
             .body("issues[0].title", equalTo(TicketingTestData.ISSUE_TITLE_1));
     }
 
+    // --- Issue Lookup Consistency ---
+
+    @Test
+    void checkLookupConsistency_SUCCESS_missingEntryIsNotRepaired() {
+        insertIssue(TicketingTestData.PROJECT_ID_1, TicketingTestData.ISSUE_ID_1,
+            TicketingTestData.ISSUE_TITLE_1, IssueType.DEFECT, IssueStatus.OPEN, IssuePriority.HIGH,
+            TicketingTestData.USER_ID_1, null, null, TicketingTestData.ISSUE_DESCRIPTION_1);
+
+        for (int i = 0; i < 2; i++) {
+            given()
+                .when()
+                .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+                .queryParam("projectId", TicketingTestData.PROJECT_ID_1.toString())
+                .get(BASE_PATH + "/lookup-consistency")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("checked", equalTo(1))
+                .body("missing", equalTo(1))
+                .body("repaired", equalTo(0));
+        }
+    }
+
+    @Test
+    void repairLookupConsistency_SUCCESS_missingEntryIsRepaired() {
+        insertIssue(TicketingTestData.PROJECT_ID_1, TicketingTestData.ISSUE_ID_1,
+            TicketingTestData.ISSUE_TITLE_1, IssueType.DEFECT, IssueStatus.OPEN, IssuePriority.HIGH,
+            TicketingTestData.USER_ID_1, null, null, TicketingTestData.ISSUE_DESCRIPTION_1);
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .queryParam("projectId", TicketingTestData.PROJECT_ID_1.toString())
+            .post(BASE_PATH + "/lookup-consistency")
+            .then()
+            .statusCode(200)
+            .contentType(ContentType.JSON)
+            .body("missing", equalTo(1))
+            .body("repaired", equalTo(1));
+
+        given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .queryParam("projectId", TicketingTestData.PROJECT_ID_1.toString())
+            .get(BASE_PATH + "/lookup-consistency")
+            .then()
+            .statusCode(200)
+            .body("checked", equalTo(1))
+            .body("missing", equalTo(0));
+    }
+
+    @Test
+    void repairLookupConsistency_FAILED_noPermissionForProject() {
+        given()
+            .when()
+            .cookie(buildManagerCookie(TicketingTestData.MANAGER_PROJECT_ROLES))
+            .queryParam("projectId", UUID.randomUUID().toString())
+            .post(BASE_PATH + "/lookup-consistency")
+            .then()
+            .statusCode(403);
+    }
+
     // --- Create Project Issue ---
 
     @Test
@@ -10,6 +10,7 @@ import de.remsfal.core.json.eventing.IssueEventJson.IssueEventType;
 import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
 import de.remsfal.core.model.ticketing.IssueModel.IssueType;
 import de.remsfal.ticketing.entity.dao.InboxMessageRepository;
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository.InboxCounters;
 import de.remsfal.ticketing.entity.dto.InboxMessageEntity;
 
 import io.quarkus.kafka.client.serialization.ObjectMapperSerde;
@@ -117,6 +118,8 @@ class InboxEventConsumerTest {
                 assertEquals("assignee@example.com", stored.getAssigneeEmail());
                 assertFalse(stored.getRead());
                 assertNotNull(stored.getCreatedAt());
+                assertEquals(7, stored.getKey().getId().version());
+                assertEquals(new InboxCounters(1, 1), repository.findCounters(assigneeId.toString()));
             });
     }
 
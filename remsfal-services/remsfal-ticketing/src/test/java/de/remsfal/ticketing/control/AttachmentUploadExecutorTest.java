@@ -0,0 +1,117 @@
+package de.remsfal.ticketing.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.common.model.FileUploadData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AttachmentUploadExecutorTest {
+
+    private static final long LATENCY_MILLIS = 100;
+
+    private final Map<String, byte[]> storage = new ConcurrentHashMap<>();
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private AttachmentUploadExecutor uploadExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService threads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        uploadExecutor = new AttachmentUploadExecutor();
+        uploadExecutor.logger = Logger.getLogger(AttachmentUploadExecutor.class);
+        uploadExecutor.meterRegistry = meterRegistry;
+        uploadExecutor.maxParallelism = 4;
+        threads = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void uploadAll_SUCCESS_boundedConcurrentUploads() {
+        final List<FileUploadData> files = files(10);
+
+        final long start = System.nanoTime();
+        final List<String> names = uploadExecutor.uploadAll(files, this::store, storage::remove, threads);
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "photo-" + i + ".jpg").toList(), names);
+        assertEquals(10, storage.size());
+        assertEquals(4, maxInFlight.get());
+        // three rounds of at most four uploads instead of ten serial uploads
+        assertTrue(elapsedMillis < 10 * LATENCY_MILLIS, "Uploads should overlap, took " + elapsedMillis + "ms");
+        assertEquals(10, meterRegistry.get(AttachmentUploadExecutor.METRIC_UPLOAD).timer().count());
+        assertEquals(10, meterRegistry.get(AttachmentUploadExecutor.METRIC_THROUGHPUT).summary().count());
+        assertTrue(meterRegistry.get(AttachmentUploadExecutor.METRIC_THROUGHPUT).summary().mean() > 0);
+    }
+
+    @Test
+    void uploadAll_FAILED_completedUploadsAreRemoved() {
+        uploadExecutor.maxParallelism = 2;
+        final List<FileUploadData> files = files(10);
+
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class,
+            () -> uploadExecutor.uploadAll(files, file -> {
+                if (file.getFileName().equals("photo-2.jpg")) {
+                    started.incrementAndGet();
+                    throw new IllegalStateException("Storage unavailable");
+                }
+                return store(file);
+            }, storage::remove, threads));
+
+        assertEquals("Storage unavailable", thrown.getMessage());
+        assertTrue(started.get() < files.size(), "Remaining uploads should not be started");
+        assertTrue(storage.isEmpty(), "Completed uploads should be removed");
+    }
+
+    private String store(final FileUploadData file) {
+        started.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(LATENCY_MILLIS);
+            storage.put(file.getFileName(), file.getInputStream().readAllBytes());
+            return file.getFileName();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static List<FileUploadData> files(final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new FileUploadData(new ByteArrayInputStream(new byte[1024 * (i + 1)]),
+                "photo-" + i + ".jpg", MediaType.valueOf("image/jpeg"), 1024 * (i + 1)))
+            .toList();
+    }
+
+}
@@ -1,26 +1,47 @@
 package de.remsfal.ticketing.control;
 
 import io.minio.ListObjectsArgs;
+import io.minio.PutObjectArgs;
 import io.minio.Result;
 import io.minio.messages.Item;
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.MediaType;
 import org.junit.jupiter.api.Test;
 
+import de.remsfal.common.model.FileUploadData;
+import de.remsfal.core.model.UserModel;
 import de.remsfal.ticketing.AbstractTicketingTest;
+import de.remsfal.ticketing.entity.dao.BlobRefRepository;
+import de.remsfal.ticketing.entity.dao.ChatMessageRepository;
+import de.remsfal.ticketing.entity.dao.IssueAttachmentRepository;
 import de.remsfal.ticketing.entity.storage.FileStorage;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.logging.Logger;
 
@@ -33,6 +54,24 @@ public class FileStorageControllerTest extends AbstractTicketingTest {
     @Inject
     FileStorageController fileStorageController;
 
+    @Inject
+    BlobGarbageCollector garbageCollector;
+
+    @Inject
+    BlobRefRepository blobRefs;
+
+    @Inject
+    AttachmentController attachmentController;
+
+    @Inject
+    ChatMessageController chatMessageController;
+
+    @InjectSpy
+    IssueAttachmentRepository attachmentRepository;
+
+    @InjectSpy
+    ChatMessageRepository chatMessageRepository;
+
     @Test
     public void testUploadFile_SUCCESS() throws Exception {
         String fileName = "test-image.png";
@@ -59,7 +98,7 @@ public class FileStorageControllerTest extends AbstractTicketingTest {
     }
 
     @Test
-    public void testUploadFile_UniqueNaming_SUCCESS() throws Exception {
+    public void testUploadFile_Deduplication_SUCCESS() throws Exception {
         String fileName = "test-image.png";
         MediaType contentType = MediaType.valueOf("image/png");
         byte[] fileContent = "dummy image content".getBytes();
@@ -68,9 +107,17 @@ public class FileStorageControllerTest extends AbstractTicketingTest {
         String fileUrl = fileStorageController.uploadFile(inputStream1, fileName, contentType);
         
         InputStream inputStream2 = new ByteArrayInputStream(fileContent);
-        String fileUrl2 = fileStorageController.uploadFile(inputStream2, fileName, contentType);
+        String fileUrl2 = fileStorageController.uploadFile(inputStream2, "copy-of-image.png", contentType);
         
-        assertNotEquals(fileUrl, fileUrl2);
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(fileContent));
+        assertEquals("sha256/" + hash.substring(0, 2) + "/" + hash, fileUrl);
+        assertEquals(fileUrl, fileUrl2);
+        assertEquals(1, countObjects(fileUrl));
+        assertEquals(2, blobRefs.count(hash));
+
+        String fileUrl3 = fileStorageController.uploadFile(
+            new ByteArrayInputStream("other content".getBytes()), fileName, contentType);
+        assertNotEquals(fileUrl, fileUrl3);
     }
 
     @Test
@@ -83,7 +130,7 @@ public class FileStorageControllerTest extends AbstractTicketingTest {
         String fileUrl = fileStorageController.uploadFile(inputStream, fileName, contentType);
         assertNotNull(fileUrl);
         
-        try (InputStream downloaded = fileStorageController.downloadFile(fileName)) {
+        try (InputStream downloaded = fileStorageController.downloadFile(fileUrl)) {
             assertNotNull(downloaded, "Downloaded file input stream should not be null");
             byte[] downloadedBytes = downloaded.readAllBytes();
             assertTrue(new String(downloadedBytes).contains("This is some text"));
@@ -102,23 +149,120 @@ public class FileStorageControllerTest extends AbstractTicketingTest {
         String fileName = "file-to-delete.txt";
         MediaType contentType = MediaType.valueOf("text/plain");
         byte[] fileContent = "To be deleted".getBytes();
-        InputStream inputStream = new ByteArrayInputStream(fileContent);
         
-        fileStorageController.uploadFile(inputStream, fileName, contentType);
+        String fileUrl = fileStorageController.uploadFile(new ByteArrayInputStream(fileContent), fileName, contentType);
+        fileStorageController.uploadFile(new ByteArrayInputStream(fileContent), fileName, contentType);
+
+        // the object is shared by two uploads and kept until both are deleted and the garbage is collected
+        fileStorageController.deleteFile(fileUrl);
+        garbageCollector.collect(Instant.now().plusSeconds(60));
+        assertEquals(1, countObjects(fileUrl));
+
+        fileStorageController.deleteFile(fileUrl);
+        assertEquals(0, garbageCollector.collect().removed(), "Young objects should be kept");
+        assertEquals(1, garbageCollector.collect(Instant.now().plusSeconds(60)).removed());
+        assertEquals(0, countObjects(fileUrl), "Object should have been deleted");
+    }
+
+    @Test
+    public void testUploadFile_ConcurrentGarbageCollection_SUCCESS() throws Exception {
+        String fileName = "concurrent.txt";
+        MediaType contentType = MediaType.valueOf("text/plain");
+        byte[] fileContent = "Uploaded while collecting".getBytes();
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(fileContent));
+        String fileUrl = fileStorageController.uploadFile(new ByteArrayInputStream(fileContent), fileName, contentType);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                // the object is stored without references and old enough to be collected
+                fileStorageController.deleteFile(fileUrl);
+                assertEquals(0, blobRefs.count(hash));
+
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> collection = executor.submit(() -> {
+                    start.await();
+                    return garbageCollector.collect(Instant.now().plusSeconds(60));
+                });
+                Future<String> upload = executor.submit(() -> {
+                    start.await();
+                    return fileStorageController.uploadFile(
+                        new ByteArrayInputStream(fileContent), fileName, contentType);
+                });
+                collection.get(30, TimeUnit.SECONDS);
+                assertEquals(fileUrl, upload.get(30, TimeUnit.SECONDS));
+
+                assertEquals(1, blobRefs.count(hash));
+                assertEquals(1, countObjects(fileUrl), "Referenced object was removed in round " + round);
+                assertFalse(blobRefs.isClaimed(hash));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAddAttachment_MetadataWriteFails_ReferenceReleased() throws Exception {
+        byte[] fileContent = "Attachment without metadata".getBytes();
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(fileContent));
+        doThrow(new IllegalStateException("Write timeout")).when(attachmentRepository).insert(any());
+
+        assertThrows(IllegalStateException.class, () -> attachmentController.addAttachment(user(), UUID.randomUUID(),
+            new FileUploadData(new ByteArrayInputStream(fileContent), "report.txt", MediaType.TEXT_PLAIN_TYPE)));
+
+        assertEquals(0, blobRefs.count(hash));
+        assertEquals(1, garbageCollector.collect(Instant.now().plusSeconds(60)).removed());
+    }
+
+    @Test
+    public void testUploadChatFile_MetadataWriteFails_ReferenceReleased() throws Exception {
+        byte[] fileContent = "Chat file without message".getBytes();
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(fileContent));
+        doThrow(new IllegalStateException("Write timeout")).when(chatMessageRepository)
+            .sendMessage(any(), any(), any(), any(), any());
+
+        assertThrows(IllegalStateException.class, () -> chatMessageController.uploadFile(user(), UUID.randomUUID(),
+            new FileUploadData(new ByteArrayInputStream(fileContent), "chat.txt", MediaType.TEXT_PLAIN_TYPE)));
+
+        assertEquals(0, blobRefs.count(hash));
+        assertEquals(1, garbageCollector.collect(Instant.now().plusSeconds(60)).removed());
+    }
+
+    private static UserModel user() {
+        UserModel user = mock(UserModel.class);
+        when(user.getId()).thenReturn(UUID.randomUUID());
+        when(user.getName()).thenReturn("Uploader");
+        return user;
+    }
+
+    @Test
+    public void testDeleteObject_LegacyName_Success() throws Exception {
+        String fileName = "legacy-file.txt";
+        minioClient.putObject(
+            PutObjectArgs.builder()
+                .bucket(FileStorage.DEFAULT_BUCKET_NAME)
+                .object(fileName)
+                .stream(new ByteArrayInputStream("legacy".getBytes()), 6, -1)
+                .contentType("text/plain")
+                .build());
 
         fileStorageController.deleteFile(fileName);
 
-        boolean found = false;
+        assertEquals(0, countObjects(fileName), "Object should have been deleted");
+    }
+
+    private int countObjects(final String objectName) throws Exception {
+        int found = 0;
         for (Result<Item> r : minioClient.listObjects(
             ListObjectsArgs.builder()
                 .bucket(FileStorage.DEFAULT_BUCKET_NAME)
+                .recursive(true)
                 .build())) {
-            if (r.get().objectName().equals(fileName)) {
-                found = true;
-                break;
+            if (r.get().objectName().equals(objectName)) {
+                found++;
             }
         }
-        assertFalse(found, "Object should have been deleted");
+        return found;
     }
 
     @Test
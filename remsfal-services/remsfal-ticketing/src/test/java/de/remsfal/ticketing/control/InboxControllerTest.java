@@ -2,8 +2,11 @@ package de.remsfal.ticketing.control;
 
 import com.datastax.oss.quarkus.test.CassandraTestResource;
 
+import de.remsfal.common.util.UUIDv7;
 import de.remsfal.ticketing.AbstractTicketingTest;
 import de.remsfal.ticketing.entity.dao.InboxMessageRepository;
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository.InboxCounters;
+import de.remsfal.ticketing.entity.dao.InboxMessageRepository.InboxMigration;
 import de.remsfal.ticketing.entity.dto.InboxMessageEntity;
 import de.remsfal.ticketing.entity.dto.InboxMessageKey;
 
@@ -28,6 +31,9 @@ class InboxControllerTest extends AbstractTicketingTest {
     @Inject
     InboxController controller;
 
+    @Inject
+    InboxMigrationController migrationController;
+
     @Inject
     InboxMessageRepository repository;
 
@@ -47,10 +53,6 @@ class InboxControllerTest extends AbstractTicketingTest {
         assertEquals("Test Title", results.get(0).getTitle());
     }
 
-    // Note: Tests for findByUserIdAndRead, findByUserIdAndEventType, and findByUserIdAndEventTypeAndRead
-    // are skipped because they require Cassandra secondary indexes which are not created in test environment.
-    // These methods are tested indirectly through controller tests that use findByUserId.
-
     @Test
     void testRepository_findByUserIdAndId() {
         String userId = "user-def";
@@ -159,12 +161,114 @@ class InboxControllerTest extends AbstractTicketingTest {
     void testController_getInboxMessages_userIdNull_throws() {
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> controller.getInboxMessages(true, null)
+            () -> controller.getInboxMessages(true, null, null, 50)
         );
         assertEquals("userId cannot be null", exception.getMessage());
     }
 
-    // Note: Test for getInboxMessages with read filter skipped - requires Cassandra secondary index
+    @Test
+    void testController_getInboxMessages_readFilter() {
+        String userId = "user-read-filter";
+
+        InboxMessageEntity read = createTestMessage(userId, "Read Message");
+        read.setRead(true);
+        repository.saveInboxMessage(read);
+        repository.saveInboxMessage(createTestMessage(userId, "Unread Message"));
+
+        List<InboxMessageEntity> unread = controller.getInboxMessages(false, userId, null, 50);
+        assertEquals(1, unread.size());
+        assertEquals("Unread Message", unread.get(0).getTitle());
+        assertEquals(1, controller.getInboxMessages(true, userId, null, 50).size());
+    }
+
+    @Test
+    void testController_getInboxMessages_pagesNewestFirst() {
+        String userId = "user-pages";
+        for (int i = 0; i < 5; i++) {
+            repository.saveInboxMessage(createTestMessage(userId, "Message " + i));
+        }
+
+        List<InboxMessageEntity> first = controller.getInboxMessages(null, userId, null, 2);
+        assertEquals(List.of("Message 4", "Message 3"), first.stream().map(InboxMessageEntity::getTitle).toList());
+
+        List<InboxMessageEntity> second = controller.getInboxMessages(null, userId, first.get(1).getKey().getId(), 2);
+        assertEquals(List.of("Message 2", "Message 1"), second.stream().map(InboxMessageEntity::getTitle).toList());
+
+        List<InboxMessageEntity> last = controller.getInboxMessages(null, userId, second.get(1).getKey().getId(), 2);
+        assertEquals(List.of("Message 0"), last.stream().map(InboxMessageEntity::getTitle).toList());
+    }
+
+    @Test
+    void testController_countersFollowMarkReadAndDelete() {
+        String userId = "user-counters";
+        InboxMessageEntity first = createTestMessage(userId, "First");
+        InboxMessageEntity second = createTestMessage(userId, "Second");
+        repository.saveInboxMessage(first);
+        repository.saveInboxMessage(second);
+        assertEquals(new InboxCounters(2, 2), controller.getInboxCounters(userId));
+
+        controller.updateMessageStatus(first.getKey().getId().toString(), true, userId);
+        controller.updateMessageStatus(first.getKey().getId().toString(), true, userId);
+        assertEquals(new InboxCounters(2, 1), controller.getInboxCounters(userId));
+
+        controller.deleteMessage(first.getKey().getId().toString(), userId);
+        assertEquals(new InboxCounters(1, 1), controller.getInboxCounters(userId));
+
+        controller.deleteMessage(second.getKey().getId().toString(), userId);
+        assertEquals(new InboxCounters(0, 0), controller.getInboxCounters(userId));
+    }
+
+    @Test
+    void testRepository_reconcileCounters_fromNegativeCounters() {
+        String userId = "user-negative";
+        repository.saveInboxMessage(createTestMessage(userId, "First"));
+        repository.saveInboxMessage(createTestMessage(userId, "Second"));
+        // let both counters drift below zero
+        repository.updateCounters(userId, -5, -4);
+        assertEquals(new InboxCounters(0, 0), controller.getInboxCounters(userId));
+
+        assertEquals(new InboxCounters(2, 2), repository.reconcileCounters(userId));
+        assertEquals(new InboxCounters(2, 2), controller.getInboxCounters(userId));
+    }
+
+    @Test
+    void testMigration_copiesLegacyMessagesAndCounters() {
+        String userId = "user-legacy";
+        Instant older = Instant.now().minusSeconds(3600);
+        Instant newer = Instant.now().minusSeconds(60);
+        insertLegacyMessage(userId, "Legacy Older", older, true);
+        insertLegacyMessage(userId, "Legacy Newer", newer, false);
+
+        assertEquals(new InboxMigration(1, 2), migrationController.migrate());
+        assertEquals(new InboxMigration(0, 0), migrationController.migrate());
+
+        List<InboxMessageEntity> messages = controller.getInboxMessages(null, userId, null, 50);
+        assertEquals(List.of("Legacy Newer", "Legacy Older"),
+            messages.stream().map(InboxMessageEntity::getTitle).toList());
+        assertEquals(older.toEpochMilli(), UUIDv7.extractTimestamp(messages.get(1).getKey().getId()));
+        assertEquals(new InboxCounters(2, 1), controller.getInboxCounters(userId));
+    }
+
+    @Test
+    void testMigration_repeatedKeepsDeletedAndReadMessages() {
+        String userId = "user-legacy-repeated";
+        insertLegacyMessage(userId, "Legacy Deleted", Instant.now().minusSeconds(3600), false);
+        insertLegacyMessage(userId, "Legacy Read", Instant.now().minusSeconds(60), false);
+        assertEquals(new InboxMigration(1, 2), migrationController.migrate());
+
+        List<InboxMessageEntity> migrated = controller.getInboxMessages(null, userId, null, 50);
+        controller.updateMessageStatus(migrated.get(0).getKey().getId().toString(), true, userId);
+        controller.deleteMessage(migrated.get(1).getKey().getId().toString(), userId);
+        InboxCounters counters = controller.getInboxCounters(userId);
+
+        assertEquals(new InboxMigration(0, 0), migrationController.migrate());
+
+        List<InboxMessageEntity> messages = controller.getInboxMessages(null, userId, null, 50);
+        assertEquals(List.of("Legacy Read"), messages.stream().map(InboxMessageEntity::getTitle).toList());
+        assertTrue(messages.get(0).getRead());
+        assertEquals(new InboxCounters(1, 0), counters);
+        assertEquals(counters, controller.getInboxCounters(userId));
+    }
 
     @Test
     void testController_getInboxMessages_noFilter() {
@@ -173,7 +277,7 @@ class InboxControllerTest extends AbstractTicketingTest {
         repository.saveInboxMessage(createTestMessage(userId, "Message 1"));
         repository.saveInboxMessage(createTestMessage(userId, "Message 2"));
 
-        List<InboxMessageEntity> allMessages = controller.getInboxMessages(null, userId);
+        List<InboxMessageEntity> allMessages = controller.getInboxMessages(null, userId, null, 50);
         assertEquals(2, allMessages.size());
     }
 
@@ -189,7 +293,7 @@ class InboxControllerTest extends AbstractTicketingTest {
         newer.setCreatedAt(Instant.now());
         repository.saveInboxMessage(newer);
 
-        List<InboxMessageEntity> messages = controller.getInboxMessages(null, userId);
+        List<InboxMessageEntity> messages = controller.getInboxMessages(null, userId, null, 50);
 
         assertEquals(2, messages.size());
         assertEquals("Newer Message", messages.get(0).getTitle());
@@ -301,11 +405,11 @@ class InboxControllerTest extends AbstractTicketingTest {
         repository.saveInboxMessage(createTestMessage(user1, "User 1 Message"));
         repository.saveInboxMessage(createTestMessage(user2, "User 2 Message"));
 
-        List<InboxMessageEntity> user1Messages = controller.getInboxMessages(null, user1);
+        List<InboxMessageEntity> user1Messages = controller.getInboxMessages(null, user1, null, 50);
         assertEquals(1, user1Messages.size());
         assertEquals("User 1 Message", user1Messages.get(0).getTitle());
 
-        List<InboxMessageEntity> user2Messages = controller.getInboxMessages(null, user2);
+        List<InboxMessageEntity> user2Messages = controller.getInboxMessages(null, user2, null, 50);
         assertEquals(1, user2Messages.size());
         assertEquals("User 2 Message", user2Messages.get(0).getTitle());
     }
@@ -316,10 +420,16 @@ class InboxControllerTest extends AbstractTicketingTest {
     // Helper Methods
     // ========================================
 
+    private void insertLegacyMessage(String userId, String title, Instant createdAt, boolean read) {
+        cqlSession.execute(cqlSession.prepare("INSERT INTO inbox_messages (user_id, id, event_type, issue_id,"
+            + " title, created_at, read) VALUES (?, ?, ?, ?, ?, ?, ?)")
+            .bind(userId, UUID.randomUUID(), "ISSUE_CREATED", UUID.randomUUID().toString(), title, createdAt, read));
+    }
+
     private InboxMessageEntity createTestMessage(String userId, String title) {
         InboxMessageKey key = new InboxMessageKey();
         key.setUserId(userId);
-        key.setId(UUID.randomUUID());
+        key.setId(UUIDv7.randomUUID());
 
         InboxMessageEntity entity = new InboxMessageEntity();
         entity.setKey(key);
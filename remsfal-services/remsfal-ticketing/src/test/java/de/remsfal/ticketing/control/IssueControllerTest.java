@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import de.remsfal.core.model.ticketing.MessagePurpose;
 import de.remsfal.ticketing.AbstractTicketingTest;
 import de.remsfal.ticketing.entity.dao.IssueRepository;
 import de.remsfal.ticketing.entity.dto.IssueEntity;
+import de.remsfal.ticketing.entity.dto.IssueKey;
 import de.remsfal.ticketing.entity.dto.TimelineEntity;
 import de.remsfal.ticketing.entity.filter.IssueFilter;
 import io.quarkus.test.InjectMock;
@@ -108,6 +110,61 @@ class IssueControllerTest extends AbstractTicketingTest {
         assertEquals(id4, page.get(0).getId());
     }
 
+    @Test
+    void getTenancyIssues_pagesThroughManyAgreementsWithoutDuplicatesOrGaps() {
+        final Map<UUID, UUID> tenancyProjects = new LinkedHashMap<>();
+        final List<UUID> projects = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        long next = 1;
+        for (int i = 0; i < 60; i++) {
+            final UUID agreementId = UUID.randomUUID();
+            final UUID projectId = projects.get(i % projects.size());
+            tenancyProjects.put(agreementId, projectId);
+            for (int j = 0; j < 3; j++) {
+                final UUID issueId = new UUID(0, next++);
+                insertIssue(projectId, issueId, "Issue " + issueId, IssueType.DEFECT, IssueStatus.OPEN,
+                    IssuePriority.MEDIUM, UUID.randomUUID(), agreementId, null, null);
+            }
+        }
+        // issues of other agreements in the same projects must not leak into the result
+        insertIssue(projects.get(0), new UUID(0, next), "Foreign issue", IssueType.DEFECT, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), UUID.randomUUID(), null, null);
+
+        final List<UUID> visited = new ArrayList<>();
+        UUID cursor = null;
+        List<? extends IssueModel> page;
+        do {
+            page = controller.getTenancyIssues(tenancyProjects, cursor, 25);
+            page.forEach(issue -> visited.add(issue.getId()));
+            cursor = page.isEmpty() ? null : page.get(page.size() - 1).getId();
+        } while (page.size() == 25);
+
+        assertEquals(180, visited.size());
+        for (int i = 0; i < visited.size(); i++) {
+            assertEquals(new UUID(0, 180 - i), visited.get(i));
+        }
+    }
+
+    @Test
+    void mergeDescending_stopsAfterLimitAcrossPartitions() {
+        final List<IssueEntity> partitionA = List.of(issue(9), issue(5), issue(1));
+        final List<IssueEntity> partitionB = List.of(issue(8), issue(7), issue(2));
+        final List<IssueEntity> partitionC = List.of();
+
+        final List<IssueEntity> merged =
+            IssueController.mergeDescending(List.of(partitionA, partitionB, partitionC), 4);
+
+        assertEquals(List.of(new UUID(0, 9), new UUID(0, 8), new UUID(0, 7), new UUID(0, 5)),
+            merged.stream().map(IssueEntity::getId).toList());
+    }
+
+    private static IssueEntity issue(final long id) {
+        final IssueKey key = new IssueKey();
+        key.setIssueId(new UUID(0, id));
+        final IssueEntity entity = new IssueEntity();
+        entity.setKey(key);
+        return entity;
+    }
+
     @Test
     void getTenancyIssues_noTenancies_returnsEmptyListWithoutQuerying() {
         final List<? extends IssueModel> page = controller.getTenancyIssues(Map.of(), null, 10);
@@ -0,0 +1,85 @@
+package de.remsfal.ticketing.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+
+import org.junit.jupiter.api.Test;
+
+import de.remsfal.ticketing.AbstractTicketingTest;
+import de.remsfal.ticketing.TicketingTestData;
+import de.remsfal.ticketing.entity.storage.FileStorage;
+import de.remsfal.ticketing.entity.storage.StoredFile;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class PreviewControllerTest extends AbstractTicketingTest {
+
+    @Inject
+    PreviewController previewController;
+
+    @Inject
+    FileStorageController fileStorageController;
+
+    @Test
+    void generate_SUCCESS_thumbnailIsRenderedOnce() throws Exception {
+        final String objectName;
+        try (InputStream image = getClass().getClassLoader().getResourceAsStream(TicketingTestData.FILE_PNG_PATH)) {
+            objectName = fileStorageController.uploadFile(image, TicketingTestData.FILE_PNG_PATH,
+                MediaType.valueOf(TicketingTestData.FILE_PNG_TYPE));
+        }
+
+        assertTrue(previewController.generate(objectName));
+        assertFalse(previewController.generate(objectName), "An existing thumbnail should not be rendered again");
+
+        final StoredFile thumbnail = fileStorageController.getFile(objectName, FileStorageController.VARIANT_THUMBNAIL);
+        assertEquals(FileStorage.toThumbnailName(objectName), thumbnail.getObjectName());
+        assertEquals(ThumbnailRenderer.CONTENT_TYPE, thumbnail.getContentType());
+        assertEquals(objectName,
+            fileStorageController.getFile(objectName, FileStorageController.VARIANT_ORIGINAL).getObjectName());
+    }
+
+    @Test
+    void generate_SUCCESS_thumbnailOfPdfShowsFirstPage() throws Exception {
+        final String objectName = fileStorageController.uploadFile(
+            new ByteArrayInputStream(ThumbnailRendererTest.pdf()), "protocol.pdf",
+            MediaType.valueOf(ThumbnailRenderer.PDF_CONTENT_TYPE));
+
+        assertTrue(previewController.generate(objectName));
+
+        final StoredFile thumbnail = fileStorageController.getFile(objectName, FileStorageController.VARIANT_THUMBNAIL);
+        assertEquals(FileStorage.toThumbnailName(objectName), thumbnail.getObjectName());
+        assertEquals(ThumbnailRenderer.CONTENT_TYPE, thumbnail.getContentType());
+    }
+
+    @Test
+    void getFile_SUCCESS_thumbnailFallsBackToOriginal() {
+        final String objectName = fileStorageController.uploadFile(new ByteArrayInputStream("no image".getBytes()),
+            "notes.txt", MediaType.TEXT_PLAIN_TYPE);
+
+        assertFalse(previewController.generate(objectName));
+
+        final StoredFile file = fileStorageController.getFile(objectName, FileStorageController.VARIANT_THUMBNAIL);
+        assertEquals(objectName, file.getObjectName());
+    }
+
+    @Test
+    void isRenderable_SUCCESS_onlyContentAddressedImagesAndPdf() {
+        final String objectName =
+            FileStorage.toObjectName("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+
+        assertTrue(PreviewController.isRenderable(objectName, MediaType.valueOf("image/png")));
+        assertTrue(PreviewController.isRenderable(objectName, MediaType.valueOf("application/pdf")));
+        assertFalse(PreviewController.isRenderable(objectName, MediaType.TEXT_PLAIN_TYPE));
+        assertFalse(PreviewController.isRenderable(FileStorage.toThumbnailName(objectName),
+            MediaType.valueOf("image/jpeg")));
+        assertFalse(PreviewController.isRenderable("legacy.png", MediaType.valueOf("image/png")));
+    }
+
+}
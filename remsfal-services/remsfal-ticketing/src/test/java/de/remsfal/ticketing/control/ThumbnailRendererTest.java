@@ -0,0 +1,93 @@
+package de.remsfal.ticketing.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+
+class ThumbnailRendererTest {
+
+    @Test
+    void render_SUCCESS_landscapeImageIsScaledToMaxEdge() throws IOException {
+        final byte[] thumbnail = ThumbnailRenderer.render(new ByteArrayInputStream(png(2000, 1000)), 256);
+
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertNotNull(image);
+        assertEquals(256, image.getWidth());
+        assertEquals(128, image.getHeight());
+    }
+
+    @Test
+    void render_SUCCESS_smallImageIsNotEnlarged() throws IOException {
+        final byte[] thumbnail = ThumbnailRenderer.render(new ByteArrayInputStream(png(40, 100)), 256);
+
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertEquals(40, image.getWidth());
+        assertEquals(100, image.getHeight());
+    }
+
+    @Test
+    void render_SUCCESS_firstPageOfPdf() throws IOException {
+        final byte[] thumbnail = ThumbnailRenderer.render(new ByteArrayInputStream(pdf()), 256);
+
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertNotNull(image);
+        // A4 portrait, the height is scaled to the max edge
+        assertTrue(image.getHeight() >= 255 && image.getHeight() <= 256);
+        assertTrue(image.getWidth() >= 180 && image.getWidth() <= 181);
+        // the filled first page is dark, the empty second page is not rendered
+        assertTrue((image.getRGB(image.getWidth() / 2, image.getHeight() / 2) & 0xFF) < 64);
+    }
+
+    @Test
+    void render_FAILED_noImage() throws IOException {
+        assertNull(ThumbnailRenderer.render(new ByteArrayInputStream("no image".getBytes()), 256));
+    }
+
+    @Test
+    void supports_SUCCESS_imageTypesAndPdf() {
+        assertTrue(ThumbnailRenderer.supports("image/png"));
+        assertTrue(ThumbnailRenderer.supports("image/jpeg"));
+        assertTrue(ThumbnailRenderer.supports("image/webp"));
+        assertTrue(ThumbnailRenderer.supports("application/pdf"));
+        assertFalse(ThumbnailRenderer.supports("text/plain"));
+    }
+
+    static byte[] pdf() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            final PDPage first = new PDPage(PDRectangle.A4);
+            document.addPage(first);
+            try (PDPageContentStream content = new PDPageContentStream(document, first)) {
+                content.setNonStrokingColor(0.1f, 0.1f, 0.1f);
+                content.addRect(0, 0, PDRectangle.A4.getWidth(), PDRectangle.A4.getHeight());
+                content.fill();
+            }
+            document.addPage(new PDPage(PDRectangle.A4));
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            document.save(bytes);
+            return bytes.toByteArray();
+        }
+    }
+
+    private static byte[] png(final int width, final int height) throws IOException {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+}
@@ -7,6 +7,7 @@ import com.datastax.oss.quarkus.test.CassandraTestResource;
 import de.remsfal.test.TestData;
 import de.remsfal.ticketing.AbstractTicketingTest;
 import de.remsfal.ticketing.entity.dao.ChatMessageRepository;
+import de.remsfal.ticketing.entity.dao.ChatMessageRepository.ChatMessagePage;
 import de.remsfal.ticketing.entity.dao.ChatMessageRepository.ContentType;
 import de.remsfal.ticketing.entity.dao.ChatSessionRepository.ParticipantRole;
 import de.remsfal.ticketing.entity.dto.ChatMessageEntity;
@@ -126,6 +127,16 @@ public class ChatMessageRepositoryTest extends AbstractTicketingTest {
 
     }
 
+    @Test
+    void deleteMessagesFromSession_SUCCESS() {
+        assertEquals(4, chatMessageRepository.findMessagePage(SESSION_ID, null, 10).messages().size());
+
+        chatMessageRepository.deleteMessagesFromSession(SESSION_ID);
+
+        assertTrue(chatMessageRepository.findMessagePage(SESSION_ID, null, 10).messages().isEmpty());
+        assertFalse(chatMessageRepository.findMessageById(SESSION_ID, MESSAGE_ID_1).isPresent());
+    }
+
 
     @Test
     void updateTextChatMessage_SUCCESS() {
@@ -159,17 +170,31 @@ public class ChatMessageRepositoryTest extends AbstractTicketingTest {
     }
 
     @Test
-    void exportChatLogsAsJsonString_SUCCESS() {
-        logger.info("Testing exportChatLogsAsJsonString");
-        String exportedJson = chatMessageRepository.getChatLogsAsJsonString(PROJECT_ID, TASK_ID, SESSION_ID);
-        logger.info("Exported Chat Logs JSON: " + exportedJson);
-        assertTrue(exportedJson.contains(PROJECT_ID.toString()), "JSON should contain the project ID");
-        assertTrue(exportedJson.contains(TASK_ID.toString()), "JSON should contain the task ID");
-        assertTrue(exportedJson.contains(SESSION_ID.toString()), "JSON should contain the session ID");
-        assertTrue(exportedJson.contains(MESSAGE_CONTENT_1), "JSON should contain the first message content");
-        assertTrue(exportedJson.contains(USER_ID_1.toString()), "JSON should contain the first user's ID");
-        assertTrue(exportedJson.contains(ContentType.TEXT.name()), "JSON should contain the message type");
+    void findMessagePage_SUCCESS() {
+        logger.info("Testing findMessagePage");
+        ChatMessagePage first = chatMessageRepository.findMessagePage(SESSION_ID, null, 3);
+        assertEquals(3, first.messages().size(), "First page should be full");
+        assertNotNull(first.nextCursor(), "First page should point to the next page");
+
+        ChatMessagePage second = chatMessageRepository.findMessagePage(SESSION_ID, first.nextCursor(), 3);
+        assertEquals(1, second.messages().size(), "Second page should contain the remaining message");
+        assertNull(second.nextCursor(), "Second page should be the last page");
+        assertTrue(first.messages().stream()
+            .noneMatch(m -> m.getMessageId().equals(second.messages().get(0).getMessageId())),
+            "Pages should not overlap");
     }
 
+    @Test
+    void findMessagePage_INVALID_CURSOR() {
+        assertThrows(IllegalArgumentException.class,
+            () -> chatMessageRepository.findMessagePage(SESSION_ID, "not-a-cursor", 3));
+    }
+
+    @Test
+    void sendMessage_usesTimeOrderedIds() {
+        ChatMessageEntity message = chatMessageRepository.sendMessage(SESSION_ID, USER_ID_1,
+            ContentType.TEXT.name(), "time ordered");
+        assertEquals(7, message.getMessageId().version(), "Message ids should be UUIDv7");
+    }
 
 }
@@ -2,6 +2,7 @@ package de.remsfal.ticketing.entity;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.quarkus.test.CassandraTestResource;
 
 import de.remsfal.common.util.UUIDv7;
@@ -22,6 +24,9 @@ import de.remsfal.ticketing.AbstractTicketingTest;
 import de.remsfal.ticketing.entity.dao.IssueRepository;
 import de.remsfal.ticketing.entity.filter.IssueFilter;
 import de.remsfal.ticketing.entity.dto.IssueEntity;
+import de.remsfal.ticketing.entity.dto.IssueKey;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -33,6 +38,9 @@ class IssueRepositoryTest extends AbstractTicketingTest {
     @Inject
     IssueRepository repository;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     @Test
     void testFindByQuery_filterByStatus() {
         // Setup: Create issues with different statuses
@@ -200,4 +208,129 @@ class IssueRepositoryTest extends AbstractTicketingTest {
         assertEquals(description, found.getDescription());
     }
 
+    @Test
+    void testFindByIssueId_indexFallbackRepairsLookup() {
+        UUID projectId = UUID.randomUUID();
+        UUID issueId = UUID.randomUUID();
+        insertIssue(projectId, issueId, "Issue 1", IssueType.TASK, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        assertNull(lookupProjectId(issueId));
+
+        assertTrue(repository.findByIssueId(issueId).isPresent());
+        assertEquals(projectId, lookupProjectId(issueId));
+
+        IssueEntity found = repository.findByIssueId(issueId)
+            .orElseThrow(() -> new AssertionError("Issue not found"));
+        assertEquals("Issue 1", found.getTitle());
+        assertEquals(projectId, found.getProjectId());
+    }
+
+    @Test
+    void testCheckLookupConsistency_detectsAndRepairsMissingAndMismatchedEntries() {
+        UUID projectId = UUID.randomUUID();
+        UUID issueId1 = UUID.randomUUID();
+        UUID issueId2 = UUID.randomUUID();
+        UUID issueId3 = UUID.randomUUID();
+        insertIssue(projectId, issueId1, "Issue 1", IssueType.TASK, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        insertIssue(projectId, issueId2, "Issue 2", IssueType.TASK, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        insertIssue(projectId, issueId3, "Issue 3", IssueType.TASK, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        cqlSession.execute("INSERT INTO remsfal.issues_by_id (issue_id, project_id) VALUES (?, ?)",
+            issueId1, projectId);
+        cqlSession.execute("INSERT INTO remsfal.issues_by_id (issue_id, project_id) VALUES (?, ?)",
+            issueId2, UUID.randomUUID());
+
+        IssueRepository.LookupConsistency check = repository.checkLookupConsistency(projectId, false);
+        assertEquals(new IssueRepository.LookupConsistency(3, 1, 1, 0), check);
+
+        IssueRepository.LookupConsistency repair = repository.checkLookupConsistency(projectId, true);
+        assertEquals(new IssueRepository.LookupConsistency(3, 1, 1, 2), repair);
+        assertEquals(projectId, lookupProjectId(issueId2));
+        assertEquals(projectId, lookupProjectId(issueId3));
+
+        assertEquals(new IssueRepository.LookupConsistency(3, 0, 0, 0),
+            repository.checkLookupConsistency(projectId, false));
+    }
+
+    @Test
+    void testDelete_removesLookupEntry() {
+        UUID projectId = UUID.randomUUID();
+        UUID issueId = UUID.randomUUID();
+        insertIssue(projectId, issueId, "Issue 1", IssueType.TASK, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        assertEquals(1, repository.backfillLookup().repaired());
+
+        IssueKey key = new IssueKey();
+        key.setProjectId(projectId);
+        key.setIssueId(issueId);
+        repository.delete(key);
+
+        assertNull(lookupProjectId(issueId));
+        assertTrue(repository.findByIssueId(issueId).isEmpty());
+    }
+
+    @Test
+    void testRemoveAllRelations_500Relations() {
+        UUID projectId = UUID.randomUUID();
+        UUID sourceId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        insertIssue(projectId, sourceId, "Source", IssueType.TASK, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        insertIssue(projectId, parentId, "Parent", IssueType.TASK, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        repository.setParentIssue(projectId, sourceId, parentId);
+
+        List<UUID> targetIds = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID targetId = UUID.randomUUID();
+            insertIssue(projectId, targetId, "Target " + i, IssueType.TASK, IssueStatus.OPEN,
+                IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+            switch (i % 5) {
+                case 0 -> repository.addBlocks(projectId, sourceId, targetId);
+                case 1 -> repository.addBlockedBy(projectId, sourceId, targetId);
+                case 2 -> repository.addRelatedTo(projectId, sourceId, targetId);
+                case 3 -> repository.addDuplicateOf(projectId, sourceId, targetId);
+                default -> repository.addChildrenIssue(projectId, sourceId, targetId);
+            }
+            targetIds.add(targetId);
+        }
+        IssueEntity source = repository.findByKey(projectId, sourceId).orElseThrow();
+        assertEquals(100, source.getBlocks().size());
+        assertEquals(100, source.getChildrenIssues().size());
+        double roundTrips = roundTrips();
+
+        repository.removeAllRelations(source);
+
+        // 500 back-references, the parent and the source itself in batches of 50 statements
+        assertEquals(11, roundTrips() - roundTrips);
+        for (UUID targetId : targetIds) {
+            IssueEntity target = repository.findByKey(projectId, targetId).orElseThrow();
+            assertNull(target.getBlocks());
+            assertNull(target.getBlockedBy());
+            assertNull(target.getRelatedTo());
+            assertNull(target.getDuplicateOf());
+            assertNull(target.getParentIssue());
+        }
+        assertNull(repository.findByKey(projectId, parentId).orElseThrow().getChildrenIssues());
+        IssueEntity cleared = repository.findByKey(projectId, sourceId).orElseThrow();
+        assertNull(cleared.getBlocks());
+        assertNull(cleared.getParentIssue());
+        assertNull(cleared.getChildrenIssues());
+    }
+
+    private double roundTrips() {
+        DistributionSummary summary = meterRegistry.find(IssueRepository.METRIC_ROUND_TRIPS)
+            .tag("operation", "issue-relations-delete")
+            .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private UUID lookupProjectId(final UUID issueId) {
+        Row row = cqlSession.execute("SELECT project_id FROM remsfal.issues_by_id WHERE issue_id = ?", issueId)
+            .one();
+        return row != null ? row.getUuid("project_id") : null;
+    }
+
 }
@@ -0,0 +1,96 @@
+package de.remsfal.ticketing.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.quarkus.test.CassandraTestResource;
+
+import de.remsfal.core.model.ticketing.IssueModel.IssuePriority;
+import de.remsfal.core.model.ticketing.IssueModel.IssueStatus;
+import de.remsfal.core.model.ticketing.IssueModel.IssueType;
+import de.remsfal.ticketing.AbstractTicketingTest;
+import de.remsfal.ticketing.entity.dao.IssueRepository;
+import de.remsfal.ticketing.entity.filter.IssueFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+@QuarkusTestResource(CassandraTestResource.class)
+class PreparedStatementRegistryTest extends AbstractTicketingTest {
+
+    @Inject
+    PreparedStatementRegistry registry;
+
+    @Inject
+    IssueRepository repository;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void testBucket() {
+        assertEquals(1, PreparedStatementRegistry.bucket(0));
+        assertEquals(1, PreparedStatementRegistry.bucket(1));
+        assertEquals(2, PreparedStatementRegistry.bucket(2));
+        assertEquals(4, PreparedStatementRegistry.bucket(3));
+        assertEquals(4, PreparedStatementRegistry.bucket(4));
+        assertEquals(8, PreparedStatementRegistry.bucket(5));
+        assertEquals(16, PreparedStatementRegistry.bucket(9));
+    }
+
+    @Test
+    void testPadInValues() {
+        assertEquals(List.of("A"), PreparedStatementRegistry.padInValues(List.of("A")));
+        assertEquals(List.of("A", "B", "C", "C"), PreparedStatementRegistry.padInValues(List.of("A", "B", "C")));
+        assertEquals("?, ?, ?", PreparedStatementRegistry.markers(3));
+    }
+
+    @Test
+    void testPrepare_sameStatementIsPreparedOnlyOnce() {
+        final String cql = "SELECT * FROM remsfal.issues WHERE project_id = ? AND issue_id = ?";
+        final PreparedStatement first = registry.prepare(cql);
+        final double prepared = counter(PreparedStatementRegistry.METRIC_PREPARED);
+
+        final PreparedStatement second = registry.prepare(cql);
+
+        assertSame(first, second);
+        assertEquals(prepared, counter(PreparedStatementRegistry.METRIC_PREPARED));
+    }
+
+    @Test
+    void testFindByQuery_filtersOfSameShapeShareOneStatement() {
+        final UUID projectId = UUID.randomUUID();
+        insertIssue(projectId, UUID.randomUUID(), "Issue 1", IssueType.DEFECT, IssueStatus.OPEN,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        insertIssue(projectId, UUID.randomUUID(), "Issue 2", IssueType.DEFECT, IssueStatus.IN_PROGRESS,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+        insertIssue(projectId, UUID.randomUUID(), "Issue 3", IssueType.DEFECT, IssueStatus.CLOSED,
+            IssuePriority.MEDIUM, UUID.randomUUID(), null, null, null);
+
+        // three and four statuses fall into the same IN-list bucket
+        assertEquals(3, repository.findByQuery(new IssueFilter(projectId, null, null, null, null, null,
+            List.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS, IssueStatus.CLOSED), null), null, 10).size());
+        final double prepared = counter(PreparedStatementRegistry.METRIC_PREPARED);
+        final double bound = counter(PreparedStatementRegistry.METRIC_BOUND);
+
+        assertEquals(2, repository.findByQuery(new IssueFilter(projectId, null, null, null, null, null,
+            List.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS, IssueStatus.PENDING, IssueStatus.REJECTED), null),
+            null, 10).size());
+
+        assertEquals(prepared, counter(PreparedStatementRegistry.METRIC_PREPARED));
+        assertEquals(bound + 1, counter(PreparedStatementRegistry.METRIC_BOUND));
+    }
+
+    private double counter(final String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+}
@@ -0,0 +1,52 @@
+package de.remsfal.ticketing.entity.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FileStorageTest {
+
+    private static final long MIB = 1024L * 1024L;
+
+    @Test
+    void partSizeOf_SUCCESS_adaptsToFileSize() {
+        assertEquals(5 * MIB, FileStorage.partSizeOf(0));
+        assertEquals(5 * MIB, FileStorage.partSizeOf(3 * MIB));
+        assertEquals(5 * MIB, FileStorage.partSizeOf(80 * MIB));
+        assertEquals(8 * MIB, FileStorage.partSizeOf(128 * MIB));
+        assertEquals(64 * MIB, FileStorage.partSizeOf(4096 * MIB));
+    }
+
+    @Test
+    void partSizeOf_SUCCESS_staysWithinPartLimit() {
+        final long size = 5L * 1024L * 1024L * MIB;
+        final long partSize = FileStorage.partSizeOf(size);
+
+        assertTrue((size + partSize - 1) / partSize <= 10000);
+        assertEquals(0, partSize % MIB);
+    }
+
+    @Test
+    void toObjectName_SUCCESS_contentAddressed() {
+        final String hash = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+        assertEquals("sha256/9f/" + hash, FileStorage.toObjectName(hash));
+        assertTrue(FileStorage.isBlob(FileStorage.toObjectName(hash)));
+        assertEquals(hash, FileStorage.toHash(FileStorage.toObjectName(hash)));
+        assertFalse(FileStorage.isBlob("/issues/1/attachments/2/file.pdf"));
+    }
+
+    @Test
+    void toThumbnailName_SUCCESS_storedNextToOriginal() {
+        final String hash = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+        final String thumbnailName = FileStorage.toThumbnailName(FileStorage.toObjectName(hash));
+
+        assertEquals("sha256/9f/" + hash + ".thumb.jpg", thumbnailName);
+        assertTrue(FileStorage.isPreview(thumbnailName));
+        assertFalse(FileStorage.isPreview(FileStorage.toObjectName(hash)));
+        assertEquals(hash, FileStorage.toHash(thumbnailName), "Thumbnails are collected together with the original");
+    }
+
+}